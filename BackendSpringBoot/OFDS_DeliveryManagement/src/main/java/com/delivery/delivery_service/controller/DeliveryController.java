@@ -24,6 +24,8 @@ import com.delivery.delivery_service.dto.OrderDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.List;
+
 /**
  * REST controller for managing delivery operations.
  * This class exposes a set of RESTful APIs to assign delivery agents,
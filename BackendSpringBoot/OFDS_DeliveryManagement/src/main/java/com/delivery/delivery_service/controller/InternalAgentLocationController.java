@@ -0,0 +1,53 @@
+package com.delivery.delivery_service.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.delivery.delivery_service.dto.AgentLocationDTO;
+import com.delivery.delivery_service.dto.LocationIngestResultDTO;
+import com.delivery.delivery_service.location.AgentLocationPipeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+/**
+ * Location ingest for delivery agent devices.
+ * Agents have no login of their own yet, so nothing can tie a ping to the agent who sent it.
+ * The endpoint is therefore internal: the API gateway blocks {@code /internal/**}, and pings
+ * reach it only from inside the network, e.g. from the fleet tracking backend.
+ */
+@RestController
+@RequestMapping("/internal/delivery/agents")
+@Tag(name = "Internal Agent Locations", description = "Agent GPS ping ingest, not exposed through the gateway")
+public class InternalAgentLocationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(InternalAgentLocationController.class);
+
+    private final AgentLocationPipeline agentLocationPipeline;
+
+    public InternalAgentLocationController(AgentLocationPipeline agentLocationPipeline) {
+        this.agentLocationPipeline = agentLocationPipeline;
+    }
+
+    /**
+     * Accepts a batch of agent location pings. Pings are applied asynchronously to dispatch and
+     * to the location history; the response only reports how many of them were accepted.
+     *
+     * @param pings The positions reported by agent devices since their last upload.
+     * @return A {@link ResponseEntity} containing the {@link LocationIngestResultDTO} and an HTTP status of 202 Accepted.
+     */
+    @PostMapping("/locations")
+    @Operation(summary = "Report Agent Locations", description = "Accepts a batch of GPS pings from delivery agents.")
+    public ResponseEntity<LocationIngestResultDTO> reportLocations(@RequestBody List<AgentLocationDTO> pings) {
+        LocationIngestResultDTO result = agentLocationPipeline.ingest(pings);
+        logger.debug("Location pings received: {} accepted, {} rejected", result.getAccepted(), result.getRejected());
+        return new ResponseEntity<>(result, HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,91 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.dto.OrderDTO;
+import com.delivery.delivery_service.entity.AgentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Geo-aware agent selection.
+ * Keeps the last known position of every agent in a {@link GeoGrid} and looks up the nearest
+ * AVAILABLE agents (according to the {@link AgentPool}) around a restaurant. Delivery ETAs are
+ * derived from the great-circle distance agent -> restaurant -> customer at an average speed,
+ * plus a fixed hand-off time at the restaurant.
+ */
+@Component
+public class AgentDispatcher {
+
+    public static final Duration DEFAULT_ETA = Duration.ofMinutes(30);
+
+    private final AgentPool agentPool;
+    private final GeoGrid grid;
+    private final int candidates;
+    private final double maxRadiusKm;
+    private final double averageSpeedKmh;
+    private final Duration handoffTime;
+
+    public AgentDispatcher(AgentPool agentPool,
+                           @Value("${delivery.dispatch.grid-cell-degrees:0.01}") double cellDegrees,
+                           @Value("${delivery.dispatch.candidates:5}") int candidates,
+                           @Value("${delivery.dispatch.max-radius-km:15}") double maxRadiusKm,
+                           @Value("${delivery.dispatch.average-speed-kmh:20}") double averageSpeedKmh,
+                           @Value("${delivery.dispatch.handoff-time:10m}") Duration handoffTime) {
+        this.agentPool = agentPool;
+        this.grid = new GeoGrid(cellDegrees);
+        this.candidates = candidates;
+        this.maxRadiusKm = maxRadiusKm;
+        this.averageSpeedKmh = averageSpeedKmh;
+        this.handoffTime = handoffTime;
+    }
+
+    public void updateLocation(Long agentId, double latitude, double longitude) {
+        grid.update(agentId, latitude, longitude);
+    }
+
+    /**
+     * Returns the nearest AVAILABLE agents around the given point, closest first. The agents are
+     * not claimed; callers still have to win {@link AgentPool#claim(Long)} for one of them.
+     */
+    public List<GeoGrid.Neighbour> nearestAvailable(double latitude, double longitude) {
+        return grid.nearest(latitude, longitude, candidates, maxRadiusKm,
+                agentId -> agentPool.statusOf(agentId) == AgentStatus.AVAILABLE);
+    }
+
+    /**
+     * Returns the last known position of the agent as {@code {latitude, longitude}}, or {@code null}.
+     */
+    public double[] positionOf(Long agentId) {
+        return grid.positionOf(agentId);
+    }
+
+    public double travelMinutes(double distanceKm) {
+        return distanceKm / averageSpeedKmh * 60;
+    }
+
+    /**
+     * Estimates when the agent will have delivered the order. Falls back to {@link #DEFAULT_ETA}
+     * when the restaurant or the agent position is unknown.
+     */
+    public LocalDateTime estimateArrival(Long agentId, OrderDTO order, LocalDateTime now) {
+        double[] agentPosition = grid.positionOf(agentId);
+        if (agentPosition == null || !hasRestaurantPosition(order)) {
+            return now.plus(DEFAULT_ETA);
+        }
+        double distanceKm = GeoGrid.distanceKm(agentPosition[0], agentPosition[1],
+                order.getRestaurantLatitude(), order.getRestaurantLongitude());
+        if (order.getDeliveryLatitude() != null && order.getDeliveryLongitude() != null) {
+            distanceKm += GeoGrid.distanceKm(order.getRestaurantLatitude(), order.getRestaurantLongitude(),
+                    order.getDeliveryLatitude(), order.getDeliveryLongitude());
+        }
+        long travelSeconds = Math.round(travelMinutes(distanceKm) * 60);
+        return now.plus(handoffTime).plusSeconds(travelSeconds);
+    }
+
+    public static boolean hasRestaurantPosition(OrderDTO order) {
+        return order.getRestaurantLatitude() != null && order.getRestaurantLongitude() != null;
+    }
+}
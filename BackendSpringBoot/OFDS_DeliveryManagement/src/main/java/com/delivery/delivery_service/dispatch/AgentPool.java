@@ -0,0 +1,185 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.entity.AgentStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory availability index of delivery agents.
+ * Each known agent has a slot holding its status; AVAILABLE agents are also queued in a
+ * lock-free FIFO. Claiming an agent is a compare-and-set of its slot from AVAILABLE to ASSIGNED,
+ * so two concurrent assignments can never get the same agent and neither has to touch the
+ * {@code agent} table to find one. The queue may hold stale ids of agents that were claimed
+ * directly by id; those are skipped when polled. A counter of AVAILABLE slots is moved along
+ * with every successful status change, so the available count is read without a scan.
+ *
+ * The pool is seeded from the database at startup by {@link AgentPoolInitializer}; the database
+ * stays the source of truth and is re-read on every restart.
+ */
+@Component
+public class AgentPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentPool.class);
+
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> available = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger availableCount = new AtomicInteger();
+
+    /**
+     * Replaces the pool content with the given agents, as read from the database.
+     */
+    public synchronized void reload(Collection<Long> availableIds, Collection<Long> assignedIds) {
+        slots.clear();
+        available.clear();
+        availableCount.set(0);
+        assignedIds.forEach(agentId -> slots.put(agentId, newSlot(AgentStatus.ASSIGNED)));
+        availableIds.forEach(agentId -> register(agentId, AgentStatus.AVAILABLE));
+        logger.info("Agent pool loaded: {} available, {} assigned", availableIds.size(), assignedIds.size());
+    }
+
+    /**
+     * Adds a newly created agent. An agent that is already known keeps its current slot.
+     */
+    public void register(Long agentId, AgentStatus status) {
+        Slot slot = slots.computeIfAbsent(agentId, id -> newSlot(status));
+        if (slot.status.get() == AgentStatus.AVAILABLE) {
+            enqueue(agentId, slot);
+        }
+    }
+
+    /**
+     * Claims the longest-waiting available agent.
+     *
+     * @return the claimed agent ID, or {@code null} if no agent is available.
+     */
+    public Long claimAny() {
+        Long agentId;
+        while ((agentId = available.poll()) != null) {
+            Slot slot = slots.get(agentId);
+            if (slot == null) {
+                continue;
+            }
+            // Clear the flag before the CAS so a concurrent release re-queues the agent if this claim loses.
+            slot.queued.set(false);
+            if (slot.status.compareAndSet(AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)) {
+                availableCount.decrementAndGet();
+                return agentId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Claims a specific agent. An agent the pool does not know yet is recorded as ASSIGNED;
+     * the caller has already checked its status in the database.
+     *
+     * @return {@code true} if the agent was available and is now claimed by the caller.
+     */
+    public boolean claim(Long agentId) {
+        Slot slot = slots.computeIfAbsent(agentId, id -> newSlot(AgentStatus.AVAILABLE));
+        if (slot.status.compareAndSet(AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)) {
+            availableCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks an agent AVAILABLE again and puts it back in the queue.
+     */
+    public void release(Long agentId) {
+        Slot slot = slots.computeIfAbsent(agentId, id -> newSlot(AgentStatus.ASSIGNED));
+        if (slot.status.compareAndSet(AgentStatus.ASSIGNED, AgentStatus.AVAILABLE)) {
+            availableCount.incrementAndGet();
+            enqueue(agentId, slot);
+        }
+    }
+
+    /**
+     * Releases the agent once the current transaction commits, or right away without a transaction.
+     */
+    public void releaseAfterCommit(Long agentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(agentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(agentId);
+            }
+        });
+    }
+
+    /**
+     * Hands a claimed agent back if the current transaction rolls back, so a failed assignment
+     * does not leave the agent marked busy in memory.
+     */
+    public void releaseOnRollback(Long agentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    release(agentId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns an available agent without claiming it, or {@code null} if none is available.
+     */
+    public Long peekAvailable() {
+        for (Long agentId : available) {
+            Slot slot = slots.get(agentId);
+            if (slot != null && slot.status.get() == AgentStatus.AVAILABLE) {
+                return agentId;
+            }
+        }
+        return null;
+    }
+
+    public AgentStatus statusOf(Long agentId) {
+        Slot slot = slots.get(agentId);
+        return slot != null ? slot.status.get() : null;
+    }
+
+    public long availableCount() {
+        return availableCount.get();
+    }
+
+    private Slot newSlot(AgentStatus status) {
+        if (status == AgentStatus.AVAILABLE) {
+            availableCount.incrementAndGet();
+        }
+        return new Slot(status);
+    }
+
+    private void enqueue(Long agentId, Slot slot) {
+        if (slot.queued.compareAndSet(false, true)) {
+            available.offer(agentId);
+        }
+    }
+
+    private static final class Slot {
+        private final AtomicReference<AgentStatus> status;
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        private Slot(AgentStatus status) {
+            this.status = new AtomicReference<>(status);
+        }
+    }
+}
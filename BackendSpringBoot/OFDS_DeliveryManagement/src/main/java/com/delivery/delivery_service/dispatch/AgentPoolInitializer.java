@@ -0,0 +1,29 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.entity.AgentStatus;
+import com.delivery.delivery_service.repository.AgentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the {@link AgentPool} and the agent positions of the {@link AgentDispatcher} from the
+ * {@code agent} table once the application is ready. Only IDs and coordinates are read, never full entities.
+ */
+@Component
+@RequiredArgsConstructor
+public class AgentPoolInitializer {
+
+    private final AgentRepository agentRepository;
+    private final AgentPool agentPool;
+    private final AgentDispatcher agentDispatcher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPool() {
+        agentPool.reload(agentRepository.findAgentIdsByStatus(AgentStatus.AVAILABLE),
+                agentRepository.findAgentIdsByStatus(AgentStatus.ASSIGNED));
+        agentRepository.findAgentLocations().forEach(location ->
+                agentDispatcher.updateLocation(location.getAgentId(), location.getLatitude(), location.getLongitude()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.delivery.delivery_service.dispatch;
+
+import java.util.List;
+
+/**
+ * Writes the assignments of one dispatch batch in a single transaction. Orders that cannot be
+ * assigned are marked {@link PendingAssignment#failed failed} instead of aborting the batch.
+ */
+public interface BatchAssignmentHandler {
+
+    void assignBatch(List<PendingAssignment> batch);
+}
@@ -0,0 +1,290 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.dto.DeliveryDTO;
+import com.delivery.delivery_service.dto.OrderDTO;
+import com.delivery.delivery_service.exception.FleetCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Peak-hour dispatch mode.
+ * While at least {@code min-orders-per-window} assignment requests arrived in the previous window,
+ * new requests are buffered instead of grabbing the nearest free agent one by one. Every window,
+ * or as soon as {@code max-orders} are waiting, the batch is solved as an assignment problem over
+ * the travel time of each candidate agent to each restaurant ({@link HungarianAlgorithm}) and all
+ * assignments are written in one transaction by the {@link BatchAssignmentHandler}. The request
+ * threads wait for their own result, for at most {@value #MAX_WAIT_WINDOWS} windows. A request
+ * whose batch has not been taken by then is withdrawn and assigned immediately; one whose batch
+ * is still committing fails with a 503 rather than holding the request thread any longer.
+ * At low traffic, or for orders without a restaurant position, callers assign immediately.
+ *
+ * Meters: {@code delivery.dispatch.assignments} tagged with {@code mode}, and
+ * {@code delivery.dispatch.batch.travel} (total agent travel minutes of each batch) tagged with
+ * {@code strategy=optimized} and, for the same batch solved greedily in arrival order,
+ * {@code strategy=greedy}.
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    // Cost of pairing an order with an agent that has no known position
+    private static final double UNREACHABLE = 1e9;
+
+    // A request waits for the next tick, the planning and the commit of its batch
+    static final int MAX_WAIT_WINDOWS = 3;
+
+    private final AgentDispatcher agentDispatcher;
+    private final BatchAssignmentHandler handler;
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration maxWait;
+    private final int maxOrders;
+    private final int minOrdersPerWindow;
+
+    private final Object bufferLock = new Object();
+    private List<PendingAssignment> buffer = new ArrayList<>();
+    private final AtomicInteger requestsThisWindow = new AtomicInteger();
+    private volatile int requestsLastWindow;
+    private final TaskScheduler taskScheduler;
+    private ScheduledFuture<?> tickTask;
+
+    private final Counter batchedCounter;
+    private final Counter immediateCounter;
+    private final DistributionSummary optimizedTravel;
+    private final DistributionSummary greedyTravel;
+
+    public BatchDispatcher(AgentDispatcher agentDispatcher,
+                           @Lazy BatchAssignmentHandler handler,
+                           @Value("${delivery.dispatch.batch.enabled:true}") boolean enabled,
+                           @Value("${delivery.dispatch.batch.window:2s}") Duration window,
+                           @Value("${delivery.dispatch.batch.max-orders:20}") int maxOrders,
+                           @Value("${delivery.dispatch.batch.min-orders-per-window:3}") int minOrdersPerWindow,
+                           TaskScheduler taskScheduler,
+                           MeterRegistry meterRegistry) {
+        this.agentDispatcher = agentDispatcher;
+        this.handler = handler;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxWait = window.multipliedBy(MAX_WAIT_WINDOWS);
+        this.maxOrders = maxOrders;
+        this.minOrdersPerWindow = minOrdersPerWindow;
+        this.taskScheduler = taskScheduler;
+
+        this.batchedCounter = Counter.builder("delivery.dispatch.assignments").tag("mode", "batched").register(meterRegistry);
+        this.immediateCounter = Counter.builder("delivery.dispatch.assignments").tag("mode", "immediate").register(meterRegistry);
+        this.optimizedTravel = DistributionSummary.builder("delivery.dispatch.batch.travel")
+                .description("Total agent travel time to the restaurants of a dispatch batch")
+                .baseUnit("minutes").tag("strategy", "optimized").register(meterRegistry);
+        this.greedyTravel = DistributionSummary.builder("delivery.dispatch.batch.travel")
+                .description("Total agent travel time to the restaurants of a dispatch batch")
+                .baseUnit("minutes").tag("strategy", "greedy").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            tickTask = taskScheduler.scheduleAtFixedRate(this::tick, Instant.now().plus(window), window);
+            logger.info("Batch dispatch enabled: window={}, maxOrders={}, minOrdersPerWindow={}",
+                    window, maxOrders, minOrdersPerWindow);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel(false);
+        }
+        List<PendingAssignment> remaining = drain();
+        remaining.forEach(pending -> pending.failed(new IllegalStateException("Delivery service is shutting down")));
+        remaining.forEach(PendingAssignment::complete);
+    }
+
+    /**
+     * Counts an assignment request and tells whether it should wait for the next batch.
+     */
+    public boolean shouldBatch(OrderDTO order) {
+        requestsThisWindow.incrementAndGet();
+        boolean batched = enabled && AgentDispatcher.hasRestaurantPosition(order) && requestsLastWindow >= minOrdersPerWindow;
+        (batched ? batchedCounter : immediateCounter).increment();
+        return batched;
+    }
+
+    /**
+     * Adds the order to the current batch and waits until the batch has been committed.
+     * If the batch has not started within the wait bound, the order is taken out of it and
+     * assigned by {@code immediate} instead.
+     *
+     * @throws FleetCapacityExceededException If the batch was taken but did not commit in time.
+     */
+    public DeliveryDTO submit(OrderDTO order, Supplier<DeliveryDTO> immediate) {
+        PendingAssignment pending = enqueue(order);
+        try {
+            return pending.result().get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (withdraw(pending)) {
+                logger.warn("Order ID: {} waited {} for a dispatch batch; assigning it immediately", order.getOrderId(), maxWait);
+                immediateCounter.increment();
+                return immediate.get();
+            }
+            logger.error("Dispatch batch holding Order ID: {} did not commit within {}", order.getOrderId(), maxWait);
+            throw new FleetCapacityExceededException("Delivery dispatch is overloaded; please retry the assignment");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the dispatch batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    PendingAssignment enqueue(OrderDTO order) {
+        PendingAssignment pending = new PendingAssignment(order);
+        boolean full;
+        synchronized (bufferLock) {
+            buffer.add(pending);
+            full = buffer.size() >= maxOrders;
+        }
+        if (full) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+        return pending;
+    }
+
+    void tick() {
+        requestsLastWindow = requestsThisWindow.getAndSet(0);
+        flush();
+    }
+
+    void flush() {
+        List<PendingAssignment> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            plan(batch);
+            handler.assignBatch(batch);
+        } catch (RuntimeException e) {
+            logger.error("Dispatch batch of {} orders failed", batch.size(), e);
+            batch.forEach(pending -> pending.failed(e));
+        }
+        batch.forEach(PendingAssignment::complete);
+    }
+
+    /**
+     * Picks an agent for every order of the batch so that the total travel time of the agents
+     * to the restaurants is minimal. Candidates are the nearest available agents of each
+     * restaurant; orders left without one fall back to any free agent when committed.
+     */
+    void plan(List<PendingAssignment> batch) {
+        List<Long> agents = new ArrayList<>();
+        Map<Long, Integer> columns = new HashMap<>();
+        for (PendingAssignment pending : batch) {
+            OrderDTO order = pending.getOrder();
+            for (GeoGrid.Neighbour candidate : agentDispatcher.nearestAvailable(
+                    order.getRestaurantLatitude(), order.getRestaurantLongitude())) {
+                columns.computeIfAbsent(candidate.agentId(), agentId -> {
+                    agents.add(agentId);
+                    return agents.size() - 1;
+                });
+            }
+        }
+        if (agents.isEmpty()) {
+            return;
+        }
+
+        // Dummy columns make the matrix at least square when there are fewer agents than orders
+        double[][] cost = new double[batch.size()][Math.max(agents.size(), batch.size())];
+        for (int row = 0; row < batch.size(); row++) {
+            OrderDTO order = batch.get(row).getOrder();
+            Arrays.fill(cost[row], UNREACHABLE);
+            for (int column = 0; column < agents.size(); column++) {
+                double[] position = agentDispatcher.positionOf(agents.get(column));
+                if (position != null) {
+                    cost[row][column] = agentDispatcher.travelMinutes(GeoGrid.distanceKm(position[0], position[1],
+                            order.getRestaurantLatitude(), order.getRestaurantLongitude()));
+                }
+            }
+        }
+
+        int[] assignment = HungarianAlgorithm.solve(cost);
+        double optimized = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            int column = assignment[row];
+            if (column < agents.size() && cost[row][column] < UNREACHABLE) {
+                batch.get(row).setPlannedAgentId(agents.get(column));
+                optimized += cost[row][column];
+            }
+        }
+        double greedy = greedyTotal(cost, agents.size());
+        optimizedTravel.record(optimized);
+        greedyTravel.record(greedy);
+        logger.info("Planned dispatch batch of {} orders over {} agents: {} min total travel ({} min greedy)",
+                batch.size(), agents.size(), Math.round(optimized), Math.round(greedy));
+    }
+
+    /**
+     * Total travel if each order, in arrival order, took its closest agent still free.
+     */
+    private static double greedyTotal(double[][] cost, int agentCount) {
+        boolean[] taken = new boolean[agentCount];
+        double total = 0;
+        for (double[] row : cost) {
+            int best = -1;
+            for (int column = 0; column < agentCount; column++) {
+                if (!taken[column] && row[column] < UNREACHABLE && (best < 0 || row[column] < row[best])) {
+                    best = column;
+                }
+            }
+            if (best >= 0) {
+                taken[best] = true;
+                total += row[best];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Takes the order out of the buffer if its batch has not been drained yet.
+     */
+    private boolean withdraw(PendingAssignment pending) {
+        synchronized (bufferLock) {
+            return buffer.remove(pending);
+        }
+    }
+
+    private List<PendingAssignment> drain() {
+        synchronized (bufferLock) {
+            List<PendingAssignment> batch = buffer;
+            buffer = new ArrayList<>();
+            return batch;
+        }
+    }
+}
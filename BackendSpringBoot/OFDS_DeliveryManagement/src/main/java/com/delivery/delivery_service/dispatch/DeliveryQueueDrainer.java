@@ -0,0 +1,55 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.service.DeliveryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically gives free agents to queued (PENDING) deliveries. Agents released by a finished
+ * delivery are handed over directly; this covers the other ways an agent becomes free, such as
+ * a newly created agent or a restart with deliveries still queued.
+ */
+@Component
+public class DeliveryQueueDrainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryQueueDrainer.class);
+
+    private final DeliveryService deliveryService;
+    private final Duration interval;
+    private final int batchSize;
+    private final TaskScheduler taskScheduler;
+
+    public DeliveryQueueDrainer(@Lazy DeliveryService deliveryService,
+                                @Value("${delivery.dispatch.queue.drain-interval:5s}") Duration interval,
+                                @Value("${delivery.dispatch.queue.drain-batch-size:50}") int batchSize,
+                                TaskScheduler taskScheduler) {
+        this.deliveryService = deliveryService;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::drain, Instant.now().plus(interval), interval);
+    }
+
+    void drain() {
+        int assigned;
+        do {
+            assigned = deliveryService.assignQueuedDeliveries(batchSize);
+            if (assigned > 0) {
+                logger.info("Assigned agents to {} queued deliveries", assigned);
+            }
+        } while (assigned == batchSize);
+    }
+}
@@ -0,0 +1,222 @@
+package com.delivery.delivery_service.dispatch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Uniform latitude/longitude grid of agent positions.
+ * Every agent sits in the cell that contains its last position. A nearest-neighbour query scans
+ * rings of cells around the query point and stops as soon as the k best matches are closer than
+ * anything the next ring could hold, so its cost depends on local agent density, not on the
+ * fleet size. Each cell keeps its agents in parallel primitive arrays, so a scan reads
+ * contiguous memory instead of chasing one object per agent.
+ *
+ * Thread-safe: updates of one agent are serialised through its entry in the position map, cell
+ * membership changes are copy-on-write, and a move inside the same cell overwrites the
+ * coordinates in place.
+ */
+public class GeoGrid {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_KM);
+    // Wider than the number of columns at the finest allowed cell size (360 / 0.001)
+    private static final long ROW_STRIDE = 1L << 20;
+
+    private final double cellDegrees;
+    private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Point> points = new ConcurrentHashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        if (cellDegrees < 0.001 || cellDegrees > 1) {
+            throw new IllegalArgumentException("cellDegrees must be between 0.001 and 1");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Records the position of an agent, moving it to another cell if needed.
+     */
+    public void update(long agentId, double latitude, double longitude) {
+        long cell = cellKey(row(latitude), column(longitude));
+        points.compute(agentId, (id, previous) -> {
+            if (previous != null && previous.cell != cell) {
+                removeFromCell(previous.cell, id);
+            }
+            cells.computeIfAbsent(cell, key -> new Cell()).put(id, latitude, longitude);
+            return new Point(latitude, longitude, cell);
+        });
+    }
+
+    public void remove(long agentId) {
+        points.computeIfPresent(agentId, (id, previous) -> {
+            removeFromCell(previous.cell, id);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the position of an agent as {@code {latitude, longitude}}, or {@code null} if unknown.
+     */
+    public double[] positionOf(long agentId) {
+        Point point = points.get(agentId);
+        return point != null ? new double[] {point.latitude, point.longitude} : null;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Finds up to {@code k} agents accepted by {@code filter} within {@code maxDistanceKm} of the
+     * given point, closest first.
+     */
+    public List<Neighbour> nearest(double latitude, double longitude, int k, double maxDistanceKm, LongPredicate filter) {
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Neighbour::distanceKm).reversed());
+        int row = row(latitude);
+        int column = column(longitude);
+        // A degree of longitude shrinks towards the poles; use the narrowest width inside the search area.
+        double maxLatitude = Math.min(89.0, Math.abs(latitude) + maxDistanceKm / KM_PER_DEGREE + cellDegrees);
+        double cellKm = cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(maxLatitude));
+        int maxRing = (int) Math.ceil(maxDistanceKm / cellKm) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dr = -ring; dr <= ring; dr++) {
+                boolean edgeRow = Math.abs(dr) == ring;
+                for (int dc = -ring; dc <= ring; dc += edgeRow ? 1 : 2 * ring) {
+                    scanCell(cellKey(row + dr, column + dc), latitude, longitude, k, maxDistanceKm, filter, best);
+                }
+            }
+            // Cells of the next ring are at least `ring` whole cells away from the query point.
+            if (best.size() == k && best.peek().distanceKm() <= ring * cellKm) {
+                break;
+            }
+        }
+
+        List<Neighbour> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+        return result;
+    }
+
+    /**
+     * Great-circle distance between two points, in kilometres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void scanCell(long cell, double latitude, double longitude, int k, double maxDistanceKm,
+                          LongPredicate filter, PriorityQueue<Neighbour> best) {
+        Cell agents = cells.get(cell);
+        if (agents == null) {
+            return;
+        }
+        Slots slots = agents.slots;
+        for (int i = 0; i < slots.ids.length; i++) {
+            double agentLatitude = slots.latitudes[i];
+            // The latitude gap alone is a cheap lower bound of the distance
+            if (best.size() == k && Math.abs(agentLatitude - latitude) * KM_PER_DEGREE >= best.peek().distanceKm()) {
+                continue;
+            }
+            long agentId = slots.ids[i];
+            if (!filter.test(agentId)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, agentLatitude, slots.longitudes[i]);
+            if (distance > maxDistanceKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Neighbour(agentId, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbour(agentId, distance));
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, long agentId) {
+        Cell agents = cells.get(cell);
+        if (agents != null) {
+            agents.remove(agentId);
+        }
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellKey(int row, int column) {
+        // Keeps row and column in the low 32 bits that Long.hashCode mostly depends on
+        return row * ROW_STRIDE + column;
+    }
+
+    public record Neighbour(long agentId, double distanceKm) {
+    }
+
+    private record Point(double latitude, double longitude, long cell) {
+    }
+
+    private static final class Cell {
+        private volatile Slots slots = new Slots(new long[0], new double[0], new double[0]);
+
+        synchronized void put(long agentId, double latitude, double longitude) {
+            Slots current = slots;
+            int index = current.indexOf(agentId);
+            if (index >= 0) {
+                current.latitudes[index] = latitude;
+                current.longitudes[index] = longitude;
+                return;
+            }
+            int size = current.ids.length;
+            long[] ids = Arrays.copyOf(current.ids, size + 1);
+            double[] latitudes = Arrays.copyOf(current.latitudes, size + 1);
+            double[] longitudes = Arrays.copyOf(current.longitudes, size + 1);
+            ids[size] = agentId;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            slots = new Slots(ids, latitudes, longitudes);
+        }
+
+        synchronized void remove(long agentId) {
+            Slots current = slots;
+            int index = current.indexOf(agentId);
+            if (index < 0) {
+                return;
+            }
+            int last = current.ids.length - 1;
+            long[] ids = Arrays.copyOf(current.ids, last);
+            double[] latitudes = Arrays.copyOf(current.latitudes, last);
+            double[] longitudes = Arrays.copyOf(current.longitudes, last);
+            if (index < last) {
+                ids[index] = current.ids[last];
+                latitudes[index] = current.latitudes[last];
+                longitudes[index] = current.longitudes[last];
+            }
+            slots = new Slots(ids, latitudes, longitudes);
+        }
+    }
+
+    private record Slots(long[] ids, double[] latitudes, double[] longitudes) {
+        int indexOf(long agentId) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == agentId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.dto.DeliveryDTO;
+import com.delivery.delivery_service.dto.OrderDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An order waiting in a dispatch batch, together with the agent the optimizer picked for it
+ * and, once the batch is committed, its outcome.
+ */
+public class PendingAssignment {
+
+    private final OrderDTO order;
+    private final CompletableFuture<DeliveryDTO> result = new CompletableFuture<>();
+    private Long plannedAgentId;
+    private DeliveryDTO delivery;
+    private RuntimeException failure;
+
+    public PendingAssignment(OrderDTO order) {
+        this.order = order;
+    }
+
+    public OrderDTO getOrder() {
+        return order;
+    }
+
+    /**
+     * The agent chosen by the batch optimizer, or {@code null} if the order should take any free agent.
+     */
+    public Long getPlannedAgentId() {
+        return plannedAgentId;
+    }
+
+    public void setPlannedAgentId(Long plannedAgentId) {
+        this.plannedAgentId = plannedAgentId;
+    }
+
+    public void succeeded(DeliveryDTO delivery) {
+        this.delivery = delivery;
+    }
+
+    public void failed(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    public DeliveryDTO getDelivery() {
+        return delivery;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    CompletableFuture<DeliveryDTO> result() {
+        return result;
+    }
+
+    /**
+     * Completes the caller's future once the batch transaction has committed.
+     */
+    void complete() {
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(delivery);
+        }
+    }
+}
@@ -9,4 +9,6 @@ public class AgentCreateDTO {
     private String agentName;
     private String agentPhoneNumber;
     private String agentStatus; // "AVAILABLE"
+    private Double latitude;    // optional starting position
+    private Double longitude;
 }
@@ -0,0 +1,25 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a delivery agent. {@code recordedAt} is the device time of a location ping and
+ * defaults to the time the ping was received.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgentLocationDTO {
+    private Long agentId;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime recordedAt;
+
+    public AgentLocationDTO(Long agentId, Double latitude, Double longitude) {
+        this(agentId, latitude, longitude, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.*;
+
+/**
+ * Outcome of a batch of location pings. Rejected pings are malformed, belong to an unknown
+ * agent, are older than the position already known, or exceed the batch size limit.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationIngestResultDTO {
+    private int accepted;
+    private int rejected;
+}
@@ -9,5 +9,14 @@ public class OrderDTO {
 	private Long orderId;
 	private Long restaurantId;
 	private String deliveryAddress;
+	// Optional coordinates; without the restaurant position any free agent is assigned
+	private Double restaurantLatitude;
+	private Double restaurantLongitude;
+	private Double deliveryLatitude;
+	private Double deliveryLongitude;
+
+	public OrderDTO(Long orderId, Long restaurantId, String deliveryAddress) {
+		this(orderId, restaurantId, deliveryAddress, null, null, null, null);
+	}
 	}
  
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.delivery.delivery_service.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents a delivery agent in the system.
  * This entity maps to the 'agent' table in the database.
@@ -36,4 +38,16 @@ public class AgentEntity {
 
     @Column(name = "phone_number", nullable = false, length = 10)
     private String agentPhoneNumber;
+
+    /**
+     * Last known position of the agent, used for nearest-agent dispatch. Null until the agent reports one.
+     */
+    @Column(name = "last_latitude")
+    private Double lastLatitude;
+
+    @Column(name = "last_longitude")
+    private Double lastLongitude;
+
+    @Column(name = "last_located_at")
+    private LocalDateTime lastLocatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.delivery.delivery_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A sampled position of a delivery agent.
+ * This entity maps to the 'agent_location_history' table in the database. Rows are inserted in
+ * JDBC batches by {@link com.delivery.delivery_service.location.LocationHistoryWriter}, not through JPA.
+ */
+
+@Entity
+@Table(name = "agent_location_history",
+        indexes = @Index(name = "idx_agent_location_history_agent", columnList = "agent_id, recorded_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgentLocationHistoryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "agent_id", nullable = false)
+    private Long agentId;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
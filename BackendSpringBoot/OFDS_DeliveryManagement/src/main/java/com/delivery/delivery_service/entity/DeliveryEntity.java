@@ -35,6 +35,9 @@ public class DeliveryEntity {
     @Column(name = "order_id", unique = true, nullable = false)
     private Long orderId;
 
+    /**
+     * The assigned agent; null while the delivery is PENDING.
+     */
     @ManyToOne
     @JoinColumn(name = "agent_id")
     private AgentEntity agent;
@@ -4,6 +4,10 @@ package com.delivery.delivery_service.entity;
  * Defines the possible states a delivery can be in during its lifecycle.
  */
 public enum DeliveryStatus {
+    /**
+     * The delivery is queued until a delivery agent becomes free.
+     */
+    PENDING,
     /**
      * The delivery is currently in progress, from assignment to completion.
      */
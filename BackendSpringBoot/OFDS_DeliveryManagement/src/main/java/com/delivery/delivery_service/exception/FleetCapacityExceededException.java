@@ -0,0 +1,17 @@
+package com.delivery.delivery_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception for a delivery fleet that cannot take more work: no agent is free and the
+ * delivery queue is full, or the maximum number of agents has been reached.
+ * This will automatically map to HTTP 503 Service Unavailable.
+ **/
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class FleetCapacityExceededException extends RuntimeException {
+    public FleetCapacityExceededException(String message) {
+        super(message);
+    }
+}
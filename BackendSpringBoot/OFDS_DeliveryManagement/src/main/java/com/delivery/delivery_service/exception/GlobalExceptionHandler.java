@@ -116,6 +116,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles FleetCapacityExceededException, returning a 503 Service Unavailable status.
+     *
+     * @param ex The FleetCapacityExceededException instance.
+     * @param request The current web request.
+     * @return A ResponseEntity with error details and HTTP 503 status.
+     */
+    @ExceptionHandler(FleetCapacityExceededException.class)
+    public ResponseEntity<Object> handleFleetCapacityExceededException(
+            FleetCapacityExceededException ex, WebRequest request) {
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Catches any other unexpected exceptions and returns a 500 Internal Server Error.
      *
@@ -0,0 +1,195 @@
+package com.delivery.delivery_service.location;
+
+import com.delivery.delivery_service.dispatch.AgentDispatcher;
+import com.delivery.delivery_service.dispatch.AgentPool;
+import com.delivery.delivery_service.dto.AgentLocationDTO;
+import com.delivery.delivery_service.dto.LocationIngestResultDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion of agent GPS pings.
+ * Request threads only write the {@link AgentLocationStore}. Two tasks on the shared
+ * {@link TaskScheduler} then
+ * <ul>
+ *   <li>every {@code publish-interval}, moves the agents that moved into the {@link AgentDispatcher}
+ *       geo index, and</li>
+ *   <li>every {@code flush-interval}, writes the latest position of each agent that moved to
+ *       {@code agent_location_history} through the {@link LocationHistoryWriter}.</li>
+ * </ul>
+ * Both steps see one position per agent however many pings arrived in between, so dispatch and
+ * database load depend on the fleet size, not on the ping rate. The history is therefore sampled
+ * at the flush interval.
+ *
+ * Meters: {@code delivery.location.pings} tagged with {@code outcome},
+ * {@code delivery.location.agents} and {@code delivery.location.flush}.
+ */
+@Component
+public class AgentLocationPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentLocationPipeline.class);
+
+    private final AgentLocationStore store;
+    private final AgentPool agentPool;
+    private final AgentDispatcher agentDispatcher;
+    private final LocationHistoryWriter historyWriter;
+    private final int maxBatchSize;
+    private final int writeBatchSize;
+    private final Duration publishInterval;
+    private final Duration flushInterval;
+
+    // Each consumer owns its seen-versions array and its buffer; a fixed-delay task never overlaps itself
+    private final long[] publishedVersions;
+    private final long[] persistedVersions;
+    private final LocationBatch publishBatch;
+    private final LocationBatch flushBatch;
+    private final TaskScheduler taskScheduler;
+    private ScheduledFuture<?> publishTask;
+    private ScheduledFuture<?> flushTask;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Timer flushTimer;
+
+    public AgentLocationPipeline(AgentPool agentPool,
+                                 AgentDispatcher agentDispatcher,
+                                 LocationHistoryWriter historyWriter,
+                                 @Value("${delivery.location.capacity:100000}") int capacity,
+                                 @Value("${delivery.location.max-batch-size:1000}") int maxBatchSize,
+                                 @Value("${delivery.location.write-batch-size:1000}") int writeBatchSize,
+                                 @Value("${delivery.location.publish-interval:1s}") Duration publishInterval,
+                                 @Value("${delivery.location.flush-interval:5s}") Duration flushInterval,
+                                 TaskScheduler taskScheduler,
+                                 MeterRegistry meterRegistry) {
+        this.store = new AgentLocationStore(capacity);
+        this.agentPool = agentPool;
+        this.agentDispatcher = agentDispatcher;
+        this.historyWriter = historyWriter;
+        this.maxBatchSize = maxBatchSize;
+        this.writeBatchSize = writeBatchSize;
+        this.publishInterval = publishInterval;
+        this.flushInterval = flushInterval;
+        this.publishedVersions = new long[capacity];
+        this.persistedVersions = new long[capacity];
+        this.publishBatch = new LocationBatch(capacity);
+        this.flushBatch = new LocationBatch(capacity);
+        this.taskScheduler = taskScheduler;
+
+        this.acceptedCounter = Counter.builder("delivery.location.pings").tag("outcome", "accepted").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("delivery.location.pings").tag("outcome", "rejected").register(meterRegistry);
+        Gauge.builder("delivery.location.agents", store, AgentLocationStore::size)
+                .description("Agents with a known position")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("delivery.location.flush")
+                .description("Time to write one round of agent positions to the location history")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        publishTask = taskScheduler.scheduleWithFixedDelay(this::publish, Instant.now().plus(publishInterval), publishInterval);
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+        logger.info("Agent location pipeline started: capacity={}, publishInterval={}, flushInterval={}",
+                store.capacity(), publishInterval, flushInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (publishTask != null) {
+            publishTask.cancel(false);
+            flushTask.cancel(false);
+        }
+        // Keep the last positions for the next start
+        flush();
+    }
+
+    /**
+     * Records a batch of pings. Invalid pings are counted and skipped; they never fail the batch.
+     */
+    public LocationIngestResultDTO ingest(List<AgentLocationDTO> pings) {
+        long now = System.currentTimeMillis();
+        int limit = Math.min(pings.size(), maxBatchSize);
+        int accepted = 0;
+        for (int i = 0; i < limit; i++) {
+            AgentLocationDTO ping = pings.get(i);
+            if (isValid(ping) && store.record(ping.getAgentId(), ping.getLatitude(), ping.getLongitude(), recordedAt(ping, now))) {
+                accepted++;
+            }
+        }
+        int rejected = pings.size() - accepted;
+        acceptedCounter.increment(accepted);
+        if (rejected > 0) {
+            rejectedCounter.increment(rejected);
+            logger.debug("Rejected {} of {} location pings", rejected, pings.size());
+        }
+        return new LocationIngestResultDTO(accepted, rejected);
+    }
+
+    void publish() {
+        store.collectChanged(publishedVersions, publishBatch);
+        for (int i = 0; i < publishBatch.size(); i++) {
+            agentDispatcher.updateLocation(publishBatch.agentId(i), publishBatch.latitude(i), publishBatch.longitude(i));
+        }
+    }
+
+    /**
+     * Synchronized because the final flush on shutdown may meet a scheduled one still running.
+     */
+    synchronized void flush() {
+        store.collectChanged(persistedVersions, flushBatch);
+        if (flushBatch.size() == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int written = 0;
+        try {
+            for (int from = 0; from < flushBatch.size(); from += writeBatchSize) {
+                int to = Math.min(from + writeBatchSize, flushBatch.size());
+                historyWriter.write(flushBatch, from, to);
+                written = to;
+            }
+            logger.debug("Wrote {} agent positions to the location history", written);
+        } catch (Exception e) {
+            // The next round carries the newer positions of these agents; this sample is lost
+            logger.error("Writing agent location history failed after {} of {} positions", written, flushBatch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    AgentLocationStore store() {
+        return store;
+    }
+
+    private boolean isValid(AgentLocationDTO ping) {
+        return ping != null && ping.getAgentId() != null
+                && ping.getLatitude() != null && Math.abs(ping.getLatitude()) <= 90
+                && ping.getLongitude() != null && Math.abs(ping.getLongitude()) <= 180
+                && agentPool.statusOf(ping.getAgentId()) != null;
+    }
+
+    private static long recordedAt(AgentLocationDTO ping, long now) {
+        if (ping.getRecordedAt() == null) {
+            return now;
+        }
+        // Device clocks ahead of ours would otherwise shadow every later ping
+        return Math.min(now, ping.getRecordedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
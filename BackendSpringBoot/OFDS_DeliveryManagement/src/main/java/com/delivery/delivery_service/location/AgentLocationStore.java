@@ -0,0 +1,114 @@
+package com.delivery.delivery_service.location;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latest reported position of every agent, held in preallocated primitive arrays.
+ * Each agent gets a fixed slot the first time it reports; after that a ping only overwrites
+ * the slot and bumps its version, so memory is bounded by {@code capacity} and nothing is
+ * allocated per ping. Consumers keep their own array of the versions they have seen and pick
+ * up only the slots that changed since ({@link #collectChanged(long[], LocationBatch)}), which
+ * coalesces any number of pings of an agent into its latest position.
+ *
+ * Writers of the same slot are serialised by a striped lock; readers take the same lock, so a
+ * latitude is never paired with the longitude of another ping.
+ */
+public class AgentLocationStore {
+
+    private static final int STRIPES = 64;
+
+    private final int capacity;
+    private final ConcurrentHashMap<Long, Integer> slotsByAgent = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final Object[] locks = new Object[STRIPES];
+
+    private final long[] agentIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAtMillis;
+    private final long[] versions;
+
+    public AgentLocationStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.agentIds = new long[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAtMillis = new long[capacity];
+        this.versions = new long[capacity];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Stores a position unless a newer one is already known for the agent.
+     *
+     * @return {@code false} if the ping was older than the stored position or the store is full.
+     */
+    public boolean record(long agentId, double latitude, double longitude, long recordedAt) {
+        int slot = slotOf(agentId);
+        if (slot < 0) {
+            return false;
+        }
+        synchronized (locks[slot & (STRIPES - 1)]) {
+            if (versions[slot] > 0 && recordedAt < recordedAtMillis[slot]) {
+                return false;
+            }
+            agentIds[slot] = agentId;
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+            recordedAtMillis[slot] = recordedAt;
+            versions[slot]++;
+        }
+        return true;
+    }
+
+    /**
+     * Copies every position that changed since the versions in {@code seen} into {@code batch}
+     * and updates {@code seen}. {@code seen} must have {@link #capacity()} entries and belong to
+     * a single consumer.
+     */
+    public void collectChanged(long[] seen, LocationBatch batch) {
+        batch.clear();
+        int used = Math.min(nextSlot.get(), capacity);
+        for (int slot = 0; slot < used; slot++) {
+            synchronized (locks[slot & (STRIPES - 1)]) {
+                long version = versions[slot];
+                if (version != seen[slot]) {
+                    seen[slot] = version;
+                    batch.add(agentIds[slot], latitudes[slot], longitudes[slot], recordedAtMillis[slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of agents that have reported a position.
+     */
+    public int size() {
+        return slotsByAgent.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private int slotOf(long agentId) {
+        Integer slot = slotsByAgent.get(agentId);
+        if (slot != null) {
+            return slot;
+        }
+        if (nextSlot.get() >= capacity) {
+            return -1;
+        }
+        slot = slotsByAgent.computeIfAbsent(agentId, id -> {
+            int next = nextSlot.getAndIncrement();
+            return next < capacity ? next : null;
+        });
+        return slot != null ? slot : -1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.delivery.delivery_service.location;
+
+/**
+ * Reusable column buffers of agent positions, filled by {@link AgentLocationStore#collectChanged}.
+ * Owned by a single consumer thread.
+ */
+public class LocationBatch {
+
+    private final long[] agentIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAtMillis;
+    private int size;
+
+    public LocationBatch(int capacity) {
+        this.agentIds = new long[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAtMillis = new long[capacity];
+    }
+
+    void add(long agentId, double latitude, double longitude, long recordedAt) {
+        agentIds[size] = agentId;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        recordedAtMillis[size] = recordedAt;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long agentId(int index) {
+        return agentIds[index];
+    }
+
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    public long recordedAtMillis(int index) {
+        return recordedAtMillis[index];
+    }
+}
@@ -0,0 +1,65 @@
+package com.delivery.delivery_service.location;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Persists sampled agent positions with plain JDBC batches: one row per agent in
+ * {@code agent_location_history}, and the last known position on the {@code agent} row so
+ * that dispatch can be seeded after a restart. No JPA entity is created per position.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationHistoryWriter {
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO agent_location_history (agent_id, latitude, longitude, recorded_at) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_AGENT =
+            "UPDATE agent SET last_latitude = ?, last_longitude = ?, last_located_at = ? WHERE agent_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the positions {@code [from, to)} of the batch in one transaction.
+     */
+    @Transactional
+    public void write(LocationBatch batch, int from, int to) {
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int index = from + i;
+                ps.setLong(1, batch.agentId(index));
+                ps.setDouble(2, batch.latitude(index));
+                ps.setDouble(3, batch.longitude(index));
+                ps.setTimestamp(4, new Timestamp(batch.recordedAtMillis(index)));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return to - from;
+            }
+        });
+        jdbcTemplate.batchUpdate(UPDATE_AGENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int index = from + i;
+                ps.setDouble(1, batch.latitude(index));
+                ps.setDouble(2, batch.longitude(index));
+                ps.setTimestamp(3, new Timestamp(batch.recordedAtMillis(index)));
+                ps.setLong(4, batch.agentId(index));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return to - from;
+            }
+        });
+    }
+}
@@ -1,8 +1,12 @@
 package com.delivery.delivery_service.repository;
 
+import com.delivery.delivery_service.dto.AgentLocationDTO;
 import com.delivery.delivery_service.entity.AgentEntity;
 import com.delivery.delivery_service.entity.AgentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -20,4 +24,29 @@ public interface AgentRepository extends JpaRepository<AgentEntity, Long> {
      */
     List<AgentEntity> findByAgentStatus(AgentStatus status);
 
+    /**
+     * Returns only the IDs of the agents with the given status, used to seed the in-memory agent pool.
+     */
+    @Query("SELECT a.agentId FROM AgentEntity a WHERE a.agentStatus = :status")
+    List<Long> findAgentIdsByStatus(@Param("status") AgentStatus status);
+
+    /**
+     * Returns the last known position of every agent that has reported one.
+     */
+    @Query("SELECT new com.delivery.delivery_service.dto.AgentLocationDTO(a.agentId, a.lastLatitude, a.lastLongitude) "
+            + "FROM AgentEntity a WHERE a.lastLatitude IS NOT NULL AND a.lastLongitude IS NOT NULL")
+    List<AgentLocationDTO> findAgentLocations();
+
+    /**
+     * Moves an agent from {@code expected} to {@code newStatus} only if it still has the expected status.
+     * Guards against another service instance having claimed the same agent.
+     *
+     * @return 1 if the status was changed, 0 otherwise.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AgentEntity a SET a.agentStatus = :newStatus WHERE a.agentId = :agentId AND a.agentStatus = :expected")
+    int compareAndSetStatus(@Param("agentId") Long agentId,
+                            @Param("expected") AgentStatus expected,
+                            @Param("newStatus") AgentStatus newStatus);
+
 }
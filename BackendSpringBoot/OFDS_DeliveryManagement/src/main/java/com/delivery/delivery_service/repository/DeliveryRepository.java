@@ -1,8 +1,16 @@
 package com.delivery.delivery_service.repository;
 
 import com.delivery.delivery_service.entity.DeliveryEntity;
+import com.delivery.delivery_service.entity.DeliveryStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +35,19 @@ public interface DeliveryRepository extends JpaRepository<DeliveryEntity, Long>
      * @return {@code true} if a delivery exists for the given order ID, {@code false} otherwise.
      */
     boolean existsByOrderId(Long orderId);
+
+    long countByDeliveryStatus(DeliveryStatus status);
+
+    /**
+     * Locks the oldest deliveries with the given status, skipping rows already locked by another
+     * transaction, so that concurrent instances never hand out the same queued delivery.
+     *
+     * @param status   The status to look for, normally PENDING.
+     * @param pageable The maximum number of deliveries to lock.
+     * @return The locked deliveries, oldest first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DeliveryEntity d WHERE d.deliveryStatus = :status ORDER BY d.deliveryId")
+    List<DeliveryEntity> findQueuedForUpdate(DeliveryStatus status, Pageable pageable);
 }
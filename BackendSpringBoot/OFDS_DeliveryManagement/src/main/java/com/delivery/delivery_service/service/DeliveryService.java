@@ -45,5 +45,13 @@ public interface DeliveryService {
     Long findAvailableAgent();
 
     DeliveryDTO assignDelivery(OrderDTO orderDTO);
+
+    /*
+     * Assigns free agents to queued (PENDING) deliveries, oldest first.
+     *
+     * @param limit The maximum number of queued deliveries to look at.
+     * @return The number of deliveries that got an agent.
+     */
+    int assignQueuedDeliveries(int limit);
 }
 
@@ -1,42 +1,62 @@
 package com.delivery.delivery_service.service.impl;
 
+import com.delivery.delivery_service.dispatch.AgentDispatcher;
+import com.delivery.delivery_service.dispatch.AgentPool;
 import com.delivery.delivery_service.dto.AgentCreateDTO;
 import com.delivery.delivery_service.dto.AgentResponseDTO;
 import com.delivery.delivery_service.entity.AgentEntity;
 import com.delivery.delivery_service.entity.AgentStatus;
+import com.delivery.delivery_service.exception.FleetCapacityExceededException;
 import com.delivery.delivery_service.repository.AgentRepository;
 import com.delivery.delivery_service.service.AgentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class AgentServiceImpl implements AgentService {
 
     private final AgentRepository agentRepository;
+    private final AgentPool agentPool;
+    private final AgentDispatcher agentDispatcher;
+
+    @Value("${delivery.fleet.max-agents:1000}")
+    private long maxAgents;
 
     @Override
     public Long findAvailableAgent() {
-        return agentRepository.findByAgentStatus(AgentStatus.AVAILABLE)
-                .stream()
-                .findAny()
-                .map(AgentEntity::getAgentId)
-                .orElse(null);
+        return agentPool.peekAvailable();
     }
 
     @Override
     public AgentCreateDTO createAgent(AgentCreateDTO dto) {
+        if (agentRepository.count() >= maxAgents) {
+            throw new FleetCapacityExceededException("The delivery fleet is limited to " + maxAgents + " agents.");
+        }
+        boolean located = dto.getLatitude() != null && dto.getLongitude() != null;
         AgentEntity agent = AgentEntity.builder()
                 .agentName(dto.getAgentName())
                 .agentPhoneNumber(dto.getAgentPhoneNumber())
                 .agentStatus(AgentStatus.valueOf(dto.getAgentStatus()))
+                .lastLatitude(dto.getLatitude())
+                .lastLongitude(dto.getLongitude())
+                .lastLocatedAt(located ? LocalDateTime.now() : null)
                 .build();
 
         AgentEntity saved = agentRepository.save(agent);
+        if (located) {
+            agentDispatcher.updateLocation(saved.getAgentId(), saved.getLastLatitude(), saved.getLastLongitude());
+        }
+        agentPool.register(saved.getAgentId(), saved.getAgentStatus());
 
         return AgentCreateDTO.builder()
                 .agentName(saved.getAgentName())
                 .agentPhoneNumber(saved.getAgentPhoneNumber())
+                .latitude(saved.getLastLatitude())
+                .longitude(saved.getLastLongitude())
                 .build();
     }
 }
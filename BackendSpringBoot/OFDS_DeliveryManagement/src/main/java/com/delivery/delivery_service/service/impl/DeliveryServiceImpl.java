@@ -1,6 +1,12 @@
 package com.delivery.delivery_service.service.impl;
 
 import com.delivery.delivery_service.client.OrderClient;
+import com.delivery.delivery_service.dispatch.AgentDispatcher;
+import com.delivery.delivery_service.dispatch.AgentPool;
+import com.delivery.delivery_service.dispatch.BatchAssignmentHandler;
+import com.delivery.delivery_service.dispatch.BatchDispatcher;
+import com.delivery.delivery_service.dispatch.GeoGrid;
+import com.delivery.delivery_service.dispatch.PendingAssignment;
 import com.delivery.delivery_service.dto.DeliveryAssignmentDTO;
 import com.delivery.delivery_service.dto.DeliveryDTO;
 import com.delivery.delivery_service.dto.DeliveryStatusUpdateDTO;
@@ -18,10 +24,14 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,11 +42,18 @@ import java.util.stream.Collectors;
  * status updates, and retrieval of delivery information.
  * It interacts with {@link AgentRepository} and {@link DeliveryRepository}
  * for data persistence and {@link OrderClient} for external order validation.
+ * Free agents are looked up and claimed through the in-memory {@link AgentPool}; when the
+ * restaurant position is known, the nearest one is picked by the {@link AgentDispatcher}.
+ * At peak traffic, order assignments are grouped by the {@link BatchDispatcher} and committed
+ * together through {@link #assignBatch(List)}.
+ * When no agent is free, the delivery is queued as PENDING (up to {@code max-pending}); a released
+ * agent is handed straight to the oldest queued delivery, and {@link #assignQueuedDeliveries(int)}
+ * picks up agents that became free in any other way.
  */
 
 @Service
 @RequiredArgsConstructor
-public class DeliveryServiceImpl implements DeliveryService {
+public class DeliveryServiceImpl implements DeliveryService, BatchAssignmentHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(DeliveryServiceImpl.class);
 
@@ -49,6 +66,21 @@ public class DeliveryServiceImpl implements DeliveryService {
     @Autowired
     private OrderClient orderClient;
 
+    @Autowired
+    private AgentPool agentPool;
+
+    @Autowired
+    private AgentDispatcher agentDispatcher;
+
+    @Autowired
+    private BatchDispatcher batchDispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${delivery.dispatch.queue.max-pending:500}")
+    private long maxQueuedDeliveries;
+
 
     /**
      * Assigns a delivery agent to a specific order.
@@ -99,6 +131,13 @@ public class DeliveryServiceImpl implements DeliveryService {
             throw new DuplicateAssignmentException("Agent is already assigned to another delivery");
         }
 
+        // Claim the agent in the pool so a concurrent assignment cannot pick it as well.
+        if (!agentPool.claim(agent.getAgentId())) {
+            logger.warn("Agent ID {} was claimed by a concurrent assignment", dto.getAgentId());
+            throw new DuplicateAssignmentException("Agent is already assigned to another delivery");
+        }
+        agentPool.releaseOnRollback(agent.getAgentId());
+
         // Update agent status to ASSIGNED and save.
         agent.setAgentStatus(AgentStatus.ASSIGNED);
         agentRepository.save(agent);
@@ -121,8 +160,8 @@ public class DeliveryServiceImpl implements DeliveryService {
 
     // Order Validation
     private boolean isValidOrderId(Long orderId) {
-        // Example validation: orderId must be non-null, positive, and within a reasonable range.
-        return orderId != null && orderId > 0 && orderId <= 10000;
+        // Order IDs are generated by order-service and keep growing, so only the sign is checked here.
+        return orderId != null && orderId > 0;
         // return orderClient.isOrderValid(orderId);   is fully integrated
     }
 
@@ -174,10 +213,13 @@ public class DeliveryServiceImpl implements DeliveryService {
             throw new InvalidStatusException("Invalid status: " + dto.getStatus()
                     + ". Valid statuses are " + validStatuses + ".");
         }
-        if (newStatus == DeliveryStatus.DELIVERED) {
-            AgentEntity agent = delivery.getAgent();
+        AgentEntity agent = delivery.getAgent();
+        if (newStatus == DeliveryStatus.DELIVERED && agent != null
+                && delivery.getDeliveryStatus() != DeliveryStatus.DELIVERED
+                && !handOverToQueuedDelivery(agent)) {
             agent.setAgentStatus(AgentStatus.AVAILABLE);
             agentRepository.save(agent);
+            agentPool.releaseAfterCommit(agent.getAgentId());
             logger.debug("Agent ID {} status set to AVAILABLE", agent.getAgentId());
         }
         delivery.setDeliveryStatus(newStatus);
@@ -262,11 +304,12 @@ public class DeliveryServiceImpl implements DeliveryService {
      * @return A {@link DeliveryDTO} representing the entity's data.
      */
     private DeliveryDTO mapToDTO(DeliveryEntity entity) {
+        AgentEntity agent = entity.getAgent(); // null while the delivery is queued
         return DeliveryDTO.builder()
                 .deliveryId(entity.getDeliveryId())
-                .agentId(entity.getAgent().getAgentId())
-                .agentName(entity.getAgent().getAgentName())
-                .agentPhone(entity.getAgent().getAgentPhoneNumber())
+                .agentId(agent != null ? agent.getAgentId() : null)
+                .agentName(agent != null ? agent.getAgentName() : null)
+                .agentPhone(agent != null ? agent.getAgentPhoneNumber() : null)
                 .orderId(entity.getOrderId())
                 .status(entity.getDeliveryStatus().name()) // Convert enum to string for DTO.
                 .estimatedDeliveryTime(entity.getEstimatedTimeOfArrival())
@@ -274,8 +317,14 @@ public class DeliveryServiceImpl implements DeliveryService {
     }
 
 
+    /**
+     * Assigns a free agent to the order, or queues the delivery as PENDING when there is none.
+     * Not transactional itself: at peak traffic the request waits for the next dispatch batch,
+     * and must not hold a database connection meanwhile.
+     *
+     * @throws FleetCapacityExceededException If no agent is free and the delivery queue is full.
+     */
     @Override
-    @Transactional
     public DeliveryDTO assignDelivery(OrderDTO dto) {
         logger.info("Assigning delivery agent. Order ID: {}", dto.getOrderId());
 
@@ -289,24 +338,94 @@ public class DeliveryServiceImpl implements DeliveryService {
             throw new DuplicateAssignmentException("Delivery already exists for this order.");
         }
 
-        Long availableAgentId = findAvailableAgent();
-        if (availableAgentId == null) {
-            logger.warn("No available delivery agents at the moment.");
-            throw new ResourceNotFoundException("No available delivery agents.");
+        if (batchDispatcher.shouldBatch(dto)) {
+            return batchDispatcher.submit(dto, () -> assignImmediately(dto));
         }
+        return assignImmediately(dto);
+    }
 
-        AgentEntity agent = agentRepository.findById(availableAgentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Agent not found with ID: " + availableAgentId));
+    private DeliveryDTO assignImmediately(OrderDTO dto) {
+        return transactionTemplate.execute(status -> startOrQueue(dto, claimAvailableAgent(dto)));
+    }
 
-        agent.setAgentStatus(AgentStatus.ASSIGNED);
-        agentRepository.save(agent);
+    /**
+     * Commits a planned dispatch batch in one transaction. Each order takes the agent the
+     * optimizer picked for it; if that agent has been claimed in the meantime, or none was
+     * picked, it falls back to the usual nearest-free-agent claim and then to the queue.
+     * Business failures of a single order are reported on that order only.
+     */
+    @Override
+    public void assignBatch(List<PendingAssignment> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PendingAssignment pending : batch) {
+                OrderDTO order = pending.getOrder();
+                try {
+                    if (deliveryRepository.existsByOrderId(order.getOrderId())) {
+                        logger.error("Delivery already exists for Order ID: {}", order.getOrderId());
+                        throw new DuplicateAssignmentException("Delivery already exists for this order.");
+                    }
+                    pending.succeeded(startOrQueue(order, claimPlannedAgent(pending)));
+                } catch (DuplicateAssignmentException | ResourceNotFoundException | FleetCapacityExceededException e) {
+                    pending.failed(e);
+                }
+            }
+        });
+        logger.info("Dispatch batch of {} orders committed", batch.size());
+    }
+
+    @Override
+    public int assignQueuedDeliveries(int limit) {
+        if (agentPool.availableCount() == 0) {
+            return 0;
+        }
+        Integer assigned = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (DeliveryEntity delivery : deliveryRepository.findQueuedForUpdate(DeliveryStatus.PENDING, PageRequest.of(0, limit))) {
+                AgentEntity agent = claimAnyAgent();
+                if (agent == null) {
+                    break;
+                }
+                startQueuedDelivery(delivery, agent);
+                count++;
+            }
+            return count;
+        });
+        return assigned != null ? assigned : 0;
+    }
+
+    /**
+     * Starts the delivery with the given agent, or queues it when there is no agent.
+     */
+    private DeliveryDTO startOrQueue(OrderDTO order, AgentEntity agent) {
+        if (agent != null) {
+            return createDelivery(order, agent);
+        }
+        // Soft limit: concurrent requests may overshoot it by a few deliveries
+        long queued = deliveryRepository.countByDeliveryStatus(DeliveryStatus.PENDING);
+        if (queued >= maxQueuedDeliveries) {
+            logger.warn("No available delivery agents and {} deliveries already queued.", queued);
+            throw new FleetCapacityExceededException("No available delivery agents and the delivery queue is full.");
+        }
+        DeliveryEntity delivery = DeliveryEntity.builder()
+                .orderId(order.getOrderId())
+                .deliveryStatus(DeliveryStatus.PENDING)
+                .estimatedTimeOfArrival(LocalDateTime.now().plus(AgentDispatcher.DEFAULT_ETA)) // Provisional until an agent is assigned
+                .build();
+
+        delivery = deliveryRepository.save(delivery);
+        logger.info("No available delivery agents, delivery queued. Delivery ID: {}", delivery.getDeliveryId());
+
+        return mapToDTO(delivery);
+    }
+
+    private DeliveryDTO createDelivery(OrderDTO order, AgentEntity agent) {
         logger.debug("Agent ID {} status set to ASSIGNED", agent.getAgentId());
 
         DeliveryEntity delivery = DeliveryEntity.builder()
                 .agent(agent)
-                .orderId(dto.getOrderId())
+                .orderId(order.getOrderId())
                 .deliveryStatus(DeliveryStatus.IN_PROGRESS)
-                .estimatedTimeOfArrival(LocalDateTime.now().plusMinutes(30)) // default ETA
+                .estimatedTimeOfArrival(agentDispatcher.estimateArrival(agent.getAgentId(), order, LocalDateTime.now()))
                 .build();
 
         delivery = deliveryRepository.save(delivery);
@@ -317,11 +436,90 @@ public class DeliveryServiceImpl implements DeliveryService {
 
     @Override
     public Long findAvailableAgent() {
-        return agentRepository.findByAgentStatus(AgentStatus.AVAILABLE)
-                .stream()
-                .findAny() // You can use findFirst() or implement random logic if needed
-                .map(AgentEntity::getAgentId)
-                .orElse(null);
+        return agentPool.peekAvailable();
+    }
+
+    /**
+     * Gives a just-released agent to the oldest queued delivery, if any. The agent stays ASSIGNED.
+     *
+     * @return {@code true} if the agent took over a queued delivery.
+     */
+    private boolean handOverToQueuedDelivery(AgentEntity agent) {
+        List<DeliveryEntity> queued = deliveryRepository.findQueuedForUpdate(DeliveryStatus.PENDING, PageRequest.of(0, 1));
+        if (queued.isEmpty()) {
+            return false;
+        }
+        startQueuedDelivery(queued.get(0), agent);
+        return true;
+    }
+
+    private void startQueuedDelivery(DeliveryEntity delivery, AgentEntity agent) {
+        // Queued deliveries carry no restaurant position, so the ETA falls back to the default
+        OrderDTO order = new OrderDTO(delivery.getOrderId(), null, null);
+        delivery.setAgent(agent);
+        delivery.setDeliveryStatus(DeliveryStatus.IN_PROGRESS);
+        delivery.setEstimatedTimeOfArrival(agentDispatcher.estimateArrival(agent.getAgentId(), order, LocalDateTime.now()));
+        deliveryRepository.save(delivery);
+        logger.info("Agent ID {} assigned to queued Delivery ID {}", agent.getAgentId(), delivery.getDeliveryId());
+    }
+
+    /**
+     * Claims a free agent and marks it ASSIGNED in the database. The nearest agents to the
+     * restaurant are tried first; without a restaurant position, or when none of them is free,
+     * the longest-waiting agent of the pool is taken.
+     *
+     * @return the claimed agent, or {@code null} if no agent is free.
+     */
+    private AgentEntity claimAvailableAgent(OrderDTO order) {
+        if (AgentDispatcher.hasRestaurantPosition(order)) {
+            for (GeoGrid.Neighbour candidate : agentDispatcher.nearestAvailable(
+                    order.getRestaurantLatitude(), order.getRestaurantLongitude())) {
+                if (agentPool.claim(candidate.agentId()) && confirmClaim(candidate.agentId())) {
+                    logger.debug("Agent ID {} is {} km from restaurant {}", candidate.agentId(),
+                            String.format("%.2f", candidate.distanceKm()), order.getRestaurantId());
+                    return loadAgent(candidate.agentId());
+                }
+            }
+        }
+        return claimAnyAgent();
+    }
+
+    private AgentEntity claimAnyAgent() {
+        Long agentId;
+        while ((agentId = agentPool.claimAny()) != null) {
+            if (confirmClaim(agentId)) {
+                return loadAgent(agentId);
+            }
+        }
+        logger.warn("No available delivery agents at the moment.");
+        return null;
+    }
+
+    private AgentEntity claimPlannedAgent(PendingAssignment pending) {
+        Long plannedAgentId = pending.getPlannedAgentId();
+        if (plannedAgentId != null && agentPool.claim(plannedAgentId) && confirmClaim(plannedAgentId)) {
+            return loadAgent(plannedAgentId);
+        }
+        return claimAvailableAgent(pending.getOrder());
+    }
+
+    /**
+     * Marks a pool-claimed agent ASSIGNED in the database. The conditional update only succeeds if
+     * the row is still AVAILABLE; if another service instance got there first, the agent stays
+     * out of the pool and the caller moves on to the next one.
+     */
+    private boolean confirmClaim(Long agentId) {
+        if (agentRepository.compareAndSetStatus(agentId, AgentStatus.AVAILABLE, AgentStatus.ASSIGNED) == 1) {
+            agentPool.releaseOnRollback(agentId);
+            return true;
+        }
+        logger.warn("Agent ID {} is no longer available in the database, trying the next one", agentId);
+        return false;
+    }
+
+    private AgentEntity loadAgent(Long agentId) {
+        return agentRepository.findById(agentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Agent not found with ID: " + agentId));
     }
 
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -191,4 +192,4 @@ class DeliveryControllerTest {
         assertEquals(error, thrown.getMessage());
         verify(deliveryService, times(1)).getDeliveryByOrderId(orderId);
     }
-}
\ No newline at end of file
+}
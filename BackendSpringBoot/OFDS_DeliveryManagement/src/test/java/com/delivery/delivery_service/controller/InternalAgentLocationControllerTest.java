@@ -0,0 +1,43 @@
+package com.delivery.delivery_service.controller;
+
+import com.delivery.delivery_service.dto.AgentLocationDTO;
+import com.delivery.delivery_service.dto.LocationIngestResultDTO;
+import com.delivery.delivery_service.location.AgentLocationPipeline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InternalAgentLocationControllerTest {
+
+    @InjectMocks
+    private InternalAgentLocationController controller;
+
+    @Mock
+    private AgentLocationPipeline agentLocationPipeline;
+
+    @Test
+    void testReportLocations_Accepted() {
+        List<AgentLocationDTO> pings = List.of(new AgentLocationDTO(501L, 12.97, 77.59));
+        LocationIngestResultDTO expected = new LocationIngestResultDTO(1, 0);
+
+        when(agentLocationPipeline.ingest(pings)).thenReturn(expected);
+
+        ResponseEntity<LocationIngestResultDTO> response = controller.reportLocations(pings);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(expected, response.getBody());
+    }
+}
@@ -0,0 +1,137 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.entity.AgentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgentPoolTest {
+
+    private AgentPool agentPool;
+
+    @BeforeEach
+    void setUp() {
+        agentPool = new AgentPool();
+        agentPool.reload(List.of(1L, 2L, 3L), List.of(4L));
+    }
+
+    @Test
+    void claimAny_ReturnsAgentsInArrivalOrderUntilEmpty() {
+        assertEquals(1L, agentPool.claimAny());
+        assertEquals(2L, agentPool.claimAny());
+        assertEquals(3L, agentPool.claimAny());
+        assertNull(agentPool.claimAny());
+        assertEquals(AgentStatus.ASSIGNED, agentPool.statusOf(4L));
+    }
+
+    @Test
+    void claimById_IsSkippedByClaimAny() {
+        assertTrue(agentPool.claim(1L));
+        assertFalse(agentPool.claim(1L));
+
+        assertEquals(2L, agentPool.claimAny());
+    }
+
+    @Test
+    void release_MakesAgentClaimableOnceAgain() {
+        assertTrue(agentPool.claim(2L));
+        agentPool.release(2L);
+        agentPool.release(2L);
+
+        assertEquals(1L, agentPool.claimAny());
+        assertEquals(2L, agentPool.claimAny());
+        assertEquals(3L, agentPool.claimAny());
+        assertNull(agentPool.claimAny());
+    }
+
+    @Test
+    void register_AddsNewAvailableAgent() {
+        agentPool.register(5L, AgentStatus.AVAILABLE);
+
+        assertEquals(4, agentPool.availableCount());
+        assertEquals(1L, agentPool.peekAvailable());
+    }
+
+    @Test
+    void availableCount_FollowsEveryStatusChange() {
+        assertEquals(3, agentPool.availableCount());
+
+        assertTrue(agentPool.claim(1L));
+        assertFalse(agentPool.claim(1L));
+        assertEquals(2L, agentPool.claimAny());
+        assertEquals(1, agentPool.availableCount());
+
+        agentPool.release(2L);
+        agentPool.release(2L);
+        agentPool.release(4L);
+        assertEquals(3, agentPool.availableCount());
+
+        // Unknown agents: a direct claim records them busy, a release records them free
+        assertTrue(agentPool.claim(6L));
+        agentPool.release(7L);
+        assertEquals(4, agentPool.availableCount());
+
+        agentPool.reload(List.of(1L), List.of(2L));
+        assertEquals(1, agentPool.availableCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent claims and releases never hand the same agent to two callers")
+    void concurrentClaims_NeverDoubleBook() throws InterruptedException {
+        int agents = 50;
+        int threads = 8;
+        int claimsPerThread = 5_000;
+        agentPool.reload(LongStream.rangeClosed(1, agents).boxed().toList(), List.of());
+
+        Set<Long> busy = ConcurrentHashMap.newKeySet();
+        AtomicInteger doubleBooked = new AtomicInteger();
+        AtomicInteger claims = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < claimsPerThread; i++) {
+                    Long agentId = agentPool.claimAny();
+                    if (agentId == null) {
+                        continue;
+                    }
+                    claims.incrementAndGet();
+                    if (!busy.add(agentId)) {
+                        doubleBooked.incrementAndGet();
+                    }
+                    busy.remove(agentId);
+                    agentPool.release(agentId);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(0, doubleBooked.get());
+        assertTrue(claims.get() > 0);
+        assertEquals(agents, agentPool.availableCount());
+        for (int i = 0; i < agents; i++) {
+            assertNotNull(agentPool.claimAny());
+        }
+        assertNull(agentPool.claimAny());
+    }
+}
@@ -0,0 +1,170 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.dto.DeliveryDTO;
+import com.delivery.delivery_service.dto.OrderDTO;
+import com.delivery.delivery_service.exception.FleetCapacityExceededException;
+import com.delivery.delivery_service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BatchDispatcherTest {
+
+    private static final double LAT = 12.9716;
+    private static final double LON = 77.5946;
+
+    private AgentPool pool;
+    private AgentDispatcher agentDispatcher;
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<PendingAssignment>> committed;
+
+    @BeforeEach
+    void setUp() {
+        pool = new AgentPool();
+        agentDispatcher = new AgentDispatcher(pool, 0.01, 5, 15, 20, Duration.ofMinutes(10));
+        meterRegistry = new SimpleMeterRegistry();
+        committed = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Batch assignment beats taking the nearest agent order by order")
+    void flush_PlansMinimalTotalTravel() {
+        // Agent 1 sits between both restaurants, slightly closer to the first one; agent 2 is
+        // behind the first restaurant. Greedy gives agent 1 to the first order and sends agent 2
+        // across town; the optimal plan swaps them.
+        pool.reload(List.of(1L, 2L), List.of());
+        agentDispatcher.updateLocation(1L, LAT, LON + 0.011);
+        agentDispatcher.updateLocation(2L, LAT, LON - 0.02);
+        BatchDispatcher dispatcher = dispatcher(batch -> {
+            committed.add(batch);
+            batch.forEach(pending -> pending.succeeded(DeliveryDTO.builder()
+                    .orderId(pending.getOrder().getOrderId()).agentId(pending.getPlannedAgentId()).build()));
+        });
+        PendingAssignment first = dispatcher.enqueue(order(101L, LAT, LON));
+        PendingAssignment second = dispatcher.enqueue(order(102L, LAT, LON + 0.02));
+
+        dispatcher.flush();
+
+        assertEquals(2L, first.getPlannedAgentId());
+        assertEquals(1L, second.getPlannedAgentId());
+        assertEquals(1L, second.result().join().getAgentId());
+        assertEquals(1, committed.size());
+        double optimized = meterRegistry.get("delivery.dispatch.batch.travel").tag("strategy", "optimized").summary().totalAmount();
+        double greedy = meterRegistry.get("delivery.dispatch.batch.travel").tag("strategy", "greedy").summary().totalAmount();
+        assertTrue(optimized < greedy, optimized + " should be below " + greedy);
+    }
+
+    @Test
+    void flush_LeavesOrdersUnplannedWhenThereAreFewerAgents() {
+        pool.reload(List.of(1L), List.of());
+        agentDispatcher.updateLocation(1L, LAT, LON);
+        BatchDispatcher dispatcher = dispatcher(committed::add);
+        PendingAssignment first = dispatcher.enqueue(order(101L, LAT, LON + 0.05));
+        PendingAssignment second = dispatcher.enqueue(order(102L, LAT, LON + 0.001));
+
+        dispatcher.flush();
+
+        assertNull(first.getPlannedAgentId());
+        assertEquals(1L, second.getPlannedAgentId());
+    }
+
+    @Test
+    void flush_FailsEveryOrderWhenTheBatchCannotBeCommitted() {
+        BatchDispatcher dispatcher = dispatcher(batch -> {
+            throw new ResourceNotFoundException("database unavailable");
+        });
+        PendingAssignment pending = dispatcher.enqueue(order(101L, LAT, LON));
+
+        dispatcher.flush();
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> pending.result().join());
+        assertInstanceOf(ResourceNotFoundException.class, failure.getCause());
+    }
+
+    @Test
+    @DisplayName("An order whose batch never starts is withdrawn and assigned immediately")
+    void submit_FallsBackWhenNoBatchTakesTheOrder() {
+        BatchDispatcher dispatcher = dispatcher(committed::add, Duration.ofMillis(20));
+        DeliveryDTO immediate = DeliveryDTO.builder().orderId(101L).agentId(7L).build();
+
+        assertSame(immediate, dispatcher.submit(order(101L, LAT, LON), () -> immediate));
+
+        dispatcher.flush();
+        assertTrue(committed.isEmpty());
+        assertEquals(1.0, meterRegistry.get("delivery.dispatch.assignments").tag("mode", "immediate").counter().count());
+    }
+
+    @Test
+    @DisplayName("An order whose batch is stuck committing fails fast instead of waiting on")
+    void submit_FailsFastWhenTheBatchDoesNotCommitInTime() {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskScheduler scheduler = mock(TaskScheduler.class);
+        // A full buffer is flushed on another thread, as the real scheduler would
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(invocation.getArgument(0, Runnable.class));
+            return null;
+        });
+        BatchDispatcher dispatcher = new BatchDispatcher(agentDispatcher, batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, true, Duration.ofMillis(50), 1, 3, scheduler, meterRegistry);
+
+        try {
+            assertThrows(FleetCapacityExceededException.class, () -> dispatcher.submit(order(101L, LAT, LON),
+                    () -> fail("order was already taken by the batch")));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldBatch_OnlyAfterABusyWindow() {
+        BatchDispatcher dispatcher = dispatcher(committed::add);
+        OrderDTO order = order(101L, LAT, LON);
+
+        assertFalse(dispatcher.shouldBatch(order));
+        dispatcher.shouldBatch(order);
+        dispatcher.shouldBatch(order);
+        dispatcher.tick();
+
+        assertTrue(dispatcher.shouldBatch(order));
+        assertFalse(dispatcher.shouldBatch(new OrderDTO(102L, 201L, "No coordinates")));
+        assertEquals(4.0, meterRegistry.get("delivery.dispatch.assignments").tag("mode", "immediate").counter().count());
+        assertEquals(1.0, meterRegistry.get("delivery.dispatch.assignments").tag("mode", "batched").counter().count());
+    }
+
+    private BatchDispatcher dispatcher(BatchAssignmentHandler handler) {
+        return dispatcher(handler, Duration.ofSeconds(2));
+    }
+
+    private BatchDispatcher dispatcher(BatchAssignmentHandler handler, Duration window) {
+        return new BatchDispatcher(agentDispatcher, handler, true, window, 20, 3, mock(TaskScheduler.class), meterRegistry);
+    }
+
+    private static OrderDTO order(Long orderId, double latitude, double longitude) {
+        return OrderDTO.builder()
+                .orderId(orderId)
+                .restaurantId(201L)
+                .restaurantLatitude(latitude)
+                .restaurantLongitude(longitude)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.delivery.delivery_service.dispatch;
+
+import com.delivery.delivery_service.dto.OrderDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoGridTest {
+
+    private static final double LAT = 12.9716;
+    private static final double LON = 77.5946;
+
+    @Test
+    void distanceKm_MatchesKnownDistance() {
+        // Bengaluru to Chennai, roughly 290 km as the crow flies
+        assertEquals(290, GeoGrid.distanceKm(12.9716, 77.5946, 13.0827, 80.2707), 5);
+        assertEquals(0, GeoGrid.distanceKm(LAT, LON, LAT, LON), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Nearest agents match a brute-force scan")
+    void nearest_MatchesBruteForce() {
+        GeoGrid grid = new GeoGrid(0.01);
+        Random random = new Random(42);
+        double[][] positions = new double[5_000][];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new double[] {LAT + (random.nextDouble() - 0.5) * 0.4, LON + (random.nextDouble() - 0.5) * 0.4};
+            grid.update(i, positions[i][0], positions[i][1]);
+        }
+
+        for (int query = 0; query < 20; query++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 0.3;
+            double lon = LON + (random.nextDouble() - 0.5) * 0.3;
+            List<GeoGrid.Neighbour> nearest = grid.nearest(lat, lon, 5, 15, agentId -> agentId % 3 != 0);
+
+            List<Long> expected = LongStream.range(0, positions.length)
+                    .filter(agentId -> agentId % 3 != 0)
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(agentId ->
+                            GeoGrid.distanceKm(lat, lon, positions[agentId.intValue()][0], positions[agentId.intValue()][1])))
+                    .limit(5)
+                    .toList();
+            assertEquals(expected, nearest.stream().map(GeoGrid.Neighbour::agentId).toList());
+        }
+    }
+
+    @Test
+    void update_MovesAgentToItsNewCell() {
+        GeoGrid grid = new GeoGrid(0.01);
+        grid.update(1L, LAT + 0.2, LON + 0.2);
+        grid.update(2L, LAT + 0.05, LON);
+
+        grid.update(1L, LAT, LON);
+
+        List<GeoGrid.Neighbour> nearest = grid.nearest(LAT, LON, 1, 15, agentId -> true);
+        assertEquals(1L, nearest.get(0).agentId());
+        assertEquals(2, grid.size());
+        assertArrayEquals(new double[] {LAT, LON}, grid.positionOf(1L));
+    }
+
+    @Test
+    void nearest_IgnoresAgentsBeyondMaxRadius() {
+        GeoGrid grid = new GeoGrid(0.01);
+        grid.update(1L, LAT + 0.5, LON);
+
+        assertTrue(grid.nearest(LAT, LON, 3, 15, agentId -> true).isEmpty());
+    }
+
+    @Test
+    void estimateArrival_AddsTravelTimeToHandoff() {
+        AgentPool pool = new AgentPool();
+        AgentDispatcher dispatcher = new AgentDispatcher(pool, 0.01, 5, 15, 20, Duration.ofMinutes(10));
+        dispatcher.updateLocation(1L, LAT, LON);
+        OrderDTO order = OrderDTO.builder()
+                .restaurantLatitude(LAT + 0.09)   // ~10 km north
+                .restaurantLongitude(LON)
+                .build();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 19, 0);
+
+        LocalDateTime eta = dispatcher.estimateArrival(1L, order, now);
+
+        // 10 km at 20 km/h is 30 minutes, plus 10 minutes hand-off
+        assertEquals(40, Duration.between(now, eta).toMinutes());
+        assertEquals(now.plusMinutes(30), dispatcher.estimateArrival(2L, order, now));
+    }
+}
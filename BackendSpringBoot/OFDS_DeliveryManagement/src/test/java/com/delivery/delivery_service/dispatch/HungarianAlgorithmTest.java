@@ -0,0 +1,75 @@
+package com.delivery.delivery_service.dispatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HungarianAlgorithmTest {
+
+    @Test
+    void solve_FindsOptimalSquareAssignment() {
+        double[][] cost = {
+                {4, 1, 3},
+                {2, 0, 5},
+                {3, 2, 2}
+        };
+
+        int[] assignment = HungarianAlgorithm.solve(cost);
+
+        assertArrayEquals(new int[] {1, 0, 2}, assignment);
+        assertEquals(5, total(cost, assignment), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Optimal total matches a brute-force search on random rectangular matrices")
+    void solve_MatchesBruteForce() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(5);
+            int columns = rows + random.nextInt(3);
+            double[][] cost = new double[rows][columns];
+            for (double[] row : cost) {
+                for (int column = 0; column < columns; column++) {
+                    row[column] = random.nextInt(50);
+                }
+            }
+
+            int[] assignment = HungarianAlgorithm.solve(cost);
+
+            assertEquals(rows, Arrays.stream(assignment).distinct().count());
+            assertEquals(bruteForce(cost, 0, new boolean[columns]), total(cost, assignment), 1e-9);
+        }
+    }
+
+    @Test
+    void solve_RejectsMoreRowsThanColumns() {
+        assertThrows(IllegalArgumentException.class, () -> HungarianAlgorithm.solve(new double[3][2]));
+    }
+
+    private static double total(double[][] cost, int[] assignment) {
+        double total = 0;
+        for (int row = 0; row < assignment.length; row++) {
+            total += cost[row][assignment[row]];
+        }
+        return total;
+    }
+
+    private static double bruteForce(double[][] cost, int row, boolean[] used) {
+        if (row == cost.length) {
+            return 0;
+        }
+        double best = Double.MAX_VALUE;
+        for (int column = 0; column < used.length; column++) {
+            if (!used[column]) {
+                used[column] = true;
+                best = Math.min(best, cost[row][column] + bruteForce(cost, row + 1, used));
+                used[column] = false;
+            }
+        }
+        return best;
+    }
+}
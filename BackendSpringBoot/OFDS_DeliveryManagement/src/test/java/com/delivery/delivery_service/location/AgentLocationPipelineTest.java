@@ -0,0 +1,109 @@
+package com.delivery.delivery_service.location;
+
+import com.delivery.delivery_service.dispatch.AgentDispatcher;
+import com.delivery.delivery_service.dispatch.AgentPool;
+import com.delivery.delivery_service.dto.AgentLocationDTO;
+import com.delivery.delivery_service.dto.LocationIngestResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgentLocationPipelineTest {
+
+    @Mock
+    private AgentDispatcher agentDispatcher;
+
+    @Mock
+    private LocationHistoryWriter historyWriter;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AgentLocationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        AgentPool agentPool = new AgentPool();
+        agentPool.reload(List.of(1L, 2L, 3L), List.of());
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new AgentLocationPipeline(agentPool, agentDispatcher, historyWriter, 100, 4, 2,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), taskScheduler, meterRegistry);
+    }
+
+    @Test
+    void ingest_SkipsInvalidPingsWithoutFailingTheBatch() {
+        List<AgentLocationDTO> pings = new ArrayList<>();
+        pings.add(new AgentLocationDTO(1L, 12.97, 77.59));
+        pings.add(new AgentLocationDTO(99L, 12.97, 77.59));   // unknown agent
+        pings.add(new AgentLocationDTO(2L, 120.0, 77.59));    // latitude out of range
+        pings.add(new AgentLocationDTO(3L, null, 77.59));
+        pings.add(new AgentLocationDTO(2L, 12.98, 77.60));    // beyond max-batch-size
+
+        LocationIngestResultDTO result = pipeline.ingest(pings);
+
+        assertEquals(1, result.getAccepted());
+        assertEquals(4, result.getRejected());
+        assertEquals(4.0, meterRegistry.get("delivery.location.pings").tag("outcome", "rejected").counter().count());
+        assertEquals(1, pipeline.store().size());
+    }
+
+    @Test
+    void ingest_ClampsDeviceTimestampsFromTheFuture() {
+        pipeline.ingest(List.of(new AgentLocationDTO(1L, 12.97, 77.59, LocalDateTime.now().plusHours(1))));
+
+        LocationIngestResultDTO result = pipeline.ingest(List.of(new AgentLocationDTO(1L, 12.98, 77.60)));
+
+        assertEquals(1, result.getAccepted());
+    }
+
+    @Test
+    void publish_MovesOnlyChangedAgentsIntoDispatch() {
+        pipeline.ingest(List.of(new AgentLocationDTO(1L, 12.97, 77.59), new AgentLocationDTO(1L, 12.98, 77.60),
+                new AgentLocationDTO(2L, 12.90, 77.50)));
+
+        pipeline.publish();
+        pipeline.publish();
+
+        verify(agentDispatcher).updateLocation(1L, 12.98, 77.60);
+        verify(agentDispatcher).updateLocation(2L, 12.90, 77.50);
+        verifyNoMoreInteractions(agentDispatcher);
+    }
+
+    @Test
+    void flush_WritesChangedPositionsInJdbcBatches() {
+        pipeline.ingest(List.of(new AgentLocationDTO(1L, 12.97, 77.59), new AgentLocationDTO(2L, 12.90, 77.50),
+                new AgentLocationDTO(3L, 12.95, 77.55)));
+
+        pipeline.flush();
+        pipeline.flush();
+
+        verify(historyWriter).write(any(LocationBatch.class), eq(0), eq(2));
+        verify(historyWriter).write(any(LocationBatch.class), eq(2), eq(3));
+        verifyNoMoreInteractions(historyWriter);
+    }
+
+    @Test
+    void flush_KeepsRunningWhenTheDatabaseFails() {
+        doThrow(new IllegalStateException("database unavailable")).when(historyWriter).write(any(), anyInt(), anyInt());
+        pipeline.ingest(List.of(new AgentLocationDTO(1L, 12.97, 77.59)));
+
+        assertDoesNotThrow(() -> pipeline.flush());
+        assertEquals(1, meterRegistry.get("delivery.location.flush").timer().count());
+    }
+}
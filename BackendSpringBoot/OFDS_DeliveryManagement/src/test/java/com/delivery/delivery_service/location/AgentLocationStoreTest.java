@@ -0,0 +1,99 @@
+package com.delivery.delivery_service.location;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgentLocationStoreTest {
+
+    @Test
+    @DisplayName("A consumer sees only the latest position of agents that moved since its last look")
+    void collectChanged_CoalescesPingsPerAgent() {
+        AgentLocationStore store = new AgentLocationStore(10);
+        long[] seen = new long[store.capacity()];
+        LocationBatch batch = new LocationBatch(store.capacity());
+        store.record(1L, 12.90, 77.50, 1_000);
+        store.record(1L, 12.91, 77.51, 2_000);
+        store.record(2L, 12.95, 77.55, 1_500);
+
+        store.collectChanged(seen, batch);
+
+        assertEquals(2, batch.size());
+        assertEquals(1L, batch.agentId(0));
+        assertEquals(12.91, batch.latitude(0));
+        assertEquals(2_000, batch.recordedAtMillis(0));
+
+        store.record(2L, 12.96, 77.56, 2_500);
+        store.collectChanged(seen, batch);
+
+        assertEquals(1, batch.size());
+        assertEquals(2L, batch.agentId(0));
+        assertEquals(77.56, batch.longitude(0));
+    }
+
+    @Test
+    void record_IgnoresOutOfOrderPings() {
+        AgentLocationStore store = new AgentLocationStore(10);
+        LocationBatch batch = new LocationBatch(store.capacity());
+        store.record(1L, 12.91, 77.51, 2_000);
+
+        assertFalse(store.record(1L, 12.90, 77.50, 1_000));
+
+        store.collectChanged(new long[store.capacity()], batch);
+        assertEquals(12.91, batch.latitude(0));
+    }
+
+    @Test
+    void record_RejectsNewAgentsOnceFull() {
+        AgentLocationStore store = new AgentLocationStore(2);
+
+        assertTrue(store.record(1L, 12.90, 77.50, 1_000));
+        assertTrue(store.record(2L, 12.90, 77.50, 1_000));
+        assertFalse(store.record(3L, 12.90, 77.50, 1_000));
+        assertTrue(store.record(1L, 12.91, 77.51, 2_000));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    @DisplayName("Concurrent writers never leave a torn position behind")
+    void record_ConcurrentWritersKeepLatitudeAndLongitudeTogether() throws Exception {
+        AgentLocationStore store = new AgentLocationStore(100);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int writer = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    // Longitude is always latitude + 65, so any mix-up between pings is visible
+                    double latitude = writer + i / 100_000.0;
+                    store.record(i % 100, latitude, latitude + 65, i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        LocationBatch batch = new LocationBatch(store.capacity());
+        store.collectChanged(new long[store.capacity()], batch);
+        assertEquals(100, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.latitude(i) + 65, batch.longitude(i), 1e-9);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.delivery.delivery_service.service;
 
+import com.delivery.delivery_service.dispatch.AgentDispatcher;
+import com.delivery.delivery_service.dispatch.AgentPool;
+import com.delivery.delivery_service.dispatch.BatchDispatcher;
+import com.delivery.delivery_service.dispatch.GeoGrid;
+import com.delivery.delivery_service.dispatch.PendingAssignment;
 import com.delivery.delivery_service.dto.DeliveryAssignmentDTO;
 import com.delivery.delivery_service.dto.DeliveryDTO;
 import com.delivery.delivery_service.dto.DeliveryStatusUpdateDTO;
+import com.delivery.delivery_service.dto.OrderDTO;
 import com.delivery.delivery_service.entity.AgentEntity;
 import com.delivery.delivery_service.entity.AgentStatus;
 import com.delivery.delivery_service.entity.DeliveryEntity;
@@ -19,9 +25,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +48,18 @@ public class DeliveryServiceTest {
     @Mock
     private DeliveryRepository deliveryRepository;
 
+    @Spy
+    private AgentPool agentPool;
+
+    @Mock
+    private AgentDispatcher agentDispatcher;
+
+    @Mock
+    private BatchDispatcher batchDispatcher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private DeliveryServiceImpl deliveryService;
 
@@ -47,6 +71,11 @@ public class DeliveryServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Run transaction callbacks inline
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+
         availableAgent = AgentEntity.builder()
                 .agentId(501L)
                 .agentName("John Doe")
@@ -106,6 +135,15 @@ public class DeliveryServiceTest {
         assertThrows(InvalidOrderIdException.class, () -> deliveryService.assignDeliveryAgent(dto));
     }
 
+    @Test
+    void assignDelivery_AcceptsLargeOrderIds() {
+        DeliveryAssignmentDTO dto = new DeliveryAssignmentDTO(250_000L, 201L, "abc", 501L);
+        when(deliveryRepository.existsByOrderId(250_000L)).thenReturn(true);
+
+        // Gets past order ID validation to the duplicate check
+        assertThrows(DuplicateAssignmentException.class, () -> deliveryService.assignDeliveryAgent(dto));
+    }
+
     @Test
     void assignDelivery_InvalidAgentId() {
         DeliveryAssignmentDTO dto = new DeliveryAssignmentDTO(101L, 201L, "abc", 0L);
@@ -135,5 +173,182 @@ public class DeliveryServiceTest {
         assertThrows(DuplicateAssignmentException.class, () -> deliveryService.assignDeliveryAgent(dto));
     }
 
+    @Test
+    void assignDeliveryAgent_AgentClaimedConcurrently() {
+        when(deliveryRepository.existsByOrderId(validAssignmentDTO.getOrderId())).thenReturn(false);
+        when(agentRepository.findById(validAssignmentDTO.getAgentId())).thenReturn(Optional.of(availableAgent));
+        agentPool.claim(availableAgent.getAgentId());
+
+        assertThrows(DuplicateAssignmentException.class, () -> deliveryService.assignDeliveryAgent(validAssignmentDTO));
+        verify(agentRepository, never()).save(any(AgentEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should skip pooled agents that another instance already assigned")
+    void assignDelivery_SkipsAgentTakenInDatabase() {
+        agentPool.reload(List.of(502L, 501L), List.of());
+        OrderDTO order = new OrderDTO();
+        order.setOrderId(101L);
+        when(deliveryRepository.existsByOrderId(101L)).thenReturn(false);
+        when(agentRepository.compareAndSetStatus(502L, AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)).thenReturn(0);
+        when(agentRepository.compareAndSetStatus(501L, AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)).thenReturn(1);
+        when(agentRepository.findById(501L)).thenReturn(Optional.of(availableAgent));
+        when(deliveryRepository.save(any(DeliveryEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DeliveryDTO result = deliveryService.assignDelivery(order);
+
+        assertEquals(501L, result.getAgentId());
+        assertNull(agentPool.claimAny());
+        verify(agentRepository, never()).findByAgentStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should assign the nearest free agent when the restaurant position is known")
+    void assignDelivery_PicksNearestAgent() {
+        agentPool.reload(List.of(502L, 501L), List.of());
+        OrderDTO order = OrderDTO.builder()
+                .orderId(101L)
+                .restaurantId(201L)
+                .restaurantLatitude(12.9716)
+                .restaurantLongitude(77.5946)
+                .build();
+        LocalDateTime eta = LocalDateTime.now().plusMinutes(18);
+        when(deliveryRepository.existsByOrderId(101L)).thenReturn(false);
+        when(agentDispatcher.nearestAvailable(12.9716, 77.5946))
+                .thenReturn(List.of(new GeoGrid.Neighbour(501L, 0.8), new GeoGrid.Neighbour(502L, 2.5)));
+        when(agentDispatcher.estimateArrival(eq(501L), eq(order), any(LocalDateTime.class))).thenReturn(eta);
+        when(agentRepository.compareAndSetStatus(501L, AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)).thenReturn(1);
+        when(agentRepository.findById(501L)).thenReturn(Optional.of(availableAgent));
+        when(deliveryRepository.save(any(DeliveryEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DeliveryDTO result = deliveryService.assignDelivery(order);
+
+        assertEquals(501L, result.getAgentId());
+        assertEquals(eta, result.getEstimatedDeliveryTime());
+        assertEquals(502L, agentPool.claimAny());
+    }
+
+    @Test
+    void assignDelivery_NoAgentAvailable() {
+        OrderDTO order = new OrderDTO();
+        order.setOrderId(101L);
+        ReflectionTestUtils.setField(deliveryService, "maxQueuedDeliveries", 10L);
+        when(deliveryRepository.existsByOrderId(101L)).thenReturn(false);
+        when(deliveryRepository.countByDeliveryStatus(DeliveryStatus.PENDING)).thenReturn(10L);
+
+        assertThrows(FleetCapacityExceededException.class, () -> deliveryService.assignDelivery(order));
+    }
+
+    @Test
+    @DisplayName("Should queue the delivery when no agent is free")
+    void assignDelivery_QueuesWhenNoAgentAvailable() {
+        OrderDTO order = new OrderDTO();
+        order.setOrderId(101L);
+        ReflectionTestUtils.setField(deliveryService, "maxQueuedDeliveries", 10L);
+        when(deliveryRepository.existsByOrderId(101L)).thenReturn(false);
+        when(deliveryRepository.countByDeliveryStatus(DeliveryStatus.PENDING)).thenReturn(3L);
+        when(deliveryRepository.save(any(DeliveryEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DeliveryDTO result = deliveryService.assignDelivery(order);
+
+        assertEquals("PENDING", result.getStatus());
+        assertNull(result.getAgentId());
+        verify(agentRepository, never()).compareAndSetStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should hand a released agent straight to the oldest queued delivery")
+    void updateDeliveryStatus_HandsAgentToQueuedDelivery() {
+        DeliveryEntity queued = DeliveryEntity.builder()
+                .deliveryId(200L)
+                .orderId(102L)
+                .deliveryStatus(DeliveryStatus.PENDING)
+                .build();
+        when(deliveryRepository.findById(100L)).thenReturn(Optional.of(inProgressDelivery));
+        when(deliveryRepository.findQueuedForUpdate(eq(DeliveryStatus.PENDING), any(Pageable.class))).thenReturn(List.of(queued));
+        when(deliveryRepository.save(any(DeliveryEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        deliveryService.updateDeliveryStatus(100L, deliveredStatusDTO);
+
+        assertEquals(DeliveryStatus.IN_PROGRESS, queued.getDeliveryStatus());
+        assertSame(availableAgent, queued.getAgent());
+        verify(agentRepository, never()).save(any());
+        verify(agentPool, never()).releaseAfterCommit(any());
+    }
+
+    @Test
+    void assignQueuedDeliveries_GivesFreeAgentsToOldestQueuedDeliveries() {
+        agentPool.reload(List.of(501L), List.of());
+        DeliveryEntity first = DeliveryEntity.builder().deliveryId(200L).orderId(102L).deliveryStatus(DeliveryStatus.PENDING).build();
+        DeliveryEntity second = DeliveryEntity.builder().deliveryId(201L).orderId(103L).deliveryStatus(DeliveryStatus.PENDING).build();
+        when(deliveryRepository.findQueuedForUpdate(eq(DeliveryStatus.PENDING), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(agentRepository.compareAndSetStatus(501L, AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)).thenReturn(1);
+        when(agentRepository.findById(501L)).thenReturn(Optional.of(availableAgent));
+
+        assertEquals(1, deliveryService.assignQueuedDeliveries(50));
+
+        assertSame(availableAgent, first.getAgent());
+        assertEquals(DeliveryStatus.PENDING, second.getDeliveryStatus());
+    }
+
+    @Test
+    @DisplayName("Should hand the order to the batch dispatcher at peak traffic")
+    void assignDelivery_WaitsForBatchAtPeak() {
+        OrderDTO order = new OrderDTO();
+        order.setOrderId(101L);
+        DeliveryDTO batched = DeliveryDTO.builder().orderId(101L).agentId(501L).build();
+        when(deliveryRepository.existsByOrderId(101L)).thenReturn(false);
+        when(batchDispatcher.shouldBatch(order)).thenReturn(true);
+        when(batchDispatcher.submit(eq(order), any())).thenReturn(batched);
+
+        assertSame(batched, deliveryService.assignDelivery(order));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should commit a batch with planned agents and fall back when one was taken")
+    void assignBatch_UsesPlannedAgentsAndFallsBack() {
+        agentPool.reload(List.of(501L, 502L), List.of());
+        PendingAssignment first = pending(101L, 501L);
+        PendingAssignment second = pending(102L, 501L);
+        when(deliveryRepository.existsByOrderId(anyLong())).thenReturn(false);
+        when(agentRepository.compareAndSetStatus(anyLong(), eq(AgentStatus.AVAILABLE), eq(AgentStatus.ASSIGNED))).thenReturn(1);
+        when(agentRepository.findById(501L)).thenReturn(Optional.of(availableAgent));
+        when(agentRepository.findById(502L)).thenReturn(Optional.of(assignedAgent));
+        when(deliveryRepository.save(any(DeliveryEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        deliveryService.assignBatch(List.of(first, second));
+
+        assertEquals(501L, first.getDelivery().getAgentId());
+        assertEquals(502L, second.getDelivery().getAgentId());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should fail only the batched order that has no agent left and no room in the queue")
+    void assignBatch_FailsOrderWithoutAgent() {
+        agentPool.reload(List.of(501L), List.of());
+        PendingAssignment first = pending(101L, 501L);
+        PendingAssignment second = pending(102L, null);
+        when(deliveryRepository.existsByOrderId(anyLong())).thenReturn(false);
+        when(agentRepository.compareAndSetStatus(501L, AgentStatus.AVAILABLE, AgentStatus.ASSIGNED)).thenReturn(1);
+        when(agentRepository.findById(501L)).thenReturn(Optional.of(availableAgent));
+        when(deliveryRepository.save(any(DeliveryEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        deliveryService.assignBatch(List.of(first, second));
+
+        assertEquals(501L, first.getDelivery().getAgentId());
+        assertNull(second.getDelivery());
+        assertInstanceOf(FleetCapacityExceededException.class, second.getFailure());
+    }
+
+    private static PendingAssignment pending(Long orderId, Long plannedAgentId) {
+        OrderDTO order = new OrderDTO();
+        order.setOrderId(orderId);
+        PendingAssignment pending = new PendingAssignment(order);
+        pending.setPlannedAgentId(plannedAgentId);
+        return pending;
+    }
+
     // You can reuse your updateDeliveryStatus and getDeliveryByOrderId tests without changes
 }
\ No newline at end of file
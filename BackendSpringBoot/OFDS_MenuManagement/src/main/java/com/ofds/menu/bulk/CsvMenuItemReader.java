@@ -0,0 +1,160 @@
+package com.ofds.menu.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.ofds.menu.dto.MenuItemRequestDto;
+import com.ofds.menu.exception.InvalidImportFileException;
+import com.ofds.menu.util.AppConstants;
+
+/**
+ * Reads menu items from CSV (RFC 4180: comma separated, fields optionally double-quoted, a quote
+ * inside a quoted field written twice, line breaks allowed inside quotes).
+ *
+ * The first record is the header. Columns are matched by name, ignoring case and order, and
+ * columns other than {@code itemName, description, price, isVegetarian} are ignored, so a file
+ * produced by the export can be imported again as it is. Blank lines are skipped. Line numbers
+ * in errors are those of the line a record starts on.
+ */
+class CsvMenuItemReader implements MenuItemRowReader {
+
+	static final String[] COLUMNS = { "itemName", "description", "price", "isVegetarian" };
+
+	private final PushbackReader reader;
+	private long line = 1;
+	private long recordLine;
+	private boolean unterminatedQuote;
+	private int[] columnIndexes;
+
+	CsvMenuItemReader(Reader reader) {
+		this.reader = new PushbackReader(new BufferedReader(reader));
+	}
+
+	@Override
+	public ImportRow next() throws IOException {
+		if (columnIndexes == null) {
+			readHeader();
+		}
+		List<String> fields;
+		do {
+			fields = readRecord();
+			if (fields == null) {
+				return null;
+			}
+		} while (fields.size() == 1 && fields.get(0).isBlank() && !unterminatedQuote);
+
+		MenuItemRequestDto item = new MenuItemRequestDto();
+		item.setItemName(field(fields, 0));
+		item.setDescription(field(fields, 1));
+		if (unterminatedQuote) {
+			return ImportRow.invalid(recordLine, item, AppConstants.IMPORT_UNTERMINATED_QUOTE);
+		}
+
+		String price = field(fields, 2);
+		if (price != null) {
+			try {
+				item.setPrice(Double.valueOf(price));
+			} catch (NumberFormatException e) {
+				return ImportRow.invalid(recordLine, item, AppConstants.IMPORT_INVALID_PRICE);
+			}
+		}
+		String vegetarian = field(fields, 3);
+		if (vegetarian != null) {
+			if (!"true".equalsIgnoreCase(vegetarian) && !"false".equalsIgnoreCase(vegetarian)) {
+				return ImportRow.invalid(recordLine, item, AppConstants.IMPORT_INVALID_VEGETARIAN);
+			}
+			item.setIsVegetarian(Boolean.valueOf(vegetarian));
+		}
+		return ImportRow.valid(recordLine, item);
+	}
+
+	private void readHeader() throws IOException {
+		List<String> header = readRecord();
+		Map<String, Integer> positions = new HashMap<>();
+		if (header != null) {
+			for (int i = 0; i < header.size(); i++) {
+				// A byte order mark is read as part of the first column name
+				positions.putIfAbsent(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+			}
+		}
+		columnIndexes = new int[COLUMNS.length];
+		for (int i = 0; i < COLUMNS.length; i++) {
+			Integer position = positions.get(COLUMNS[i].toLowerCase(Locale.ROOT));
+			if (position == null) {
+				throw new InvalidImportFileException(AppConstants.IMPORT_MISSING_COLUMNS + String.join(",", COLUMNS));
+			}
+			columnIndexes[i] = position;
+		}
+	}
+
+	/**
+	 * The trimmed value of a known column, or null when it is missing or empty.
+	 */
+	private String field(List<String> fields, int column) {
+		int index = columnIndexes[column];
+		if (index >= fields.size()) {
+			return null;
+		}
+		String value = fields.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * The fields of the next record, or null at the end of the input.
+	 */
+	private List<String> readRecord() throws IOException {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		boolean empty = true;
+		recordLine = line;
+		while (true) {
+			int c = reader.read();
+			if (c == -1) {
+				if (empty) {
+					return null;
+				}
+				unterminatedQuote = quoted;
+				fields.add(field.toString());
+				return fields;
+			}
+			empty = false;
+			if (quoted) {
+				if (c == '"') {
+					int following = reader.read();
+					if (following == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						if (following != -1) {
+							reader.unread(following);
+						}
+					}
+				} else {
+					if (c == '\n') {
+						line++;
+					}
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.isEmpty()) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n') {
+				line++;
+				fields.add(field.toString());
+				return fields;
+			} else if (c != '\r') {
+				field.append((char) c);
+			}
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.ofds.menu.bulk;
+
+import com.ofds.menu.dto.MenuItemRequestDto;
+
+/**
+ * One parsed row of an import file. {@code item} holds whatever could be read even when
+ * {@code error} is set, so the error can name the item.
+ */
+record ImportRow(long line, MenuItemRequestDto item, String error) {
+
+	static ImportRow valid(long line, MenuItemRequestDto item) {
+		return new ImportRow(line, item, null);
+	}
+
+	static ImportRow invalid(long line, MenuItemRequestDto item, String error) {
+		return new ImportRow(line, item, error);
+	}
+}
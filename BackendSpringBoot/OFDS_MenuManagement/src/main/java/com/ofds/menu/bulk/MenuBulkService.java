@@ -0,0 +1,203 @@
+package com.ofds.menu.bulk;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ofds.menu.dto.BulkImportResultDto;
+import com.ofds.menu.dto.BulkRowErrorDto;
+import com.ofds.menu.dto.MenuItemRequestDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.exception.InvalidImportFileException;
+import com.ofds.menu.mapper.MenuItemMapper;
+import com.ofds.menu.repository.MenuItemRepository;
+import com.ofds.menu.util.AppConstants;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams menu items in and out of a restaurant's menu.
+ *
+ * An import reads the file row by row, checks each row against the same constraints as
+ * {@code POST /api/menu/restaurant}, drops names the restaurant already has (one query loads them
+ * all up front, instead of one duplicate check per item) or that appeared earlier in the file, and
+ * inserts the rest in JDBC batches of {@code batch-size}. Rejected rows do not stop the import;
+ * they are counted and reported with their line number. The whole import runs in one transaction,
+ * so a database failure leaves the menu as it was.
+ *
+ * An export writes the restaurant's items page by page in the import format.
+ */
+@Slf4j
+@Component
+public class MenuBulkService {
+
+	private static final String CSV_HEADER = "itemId,itemName,description,price,isVegetarian";
+
+	private final MenuItemRepository menuItemRepository;
+	private final MenuItemBatchInserter menuItemBatchInserter;
+	private final MenuItemMapper menuItemMapper;
+	private final Validator validator;
+	private final ObjectReader itemReader;
+	private final ObjectWriter itemWriter;
+	private final int batchSize;
+	private final int maxRows;
+	private final int maxReportedErrors;
+	private final int exportPageSize;
+
+	public MenuBulkService(MenuItemRepository menuItemRepository, MenuItemBatchInserter menuItemBatchInserter,
+			MenuItemMapper menuItemMapper, Validator validator, ObjectMapper objectMapper,
+			@Value("${menu.bulk.batch-size:1000}") int batchSize,
+			@Value("${menu.bulk.max-rows:50000}") int maxRows,
+			@Value("${menu.bulk.max-reported-errors:1000}") int maxReportedErrors,
+			@Value("${menu.bulk.export-page-size:1000}") int exportPageSize) {
+		super();
+		this.menuItemRepository = menuItemRepository;
+		this.menuItemBatchInserter = menuItemBatchInserter;
+		this.menuItemMapper = menuItemMapper;
+		this.validator = validator;
+		this.itemReader = objectMapper.readerFor(MenuItemRequestDto.class);
+		this.itemWriter = objectMapper.writer();
+		this.batchSize = batchSize;
+		this.maxRows = maxRows;
+		this.maxReportedErrors = maxReportedErrors;
+		this.exportPageSize = exportPageSize;
+	}
+
+	@Transactional
+	public BulkImportResultDto importItems(Long restaurantId, InputStream input, MenuFileFormat format) throws IOException {
+		InputStreamReader characters = new InputStreamReader(input, StandardCharsets.UTF_8);
+		MenuItemRowReader rows = format == MenuFileFormat.NDJSON
+				? new NdjsonMenuItemReader(characters, itemReader)
+				: new CsvMenuItemReader(characters);
+
+		// Lower-cased like the case-insensitive collation the single-item duplicate check runs under
+		Set<String> names = menuItemRepository.findItemNamesByRestaurantId(restaurantId).stream()
+				.map(MenuBulkService::nameKey)
+				.collect(Collectors.toCollection(HashSet::new));
+
+		List<MenuItemRequestDto> batch = new ArrayList<>(batchSize);
+		List<BulkRowErrorDto> errors = new ArrayList<>();
+		int rowsRead = 0;
+		int imported = 0;
+		int rejected = 0;
+		ImportRow row;
+		while ((row = rows.next()) != null) {
+			if (++rowsRead > maxRows) {
+				throw new InvalidImportFileException(AppConstants.IMPORT_TOO_MANY_ROWS + maxRows);
+			}
+			String error = row.error() != null ? row.error() : check(row.item(), names);
+			if (error != null) {
+				rejected++;
+				if (errors.size() < maxReportedErrors) {
+					errors.add(new BulkRowErrorDto(row.line(), row.item() == null ? null : row.item().getItemName(), error));
+				}
+				continue;
+			}
+			batch.add(row.item());
+			if (batch.size() == batchSize) {
+				menuItemBatchInserter.insert(restaurantId, batch);
+				imported += batch.size();
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			menuItemBatchInserter.insert(restaurantId, batch);
+			imported += batch.size();
+		}
+		log.info("Imported {} of {} menu items for restaurant with ID {}, {} rejected", imported, rowsRead, restaurantId, rejected);
+		return new BulkImportResultDto(rowsRead, imported, rejected, errors);
+	}
+
+	public void exportItems(Long restaurantId, MenuFileFormat format, OutputStream output) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		if (format == MenuFileFormat.CSV) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+		long lastItemId = 0;
+		int exported = 0;
+		List<MenuItem> page;
+		do {
+			page = menuItemRepository.findByRestaurantIdAndItemIdGreaterThanOrderByItemIdAsc(restaurantId, lastItemId,
+					PageRequest.of(0, exportPageSize));
+			for (MenuItem menuItem : page) {
+				if (format == MenuFileFormat.CSV) {
+					writeCsvRow(writer, menuItem);
+				} else {
+					writer.write(itemWriter.writeValueAsString(menuItemMapper.convertToDo(menuItem)));
+					writer.write('\n');
+				}
+				lastItemId = menuItem.getItemId();
+			}
+			exported += page.size();
+		} while (page.size() == exportPageSize);
+		writer.flush();
+		log.info("Exported {} menu items for restaurant with ID {} as {}", exported, restaurantId, format);
+	}
+
+	/**
+	 * Why the item cannot be imported, or null when it can. A name that passes is remembered, so a
+	 * later row with the same name is rejected.
+	 */
+	private String check(MenuItemRequestDto item, Set<String> names) {
+		Set<ConstraintViolation<MenuItemRequestDto>> violations = validator.validate(item);
+		if (!violations.isEmpty()) {
+			return violations.stream()
+					.map(ConstraintViolation::getMessage)
+					.sorted()
+					.collect(Collectors.joining("; "));
+		}
+		if (!names.add(nameKey(item.getItemName()))) {
+			return AppConstants.IMPORT_DUPLICATE_ITEM + item.getItemName();
+		}
+		return null;
+	}
+
+	private static String nameKey(String itemName) {
+		return itemName.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static void writeCsvRow(Writer writer, MenuItem menuItem) throws IOException {
+		writer.write(String.valueOf(menuItem.getItemId()));
+		writer.write(',');
+		writer.write(csvField(menuItem.getItemName()));
+		writer.write(',');
+		writer.write(csvField(menuItem.getDescription()));
+		writer.write(',');
+		writer.write(String.valueOf(menuItem.getPrice()));
+		writer.write(',');
+		writer.write(String.valueOf(menuItem.getIsVegetarian()));
+		writer.write('\n');
+	}
+
+	private static String csvField(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
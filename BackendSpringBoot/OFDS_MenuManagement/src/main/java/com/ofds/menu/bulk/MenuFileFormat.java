@@ -0,0 +1,38 @@
+package com.ofds.menu.bulk;
+
+import org.springframework.http.MediaType;
+
+/**
+ * File formats accepted by the bulk menu import and produced by the export.
+ */
+public enum MenuFileFormat {
+
+	CSV("text/csv", "csv"),
+	NDJSON("application/x-ndjson", "ndjson");
+
+	private final String mediaType;
+	private final String extension;
+
+	MenuFileFormat(String mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * The format of a request body; anything that is not NDJSON is read as CSV.
+	 */
+	public static MenuFileFormat fromContentType(String contentType) {
+		if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(NDJSON.mediaType))) {
+			return NDJSON;
+		}
+		return CSV;
+	}
+}
@@ -0,0 +1,14 @@
+package com.ofds.menu.bulk;
+
+import java.io.IOException;
+
+/**
+ * Pulls the rows of an import file one at a time, so a file is never held in memory whole.
+ */
+interface MenuItemRowReader {
+
+	/**
+	 * The next row, or {@code null} once the input is exhausted.
+	 */
+	ImportRow next() throws IOException;
+}
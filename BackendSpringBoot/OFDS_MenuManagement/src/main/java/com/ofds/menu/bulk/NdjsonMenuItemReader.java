@@ -0,0 +1,46 @@
+package com.ofds.menu.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ofds.menu.dto.MenuItemRequestDto;
+
+/**
+ * Reads menu items from newline-delimited JSON, one object per line. Blank lines are skipped and
+ * unknown properties are ignored, so lines produced by the export can be imported again.
+ */
+class NdjsonMenuItemReader implements MenuItemRowReader {
+
+	private final BufferedReader reader;
+	private final ObjectReader objectReader;
+	private long line;
+
+	/**
+	 * @param objectReader a reader bound to {@link MenuItemRequestDto}
+	 */
+	NdjsonMenuItemReader(Reader reader, ObjectReader objectReader) {
+		this.reader = new BufferedReader(reader);
+		this.objectReader = objectReader;
+	}
+
+	@Override
+	public ImportRow next() throws IOException {
+		String json;
+		do {
+			json = reader.readLine();
+			if (json == null) {
+				return null;
+			}
+			line++;
+		} while (json.isBlank());
+
+		try {
+			return ImportRow.valid(line, objectReader.readValue(json));
+		} catch (JsonProcessingException e) {
+			return ImportRow.invalid(line, null, "Malformed JSON: " + e.getOriginalMessage());
+		}
+	}
+}
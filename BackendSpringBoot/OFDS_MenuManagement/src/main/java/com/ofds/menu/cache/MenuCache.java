@@ -0,0 +1,166 @@
+package com.ofds.menu.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ofds.menu.dto.MenuItemResponseDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache of restaurant menus.
+ * Each restaurant is held as one immutable {@link MenuSnapshot} tagged with the restaurant's
+ * version at load time. Every create, update or delete bumps that version, so a snapshot that
+ * was loaded concurrently with a write is never served once the write has returned.
+ * An itemId to restaurantId index lets single item lookups be answered from the snapshot;
+ * it is filled when a snapshot is cached and trimmed when a snapshot is evicted.
+ *
+ * Versions are local to this instance; the TTL bounds how long a write made through another
+ * menu-service instance can stay invisible here.
+ *
+ * Meters: {@code menu.cache.requests} tagged with {@code lookup} and {@code result},
+ * {@code menu.cache.hit.ratio}, {@code menu.cache.size} and {@code menu.cache.load}.
+ */
+@Slf4j
+@Component
+public class MenuCache {
+
+	private final Cache<Long, MenuSnapshot> snapshots;
+	private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+	private final Map<Long, Long> restaurantByItem = new ConcurrentHashMap<>();
+
+	private final Counter menuHits;
+	private final Counter menuMisses;
+	private final Counter itemHits;
+	private final Counter itemMisses;
+	private final Timer loadTimer;
+
+	@Autowired
+	public MenuCache(@Value("${menu.cache.ttl:10m}") Duration ttl,
+			@Value("${menu.cache.max-restaurants:5000}") long maxRestaurants,
+			MeterRegistry meterRegistry) {
+		this(ttl, maxRestaurants, meterRegistry, ForkJoinPool.commonPool(), Ticker.systemTicker());
+	}
+
+	MenuCache(Duration ttl, long maxRestaurants, MeterRegistry meterRegistry, Executor executor, Ticker ticker) {
+		super();
+		this.snapshots = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxRestaurants)
+				.executor(executor)
+				.ticker(ticker)
+				.evictionListener((Long restaurantId, MenuSnapshot snapshot, RemovalCause cause) -> unindex(snapshot))
+				.build();
+
+		this.menuHits = Counter.builder("menu.cache.requests").tag("lookup", "menu").tag("result", "hit").register(meterRegistry);
+		this.menuMisses = Counter.builder("menu.cache.requests").tag("lookup", "menu").tag("result", "miss").register(meterRegistry);
+		this.itemHits = Counter.builder("menu.cache.requests").tag("lookup", "item").tag("result", "hit").register(meterRegistry);
+		this.itemMisses = Counter.builder("menu.cache.requests").tag("lookup", "item").tag("result", "miss").register(meterRegistry);
+		Gauge.builder("menu.cache.hit.ratio", this, MenuCache::hitRatio)
+				.description("Share of menu and menu item lookups answered from the cache")
+				.register(meterRegistry);
+		Gauge.builder("menu.cache.size", this, MenuCache::size)
+				.description("Restaurant menus currently cached")
+				.register(meterRegistry);
+		this.loadTimer = Timer.builder("menu.cache.load")
+				.description("Time taken to load a restaurant menu from the database")
+				.register(meterRegistry);
+		log.info("Menu cache initialised with ttl={} and maxRestaurants={}", ttl, maxRestaurants);
+	}
+
+	/**
+	 * Returns the current snapshot of the restaurant's menu, loading it with {@code loader} when
+	 * it is missing or older than the restaurant's version. Empty menus are cached as well.
+	 */
+	public MenuSnapshot getMenu(Long restaurantId, Function<Long, List<MenuItemResponseDto>> loader) {
+		long version = currentVersion(restaurantId);
+		MenuSnapshot snapshot = snapshots.getIfPresent(restaurantId);
+		if (snapshot != null && snapshot.getVersion() == version) {
+			menuHits.increment();
+			return snapshot;
+		}
+		menuMisses.increment();
+
+		MenuSnapshot loaded = new MenuSnapshot(restaurantId, version, loadTimer.record(() -> loader.apply(restaurantId)));
+		// A write that landed while loading has already bumped the version; keep that snapshot out
+		if (currentVersion(restaurantId) == version) {
+			snapshots.put(restaurantId, loaded);
+			loaded.getItems().forEach(item -> restaurantByItem.put(item.getItemId(), restaurantId));
+		}
+		log.debug("Loaded menu of restaurant {} at version {} with {} items", restaurantId, version, loaded.getItems().size());
+		return loaded;
+	}
+
+	/**
+	 * Looks a single item up in the cached menu of its restaurant, without touching the database.
+	 */
+	public Optional<MenuItemResponseDto> getItem(Long itemId) {
+		Long restaurantId = restaurantByItem.get(itemId);
+		MenuSnapshot snapshot = restaurantId == null ? null : snapshots.getIfPresent(restaurantId);
+		Optional<MenuItemResponseDto> item = snapshot != null && snapshot.getVersion() == currentVersion(restaurantId)
+				? snapshot.getItem(itemId)
+				: Optional.empty();
+		(item.isPresent() ? itemHits : itemMisses).increment();
+		return item;
+	}
+
+	/**
+	 * Marks the restaurant's menu as changed. Must be called after the change has been saved.
+	 */
+	public void invalidate(Long restaurantId) {
+		versions.computeIfAbsent(restaurantId, id -> new AtomicLong()).incrementAndGet();
+		snapshots.invalidate(restaurantId);
+		log.debug("Invalidated cached menu of restaurant {}", restaurantId);
+	}
+
+	/**
+	 * Drops a deleted item from the item index; its restaurant is invalidated separately.
+	 */
+	public void removeItem(Long itemId) {
+		restaurantByItem.remove(itemId);
+	}
+
+	public long size() {
+		return snapshots.estimatedSize();
+	}
+
+	int indexedItems() {
+		return restaurantByItem.size();
+	}
+
+	private long currentVersion(Long restaurantId) {
+		AtomicLong version = versions.get(restaurantId);
+		return version == null ? 0L : version.get();
+	}
+
+	private double hitRatio() {
+		double hits = menuHits.count() + itemHits.count();
+		double total = hits + menuMisses.count() + itemMisses.count();
+		return total == 0 ? 0.0 : hits / total;
+	}
+
+	private void unindex(MenuSnapshot snapshot) {
+		if (snapshot != null) {
+			snapshot.getItems().forEach(item -> restaurantByItem.remove(item.getItemId(), snapshot.getRestaurantId()));
+		}
+	}
+}
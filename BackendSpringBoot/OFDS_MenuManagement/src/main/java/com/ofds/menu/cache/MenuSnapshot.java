@@ -0,0 +1,61 @@
+package com.ofds.menu.cache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.util.ETags;
+
+/**
+ * Immutable view of one restaurant's menu as it was loaded at {@code version}.
+ * Items keep the repository order and are indexed by itemId for single item lookups.
+ * The entity tag is computed once from the items, so conditional requests are answered
+ * without serializing the menu again.
+ * The DTOs are shared between all readers of the snapshot and must not be modified.
+ */
+public final class MenuSnapshot {
+
+	private final Long restaurantId;
+	private final long version;
+	private final List<MenuItemResponseDto> items;
+	private final Map<Long, MenuItemResponseDto> itemsById;
+	private final String eTag;
+
+	MenuSnapshot(Long restaurantId, long version, List<MenuItemResponseDto> items) {
+		this.restaurantId = restaurantId;
+		this.version = version;
+		this.items = List.copyOf(items);
+		Map<Long, MenuItemResponseDto> index = new LinkedHashMap<>();
+		for (MenuItemResponseDto item : this.items) {
+			index.put(item.getItemId(), item);
+		}
+		this.itemsById = Map.copyOf(index);
+		this.eTag = ETags.of(this.items);
+	}
+
+	public Long getRestaurantId() {
+		return restaurantId;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public List<MenuItemResponseDto> getItems() {
+		return items;
+	}
+
+	public String getETag() {
+		return eTag;
+	}
+
+	public Optional<MenuItemResponseDto> getItem(Long itemId) {
+		return Optional.ofNullable(itemsById.get(itemId));
+	}
+
+	public boolean isEmpty() {
+		return items.isEmpty();
+	}
+}
@@ -0,0 +1,15 @@
+package com.ofds.menu.client;
+
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import com.ofds.menu.dto.MenuItemPopularityDto;
+
+@FeignClient(name = "order-service")
+public interface OrderServiceClient {
+
+	@GetMapping("/internal/menu-items/popularity")
+	List<MenuItemPopularityDto> getMenuItemPopularity();
+}
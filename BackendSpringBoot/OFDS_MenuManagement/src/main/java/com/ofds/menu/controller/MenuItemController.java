@@ -1,8 +1,13 @@
 package com.ofds.menu.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,14 +20,23 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import com.ofds.menu.bulk.MenuFileFormat;
+import com.ofds.menu.cache.MenuSnapshot;
+import com.ofds.menu.dto.BulkImportResultDto;
 import com.ofds.menu.dto.MenuItemRequestDto;
 import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.dto.MenuSearchResponseDto;
 import com.ofds.menu.dto.ResponseMessageDto;
+import com.ofds.menu.dto.SuggestionDto;
 import com.ofds.menu.service.MenuItemService;
+import com.ofds.menu.util.ETags;
 
 
 
@@ -60,6 +74,48 @@ public class MenuItemController {
 		return new ResponseEntity<>(menuItemService.createMenuItem(Long.valueOf(requestId) ,menuItemRequestDto), HttpStatus.CREATED);
 	}
 
+	/**
+	 * Adds many items into the menu from a CSV or NDJSON body, read as it streams in.
+	 * Rows that fail validation or repeat an existing name are skipped and reported with their line number.
+	 * @param body the file; CSV needs a header with itemName, description, price and isVegetarian.
+	 * @return ResponseEntity containing the number of imported and rejected rows and the row errors.
+	 */
+	@PostMapping(value = "/restaurant/items/import", consumes = { "text/csv", "application/x-ndjson" })
+	public ResponseEntity<BulkImportResultDto> importMenuItems(InputStream body,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			@RequestHeader("X-Internal-User-Id") String requestId,
+			@RequestHeader("X-Internal-User-Roles")String roles) throws IOException {
+		
+		if (!roles.contains("RESTAURANT")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+		
+		return new ResponseEntity<>(menuItemService.importMenuItems(Long.valueOf(requestId), body,
+				MenuFileFormat.fromContentType(contentType)), HttpStatus.OK);
+	}
+
+	/**
+	 * Streams the whole menu of the restaurant in the import format.
+	 * @param format CSV or NDJSON.
+	 * @return ResponseEntity streaming the menu items as a file.
+	 */
+	@GetMapping("/restaurant/items/export")
+	public ResponseEntity<StreamingResponseBody> exportMenuItems(@RequestParam(defaultValue = "CSV") MenuFileFormat format,
+			@RequestHeader("X-Internal-User-Id") String requestId,
+			@RequestHeader("X-Internal-User-Roles")String roles) {
+		
+		if (!roles.contains("RESTAURANT")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+		
+		Long restaurantId = Long.valueOf(requestId);
+		StreamingResponseBody body = output -> menuItemService.exportMenuItems(restaurantId, format, output);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(format.getMediaType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"menu-" + restaurantId + "." + format.getExtension() + "\"")
+				.body(body);
+	}
+
 	/**
 	 * Updates exsisting item in the menu.
 	 * @param itemId to the item that needed to be updated.
@@ -93,24 +149,35 @@ public class MenuItemController {
 	
 	/**
 	 * Views item detials by  itemID.
+	 * A request whose If-None-Match carries the current ETag gets a 304 without a body.
 	 * @param itemId to the item that needed to be viewed.
 	 * @return ResponseEntity containing item details.
 	 */
 	@GetMapping("/{itemId}")
 	public ResponseEntity<MenuItemResponseDto> getMenuItemById(@PathVariable Long itemId){
 
-		return new ResponseEntity<>(menuItemService.getMenuItemById(itemId),HttpStatus.OK);
+		MenuItemResponseDto menuItem = menuItemService.getMenuItemById(itemId);
+		return ResponseEntity.ok()
+				.eTag(ETags.of(menuItem))
+				.cacheControl(CacheControl.noCache())
+				.body(menuItem);
 	}
 	
 	/**
 	 * Views item details by the restaurant Id.
+	 * The ETag comes from the cached menu snapshot, so a matching If-None-Match is answered
+	 * with a 304 without reading the database or serializing the menu.
 	 * @param restaurantId to the restaurant that the List of item that needed to be viewed.
 	 * @return ResposeEntity containing list of items from the selected resturant by ID.
 	 */
 	@GetMapping("/restaurant/{restaurantId}")
 	public ResponseEntity<List<MenuItemResponseDto>> getMenuItemsByResturant(@PathVariable Long restaurantId){
 
-		return new ResponseEntity<>(menuItemService.getAllMenuItemsByResturant(Long.valueOf(restaurantId)),HttpStatus.OK);
+		MenuSnapshot menu = menuItemService.getMenuByRestaurant(restaurantId);
+		return ResponseEntity.ok()
+				.eTag(menu.getETag())
+				.cacheControl(CacheControl.noCache())
+				.body(menu.getItems());
 	}
 	
 //	@GetMapping("/restaurant/category")
@@ -123,14 +190,36 @@ public class MenuItemController {
 //        }
 //		return new ResponseEntity<>(menuItemService.getMenuItemByCategory(Long.valueOf(requestId),isVegetarian),HttpStatus.OK);
 //	}
-//
-//	@GetMapping("/search")
-//	public ResponseEntity<List<Long>> getMenuItemsBySimilarName(@RequestParam @NotBlank(message = "Item name cannot be blank for search.") String itemName,
-//			@RequestHeader("X-Internal-User-Roles")String roles) {
-//		
-//		if (!roles.contains("CUSTOMER")) {
-//            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
-//        }
-//		return new ResponseEntity<>(menuItemService.getMenuItemsBySimilarName(itemName), HttpStatus.OK);
-//	}
+
+	/**
+	 * Searches dishes by name and description, tolerating prefixes and single typos.
+	 * @param query the words to search for.
+	 * @param page zero based page of restaurants.
+	 * @param size restaurants per page.
+	 * @return ResponseEntity containing the matching items grouped by restaurant, best match first.
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<MenuSearchResponseDto> searchMenuItems(
+			@RequestParam("q") @NotBlank(message = "Search query cannot be blank.") String query,
+			@RequestParam(defaultValue = "0") @Min(value = 0, message = "Page cannot be negative.") int page,
+			@RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1.")
+			@Max(value = 50, message = "Size cannot be more than 50.") int size) {
+
+		return new ResponseEntity<>(menuItemService.searchMenuItems(query, page, size), HttpStatus.OK);
+	}
+
+	/**
+	 * Typeahead for the search box: dish and restaurant names starting with what has been typed so far.
+	 * @param prefix the text typed so far.
+	 * @param limit maximum number of suggestions.
+	 * @return ResponseEntity containing the suggestions, most ordered first.
+	 */
+	@GetMapping("/suggest")
+	public ResponseEntity<List<SuggestionDto>> suggest(
+			@RequestParam("q") @NotBlank(message = "Search query cannot be blank.") String prefix,
+			@RequestParam(defaultValue = "8") @Min(value = 1, message = "Limit must be at least 1.")
+			@Max(value = 10, message = "Limit cannot be more than 10.") int limit) {
+
+		return new ResponseEntity<>(menuItemService.suggest(prefix, limit), HttpStatus.OK);
+	}
 }
@@ -0,0 +1,18 @@
+package com.ofds.menu.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResultDto {
+
+	private Integer rowsRead;
+	private Integer imported;
+	private Integer rejected;
+	private List<BulkRowErrorDto> errors;
+}
@@ -0,0 +1,15 @@
+package com.ofds.menu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRowErrorDto {
+
+	private Long line;
+	private String itemName;
+	private String message;
+}
@@ -0,0 +1,19 @@
+package com.ofds.menu.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuSearchResponseDto {
+
+	private String query;
+	private int page;
+	private int size;
+	private int totalRestaurants;
+	private List<RestaurantSearchMatchDto> restaurants;
+}
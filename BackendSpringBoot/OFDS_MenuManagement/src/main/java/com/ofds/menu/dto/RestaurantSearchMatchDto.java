@@ -0,0 +1,17 @@
+package com.ofds.menu.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantSearchMatchDto {
+
+	private Long restaurantId;
+	private Double score;
+	private List<MenuItemResponseDto> items;
+}
@@ -0,0 +1,14 @@
+package com.ofds.menu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantSummaryDto {
+
+	private Long id;
+	private String name;
+}
@@ -0,0 +1,16 @@
+package com.ofds.menu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionDto {
+
+	private String type;
+	private String text;
+	private Long restaurantId;
+	private Long orderCount;
+}
@@ -61,6 +61,12 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
 	}
 	
+	@ExceptionHandler(InvalidImportFileException.class)
+	public ResponseEntity<ErrorMessage> handleInvalidImportFileException(InvalidImportFileException ex) {
+		ErrorMessage error = new ErrorMessage(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), LocalDateTime.now());
+		return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+	}
+	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<Map<String,String>> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex){
 		Map<String,String> errors = new HashMap<>();
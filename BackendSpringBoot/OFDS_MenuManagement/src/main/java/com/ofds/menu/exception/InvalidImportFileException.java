@@ -0,0 +1,14 @@
+package com.ofds.menu.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public InvalidImportFileException(String message) {
+		super(message);
+	}
+	
+}
@@ -1,33 +1,37 @@
 package com.ofds.menu.mapper;
 
-
-
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
 
 import com.ofds.menu.dto.MenuItemRequestDto;
 import com.ofds.menu.dto.MenuItemResponseDto;
 import com.ofds.menu.entity.MenuItem;
 
-@Component
-public class MenuItemMapper {
+/**
+ * Field-by-field copies between {@link MenuItem} and its DTOs, generated at compile time.
+ * A field added to one side only fails the build instead of being silently left empty.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MenuItemMapper {
+
+	MenuItemResponseDto convertToDo(MenuItem menuItem);
 
-	private ModelMapper modelMapper;
+	@Mapping(target = "itemId", ignore = true)
+	@Mapping(target = "restaurantId", ignore = true)
+	@Mapping(target = "createdAt", ignore = true)
+	@Mapping(target = "createdBy", ignore = true)
+	@Mapping(target = "updatedAt", ignore = true)
+	@Mapping(target = "updatedBy", ignore = true)
+	MenuItem convertToEntity(MenuItemRequestDto menuItemRequestDto);
 
-	public MenuItemMapper(ModelMapper modelMapper) {
-		super();
-		this.modelMapper = modelMapper;
-	}
-	
-	public MenuItemResponseDto convertToDo(MenuItem menuItem) {
-		return modelMapper.map(menuItem, MenuItemResponseDto.class);
-	}
-	
-	public MenuItem convertToEntity(MenuItemRequestDto menuItemRequestDto) {
-		return modelMapper.map(menuItemRequestDto,MenuItem.class);
-	}
-	
-	public void updateEntityFromDto(MenuItemRequestDto menuItemRequestDto, MenuItem menuItem) {
-		modelMapper.map(menuItemRequestDto, menuItem);
-	}
+	@Mapping(target = "itemId", ignore = true)
+	@Mapping(target = "restaurantId", ignore = true)
+	@Mapping(target = "createdAt", ignore = true)
+	@Mapping(target = "createdBy", ignore = true)
+	@Mapping(target = "updatedAt", ignore = true)
+	@Mapping(target = "updatedBy", ignore = true)
+	void updateEntityFromDto(MenuItemRequestDto menuItemRequestDto, @MappingTarget MenuItem menuItem);
 }
@@ -3,7 +3,9 @@ package com.ofds.menu.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ofds.menu.entity.MenuItem;
@@ -21,4 +23,11 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long>{
 	List<MenuItem> findByRestaurantIdAndIsVegetarian(Long restaurantId, Boolean isVegetarian);
 	
 	List<MenuItem> findByItemNameContainingIgnoreCase(String itemName);
+	
+	List<MenuItem> findByItemIdGreaterThanOrderByItemIdAsc(Long itemId, Pageable pageable);
+	
+	List<MenuItem> findByRestaurantIdAndItemIdGreaterThanOrderByItemIdAsc(Long restaurantId, Long itemId, Pageable pageable);
+	
+	@Query("SELECT m.itemName FROM MenuItem m WHERE m.restaurantId = :restaurantId")
+	List<String> findItemNamesByRestaurantId(Long restaurantId);
 }
@@ -0,0 +1,419 @@
+package com.ofds.menu.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.ofds.menu.dto.MenuItemResponseDto;
+
+/**
+ * Inverted index over menu item names and descriptions.
+ *
+ * Text is lower-cased and split on anything that is not a letter or digit. Every item gets a
+ * dense document number and each term a posting list of document numbers with field-weighted
+ * term frequencies, name terms counting {@link #NAME_WEIGHT} times. A query term is expanded to
+ * the indexed terms it starts (prefix, looked up in a table of term prefixes) and, when it is not
+ * itself indexed, to terms one edit away (typo, looked up through single-deletion variants).
+ * Items are ranked with BM25; expanded terms score at a discount and every query term contributes
+ * only its best expansion. Scores and per-restaurant grouping are accumulated in plain arrays
+ * indexed by document and restaurant number, so a query allocates no object per matching item.
+ *
+ * Removed items leave a hole in the posting lists that is skipped while scoring and squeezed
+ * out once a list is mostly holes; document numbers are never reused until the index is rebuilt.
+ *
+ * Not thread-safe on its own; {@link MenuSearchService} guards it with a read/write lock.
+ */
+class MenuSearchIndex {
+
+	static final float NAME_WEIGHT = 2.0f;
+	static final float PREFIX_WEIGHT = 0.8f;
+	static final float TYPO_WEIGHT = 0.6f;
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int MIN_PREFIX = 2;
+	private static final int MAX_PREFIX = 12;
+	private static final int MIN_TYPO_LENGTH = 4;
+	private static final int MAX_EXPANSIONS = 32;
+	private static final float K1 = 1.2f;
+	private static final float B = 0.75f;
+
+	private final Map<String, Posting> postings = new HashMap<>();
+	private final Map<String, Set<String>> termsByPrefix = new HashMap<>();
+	private final Map<String, Set<String>> termsByDeletion = new HashMap<>();
+
+	private final Map<Long, Integer> documentByItem = new HashMap<>();
+	private MenuItemResponseDto[] items = new MenuItemResponseDto[1024];
+	private String[][] documentTerms = new String[1024][];
+	private float[] lengths = new float[1024];
+	private int[] restaurantOf = new int[1024];
+	private int documentCount;
+	private int liveCount;
+	private double totalLength;
+
+	private final Map<Long, Integer> restaurantNumbers = new HashMap<>();
+	private long[] restaurantIds = new long[256];
+	private int restaurantCount;
+
+	/**
+	 * Adds the item, replacing any earlier version of it.
+	 */
+	void add(MenuItemResponseDto item) {
+		remove(item.getItemId());
+
+		Map<String, Float> terms = new LinkedHashMap<>();
+		float length = 0;
+		for (String token : tokenize(item.getItemName())) {
+			terms.merge(token, NAME_WEIGHT, Float::sum);
+			length += NAME_WEIGHT;
+		}
+		for (String token : tokenize(item.getDescription())) {
+			terms.merge(token, 1.0f, Float::sum);
+			length += 1.0f;
+		}
+
+		int document = documentCount++;
+		ensureDocumentCapacity(documentCount);
+		items[document] = item;
+		lengths[document] = length;
+		restaurantOf[document] = restaurantNumber(item.getRestaurantId());
+		documentTerms[document] = terms.keySet().toArray(new String[0]);
+		for (Map.Entry<String, Float> term : terms.entrySet()) {
+			Posting posting = postings.get(term.getKey());
+			if (posting == null) {
+				posting = new Posting();
+				postings.put(term.getKey(), posting);
+				addToVocabulary(term.getKey());
+			}
+			posting.add(document, term.getValue());
+		}
+		documentByItem.put(item.getItemId(), document);
+		liveCount++;
+		totalLength += length;
+	}
+
+	void remove(Long itemId) {
+		Integer document = documentByItem.remove(itemId);
+		if (document == null) {
+			return;
+		}
+		items[document] = null;
+		for (String term : documentTerms[document]) {
+			Posting posting = postings.get(term);
+			posting.live--;
+			if (posting.live == 0) {
+				postings.remove(term);
+				removeFromVocabulary(term);
+			} else if (posting.size > 2 * posting.live + 16) {
+				posting.compact(items);
+			}
+		}
+		documentTerms[document] = null;
+		liveCount--;
+		totalLength -= lengths[document];
+	}
+
+	/**
+	 * Scores every matching item, groups them by restaurant and returns the restaurants from
+	 * {@code offset} to {@code offset + limit} ordered by their best item, each with its matching
+	 * items best first.
+	 */
+	Result search(String query, int offset, int limit) {
+		Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+		if (queryTerms.isEmpty() || liveCount == 0) {
+			return new Result(0, List.of());
+		}
+		float averageLength = (float) (totalLength / liveCount);
+
+		float[] scores = new float[documentCount];
+		float[] termScores = new float[documentCount];
+		IntList matched = new IntList();
+		IntList touched = new IntList();
+		for (String queryTerm : queryTerms) {
+			for (Map.Entry<String, Float> expansion : expand(queryTerm).entrySet()) {
+				Posting posting = postings.get(expansion.getKey());
+				float weightedIdf = expansion.getValue() * idf(posting.live) * (K1 + 1);
+				for (int i = 0; i < posting.size; i++) {
+					int document = posting.documents[i];
+					if (items[document] == null) {
+						continue;
+					}
+					float tf = posting.frequencies[i];
+					float score = weightedIdf * tf / (tf + K1 * (1 - B + B * lengths[document] / averageLength));
+					if (termScores[document] == 0) {
+						touched.add(document);
+					}
+					if (score > termScores[document]) {
+						termScores[document] = score;
+					}
+				}
+			}
+			for (int i = 0; i < touched.size; i++) {
+				int document = touched.values[i];
+				if (scores[document] == 0) {
+					matched.add(document);
+				}
+				scores[document] += termScores[document];
+				termScores[document] = 0;
+			}
+			touched.size = 0;
+		}
+		return group(scores, matched, offset, limit);
+	}
+
+	int size() {
+		return liveCount;
+	}
+
+	int vocabularySize() {
+		return postings.size();
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+			if (!token.isEmpty()) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	private Result group(float[] scores, IntList matched, int offset, int limit) {
+		float[] bestByRestaurant = new float[restaurantCount];
+		IntList restaurants = new IntList();
+		for (int i = 0; i < matched.size; i++) {
+			int document = matched.values[i];
+			int restaurant = restaurantOf[document];
+			if (bestByRestaurant[restaurant] == 0) {
+				restaurants.add(restaurant);
+			}
+			bestByRestaurant[restaurant] = Math.max(bestByRestaurant[restaurant], scores[document]);
+		}
+
+		Integer[] ranked = new Integer[restaurants.size];
+		for (int i = 0; i < ranked.length; i++) {
+			ranked[i] = restaurants.values[i];
+		}
+		Arrays.sort(ranked, Comparator.comparingDouble((Integer restaurant) -> -bestByRestaurant[restaurant])
+				.thenComparingLong(restaurant -> restaurantIds[restaurant]));
+
+		int from = Math.min(offset, ranked.length);
+		int to = (int) Math.min((long) from + limit, ranked.length);
+		if (from == to) {
+			return new Result(ranked.length, List.of());
+		}
+		Map<Integer, List<Hit>> hitsByRestaurant = new LinkedHashMap<>();
+		for (int i = from; i < to; i++) {
+			hitsByRestaurant.put(ranked[i], new ArrayList<>());
+		}
+		for (int i = 0; i < matched.size; i++) {
+			int document = matched.values[i];
+			List<Hit> hits = hitsByRestaurant.get(restaurantOf[document]);
+			if (hits != null) {
+				hits.add(new Hit(items[document], scores[document]));
+			}
+		}
+		List<RestaurantHits> page = new ArrayList<>(hitsByRestaurant.size());
+		hitsByRestaurant.forEach((restaurant, hits) -> {
+			hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+			page.add(new RestaurantHits(restaurantIds[restaurant], bestByRestaurant[restaurant], hits));
+		});
+		return new Result(ranked.length, page);
+	}
+
+	/**
+	 * Maps the query term to the indexed terms it stands for and the weight of each.
+	 */
+	private Map<String, Float> expand(String queryTerm) {
+		Map<String, Float> expansions = new HashMap<>();
+		boolean exact = postings.containsKey(queryTerm);
+		if (exact) {
+			expansions.put(queryTerm, 1.0f);
+		}
+
+		if (queryTerm.length() >= MIN_PREFIX) {
+			Set<String> candidates = termsByPrefix.get(queryTerm.substring(0, Math.min(queryTerm.length(), MAX_PREFIX)));
+			if (candidates != null) {
+				candidates.stream()
+						.filter(term -> term.length() > queryTerm.length() && term.startsWith(queryTerm))
+						.sorted(Comparator.comparingInt((String term) -> postings.get(term).live).reversed())
+						.limit(MAX_EXPANSIONS)
+						.forEach(term -> expansions.putIfAbsent(term, PREFIX_WEIGHT));
+			}
+		}
+
+		if (!exact && queryTerm.length() >= MIN_TYPO_LENGTH) {
+			for (String variant : variantsOf(queryTerm)) {
+				Set<String> candidates = termsByDeletion.get(variant);
+				if (candidates == null) {
+					continue;
+				}
+				for (String term : candidates) {
+					if (expansions.size() < MAX_EXPANSIONS * 2 && isOneEditAway(queryTerm, term)) {
+						expansions.putIfAbsent(term, TYPO_WEIGHT);
+					}
+				}
+			}
+		}
+		return expansions;
+	}
+
+	private float idf(int documentFrequency) {
+		return (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+	}
+
+	private int restaurantNumber(Long restaurantId) {
+		Integer number = restaurantNumbers.get(restaurantId);
+		if (number == null) {
+			number = restaurantCount++;
+			if (number == restaurantIds.length) {
+				restaurantIds = Arrays.copyOf(restaurantIds, number * 2);
+			}
+			restaurantIds[number] = restaurantId;
+			restaurantNumbers.put(restaurantId, number);
+		}
+		return number;
+	}
+
+	private void ensureDocumentCapacity(int capacity) {
+		if (capacity > items.length) {
+			int grown = Math.max(capacity, items.length * 2);
+			items = Arrays.copyOf(items, grown);
+			documentTerms = Arrays.copyOf(documentTerms, grown);
+			lengths = Arrays.copyOf(lengths, grown);
+			restaurantOf = Arrays.copyOf(restaurantOf, grown);
+		}
+	}
+
+	private void addToVocabulary(String term) {
+		for (int length = MIN_PREFIX; length <= Math.min(term.length(), MAX_PREFIX); length++) {
+			termsByPrefix.computeIfAbsent(term.substring(0, length), prefix -> new HashSet<>()).add(term);
+		}
+		if (term.length() >= MIN_TYPO_LENGTH - 1) {
+			for (String variant : variantsOf(term)) {
+				termsByDeletion.computeIfAbsent(variant, key -> new HashSet<>()).add(term);
+			}
+		}
+	}
+
+	private void removeFromVocabulary(String term) {
+		for (int length = MIN_PREFIX; length <= Math.min(term.length(), MAX_PREFIX); length++) {
+			removeFrom(termsByPrefix, term.substring(0, length), term);
+		}
+		if (term.length() >= MIN_TYPO_LENGTH - 1) {
+			for (String variant : variantsOf(term)) {
+				removeFrom(termsByDeletion, variant, term);
+			}
+		}
+	}
+
+	private static void removeFrom(Map<String, Set<String>> table, String key, String term) {
+		Set<String> terms = table.get(key);
+		if (terms != null && terms.remove(term) && terms.isEmpty()) {
+			table.remove(key);
+		}
+	}
+
+	/**
+	 * The term itself and the term with each single character removed. Two terms one
+	 * substitution, insertion, deletion or transposition apart share at least one variant.
+	 */
+	private static Set<String> variantsOf(String term) {
+		Set<String> variants = new HashSet<>();
+		variants.add(term);
+		for (int i = 0; i < term.length(); i++) {
+			variants.add(term.substring(0, i) + term.substring(i + 1));
+		}
+		return variants;
+	}
+
+	/**
+	 * True when the strings differ by exactly one substitution, insertion, deletion or
+	 * transposition of adjacent characters.
+	 */
+	static boolean isOneEditAway(String a, String b) {
+		if (a.equals(b) || Math.abs(a.length() - b.length()) > 1) {
+			return false;
+		}
+		int prefix = 0;
+		int shorter = Math.min(a.length(), b.length());
+		while (prefix < shorter && a.charAt(prefix) == b.charAt(prefix)) {
+			prefix++;
+		}
+		if (a.length() == b.length()) {
+			if (a.substring(prefix + 1).equals(b.substring(prefix + 1))) {
+				return true;
+			}
+			return prefix + 1 < a.length()
+					&& a.charAt(prefix) == b.charAt(prefix + 1)
+					&& a.charAt(prefix + 1) == b.charAt(prefix)
+					&& a.substring(prefix + 2).equals(b.substring(prefix + 2));
+		}
+		String longer = a.length() > b.length() ? a : b;
+		String other = longer == a ? b : a;
+		return longer.substring(prefix + 1).equals(other.substring(prefix));
+	}
+
+	record Hit(MenuItemResponseDto item, double score) {
+	}
+
+	record RestaurantHits(Long restaurantId, double bestScore, List<Hit> hits) {
+	}
+
+	record Result(int totalRestaurants, List<RestaurantHits> restaurants) {
+	}
+
+	private static final class Posting {
+		private int[] documents = new int[4];
+		private float[] frequencies = new float[4];
+		private int size;
+		private int live;
+
+		private void add(int document, float frequency) {
+			if (size == documents.length) {
+				documents = Arrays.copyOf(documents, size * 2);
+				frequencies = Arrays.copyOf(frequencies, size * 2);
+			}
+			documents[size] = document;
+			frequencies[size] = frequency;
+			size++;
+			live++;
+		}
+
+		private void compact(MenuItemResponseDto[] items) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				if (items[documents[i]] != null) {
+					documents[kept] = documents[i];
+					frequencies[kept] = frequencies[i];
+					kept++;
+				}
+			}
+			size = kept;
+		}
+	}
+
+	private static final class IntList {
+		private int[] values = new int[64];
+		private int size;
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package com.ofds.menu.search;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.dto.MenuSearchResponseDto;
+import com.ofds.menu.dto.RestaurantSearchMatchDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.mapper.MenuItemMapper;
+import com.ofds.menu.repository.MenuItemRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns the in-process {@link MenuSearchIndex}.
+ * The index is built from the database once the application is ready and rebuilt on the shared
+ * {@link TaskScheduler} every {@code rebuild-interval}, which picks up changes made through other menu-service instances.
+ * Between rebuilds it is kept current by the create, update and delete calls of this instance;
+ * changes that arrive while a rebuild is running are replayed onto the new index before it is
+ * swapped in.
+ *
+ * Meters: {@code menu.search.latency}, {@code menu.search.items} and {@code menu.search.terms}.
+ */
+@Slf4j
+@Component
+public class MenuSearchService {
+
+	private final MenuItemRepository menuItemRepository;
+	private final MenuItemMapper menuItemMapper;
+	private final int loadBatchSize;
+	private final Duration rebuildInterval;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private MenuSearchIndex index = new MenuSearchIndex();
+	// Non-null while a rebuild is running; guarded by the write lock
+	private List<Consumer<MenuSearchIndex>> changesDuringRebuild;
+	private final TaskScheduler taskScheduler;
+
+	private final Timer searchTimer;
+
+	public MenuSearchService(MenuItemRepository menuItemRepository, MenuItemMapper menuItemMapper,
+			@Value("${menu.search.load-batch-size:5000}") int loadBatchSize,
+			@Value("${menu.search.rebuild-interval:30m}") Duration rebuildInterval,
+			TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+		super();
+		this.menuItemRepository = menuItemRepository;
+		this.menuItemMapper = menuItemMapper;
+		this.loadBatchSize = loadBatchSize;
+		this.rebuildInterval = rebuildInterval;
+		this.taskScheduler = taskScheduler;
+
+		this.searchTimer = Timer.builder("menu.search.latency")
+				.description("Time taken to answer a dish search from the index")
+				.register(meterRegistry);
+		Gauge.builder("menu.search.items", this, MenuSearchService::size)
+				.description("Menu items in the search index")
+				.register(meterRegistry);
+		Gauge.builder("menu.search.terms", this, MenuSearchService::vocabularySize)
+				.description("Distinct terms in the search index")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		taskScheduler.scheduleWithFixedDelay(this::rebuild, Instant.now(), rebuildInterval);
+	}
+
+	public void index(MenuItemResponseDto menuItem) {
+		apply(searchIndex -> searchIndex.add(menuItem));
+	}
+
+	public void remove(Long itemId) {
+		apply(searchIndex -> searchIndex.remove(itemId));
+	}
+
+	/**
+	 * Ranks matching items and groups them by restaurant. Restaurants are ordered by their best
+	 * matching item and paged; items inside a restaurant are ordered by score.
+	 */
+	public MenuSearchResponseDto search(String query, int page, int size) {
+		return searchTimer.record(() -> {
+			MenuSearchIndex.Result result = searchIndex(query, (int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+			List<RestaurantSearchMatchDto> restaurants = result.restaurants().stream()
+					.map(restaurant -> new RestaurantSearchMatchDto(restaurant.restaurantId(), restaurant.bestScore(),
+							restaurant.hits().stream().map(MenuSearchIndex.Hit::item).toList()))
+					.toList();
+			return new MenuSearchResponseDto(query, page, size, result.totalRestaurants(), restaurants);
+		});
+	}
+
+	/**
+	 * Restaurant IDs that serve a matching item, best match first.
+	 */
+	public List<Long> searchRestaurantIds(String query) {
+		return search(query, 0, Integer.MAX_VALUE).getRestaurants().stream()
+				.map(RestaurantSearchMatchDto::getRestaurantId)
+				.toList();
+	}
+
+	void rebuild() {
+		lock.writeLock().lock();
+		try {
+			changesDuringRebuild = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		try {
+			long started = System.nanoTime();
+			MenuSearchIndex rebuilt = new MenuSearchIndex();
+			long lastItemId = 0;
+			List<MenuItem> batch;
+			do {
+				batch = menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(lastItemId, PageRequest.of(0, loadBatchSize));
+				for (MenuItem menuItem : batch) {
+					rebuilt.add(menuItemMapper.convertToDo(menuItem));
+					lastItemId = menuItem.getItemId();
+				}
+			} while (batch.size() == loadBatchSize);
+
+			lock.writeLock().lock();
+			try {
+				changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+				index = rebuilt;
+			} finally {
+				changesDuringRebuild = null;
+				lock.writeLock().unlock();
+			}
+			log.info("Menu search index rebuilt with {} items and {} terms in {} ms", rebuilt.size(),
+					rebuilt.vocabularySize(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+		} catch (RuntimeException e) {
+			// Stop recording changes for an index that will not be swapped in
+			lock.writeLock().lock();
+			try {
+				changesDuringRebuild = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			throw e;
+		}
+	}
+
+	private void apply(Consumer<MenuSearchIndex> change) {
+		lock.writeLock().lock();
+		try {
+			change.accept(index);
+			if (changesDuringRebuild != null) {
+				changesDuringRebuild.add(change);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private MenuSearchIndex.Result searchIndex(String query, int offset, int limit) {
+		lock.readLock().lock();
+		try {
+			return index.search(query, offset, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int size() {
+		lock.readLock().lock();
+		try {
+			return index.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int vocabularySize() {
+		lock.readLock().lock();
+		try {
+			return index.vocabularySize();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
@@ -1,9 +1,18 @@
 package com.ofds.menu.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+
+import com.ofds.menu.bulk.MenuFileFormat;
+import com.ofds.menu.cache.MenuSnapshot;
+import com.ofds.menu.dto.BulkImportResultDto;
 import com.ofds.menu.dto.MenuItemRequestDto;
 import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.dto.MenuSearchResponseDto;
 import com.ofds.menu.dto.ResponseMessageDto;
+import com.ofds.menu.dto.SuggestionDto;
 
 public interface MenuItemService {
 	
@@ -12,6 +21,11 @@ public interface MenuItemService {
 	ResponseMessageDto deleteMenuItem(Long itemId);
 	MenuItemResponseDto getMenuItemById(Long itemId);
 	List<MenuItemResponseDto> getAllMenuItemsByResturant(Long resturantId);
+	MenuSnapshot getMenuByRestaurant(Long restaurantId);
 	List<MenuItemResponseDto> getMenuItemByCategory(Long restaurantId, Boolean isVegetarian);
 	List<Long> getMenuItemsBySimilarName(String itemName);
+	MenuSearchResponseDto searchMenuItems(String query, int page, int size);
+	List<SuggestionDto> suggest(String prefix, int limit);
+	BulkImportResultDto importMenuItems(Long restaurantId, InputStream input, MenuFileFormat format) throws IOException;
+	void exportMenuItems(Long restaurantId, MenuFileFormat format, OutputStream output) throws IOException;
 }
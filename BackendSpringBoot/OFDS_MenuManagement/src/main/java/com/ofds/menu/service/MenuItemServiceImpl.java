@@ -1,13 +1,23 @@
 package com.ofds.menu.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import com.ofds.menu.bulk.MenuBulkService;
+import com.ofds.menu.bulk.MenuFileFormat;
+import com.ofds.menu.cache.MenuCache;
+import com.ofds.menu.cache.MenuSnapshot;
+import com.ofds.menu.dto.BulkImportResultDto;
 import com.ofds.menu.dto.MenuItemRequestDto;
 import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.dto.MenuSearchResponseDto;
 import com.ofds.menu.dto.ResponseMessageDto;
+import com.ofds.menu.dto.SuggestionDto;
 import com.ofds.menu.entity.MenuItem;
 import com.ofds.menu.exception.DuplicateMenuItemException;
 import com.ofds.menu.exception.InvalidCategoryException;
@@ -18,6 +28,8 @@ import com.ofds.menu.exception.MenuItemNotFoundException;
 import com.ofds.menu.exception.NoItemsInRestaurantException;
 import com.ofds.menu.mapper.MenuItemMapper;
 import com.ofds.menu.repository.MenuItemRepository;
+import com.ofds.menu.search.MenuSearchService;
+import com.ofds.menu.suggest.SuggestionService;
 import com.ofds.menu.util.AppConstants;
 
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +40,20 @@ public class MenuItemServiceImpl implements MenuItemService{
 
 	private MenuItemRepository menuItemRepository;
 	private MenuItemMapper menuItemMapper;
+	private MenuCache menuCache;
+	private MenuSearchService menuSearchService;
+	private SuggestionService suggestionService;
+	private MenuBulkService menuBulkService;
 	
-	public MenuItemServiceImpl(MenuItemRepository menuItemRepository, MenuItemMapper menuItemMapper) {
+	public MenuItemServiceImpl(MenuItemRepository menuItemRepository, MenuItemMapper menuItemMapper, MenuCache menuCache,
+			MenuSearchService menuSearchService, SuggestionService suggestionService, MenuBulkService menuBulkService) {
 		super();
 		this.menuItemRepository = menuItemRepository;
 		this.menuItemMapper = menuItemMapper;
+		this.menuCache = menuCache;
+		this.menuSearchService = menuSearchService;
+		this.suggestionService = suggestionService;
+		this.menuBulkService = menuBulkService;
 	}
 	
 	@Override
@@ -48,6 +69,8 @@ public class MenuItemServiceImpl implements MenuItemService{
 		MenuItem menuItem = menuItemMapper.convertToEntity(menuItemRequestDto);
 		menuItem.setRestaurantId(resturantId);
 		MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+		menuCache.invalidate(resturantId);
+		menuSearchService.index(menuItemMapper.convertToDo(savedMenuItem));
 		log.info("Added Menu Items:{}",savedMenuItem);
 		return new ResponseMessageDto(AppConstants.ITEM_ADDED);
 	}
@@ -62,6 +85,8 @@ public class MenuItemServiceImpl implements MenuItemService{
 		
 		menuItemMapper.updateEntityFromDto(menuItemRequestDto, exsistingMenuItem);
 		MenuItem updatedMenuItem = menuItemRepository.save(exsistingMenuItem);
+		menuCache.invalidate(updatedMenuItem.getRestaurantId());
+		menuSearchService.index(menuItemMapper.convertToDo(updatedMenuItem));
 		log.info("Updated Menu Item:{}",updatedMenuItem);
 		return new ResponseMessageDto(AppConstants.ITEM_UPDATED);
 	}
@@ -74,6 +99,9 @@ public class MenuItemServiceImpl implements MenuItemService{
 		MenuItem menuItem = menuItemRepository.findById(itemId)
 				.orElseThrow(() -> new MenuItemNotFoundException(AppConstants.ITEM_NOTFOUND+itemId));
 		menuItemRepository.delete(menuItem);
+		menuCache.removeItem(itemId);
+		menuCache.invalidate(menuItem.getRestaurantId());
+		menuSearchService.remove(itemId);
 		log.info("Deleted Menu Item:{}",menuItem);
 		return new ResponseMessageDto(AppConstants.ITEM_DELETD);
 	}
@@ -83,30 +111,39 @@ public class MenuItemServiceImpl implements MenuItemService{
 		if(itemId==null || itemId<=0) {
 			throw new InvalidItemIdException(AppConstants.INVALID_ITEMID+itemId);
 		}
+		Optional<MenuItemResponseDto> cachedMenuItem = menuCache.getItem(itemId);
+		if(cachedMenuItem.isPresent()) {
+			return cachedMenuItem.get();
+		}
 		MenuItem menuItem = menuItemRepository.findById(itemId)
 				.orElseThrow(() -> new MenuItemNotFoundException(AppConstants.ITEM_NOTFOUND+itemId)) ;
 		log.info("Menu Item by ItemId "+itemId+":{}",menuItem);
-		return menuItemMapper.convertToDo(menuItem);
+		// Warm the restaurant's menu so the next lookups of its items skip the database
+		return menuCache.getMenu(menuItem.getRestaurantId(), this::loadMenu)
+				.getItem(itemId)
+				.orElseGet(() -> menuItemMapper.convertToDo(menuItem));
 	}
 	
 	@Override
 	public List<MenuItemResponseDto> getAllMenuItemsByResturant(Long restaurantId) {
+		return getMenuByRestaurant(restaurantId).getItems();
+	}
+	
+	@Override
+	public MenuSnapshot getMenuByRestaurant(Long restaurantId) {
 	
 		if(restaurantId==null || restaurantId<=0) {
 			throw new InvalidRestaurantIdException(AppConstants.INVALID_RESTAURANTID+restaurantId);
 		}
 		
-		List<MenuItem> menuItems = menuItemRepository.findByRestaurantId(restaurantId);
-		log.info("{}",menuItems);
-		if(menuItems.isEmpty()) {
+		MenuSnapshot menu = menuCache.getMenu(restaurantId, this::loadMenu);
+		if(menu.isEmpty()) {
 			throw new NoItemsInRestaurantException(AppConstants.NOITEMS_IN_RESTAURANT+restaurantId);
 		}
 		
-		log.info("Menu Items from resturant with ID "+restaurantId+"{}",menuItems);
+		log.debug("Menu Items from resturant with ID {} at version {}: {}",restaurantId,menu.getVersion(),menu.getItems());
 		
-		return menuItems.stream()
-						.map(menuItemMapper::convertToDo)
-						.toList();
+		return menu;
 	}
 	
 	@Override
@@ -117,17 +154,16 @@ public class MenuItemServiceImpl implements MenuItemService{
 		if(isVegetarian == null) {
 			throw new InvalidCategoryException(AppConstants.INVALID_CATEGORY);
 		}
-		List<MenuItem> menuItems = menuItemRepository.findByRestaurantIdAndIsVegetarian(restaurantId,isVegetarian);
-		log.info("{}",menuItems);
+		List<MenuItemResponseDto> menuItems = menuCache.getMenu(restaurantId, this::loadMenu).getItems().stream()
+				.filter(menuItem -> isVegetarian.equals(menuItem.getIsVegetarian()))
+				.toList();
 		if(menuItems.isEmpty()) {
 			throw new NoItemsInRestaurantException(AppConstants.NO_CATEGORY_ITEMS+restaurantId);
 		}
 		
-		log.info("Menu Items from resturant with ID {} and category {} are : {}",restaurantId,isVegetarian,menuItems);
+		log.debug("Menu Items from resturant with ID {} and category {} are : {}",restaurantId,isVegetarian,menuItems);
 		
-		return menuItems.stream()
-				.map(menuItemMapper::convertToDo)
-				.toList();
+		return menuItems;
 	}
 	
 	@Override
@@ -139,20 +175,64 @@ public class MenuItemServiceImpl implements MenuItemService{
             throw new InvalidItemNameException(AppConstants.INVALID_ITEMNAME);
         }
 
-        List<MenuItem> menuItems = menuItemRepository.findByItemNameContainingIgnoreCase(itemName);
+        List<Long> uniqueRestaurantIds = menuSearchService.searchRestaurantIds(itemName);
 
-        if (menuItems.isEmpty()) {
+        if (uniqueRestaurantIds.isEmpty()) {
             log.warn("No menu items found with name similar to: {}", itemName);
             throw new NoItemsInRestaurantException(AppConstants.NO_SIMILAR_ITEMS_FOUND + itemName);
         }
 
-        List<Long> uniqueRestaurantIds = menuItems.stream()
-                .map(MenuItem::getRestaurantId)
-                .distinct()
-                .toList();
-
         log.info("Successfully retrieved {} unique restaurant IDs for similar item name: {}", uniqueRestaurantIds.size(), itemName);
         return uniqueRestaurantIds;
     }
 	
+	@Override
+	public MenuSearchResponseDto searchMenuItems(String query, int page, int size) {
+		if (query == null || query.trim().isEmpty()) {
+			throw new InvalidItemNameException(AppConstants.INVALID_ITEMNAME);
+		}
+		MenuSearchResponseDto result = menuSearchService.search(query.trim(), page, size);
+		log.info("Search for '{}' matched {} restaurants", query, result.getTotalRestaurants());
+		return result;
+	}
+	
+	@Override
+	public List<SuggestionDto> suggest(String prefix, int limit) {
+		if (prefix == null || prefix.trim().isEmpty()) {
+			throw new InvalidItemNameException(AppConstants.INVALID_ITEMNAME);
+		}
+		return suggestionService.suggest(prefix, limit);
+	}
+	
+	@Override
+	public BulkImportResultDto importMenuItems(Long restaurantId, InputStream input, MenuFileFormat format) throws IOException {
+		if(restaurantId==null || restaurantId<=0) {
+			throw new InvalidRestaurantIdException(AppConstants.INVALID_RESTAURANTID+restaurantId);
+		}
+		BulkImportResultDto result = menuBulkService.importItems(restaurantId, input, format);
+		if(result.getImported()>0) {
+			menuCache.invalidate(restaurantId);
+			// The batch insert does not hand back generated IDs, so index the restaurant's menu as now stored
+			menuItemRepository.findByRestaurantId(restaurantId)
+					.forEach(menuItem -> menuSearchService.index(menuItemMapper.convertToDo(menuItem)));
+		}
+		return result;
+	}
+	
+	@Override
+	public void exportMenuItems(Long restaurantId, MenuFileFormat format, OutputStream output) throws IOException {
+		if(restaurantId==null || restaurantId<=0) {
+			throw new InvalidRestaurantIdException(AppConstants.INVALID_RESTAURANTID+restaurantId);
+		}
+		menuBulkService.exportItems(restaurantId, format, output);
+	}
+	
+	private List<MenuItemResponseDto> loadMenu(Long restaurantId) {
+		List<MenuItem> menuItems = menuItemRepository.findByRestaurantId(restaurantId);
+		log.info("Loaded {} Menu Items for resturant with ID {}",menuItems.size(),restaurantId);
+		return menuItems.stream()
+				.map(menuItemMapper::convertToDo)
+				.toList();
+	}
+	
 }
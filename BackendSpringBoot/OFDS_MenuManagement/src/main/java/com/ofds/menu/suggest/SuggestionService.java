@@ -0,0 +1,161 @@
+package com.ofds.menu.suggest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.ofds.menu.client.OrderServiceClient;
+import com.ofds.menu.client.RestaurantServiceClient;
+import com.ofds.menu.dto.MenuItemPopularityDto;
+import com.ofds.menu.dto.RestaurantSummaryDto;
+import com.ofds.menu.dto.SuggestionDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.repository.MenuItemRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves typeahead suggestions for dish and restaurant names from a {@link SuggestionTrie}.
+ * Dishes with the same name in several restaurants are suggested once, weighted by the orders of
+ * all of them; a restaurant is weighted by the orders of its whole menu. Order counts come from
+ * order-service and restaurant names from restaurant-service; when either is unreachable the last
+ * answer received is reused.
+ *
+ * The trie is rebuilt on the shared {@link TaskScheduler} every {@code rebuild-interval} and
+ * published through a volatile field, so a lookup never waits for a rebuild and always sees one complete trie.
+ *
+ * Meters: {@code menu.suggest.latency}, {@code menu.suggest.entries} and {@code menu.suggest.rebuild}.
+ */
+@Slf4j
+@Component
+public class SuggestionService {
+
+	private final MenuItemRepository menuItemRepository;
+	private final RestaurantServiceClient restaurantServiceClient;
+	private final OrderServiceClient orderServiceClient;
+	private final int loadBatchSize;
+	private final int maxResults;
+	private final Duration rebuildInterval;
+	private final TaskScheduler taskScheduler;
+
+	private volatile SuggestionTrie trie = SuggestionTrie.EMPTY;
+	// Only touched by the rebuild task, which never overlaps itself
+	private List<RestaurantSummaryDto> lastRestaurants = List.of();
+	private Map<Long, Long> lastOrderCounts = Map.of();
+
+	private final Timer lookupTimer;
+	private final Timer rebuildTimer;
+
+	public SuggestionService(MenuItemRepository menuItemRepository, RestaurantServiceClient restaurantServiceClient,
+			OrderServiceClient orderServiceClient,
+			@Value("${menu.suggest.load-batch-size:5000}") int loadBatchSize,
+			@Value("${menu.suggest.max-results:10}") int maxResults,
+			@Value("${menu.suggest.rebuild-interval:10m}") Duration rebuildInterval,
+			TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+		super();
+		this.menuItemRepository = menuItemRepository;
+		this.restaurantServiceClient = restaurantServiceClient;
+		this.orderServiceClient = orderServiceClient;
+		this.loadBatchSize = loadBatchSize;
+		this.maxResults = maxResults;
+		this.rebuildInterval = rebuildInterval;
+		this.taskScheduler = taskScheduler;
+
+		this.lookupTimer = Timer.builder("menu.suggest.latency")
+				.description("Time taken to answer a typeahead prefix")
+				.register(meterRegistry);
+		this.rebuildTimer = Timer.builder("menu.suggest.rebuild")
+				.description("Time taken to rebuild the typeahead trie")
+				.register(meterRegistry);
+		Gauge.builder("menu.suggest.entries", this, service -> service.trie.size())
+				.description("Dish and restaurant names in the typeahead trie")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		taskScheduler.scheduleWithFixedDelay(this::rebuild, Instant.now(), rebuildInterval);
+	}
+
+	/**
+	 * Up to {@code limit} dish and restaurant names starting with the prefix, most ordered first.
+	 */
+	public List<SuggestionDto> suggest(String prefix, int limit) {
+		return lookupTimer.record(() -> trie.suggest(prefix, Math.min(limit, maxResults)).stream()
+				.map(suggestion -> new SuggestionDto(suggestion.type().name(), suggestion.text(),
+						suggestion.restaurantId(), suggestion.weight()))
+				.toList());
+	}
+
+	void rebuild() {
+		rebuildTimer.record(() -> {
+			Map<Long, Long> orderCounts = loadOrderCounts();
+			List<RestaurantSummaryDto> restaurants = loadRestaurants();
+
+			// Keyed by normalized name so "Paneer Tikka" and "paneer tikka" are one suggestion
+			Map<String, String> dishNames = new LinkedHashMap<>();
+			Map<String, Long> dishOrders = new HashMap<>();
+			Map<Long, Long> restaurantOrders = new HashMap<>();
+			long lastItemId = 0;
+			List<MenuItem> batch;
+			do {
+				batch = menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(lastItemId, PageRequest.of(0, loadBatchSize));
+				for (MenuItem menuItem : batch) {
+					long orders = orderCounts.getOrDefault(menuItem.getItemId(), 0L);
+					String key = SuggestionTrie.normalize(menuItem.getItemName());
+					if (!key.isEmpty()) {
+						dishNames.putIfAbsent(key, menuItem.getItemName());
+						dishOrders.merge(key, orders, Long::sum);
+					}
+					restaurantOrders.merge(menuItem.getRestaurantId(), orders, Long::sum);
+					lastItemId = menuItem.getItemId();
+				}
+			} while (batch.size() == loadBatchSize);
+
+			SuggestionTrie.Builder builder = new SuggestionTrie.Builder();
+			dishNames.forEach((key, name) -> builder.add(SuggestionTrie.Type.DISH, name, null, dishOrders.get(key)));
+			for (RestaurantSummaryDto restaurant : restaurants) {
+				builder.add(SuggestionTrie.Type.RESTAURANT, restaurant.getName(), restaurant.getId(),
+						restaurantOrders.getOrDefault(restaurant.getId(), 0L));
+			}
+			SuggestionTrie rebuilt = builder.build(maxResults);
+			trie = rebuilt;
+			log.info("Typeahead trie rebuilt with {} names in {} nodes", rebuilt.size(), rebuilt.nodeCount());
+		});
+	}
+
+	private Map<Long, Long> loadOrderCounts() {
+		try {
+			Map<Long, Long> orderCounts = new HashMap<>();
+			for (MenuItemPopularityDto popularity : orderServiceClient.getMenuItemPopularity()) {
+				orderCounts.put(popularity.getMenuItemId(), popularity.getOrderCount());
+			}
+			lastOrderCounts = orderCounts;
+		} catch (Exception e) {
+			log.warn("Could not load order counts from order-service, reusing the last ones: {}", e.getMessage());
+		}
+		return lastOrderCounts;
+	}
+
+	private List<RestaurantSummaryDto> loadRestaurants() {
+		try {
+			lastRestaurants = restaurantServiceClient.getAllRestaurants();
+		} catch (Exception e) {
+			log.warn("Could not load restaurants from restaurant-service, reusing the last ones: {}", e.getMessage());
+		}
+		return lastRestaurants;
+	}
+}
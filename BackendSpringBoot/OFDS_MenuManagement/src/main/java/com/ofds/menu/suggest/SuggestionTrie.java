@@ -0,0 +1,334 @@
+package com.ofds.menu.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable compressed (radix) trie answering typeahead prefixes.
+ *
+ * Every suggestion is reachable through its whole normalized text and through each later word of
+ * it, so "pan" finds both "Paneer Tikka" and "Butter Paneer". Chains of single-child nodes are
+ * collapsed into one edge, and each node stores its best {@code maxResults} suggestions by weight,
+ * so a lookup walks at most the length of the prefix and copies a precomputed list; it never
+ * visits the subtree.
+ *
+ * The whole structure lives in a few flat arrays: edge labels are slices of one shared
+ * {@code char[]}, the children of a node are numbered consecutively and sorted by their first
+ * character, and the per-node top lists are slices of one {@code int[]}. Instances are built once
+ * with {@link Builder} and never modified, so they can be shared between threads freely.
+ */
+final class SuggestionTrie {
+
+	static final SuggestionTrie EMPTY = new Builder().build(1);
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int MAX_KEY_LENGTH = 64;
+
+	private final Suggestion[] suggestions;
+	private final char[] labels;
+	private final int[] labelStart;
+	private final int[] labelLength;
+	private final int[] firstChild;
+	private final int[] childCount;
+	private final int[] topStart;
+	private final int[] topCount;
+	private final int[] top;
+
+	private SuggestionTrie(Suggestion[] suggestions, char[] labels, int[] labelStart, int[] labelLength,
+			int[] firstChild, int[] childCount, int[] topStart, int[] topCount, int[] top) {
+		this.suggestions = suggestions;
+		this.labels = labels;
+		this.labelStart = labelStart;
+		this.labelLength = labelLength;
+		this.firstChild = firstChild;
+		this.childCount = childCount;
+		this.topStart = topStart;
+		this.topCount = topCount;
+		this.top = top;
+	}
+
+	/**
+	 * The best suggestions whose text, or one of whose words, starts with the prefix.
+	 */
+	List<Suggestion> suggest(String prefix, int limit) {
+		String key = normalize(prefix);
+		if (key.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		int node = 0;
+		int position = 0;
+		while (true) {
+			int start = labelStart[node];
+			int length = labelLength[node];
+			for (int i = 0; i < length; i++) {
+				if (position == key.length()) {
+					return topOf(node, limit);
+				}
+				if (labels[start + i] != key.charAt(position++)) {
+					return List.of();
+				}
+			}
+			if (position == key.length()) {
+				return topOf(node, limit);
+			}
+			node = child(node, key.charAt(position));
+			if (node < 0) {
+				return List.of();
+			}
+		}
+	}
+
+	int size() {
+		return suggestions.length;
+	}
+
+	int nodeCount() {
+		return labelStart.length;
+	}
+
+	/**
+	 * Lower-cases the text and reduces every run of separators to a single space.
+	 */
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder();
+		for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+			if (!word.isEmpty()) {
+				if (normalized.length() > 0) {
+					normalized.append(' ');
+				}
+				normalized.append(word);
+			}
+		}
+		return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized.toString();
+	}
+
+	private List<Suggestion> topOf(int node, int limit) {
+		int count = Math.min(topCount[node], limit);
+		List<Suggestion> result = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(suggestions[top[topStart[node] + i]]);
+		}
+		return result;
+	}
+
+	private int child(int node, char next) {
+		int low = firstChild[node];
+		int high = low + childCount[node] - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			char first = labels[labelStart[middle]];
+			if (first < next) {
+				low = middle + 1;
+			} else if (first > next) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	enum Type {
+		DISH, RESTAURANT
+	}
+
+	/**
+	 * One suggestion: a dish name (restaurant ID null) or a restaurant, with its order count.
+	 */
+	record Suggestion(Type type, String text, Long restaurantId, long weight) {
+	}
+
+	/**
+	 * Collects suggestions and builds the trie in one pass over their sorted keys.
+	 */
+	static final class Builder {
+
+		private static final Comparator<Suggestion> BEST_FIRST = Comparator.comparingLong(Suggestion::weight).reversed()
+				.thenComparingInt(suggestion -> suggestion.text().length())
+				.thenComparing(Suggestion::text);
+
+		private final List<Suggestion> suggestions = new ArrayList<>();
+		private final List<String> keys = new ArrayList<>();
+		private final IntList keySuggestion = new IntList();
+
+		private String[] sortedKeys;
+		private int[] sortedSuggestion;
+		private Suggestion[] frozen;
+		private int[] lastSeenAt;
+		private int[] best;
+		private int maxResults;
+		private final StringBuilder labels = new StringBuilder();
+		private final IntList labelStart = new IntList();
+		private final IntList labelLength = new IntList();
+		private final IntList firstChild = new IntList();
+		private final IntList childCount = new IntList();
+		private final IntList topStart = new IntList();
+		private final IntList topCount = new IntList();
+		private final IntList top = new IntList();
+
+		Builder add(Type type, String text, Long restaurantId, long weight) {
+			String key = normalize(text);
+			if (key.isEmpty()) {
+				return this;
+			}
+			int index = suggestions.size();
+			suggestions.add(new Suggestion(type, text.trim(), restaurantId, weight));
+			keys.add(key);
+			keySuggestion.add(index);
+			for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+				keys.add(key.substring(i + 1));
+				keySuggestion.add(index);
+			}
+			return this;
+		}
+
+		SuggestionTrie build(int maxResults) {
+			this.maxResults = maxResults;
+			this.frozen = suggestions.toArray(new Suggestion[0]);
+			this.lastSeenAt = new int[frozen.length];
+			this.best = new int[maxResults];
+			Key[] sorted = new Key[keys.size()];
+			for (int i = 0; i < sorted.length; i++) {
+				sorted[i] = new Key(keys.get(i), keySuggestion.values[i]);
+			}
+			Arrays.sort(sorted, Comparator.comparing(Key::text));
+			sortedKeys = new String[sorted.length];
+			sortedSuggestion = new int[sorted.length];
+			for (int i = 0; i < sorted.length; i++) {
+				sortedKeys[i] = sorted[i].text();
+				sortedSuggestion[i] = sorted[i].suggestion();
+			}
+
+			int root = newNode();
+			buildNode(root, 0, sortedKeys.length, 0, 0);
+			return new SuggestionTrie(frozen, labels.toString().toCharArray(), labelStart.toArray(),
+					labelLength.toArray(), firstChild.toArray(), childCount.toArray(), topStart.toArray(),
+					topCount.toArray(), top.toArray());
+		}
+
+		/**
+		 * Fills in the node for the sorted keys [from, to), which all share their first
+		 * {@code depth} characters; the node's own label starts at {@code labelFrom}.
+		 */
+		private void buildNode(int node, int from, int to, int labelFrom, int depth) {
+			// The root keeps an empty label; below it every node has at least one key, and as the keys
+			// are sorted, the prefix shared by the first and the last is shared by all of them
+			int end = node == 0 ? 0 : commonPrefix(sortedKeys[from], sortedKeys[to - 1], depth);
+			labelStart.values[node] = labels.length();
+			labelLength.values[node] = end - labelFrom;
+			if (end > labelFrom) {
+				labels.append(sortedKeys[from], labelFrom, end);
+			}
+
+			int cursor = from;
+			while (cursor < to && sortedKeys[cursor].length() == end) {
+				cursor++;
+			}
+
+			int groups = 0;
+			for (int i = cursor; i < to; i++) {
+				if (i == cursor || sortedKeys[i].charAt(end) != sortedKeys[i - 1].charAt(end)) {
+					groups++;
+				}
+			}
+			int first = labelStart.size;
+			for (int i = 0; i < groups; i++) {
+				newNode();
+			}
+			firstChild.values[node] = first;
+			childCount.values[node] = groups;
+
+			int child = first;
+			int groupStart = cursor;
+			for (int i = cursor + 1; i <= to; i++) {
+				if (i == to || sortedKeys[i].charAt(end) != sortedKeys[groupStart].charAt(end)) {
+					buildNode(child++, groupStart, i, end, end + 1);
+					groupStart = i;
+				}
+			}
+
+			// Suggestions ending here plus the best of every child; one suggestion can arrive
+			// through several of its words, so each is taken once
+			int stamp = node + 1;
+			int count = 0;
+			for (int i = from; i < cursor; i++) {
+				count = offer(sortedSuggestion[i], stamp, count);
+			}
+			for (child = first; child < first + groups; child++) {
+				for (int j = 0; j < topCount.values[child]; j++) {
+					count = offer(top.values[topStart.values[child] + j], stamp, count);
+				}
+			}
+			topStart.values[node] = top.size;
+			topCount.values[node] = count;
+			for (int i = 0; i < count; i++) {
+				top.add(best[i]);
+			}
+		}
+
+		/**
+		 * Insertion step of a bounded top list kept in {@link #best}; returns its new length.
+		 */
+		private int offer(int suggestion, int stamp, int count) {
+			if (lastSeenAt[suggestion] == stamp) {
+				return count;
+			}
+			lastSeenAt[suggestion] = stamp;
+			if (count == maxResults && BEST_FIRST.compare(frozen[suggestion], frozen[best[count - 1]]) >= 0) {
+				return count;
+			}
+			int position = Math.min(count, maxResults - 1);
+			while (position > 0 && BEST_FIRST.compare(frozen[suggestion], frozen[best[position - 1]]) < 0) {
+				best[position] = best[position - 1];
+				position--;
+			}
+			best[position] = suggestion;
+			return Math.min(count + 1, maxResults);
+		}
+
+		private int newNode() {
+			labelStart.add(0);
+			labelLength.add(0);
+			firstChild.add(0);
+			childCount.add(0);
+			topStart.add(0);
+			topCount.add(0);
+			return labelStart.size - 1;
+		}
+
+		private record Key(String text, int suggestion) {
+		}
+
+		private static int commonPrefix(String a, String b, int from) {
+			int end = from;
+			int limit = Math.min(a.length(), b.length());
+			while (end < limit && a.charAt(end) == b.charAt(end)) {
+				end++;
+			}
+			return end;
+		}
+	}
+
+	private static final class IntList {
+		private int[] values = new int[16];
+		private int size;
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		private int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -13,6 +13,12 @@ public class AppConstants {
 	public static final String NO_CATEGORY_ITEMS = "There are no items for your dersired category in the restaurant with ID : ";
 	public static final String NO_SIMILAR_ITEMS_FOUND = "There are no restaurants containing this item name";
 	public static final String INVALID_ITEMNAME = "Item name for search cannot be null or blank.";
+	public static final String IMPORT_MISSING_COLUMNS = "Import file header must contain the columns : ";
+	public static final String IMPORT_TOO_MANY_ROWS = "Import file cannot contain more rows than : ";
+	public static final String IMPORT_DUPLICATE_ITEM = "Menu item already exists in the restaurant or earlier in the file : ";
+	public static final String IMPORT_INVALID_PRICE = "Price must be a number";
+	public static final String IMPORT_INVALID_VEGETARIAN = "isVegetarian must be true or false";
+	public static final String IMPORT_UNTERMINATED_QUOTE = "Quoted field is not closed before the end of the file";
 	
 	private AppConstants() {
 		  throw new UnsupportedOperationException("Utility class cannot be instantiated");
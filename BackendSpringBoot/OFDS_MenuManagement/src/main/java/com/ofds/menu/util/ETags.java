@@ -0,0 +1,56 @@
+package com.ofds.menu.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.ofds.menu.dto.MenuItemResponseDto;
+
+/**
+ * Strong entity tags for menu responses, computed from the fields that are serialized.
+ * Equal content always yields the same tag, on every menu-service instance and across restarts.
+ */
+public final class ETags {
+
+	private static final int TAG_BYTES = 12;
+
+	private ETags() {
+		throw new UnsupportedOperationException("Utility class cannot be instantiated");
+	}
+
+	public static String of(MenuItemResponseDto menuItem) {
+		MessageDigest digest = sha256();
+		update(digest, menuItem);
+		return tag(digest);
+	}
+
+	public static String of(List<MenuItemResponseDto> menuItems) {
+		MessageDigest digest = sha256();
+		for (MenuItemResponseDto menuItem : menuItems) {
+			update(digest, menuItem);
+		}
+		return tag(digest);
+	}
+
+	private static void update(MessageDigest digest, MenuItemResponseDto menuItem) {
+		String fields = menuItem.getItemId() + "\u0000" + menuItem.getRestaurantId() + "\u0000" + menuItem.getItemName()
+				+ "\u0000" + menuItem.getDescription() + "\u0000" + menuItem.getPrice() + "\u0000" + menuItem.getIsVegetarian()
+				+ "\u0001";
+		digest.update(fields.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String tag(MessageDigest digest) {
+		return HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), TAG_BYTES));
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.ofds.menu.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ofds.menu.exception.InvalidImportFileException;
+import com.ofds.menu.util.AppConstants;
+
+class CsvMenuItemReaderTest {
+
+	@Test
+	void quotedFieldsKeepCommasNewlinesAndEscapedQuotes() throws IOException {
+		List<ImportRow> rows = readAll("itemName,description,price,isVegetarian\r\n"
+				+ "\"Paneer, Tikka\",\"Grilled \"\"tandoori\"\" style\nwith mint\",249.5,true\r\n"
+				+ "Dal Makhani,Slow cooked black lentils,199,FALSE\n");
+
+		assertEquals(2, rows.size());
+		ImportRow first = rows.get(0);
+		assertNull(first.error());
+		assertEquals("Paneer, Tikka", first.item().getItemName());
+		assertEquals("Grilled \"tandoori\" style\nwith mint", first.item().getDescription());
+		assertEquals(249.5, first.item().getPrice());
+		assertTrue(first.item().getIsVegetarian());
+		assertEquals(2, first.line());
+		assertEquals(4, rows.get(1).line());
+		assertFalse(rows.get(1).item().getIsVegetarian());
+	}
+
+	@Test
+	void columnsAreMatchedByNameAndUnknownOnesIgnored() throws IOException {
+		List<ImportRow> rows = readAll("\uFEFFitemId,ISVEGETARIAN,price,itemName,description\n"
+				+ "17,true,99,Masala Dosa,Crisp rice crepe\n");
+
+		assertEquals(1, rows.size());
+		assertEquals("Masala Dosa", rows.get(0).item().getItemName());
+		assertEquals("Crisp rice crepe", rows.get(0).item().getDescription());
+		assertEquals(99.0, rows.get(0).item().getPrice());
+	}
+
+	@Test
+	void missingHeaderColumnRejectsTheFile() {
+		InvalidImportFileException thrown = assertThrows(InvalidImportFileException.class,
+				() -> readAll("itemName,description,price\nMasala Dosa,Crisp rice crepe,99\n"));
+
+		assertTrue(thrown.getMessage().startsWith(AppConstants.IMPORT_MISSING_COLUMNS));
+		assertThrows(InvalidImportFileException.class, () -> readAll(""));
+	}
+
+	@Test
+	void badValuesAreReportedWithTheirLine() throws IOException {
+		List<ImportRow> rows = readAll("itemName,description,price,isVegetarian\n"
+				+ "\n"
+				+ "Masala Dosa,Crisp rice crepe,cheap,true\n"
+				+ "Idli Sambar,Steamed rice cakes,49,maybe\n"
+				+ "Vada Pav,Spiced potato fritter,,true\n");
+
+		assertEquals(3, rows.size());
+		assertEquals(3, rows.get(0).line());
+		assertEquals(AppConstants.IMPORT_INVALID_PRICE, rows.get(0).error());
+		assertEquals("Masala Dosa", rows.get(0).item().getItemName());
+		assertEquals(4, rows.get(1).line());
+		assertEquals(AppConstants.IMPORT_INVALID_VEGETARIAN, rows.get(1).error());
+		assertNull(rows.get(2).error());
+		assertNull(rows.get(2).item().getPrice());
+	}
+
+	@Test
+	void unterminatedQuoteIsReportedOnTheLineItStarts() throws IOException {
+		List<ImportRow> rows = readAll("itemName,description,price,isVegetarian\n"
+				+ "Masala Dosa,Crisp rice crepe,99,true\n"
+				+ "Idli Sambar,\"Steamed rice cakes,49,true\n"
+				+ "Vada Pav,Spiced potato fritter,30,true\n");
+
+		assertEquals(2, rows.size());
+		assertEquals(3, rows.get(1).line());
+		assertEquals(AppConstants.IMPORT_UNTERMINATED_QUOTE, rows.get(1).error());
+		assertEquals("Idli Sambar", rows.get(1).item().getItemName());
+	}
+
+	private static List<ImportRow> readAll(String csv) throws IOException {
+		CsvMenuItemReader reader = new CsvMenuItemReader(new StringReader(csv));
+		List<ImportRow> rows = new ArrayList<>();
+		ImportRow row;
+		while ((row = reader.next()) != null) {
+			rows.add(row);
+		}
+		return rows;
+	}
+}
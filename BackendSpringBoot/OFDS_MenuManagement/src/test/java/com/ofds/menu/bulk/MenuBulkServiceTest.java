@@ -0,0 +1,161 @@
+package com.ofds.menu.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ofds.menu.dto.BulkImportResultDto;
+import com.ofds.menu.dto.BulkRowErrorDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.exception.InvalidImportFileException;
+import com.ofds.menu.mapper.MenuItemMapperImpl;
+import com.ofds.menu.repository.MenuItemRepository;
+import com.ofds.menu.util.AppConstants;
+
+import jakarta.validation.Validation;
+
+@DataJpaTest(properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+class MenuBulkServiceTest {
+
+	private static final String HEADER = "itemName,description,price,isVegetarian\n";
+
+	@Configuration
+	@EntityScan(basePackageClasses = MenuItem.class)
+	@EnableJpaRepositories(basePackageClasses = MenuItemRepository.class)
+	static class JpaSliceConfig {
+	}
+
+	@Autowired
+	private MenuItemRepository menuItemRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private MenuBulkService service;
+
+	@BeforeEach
+	void setUp() {
+		service = service(10);
+	}
+
+	@Test
+	void duplicatesOfExistingItemsAndEarlierRowsAreRejected() throws IOException {
+		menuItemRepository.save(entity(1L, "Masala Dosa", "Crisp rice crepe"));
+
+		BulkImportResultDto result = importCsv(1L, HEADER
+				+ "MASALA DOSA ,Crisp rice crepe,99,true\n"
+				+ "Idli Sambar,Steamed rice cakes,49,true\n"
+				+ "idli sambar,Steamed rice cakes,49,true\n"
+				+ "Vada Pav,Spiced potato fritter,30,true\n");
+
+		assertEquals(4, result.getRowsRead());
+		assertEquals(2, result.getImported());
+		assertEquals(2, result.getRejected());
+		assertEquals(List.of(
+				new BulkRowErrorDto(2L, "MASALA DOSA", AppConstants.IMPORT_DUPLICATE_ITEM + "MASALA DOSA"),
+				new BulkRowErrorDto(4L, "idli sambar", AppConstants.IMPORT_DUPLICATE_ITEM + "idli sambar")),
+				result.getErrors());
+		assertEquals(3, menuItemRepository.findByRestaurantId(1L).size());
+	}
+
+	@Test
+	void invalidRowsAreReportedAndTheRestImported() throws IOException {
+		BulkImportResultDto result = importCsv(1L, HEADER
+				+ "Dosa,Crisp rice crepe,99,true\n"
+				+ "Idli Sambar,Steamed rice cakes,0,true\n"
+				+ "Vada Pav,Spiced potato fritter,30,true\n");
+
+		assertEquals(1, result.getImported());
+		assertEquals(List.of(
+				new BulkRowErrorDto(2L, "Dosa", "Item name must be between 5 and 50 characters"),
+				new BulkRowErrorDto(3L, "Idli Sambar", "Price must be greater than 0")),
+				result.getErrors());
+	}
+
+	@Test
+	void importStopsPastMaxRows() {
+		service = service(3);
+
+		InvalidImportFileException thrown = assertThrows(InvalidImportFileException.class, () -> importCsv(1L, HEADER
+				+ "Masala Dosa,Crisp rice crepe,99,true\n"
+				+ "Idli Sambar,Steamed rice cakes,49,true\n"
+				+ "Vada Pav,Spiced potato fritter,30,true\n"
+				+ "Pav Bhaji,Buttered buns with curry,80,true\n"));
+
+		assertEquals(AppConstants.IMPORT_TOO_MANY_ROWS + 3, thrown.getMessage());
+	}
+
+	@Test
+	void csvExportImportsBackUnchanged() throws IOException {
+		roundTrip(MenuFileFormat.CSV);
+	}
+
+	@Test
+	void ndjsonExportImportsBackUnchanged() throws IOException {
+		roundTrip(MenuFileFormat.NDJSON);
+	}
+
+	private void roundTrip(MenuFileFormat format) throws IOException {
+		menuItemRepository.save(entity(1L, "Paneer, Tikka", "Grilled \"tandoori\" style\nwith mint"));
+		menuItemRepository.save(entity(1L, "Masala Dosa", "Crisp rice crepe, with chutney"));
+		menuItemRepository.save(entity(1L, "Chicken Biryani", "Long grain rice\r\nand raita"));
+		menuItemRepository.save(entity(2L, "Vada Pav", "Spiced potato fritter"));
+		ByteArrayOutputStream exported = new ByteArrayOutputStream();
+
+		service.exportItems(1L, format, exported);
+		BulkImportResultDto result = service.importItems(3L, new ByteArrayInputStream(exported.toByteArray()), format);
+
+		assertEquals(3, result.getImported());
+		assertEquals(List.of(), result.getErrors());
+		assertEquals(items(1L), items(3L));
+		assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM menu_item WHERE restaurant_id = 3", Integer.class));
+	}
+
+	private List<String> items(Long restaurantId) {
+		return menuItemRepository.findByRestaurantId(restaurantId).stream()
+				.sorted(Comparator.comparing(MenuItem::getItemId))
+				.map(item -> item.getItemName() + "|" + item.getDescription() + "|" + item.getPrice() + "|" + item.getIsVegetarian())
+				.toList();
+	}
+
+	private BulkImportResultDto importCsv(Long restaurantId, String csv) throws IOException {
+		return service.importItems(restaurantId, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MenuFileFormat.CSV);
+	}
+
+	private MenuBulkService service(int maxRows) {
+		// Two-item export pages and import batches so the paging and batching loops run more than once
+		return new MenuBulkService(menuItemRepository, new MenuItemBatchInserter(jdbcTemplate), new MenuItemMapperImpl(),
+				Validation.buildDefaultValidatorFactory().getValidator(),
+				new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), 2, maxRows, 10, 2);
+	}
+
+	private static MenuItem entity(Long restaurantId, String name, String description) {
+		MenuItem menuItem = new MenuItem();
+		menuItem.setRestaurantId(restaurantId);
+		menuItem.setItemName(name);
+		menuItem.setDescription(description);
+		menuItem.setPrice(149.5);
+		menuItem.setIsVegetarian(!name.startsWith("Chicken"));
+		return menuItem;
+	}
+}
@@ -0,0 +1,47 @@
+package com.ofds.menu.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ofds.menu.dto.MenuItemRequestDto;
+
+class NdjsonMenuItemReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+	@Test
+	void readsOneItemPerLineSkippingBlankLinesAndReportingMalformedOnes() throws IOException {
+		NdjsonMenuItemReader reader = new NdjsonMenuItemReader(new StringReader(
+				"{\"itemId\":3,\"itemName\":\"Masala Dosa\",\"description\":\"Crisp rice crepe\",\"price\":99.0,\"isVegetarian\":true}\n"
+						+ "\n"
+						+ "{\"itemName\":\"Idli Sambar\",\n"
+						+ "{\"itemName\":\"Vada Pav\",\"price\":30}\n"),
+				objectMapper.readerFor(MenuItemRequestDto.class));
+
+		ImportRow first = reader.next();
+		assertEquals(1, first.line());
+		assertNull(first.error());
+		assertEquals("Masala Dosa", first.item().getItemName());
+		assertEquals(99.0, first.item().getPrice());
+
+		ImportRow malformed = reader.next();
+		assertEquals(3, malformed.line());
+		assertTrue(malformed.error().startsWith("Malformed JSON: "));
+		assertNull(malformed.item());
+
+		ImportRow last = reader.next();
+		assertEquals(4, last.line());
+		assertEquals("Vada Pav", last.item().getItemName());
+		assertNull(last.item().getDescription());
+
+		assertNull(reader.next());
+	}
+}
@@ -0,0 +1,169 @@
+package com.ofds.menu.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ofds.menu.dto.MenuItemResponseDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MenuCacheTest {
+
+	private FakeTicker ticker;
+	private SimpleMeterRegistry meterRegistry;
+	private MenuCache cache;
+	private List<Long> loads;
+
+	@BeforeEach
+	void setUp() {
+		ticker = new FakeTicker();
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new MenuCache(Duration.ofMinutes(10), 100, meterRegistry, Runnable::run, ticker);
+		loads = new ArrayList<>();
+	}
+
+	@Test
+	void secondLookupIsAHitAndRecorded() {
+		MenuSnapshot first = cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa")));
+		MenuSnapshot second = cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa")));
+
+		assertSame(first, second);
+		assertEquals(List.of(7L), loads);
+		assertEquals(1.0, requests("menu", "hit"));
+		assertEquals(1.0, requests("menu", "miss"));
+		assertEquals(0.5, meterRegistry.get("menu.cache.hit.ratio").gauge().value());
+		assertEquals(1.0, meterRegistry.get("menu.cache.size").gauge().value());
+		assertEquals(1, meterRegistry.get("menu.cache.load").timer().count());
+	}
+
+	@Test
+	void emptyMenuIsCachedToo() {
+		cache.getMenu(7L, loader());
+		MenuSnapshot again = cache.getMenu(7L, loader());
+
+		assertTrue(again.isEmpty());
+		assertEquals(List.of(7L), loads);
+	}
+
+	@Test
+	void invalidationReloadsAtTheNextVersion() {
+		MenuSnapshot before = cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa")));
+
+		cache.invalidate(7L);
+		MenuSnapshot after = cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa"), item(2L, 7L, "Idli Sambar")));
+
+		assertEquals(List.of(7L, 7L), loads);
+		assertNotEquals(before.getVersion(), after.getVersion());
+		assertEquals(2, after.getItems().size());
+		assertSame(after, cache.getMenu(7L, loader()));
+	}
+
+	@Test
+	void invalidationOfOneRestaurantKeepsTheOthers() {
+		cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa")));
+		cache.getMenu(8L, loader(item(2L, 8L, "Vada Pav")));
+
+		cache.invalidate(7L);
+
+		cache.getMenu(8L, loader());
+		assertEquals(List.of(7L, 8L), loads);
+	}
+
+	@Test
+	void loadRacedByAnInvalidationIsNotCached() {
+		// A write commits and invalidates while this load is still reading the old rows
+		MenuSnapshot stale = cache.getMenu(7L, restaurantId -> {
+			loads.add(restaurantId);
+			cache.invalidate(restaurantId);
+			return List.of(item(1L, 7L, "Masala Dosa"));
+		});
+
+		MenuSnapshot fresh = cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa Special")));
+
+		assertEquals(List.of(7L, 7L), loads);
+		assertEquals("Masala Dosa", stale.getItems().get(0).getItemName());
+		assertEquals("Masala Dosa Special", fresh.getItems().get(0).getItemName());
+		assertEquals("Masala Dosa Special", cache.getItem(1L).orElseThrow().getItemName());
+	}
+
+	@Test
+	void itemsAreFoundThroughTheIndexOnlyWhileTheirMenuIsCurrent() {
+		assertTrue(cache.getItem(1L).isEmpty());
+
+		cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa"), item(2L, 7L, "Idli Sambar")));
+
+		assertEquals("Idli Sambar", cache.getItem(2L).orElseThrow().getItemName());
+		assertEquals(2, cache.indexedItems());
+
+		cache.invalidate(7L);
+
+		assertTrue(cache.getItem(2L).isEmpty());
+		assertEquals(1.0, requests("item", "hit"));
+		assertEquals(2.0, requests("item", "miss"));
+	}
+
+	@Test
+	void deletedItemLeavesTheIndex() {
+		cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa"), item(2L, 7L, "Idli Sambar")));
+
+		cache.removeItem(2L);
+		cache.invalidate(7L);
+		cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa")));
+
+		assertTrue(cache.getItem(2L).isEmpty());
+		assertEquals(1, cache.indexedItems());
+	}
+
+	@Test
+	void expiredMenuIsDroppedFromTheIndex() {
+		cache.getMenu(7L, loader(item(1L, 7L, "Masala Dosa")));
+		cache.getMenu(8L, loader(item(2L, 8L, "Vada Pav")));
+
+		ticker.advance(Duration.ofMinutes(11));
+		cache.getMenu(8L, loader(item(2L, 8L, "Vada Pav")));
+
+		assertEquals(1, cache.indexedItems());
+		assertTrue(cache.getItem(1L).isEmpty());
+		assertTrue(cache.getItem(2L).isPresent());
+	}
+
+	private Function<Long, List<MenuItemResponseDto>> loader(MenuItemResponseDto... items) {
+		return restaurantId -> {
+			loads.add(restaurantId);
+			return List.of(items);
+		};
+	}
+
+	private double requests(String lookup, String result) {
+		return meterRegistry.get("menu.cache.requests").tag("lookup", lookup).tag("result", result).counter().count();
+	}
+
+	private static MenuItemResponseDto item(Long itemId, Long restaurantId, String name) {
+		return new MenuItemResponseDto(itemId, restaurantId, name, "House special", 120.0, true);
+	}
+
+	private static class FakeTicker implements Ticker {
+		private long nanos;
+
+		@Override
+		public long read() {
+			return nanos;
+		}
+
+		void advance(Duration duration) {
+			nanos += TimeUnit.NANOSECONDS.convert(duration);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.ofds.menu.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.ofds.menu.dto.MenuItemRequestDto;
+import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.entity.MenuItem;
+
+class MenuItemMapperTest {
+
+	private final MenuItemMapper mapper = new MenuItemMapperImpl();
+
+	@Test
+	void requestRoundTripsThroughTheEntity() {
+		MenuItemRequestDto request = new MenuItemRequestDto("Masala Dosa", "Crisp rice crepe", 120.0, true);
+
+		MenuItem entity = mapper.convertToEntity(request);
+		assertNull(entity.getItemId());
+		assertNull(entity.getRestaurantId());
+		entity.setItemId(3L);
+		entity.setRestaurantId(7L);
+
+		assertEquals(new MenuItemResponseDto(3L, 7L, "Masala Dosa", "Crisp rice crepe", 120.0, true), mapper.convertToDo(entity));
+	}
+
+	@Test
+	void updateCopiesTheRequestAndKeepsIdentityAndAudit() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 1, 5, 10, 30);
+		MenuItem entity = new MenuItem(3L, 7L, "Masala Dosa", "Crisp rice crepe", true, 120.0, createdAt, "owner", createdAt, "owner");
+
+		mapper.updateEntityFromDto(new MenuItemRequestDto("Chicken Dosa", "Crepe with chicken keema", 180.0, false), entity);
+
+		assertEquals(new MenuItem(3L, 7L, "Chicken Dosa", "Crepe with chicken keema", false, 180.0, createdAt, "owner", createdAt, "owner"), entity);
+	}
+}
@@ -0,0 +1,121 @@
+package com.ofds.menu.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ofds.menu.dto.MenuItemResponseDto;
+
+class MenuSearchIndexTest {
+
+	private MenuSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new MenuSearchIndex();
+	}
+
+	@Test
+	void oneEditCoversSubstitutionInsertionDeletionAndTransposition() {
+		assertTrue(MenuSearchIndex.isOneEditAway("paneer", "paneor"));
+		assertTrue(MenuSearchIndex.isOneEditAway("paner", "paneer"));
+		assertTrue(MenuSearchIndex.isOneEditAway("paneer", "paner"));
+		assertTrue(MenuSearchIndex.isOneEditAway("paneer", "panere"));
+		assertTrue(MenuSearchIndex.isOneEditAway("apneer", "paneer"));
+
+		assertFalse(MenuSearchIndex.isOneEditAway("paneer", "paneer"));
+		assertFalse(MenuSearchIndex.isOneEditAway("paneer", "pancar"));
+		assertFalse(MenuSearchIndex.isOneEditAway("paneer", "pane"));
+		assertFalse(MenuSearchIndex.isOneEditAway("paneer", "enaper"));
+	}
+
+	@Test
+	void nameMatchOutranksDescriptionMatch() {
+		index.add(item(1L, 10L, "Veg Platter", "Includes paneer and naan"));
+		index.add(item(2L, 10L, "Paneer Tikka", "Grilled cottage cheese"));
+		index.add(item(3L, 20L, "Veg Thali", "Dal, rice and paneer"));
+		index.add(item(4L, 30L, "Paneer Butter Masala", "Rich tomato gravy"));
+
+		MenuSearchIndex.Result result = index.search("paneer", 0, 10);
+
+		assertEquals(3, result.totalRestaurants());
+		assertEquals(List.of(10L, 30L, 20L), restaurantIds(result));
+		assertEquals(List.of(2L, 1L), itemIds(result.restaurants().get(0)));
+	}
+
+	@Test
+	void prefixesAndTyposExpandToIndexedTerms() {
+		index.add(item(1L, 10L, "Paneer Tikka", "Grilled cottage cheese"));
+		index.add(item(2L, 20L, "Chicken Biryani", "Long grain rice"));
+
+		assertEquals(List.of(10L), restaurantIds(index.search("pan", 0, 10)));
+		assertEquals(List.of(10L), restaurantIds(index.search("panner", 0, 10)));
+		assertEquals(List.of(20L), restaurantIds(index.search("biryano", 0, 10)));
+		assertEquals(0, index.search("pizza", 0, 10).totalRestaurants());
+	}
+
+	@Test
+	void removedItemsStopMatchingAndSurviveCompaction() {
+		for (long id = 1; id <= 40; id++) {
+			index.add(item(id, id % 4, "Paneer Dish " + id, "Cottage cheese"));
+		}
+		for (long id = 1; id <= 30; id++) {
+			index.remove(id);
+		}
+		index.add(item(41L, 0L, "Paneer Roll", "Wrapped in a paratha"));
+
+		MenuSearchIndex.Result result = index.search("paneer", 0, 10);
+
+		assertEquals(11, index.size());
+		List<Long> found = result.restaurants().stream().flatMap(restaurant -> itemIds(restaurant).stream()).sorted().toList();
+		assertEquals(List.of(31L, 32L, 33L, 34L, 35L, 36L, 37L, 38L, 39L, 40L, 41L), found);
+	}
+
+	@Test
+	void removingTheLastItemWithATermDropsTheTerm() {
+		index.add(item(1L, 10L, "Paneer Tikka", "Grilled"));
+		index.add(item(1L, 10L, "Paneer Tikka", "Smoked"));
+
+		assertEquals(1, index.size());
+		assertEquals(0, index.search("grilled", 0, 10).totalRestaurants());
+
+		index.remove(1L);
+
+		assertEquals(0, index.size());
+		assertEquals(0, index.vocabularySize());
+		assertEquals(0, index.search("paneer", 0, 10).totalRestaurants());
+	}
+
+	@Test
+	void restaurantsArePagedAndGroupItems() {
+		for (long restaurantId : new long[] { 5, 3, 1, 4, 2 }) {
+			index.add(item(restaurantId, restaurantId, "Paneer Tikka", "Grilled"));
+		}
+		index.add(item(6L, 3L, "Paneer Tikka Roll", "Grilled and wrapped"));
+
+		MenuSearchIndex.Result page = index.search("paneer tikka", 2, 2);
+
+		assertEquals(5, page.totalRestaurants());
+		assertEquals(List.of(3L, 4L), restaurantIds(page));
+		assertEquals(List.of(3L, 6L), itemIds(page.restaurants().get(0)));
+		assertEquals(List.of(), index.search("paneer", 5, 2).restaurants());
+		assertEquals(5, index.search("paneer", 5, 2).totalRestaurants());
+	}
+
+	private static List<Long> restaurantIds(MenuSearchIndex.Result result) {
+		return result.restaurants().stream().map(MenuSearchIndex.RestaurantHits::restaurantId).toList();
+	}
+
+	private static List<Long> itemIds(MenuSearchIndex.RestaurantHits restaurant) {
+		return restaurant.hits().stream().map(hit -> hit.item().getItemId()).toList();
+	}
+
+	static MenuItemResponseDto item(Long itemId, Long restaurantId, String name, String description) {
+		return new MenuItemResponseDto(itemId, restaurantId, name, description, 199.0, true);
+	}
+}
@@ -0,0 +1,105 @@
+package com.ofds.menu.search;
+
+import static com.ofds.menu.search.MenuSearchIndexTest.item;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.ofds.menu.dto.MenuSearchResponseDto;
+import com.ofds.menu.dto.RestaurantSearchMatchDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.mapper.MenuItemMapperImpl;
+import com.ofds.menu.repository.MenuItemRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MenuSearchServiceTest {
+
+	private MenuItemRepository menuItemRepository;
+	private MenuSearchService service;
+
+	@BeforeEach
+	void setUp() {
+		menuItemRepository = mock(MenuItemRepository.class);
+		service = new MenuSearchService(menuItemRepository, new MenuItemMapperImpl(), 2, Duration.ofMinutes(30),
+				mock(TaskScheduler.class), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void rebuildLoadsEveryBatch() {
+		when(menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(eq(0L), any(Pageable.class)))
+				.thenReturn(List.of(entity(1L, 10L, "Paneer Tikka"), entity(2L, 20L, "Paneer Roll")));
+		when(menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(eq(2L), any(Pageable.class)))
+				.thenReturn(List.of(entity(3L, 30L, "Paneer Pakora")));
+
+		service.rebuild();
+
+		assertEquals(List.of(10L, 20L, 30L), service.searchRestaurantIds("paneer"));
+	}
+
+	@Test
+	void rebuildReplaysChangesMadeWhileLoading() {
+		service.index(item(2L, 20L, "Paneer Roll", "Wrapped"));
+		when(menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(eq(0L), any(Pageable.class)))
+				.thenAnswer(invocation -> {
+					// Another request edits the menu after this batch was read from the database
+					service.index(item(99L, 40L, "Paneer Bhurji", "Scrambled"));
+					service.remove(2L);
+					return List.of(entity(1L, 10L, "Paneer Tikka"), entity(2L, 20L, "Paneer Roll"));
+				});
+		when(menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(eq(2L), any(Pageable.class)))
+				.thenReturn(List.of());
+
+		service.rebuild();
+
+		assertEquals(List.of(10L, 40L), service.searchRestaurantIds("paneer").stream().sorted().toList());
+	}
+
+	@Test
+	void failedRebuildKeepsServingTheCurrentIndex() {
+		service.index(item(1L, 10L, "Paneer Tikka", "Grilled"));
+		when(menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(eq(0L), any(Pageable.class)))
+				.thenThrow(new QueryTimeoutException("database unavailable"));
+
+		assertThrows(QueryTimeoutException.class, service::rebuild);
+		service.index(item(2L, 20L, "Paneer Roll", "Wrapped"));
+
+		assertEquals(List.of(10L, 20L), service.searchRestaurantIds("paneer"));
+	}
+
+	@Test
+	void searchPagesRestaurants() {
+		for (long restaurantId = 1; restaurantId <= 3; restaurantId++) {
+			service.index(item(restaurantId, restaurantId, "Paneer Tikka", "Grilled"));
+		}
+
+		MenuSearchResponseDto response = service.search("paneer", 1, 2);
+
+		assertEquals(3, response.getTotalRestaurants());
+		assertEquals(List.of(3L), response.getRestaurants().stream().map(RestaurantSearchMatchDto::getRestaurantId).toList());
+		assertEquals(3L, response.getRestaurants().get(0).getItems().get(0).getItemId());
+	}
+
+	private static MenuItem entity(Long itemId, Long restaurantId, String name) {
+		MenuItem menuItem = new MenuItem();
+		menuItem.setItemId(itemId);
+		menuItem.setRestaurantId(restaurantId);
+		menuItem.setItemName(name);
+		menuItem.setDescription("House special");
+		menuItem.setPrice(199.0);
+		menuItem.setIsVegetarian(true);
+		return menuItem;
+	}
+}
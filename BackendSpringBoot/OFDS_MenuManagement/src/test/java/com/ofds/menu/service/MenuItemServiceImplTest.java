@@ -0,0 +1,151 @@
+package com.ofds.menu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ofds.menu.bulk.MenuBulkService;
+import com.ofds.menu.cache.MenuCache;
+import com.ofds.menu.dto.MenuItemRequestDto;
+import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.exception.MenuItemNotFoundException;
+import com.ofds.menu.exception.NoItemsInRestaurantException;
+import com.ofds.menu.mapper.MenuItemMapperImpl;
+import com.ofds.menu.repository.MenuItemRepository;
+import com.ofds.menu.search.MenuSearchService;
+import com.ofds.menu.suggest.SuggestionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MenuItemServiceImplTest {
+
+	private final Map<Long, MenuItem> rows = new TreeMap<>();
+	private final AtomicLong ids = new AtomicLong();
+	private MenuItemRepository repository;
+	private MenuItemServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(MenuItemRepository.class);
+		when(repository.findById(anyLong())).thenAnswer(call -> Optional.ofNullable(copy(rows.get(call.getArgument(0, Long.class)))));
+		when(repository.findByRestaurantIdAndItemName(anyLong(), anyString())).thenAnswer(call -> rows.values().stream()
+				.filter(row -> row.getRestaurantId().equals(call.getArgument(0)) && row.getItemName().equals(call.getArgument(1)))
+				.findFirst());
+		when(repository.findByRestaurantId(anyLong())).thenAnswer(call -> rows.values().stream()
+				.filter(row -> row.getRestaurantId().equals(call.getArgument(0)))
+				.map(MenuItemServiceImplTest::copy)
+				.toList());
+		when(repository.save(any(MenuItem.class))).thenAnswer(call -> {
+			MenuItem row = copy(call.getArgument(0));
+			if (row.getItemId() == null) {
+				row.setItemId(ids.incrementAndGet());
+			}
+			rows.put(row.getItemId(), row);
+			return copy(row);
+		});
+		doAnswer(call -> rows.remove(call.getArgument(0, MenuItem.class).getItemId()))
+				.when(repository).delete(any(MenuItem.class));
+
+		MenuCache menuCache = new MenuCache(Duration.ofMinutes(10), 100, new SimpleMeterRegistry());
+		service = new MenuItemServiceImpl(repository, new MenuItemMapperImpl(), menuCache,
+				mock(MenuSearchService.class), mock(SuggestionService.class), mock(MenuBulkService.class));
+	}
+
+	@Test
+	void repeatedMenuReadsAreServedFromTheCache() {
+		service.createMenuItem(7L, request("Masala Dosa", 120.0));
+
+		service.getAllMenuItemsByResturant(7L);
+		service.getAllMenuItemsByResturant(7L);
+		service.getMenuItemByCategory(7L, true);
+
+		verify(repository).findByRestaurantId(7L);
+	}
+
+	@Test
+	void createdItemShowsUpInTheNextRead() {
+		service.createMenuItem(7L, request("Masala Dosa", 120.0));
+		assertEquals(1, service.getAllMenuItemsByResturant(7L).size());
+
+		service.createMenuItem(7L, request("Idli Sambar", 80.0));
+
+		assertEquals(List.of("Masala Dosa", "Idli Sambar"), names(service.getAllMenuItemsByResturant(7L)));
+	}
+
+	@Test
+	void updatedItemShowsUpInTheNextRead() {
+		service.createMenuItem(7L, request("Masala Dosa", 120.0));
+		Long itemId = service.getAllMenuItemsByResturant(7L).get(0).getItemId();
+		assertEquals(120.0, service.getMenuItemById(itemId).getPrice());
+
+		service.updateMenuItem(itemId, request("Masala Dosa", 135.0));
+
+		assertEquals(135.0, service.getMenuItemById(itemId).getPrice());
+		assertEquals(135.0, service.getAllMenuItemsByResturant(7L).get(0).getPrice());
+	}
+
+	@Test
+	void deletedItemIsGoneFromTheNextRead() {
+		service.createMenuItem(7L, request("Masala Dosa", 120.0));
+		service.createMenuItem(7L, request("Idli Sambar", 80.0));
+		Long itemId = service.getAllMenuItemsByResturant(7L).get(1).getItemId();
+		service.getMenuItemById(itemId);
+
+		service.deleteMenuItem(itemId);
+
+		assertEquals(List.of("Masala Dosa"), names(service.getAllMenuItemsByResturant(7L)));
+		assertThrows(MenuItemNotFoundException.class, () -> service.getMenuItemById(itemId));
+	}
+
+	@Test
+	void itemLookupAfterTheMenuIsCachedSkipsTheDatabase() {
+		service.createMenuItem(7L, request("Masala Dosa", 120.0));
+		Long itemId = service.getAllMenuItemsByResturant(7L).get(0).getItemId();
+
+		assertEquals("Masala Dosa", service.getMenuItemById(itemId).getItemName());
+
+		verify(repository, never()).findById(itemId);
+	}
+
+	@Test
+	void emptyMenuIsReportedFromTheCache() {
+		assertThrows(NoItemsInRestaurantException.class, () -> service.getAllMenuItemsByResturant(9L));
+		assertThrows(NoItemsInRestaurantException.class, () -> service.getAllMenuItemsByResturant(9L));
+
+		verify(repository).findByRestaurantId(9L);
+	}
+
+	private static List<String> names(List<MenuItemResponseDto> items) {
+		return items.stream().map(MenuItemResponseDto::getItemName).toList();
+	}
+
+	private static MenuItemRequestDto request(String name, Double price) {
+		return new MenuItemRequestDto(name, "Served with chutney", price, true);
+	}
+
+	private static MenuItem copy(MenuItem row) {
+		if (row == null) {
+			return null;
+		}
+		return new MenuItem(row.getItemId(), row.getRestaurantId(), row.getItemName(), row.getDescription(),
+				row.getIsVegetarian(), row.getPrice(), row.getCreatedAt(), row.getCreatedBy(), row.getUpdatedAt(), row.getUpdatedBy());
+	}
+}
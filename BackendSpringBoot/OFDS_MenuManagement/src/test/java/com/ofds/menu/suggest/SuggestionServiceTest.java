@@ -0,0 +1,104 @@
+package com.ofds.menu.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.ofds.menu.client.OrderServiceClient;
+import com.ofds.menu.client.RestaurantServiceClient;
+import com.ofds.menu.dto.MenuItemPopularityDto;
+import com.ofds.menu.dto.RestaurantSummaryDto;
+import com.ofds.menu.dto.SuggestionDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.repository.MenuItemRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SuggestionServiceTest {
+
+	private MenuItemRepository menuItemRepository;
+	private RestaurantServiceClient restaurantServiceClient;
+	private OrderServiceClient orderServiceClient;
+	private SuggestionService service;
+
+	@BeforeEach
+	void setUp() {
+		menuItemRepository = mock(MenuItemRepository.class);
+		restaurantServiceClient = mock(RestaurantServiceClient.class);
+		orderServiceClient = mock(OrderServiceClient.class);
+		service = new SuggestionService(menuItemRepository, restaurantServiceClient, orderServiceClient, 100, 3,
+				Duration.ofMinutes(10), mock(TaskScheduler.class), new SimpleMeterRegistry());
+
+		when(menuItemRepository.findByItemIdGreaterThanOrderByItemIdAsc(anyLong(), any(Pageable.class))).thenReturn(List.of(
+				item(1L, 10L, "Paneer Tikka"),
+				item(2L, 20L, "paneer  tikka"),
+				item(3L, 20L, "Paneer Roll")));
+		when(orderServiceClient.getMenuItemPopularity()).thenReturn(List.of(
+				new MenuItemPopularityDto(1L, 4L),
+				new MenuItemPopularityDto(2L, 3L),
+				new MenuItemPopularityDto(3L, 5L)));
+		when(restaurantServiceClient.getAllRestaurants()).thenReturn(List.of(
+				new RestaurantSummaryDto(10L, "Punjab Grill"),
+				new RestaurantSummaryDto(20L, "Paneer Palace")));
+	}
+
+	@Test
+	void sameDishInSeveralRestaurantsIsSuggestedOnceWithAllItsOrders() {
+		service.rebuild();
+
+		assertEquals(List.of(
+				new SuggestionDto("RESTAURANT", "Paneer Palace", 20L, 8L),
+				new SuggestionDto("DISH", "Paneer Tikka", null, 7L),
+				new SuggestionDto("DISH", "Paneer Roll", null, 5L)), service.suggest("pa", 10));
+		assertEquals(List.of(new SuggestionDto("RESTAURANT", "Punjab Grill", 10L, 4L)), service.suggest("grill", 10));
+	}
+
+	@Test
+	void limitIsCappedByMaxResults() {
+		service.rebuild();
+
+		assertEquals(1, service.suggest("pa", 1).size());
+		assertEquals(3, service.suggest("p", 50).size());
+	}
+
+	@Test
+	void lastAnswerIsReusedWhenOrderOrRestaurantServiceFails() {
+		service.rebuild();
+		when(orderServiceClient.getMenuItemPopularity()).thenThrow(new IllegalStateException("order-service down"));
+		when(restaurantServiceClient.getAllRestaurants()).thenThrow(new IllegalStateException("restaurant-service down"));
+
+		service.rebuild();
+
+		assertEquals(List.of(
+				new SuggestionDto("RESTAURANT", "Paneer Palace", 20L, 8L),
+				new SuggestionDto("DISH", "Paneer Tikka", null, 7L),
+				new SuggestionDto("DISH", "Paneer Roll", null, 5L)), service.suggest("pa", 10));
+		assertEquals(List.of(new SuggestionDto("RESTAURANT", "Punjab Grill", 10L, 4L)), service.suggest("grill", 10));
+	}
+
+	@Test
+	void nothingIsSuggestedBeforeTheFirstRebuild() {
+		assertEquals(List.of(), service.suggest("pa", 10));
+	}
+
+	private static MenuItem item(Long itemId, Long restaurantId, String name) {
+		MenuItem menuItem = new MenuItem();
+		menuItem.setItemId(itemId);
+		menuItem.setRestaurantId(restaurantId);
+		menuItem.setItemName(name);
+		menuItem.setDescription("House special");
+		menuItem.setPrice(199.0);
+		menuItem.setIsVegetarian(true);
+		return menuItem;
+	}
+}
@@ -0,0 +1,78 @@
+package com.ofds.menu.suggest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ofds.menu.suggest.SuggestionTrie.Suggestion;
+import com.ofds.menu.suggest.SuggestionTrie.Type;
+
+class SuggestionTrieTest {
+
+	@Test
+	void prefixEndingInsideAnEdgeLabelMatchesTheWholeSubtree() {
+		SuggestionTrie trie = new SuggestionTrie.Builder()
+				.add(Type.DISH, "Paneer Tikka", null, 5)
+				.add(Type.DISH, "Paneer Roll", null, 3)
+				.build(10);
+
+		assertEquals(List.of("Paneer Tikka", "Paneer Roll"), texts(trie.suggest("pane", 10)));
+		assertEquals(List.of("Paneer Tikka"), texts(trie.suggest("paneer ti", 10)));
+		assertEquals(List.of(), texts(trie.suggest("panx", 10)));
+		assertEquals(List.of(), texts(trie.suggest("paneer tikkas", 10)));
+	}
+
+	@Test
+	void laterWordsOfASuggestionAreMatched() {
+		SuggestionTrie trie = new SuggestionTrie.Builder()
+				.add(Type.DISH, "Butter Paneer", null, 5)
+				.add(Type.RESTAURANT, "The Paneer House", 7L, 2)
+				.build(10);
+
+		assertEquals(List.of("Butter Paneer", "The Paneer House"), texts(trie.suggest("pan", 10)));
+		assertEquals(List.of("Butter Paneer"), texts(trie.suggest("Butter-pan", 10)));
+		assertEquals(List.of("The Paneer House"), texts(trie.suggest("house", 10)));
+		assertEquals(7L, trie.suggest("house", 10).get(0).restaurantId());
+	}
+
+	@Test
+	void topSuggestionsAreOrderedByWeightAndTakenOncePerSuggestion() {
+		SuggestionTrie trie = new SuggestionTrie.Builder()
+				.add(Type.DISH, "Paneer Butter Paneer", null, 9)
+				.add(Type.DISH, "Palak Paneer", null, 4)
+				.add(Type.DISH, "Paneer Roll", null, 4)
+				.add(Type.DISH, "Pav Bhaji", null, 1)
+				.build(3);
+
+		assertEquals(List.of("Paneer Butter Paneer", "Paneer Roll", "Palak Paneer"), texts(trie.suggest("pa", 10)));
+		assertEquals(List.of("Paneer Butter Paneer", "Paneer Roll"), texts(trie.suggest("paneer", 2)));
+		assertEquals(List.of(), trie.suggest("pa", 0));
+	}
+
+	@Test
+	void keysAreTruncatedTo64Characters() {
+		String name = "Chef Special Slow Cooked Hyderabadi Dum Biryani With Raita And Salan";
+		SuggestionTrie trie = new SuggestionTrie.Builder().add(Type.DISH, name, null, 1).build(10);
+
+		assertEquals(64, SuggestionTrie.normalize(name).length());
+		assertEquals(List.of(name), texts(trie.suggest(name, 10)));
+		assertEquals(List.of(name), texts(trie.suggest(name.substring(0, 64) + " anything else", 10)));
+	}
+
+	@Test
+	void blankNamesAreSkipped() {
+		SuggestionTrie trie = new SuggestionTrie.Builder()
+				.add(Type.DISH, "  --  ", null, 1)
+				.add(Type.DISH, null, null, 1)
+				.build(10);
+
+		assertEquals(0, trie.size());
+		assertEquals(List.of(), trie.suggest("a", 10));
+	}
+
+	private static List<String> texts(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::text).toList();
+	}
+}
@@ -2,14 +2,16 @@ package com.example.Restaurant.Controller;
 
 import jakarta.validation.Valid;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.Restaurant.Dto.*; // Assuming RestaurantDTO is here
 import com.example.Restaurant.Exception.InvalidCredentialsException;
+import com.example.Restaurant.Service.RestaurantCatalog;
 import com.example.Restaurant.Service.RestaurantService;
 
 /**
@@ -46,6 +48,47 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.login(dto));
     }
 
+    /**
+     * Finds restaurants near a point, those taking orders first and nearest first.
+     * With a radius every restaurant inside it is paged; without one the nearest restaurants
+     * within 50 km are listed, up to 200 of them.
+     *
+     * @param latitude Latitude of the point in degrees.
+     * @param longitude Longitude of the point in degrees.
+     * @param radiusKm Search radius in kilometres, at most 50.
+     * @param page Zero-based page number.
+     * @param size Page size, at most 100 (default 20).
+     * @return ResponseEntity containing the page of nearby restaurants with their distance.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<RestaurantPageDTO<NearbyRestaurantDTO>> getNearbyRestaurants(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(restaurantService.findNearbyRestaurants(
+                RestaurantCatalog.NearbyQuery.of(latitude, longitude, radiusKm, page, size)));
+    }
+
+    /**
+     * Updates the position and availability of the calling restaurant.
+     *
+     * @param dto The changes; null fields are left as they are.
+     * @param requestId The restaurant ID passed on by the gateway.
+     * @param roles The caller's roles passed on by the gateway.
+     * @return ResponseEntity containing the updated restaurant details.
+     */
+    @PatchMapping("/me")
+    public ResponseEntity<RestaurantDTO> updateRestaurant(@Valid @RequestBody RestaurantUpdateDTO dto,
+            @RequestHeader("X-Internal-User-Id") String requestId,
+            @RequestHeader("X-Internal-User-Roles") String roles) {
+        if (!roles.contains("RESTAURANT")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(restaurantService.updateRestaurant(Long.valueOf(requestId), dto));
+    }
+
     /**
      * Retrieves restaurant details by its ID.
      *
@@ -57,8 +100,29 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.getRestaurantById(id));
     }
     
+    /**
+     * Retrieves restaurants, optionally filtered by location and sorted.
+     * Without page or size the whole matching listing is returned as an array; with either, one
+     * page of it wrapped with the paging totals. The JSON comes ready-made from the catalog.
+     * A request whose If-None-Match carries the current ETag gets a 304 without a body.
+     *
+     * @param location Text the location must contain, ignoring case.
+     * @param sort id, name or location, optionally followed by ,asc or ,desc (default id).
+     * @param page Zero-based page number.
+     * @param size Page size, at most 100 (default 20).
+     * @return ResponseEntity containing the restaurant listing.
+     */
     @GetMapping
-    public ResponseEntity<List<RestaurantDTO>> getAllRestaurants(){
-    	return ResponseEntity.ok(restaurantService.getAllRestaurants());
+    public ResponseEntity<byte[]> getAllRestaurants(@RequestParam(required = false) String location,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+    	RestaurantCatalog.RenderedPage listing = restaurantService.getRestaurantPage(
+    			RestaurantCatalog.Query.of(location, sort, page, size));
+    	return ResponseEntity.ok()
+    			.eTag(listing.eTag())
+    			.cacheControl(CacheControl.noCache())
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.body(listing.json());
     }
 }
@@ -0,0 +1,19 @@
+package com.example.Restaurant.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyRestaurantDTO {
+    private Long id;
+    private String name;
+    private String location;
+    private double latitude;
+    private double longitude;
+    private boolean acceptingOrders;
+    private double distanceKm;
+
+}
@@ -12,5 +12,8 @@ public class RestaurantDTO {
     private String name;
     private String location;
     private String email;
+    private Double latitude;
+    private Double longitude;
+    private boolean acceptingOrders;
 
 }
\ No newline at end of file
@@ -48,4 +48,20 @@ public class Restaurant {
      */
     @Column(unique = true, nullable = false)
     private String password;
+
+    /** 
+     * Latitude of the restaurant in degrees (null until the restaurant sets its position).
+     */
+    private Double latitude;
+
+    /** 
+     * Longitude of the restaurant in degrees (null until the restaurant sets its position).
+     */
+    private Double longitude;
+
+    /** 
+     * Whether the restaurant is currently taking orders.
+     */
+    @Column(nullable = false, columnDefinition = "boolean default true")
+    private boolean acceptingOrders = true;
 }
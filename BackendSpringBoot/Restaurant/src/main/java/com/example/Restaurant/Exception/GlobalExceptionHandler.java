@@ -93,6 +93,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles **invalid listing parameters** (unknown sort, negative page, size out of range).
+     * Returns a structured `ErrorResponse` with a **400 Bad Request** status.
+     * @param ex The `InvalidCatalogQueryException`.
+     * @param request The current web request.
+     * @return `ResponseEntity` with `ErrorResponse` and `HttpStatus.BAD_REQUEST`.
+     */
+    @ExceptionHandler(InvalidCatalogQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCatalogQuery(InvalidCatalogQueryException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.BAD_REQUEST.value(),
+            HttpStatus.BAD_REQUEST.getReasonPhrase(),
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles **malformed JSON requests**.
      * Returns a structured `ErrorResponse` with a generic message and a **400 Bad Request** status.
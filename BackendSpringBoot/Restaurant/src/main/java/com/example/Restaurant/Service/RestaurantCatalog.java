@@ -0,0 +1,415 @@
+package com.example.Restaurant.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.Restaurant.Dto.NearbyRestaurantDTO;
+import com.example.Restaurant.Dto.RestaurantDTO;
+import com.example.Restaurant.Dto.RestaurantPageDTO;
+import com.example.Restaurant.Exception.InvalidCatalogQueryException;
+import com.example.Restaurant.Util.AppConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory snapshot of the restaurant listing served by {@code GET /api/restaurants}.
+ * The catalog version is bumped whenever a restaurant is registered or updated; a snapshot loaded
+ * under an older version, or older than the TTL, is reloaded on the next read. Each snapshot carries a
+ * strong ETag computed from its content, so a conditional GET is answered without touching the
+ * database and the tag stays valid across instances and restarts.
+ *
+ * A snapshot is immutable. Next to the listing it keeps the restaurant order for every sort field
+ * and the lower-cased locations, so a filtered, sorted page is a single pass over an array. The
+ * JSON of a page is written once and kept with the snapshot, up to {@code cached-pages} distinct
+ * pages, so the landing page and other popular listings are answered by copying ready bytes. The
+ * pages are dropped together with their snapshot and can never outlive the data they show.
+ *
+ * The snapshot also indexes the restaurants that have a position in a {@link RestaurantGeoIndex}
+ * for the nearby search. Restaurants taking orders rank ahead of those that are not, nearest
+ * first within each group.
+ */
+@Slf4j
+@Component
+public class RestaurantCatalog {
+
+    private static final int TAG_BYTES = 12;
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final ObjectWriter writer;
+    private final int maxCachedPages;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public RestaurantCatalog(@Value("${restaurant.catalog.ttl:5m}") Duration ttl, ObjectMapper objectMapper,
+            @Value("${restaurant.catalog.cached-pages:256}") int maxCachedPages) {
+        this(ttl, Clock.systemUTC(), objectMapper, maxCachedPages);
+    }
+
+    RestaurantCatalog(Duration ttl, Clock clock, ObjectMapper objectMapper, int maxCachedPages) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.writer = objectMapper.writer();
+        this.maxCachedPages = maxCachedPages;
+    }
+
+    /**
+     * Returns the current snapshot, loading it with {@code loader} when it is missing or stale.
+     */
+    public Snapshot get(Supplier<List<RestaurantDTO>> loader) {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        // One load at a time; readers arriving meanwhile wait for it rather than each running the query
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long currentVersion = version.get();
+            Snapshot loaded = new Snapshot(currentVersion, loader.get(), clock.millis(), writer, maxCachedPages);
+            // A registration that landed while loading has already bumped the version; keep that snapshot out
+            if (version.get() == currentVersion) {
+                snapshot = loaded;
+            }
+            log.debug("Loaded restaurant catalog at version {} with {} restaurants", currentVersion, loaded.restaurants.size());
+            return loaded;
+        }
+    }
+
+    /**
+     * Marks the catalog as changed. Must be called after the change has been saved.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Marks the catalog as changed and loads the new snapshot straight away, so the next listing
+     * request does not wait for it. Must be called after the change has been saved.
+     */
+    public Snapshot rebuild(Supplier<List<RestaurantDTO>> loader) {
+        invalidate();
+        return get(loader);
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.version == version.get()
+                && clock.millis() - current.loadedAtMillis < ttl.toMillis();
+    }
+
+    /**
+     * Immutable restaurant listing together with its ETag and its rendered pages.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final List<RestaurantDTO> restaurants;
+        private final String eTag;
+        private final long loadedAtMillis;
+        private final String[] locationKeys;
+        private final int[][] orders;
+        private final boolean[] acceptingOrders;
+        private final RestaurantGeoIndex geoIndex;
+        private final ObjectWriter writer;
+        private final int maxCachedPages;
+        private final ConcurrentMap<Query, RenderedPage> pages = new ConcurrentHashMap<>();
+
+        Snapshot(long version, List<RestaurantDTO> restaurants, long loadedAtMillis, ObjectWriter writer,
+                int maxCachedPages) {
+            this.version = version;
+            this.restaurants = List.copyOf(restaurants);
+            this.eTag = eTagOf(this.restaurants);
+            this.loadedAtMillis = loadedAtMillis;
+            this.writer = writer;
+            this.maxCachedPages = maxCachedPages;
+
+            this.locationKeys = new String[this.restaurants.size()];
+            for (int i = 0; i < locationKeys.length; i++) {
+                String location = this.restaurants.get(i).getLocation();
+                locationKeys[i] = location == null ? "" : location.toLowerCase(Locale.ROOT);
+            }
+            this.orders = new int[SortField.values().length][];
+            for (SortField field : SortField.values()) {
+                orders[field.ordinal()] = orderBy(this.restaurants, field.comparator);
+            }
+
+            int count = this.restaurants.size();
+            this.acceptingOrders = new boolean[count];
+            double[] latitudes = new double[count];
+            double[] longitudes = new double[count];
+            for (int i = 0; i < count; i++) {
+                RestaurantDTO restaurant = this.restaurants.get(i);
+                acceptingOrders[i] = restaurant.isAcceptingOrders();
+                boolean positioned = restaurant.getLatitude() != null && restaurant.getLongitude() != null;
+                latitudes[i] = positioned ? restaurant.getLatitude() : Double.NaN;
+                longitudes[i] = positioned ? restaurant.getLongitude() : Double.NaN;
+            }
+            this.geoIndex = RestaurantGeoIndex.build(latitudes, longitudes, RestaurantGeoIndex.DEFAULT_CELL_DEGREES);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<RestaurantDTO> getRestaurants() {
+            return restaurants;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * The JSON of the listing page selected by {@code query}, rendered on first use.
+         */
+        public RenderedPage page(Query query) {
+            RenderedPage page = pages.get(query);
+            if (page != null) {
+                return page;
+            }
+            page = render(query);
+            // The first pages asked for after a load are the popular ones (the landing page above all);
+            // the cap keeps arbitrary location filters from growing the map without bound
+            if (pages.size() < maxCachedPages) {
+                pages.putIfAbsent(query, page);
+            }
+            return page;
+        }
+
+        int cachedPages() {
+            return pages.size();
+        }
+
+        /**
+         * The page of restaurants near the query point selected by {@code query}, ranked by
+         * whether they take orders and then by distance.
+         */
+        public RestaurantPageDTO<NearbyRestaurantDTO> nearby(NearbyQuery query) {
+            List<RestaurantGeoIndex.Hit> ranked;
+            if (query.radiusKm() != null) {
+                ranked = geoIndex.within(query.latitude(), query.longitude(), query.radiusKm());
+                ranked.sort(Comparator.comparingInt((RestaurantGeoIndex.Hit hit) -> acceptingOrders[hit.position()] ? 0 : 1)
+                        .thenComparingDouble(RestaurantGeoIndex.Hit::distanceKm));
+            } else {
+                // Every open restaurant ranks ahead of every closed one, so the open ones are searched
+                // first and closed ones only fill up what is left of the requested pages
+                int wanted = (query.page() + 1) * query.size();
+                ranked = new ArrayList<>(geoIndex.nearest(query.latitude(), query.longitude(), wanted,
+                        NearbyQuery.MAX_RADIUS_KM, position -> acceptingOrders[position]));
+                if (ranked.size() < wanted) {
+                    ranked.addAll(geoIndex.nearest(query.latitude(), query.longitude(), wanted - ranked.size(),
+                            NearbyQuery.MAX_RADIUS_KM, position -> !acceptingOrders[position]));
+                }
+            }
+
+            int from = Math.min(query.page() * query.size(), ranked.size());
+            int to = Math.min(from + query.size(), ranked.size());
+            List<NearbyRestaurantDTO> content = new ArrayList<>(to - from);
+            for (RestaurantGeoIndex.Hit hit : ranked.subList(from, to)) {
+                RestaurantDTO restaurant = restaurants.get(hit.position());
+                content.add(new NearbyRestaurantDTO(restaurant.getId(), restaurant.getName(), restaurant.getLocation(),
+                        restaurant.getLatitude(), restaurant.getLongitude(), restaurant.isAcceptingOrders(), hit.distanceKm()));
+            }
+            return new RestaurantPageDTO<>(content, query.page(), query.size(), ranked.size(),
+                    (ranked.size() + query.size() - 1) / query.size());
+        }
+
+        private RenderedPage render(Query query) {
+            int[] order = orders[query.sortField().ordinal()];
+            long from = query.isPaged() ? (long) query.page() * query.size() : 0;
+            int limit = query.isPaged() ? query.size() : Integer.MAX_VALUE;
+            List<RestaurantDTO> content = new ArrayList<>();
+            int matches = 0;
+            for (int i = 0; i < order.length; i++) {
+                int index = order[query.descending() ? order.length - 1 - i : i];
+                if (query.location() != null && !locationKeys[index].contains(query.location())) {
+                    continue;
+                }
+                if (matches >= from && content.size() < limit) {
+                    content.add(restaurants.get(index));
+                }
+                matches++;
+            }
+
+            Object body = query.isPaged()
+                    ? new RestaurantPageDTO<>(content, query.page(), query.size(), matches, (matches + query.size() - 1) / query.size())
+                    : content;
+            try {
+                byte[] json = writer.writeValueAsBytes(body);
+                MessageDigest digest = sha256();
+                digest.update(json);
+                return new RenderedPage(json, tagOf(digest));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not write restaurant listing", e);
+            }
+        }
+
+        private static int[] orderBy(List<RestaurantDTO> restaurants, Comparator<RestaurantDTO> comparator) {
+            Integer[] indexes = new Integer[restaurants.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+            Arrays.sort(indexes, Comparator.comparing(restaurants::get, comparator));
+            return Arrays.stream(indexes).mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Ready-to-send JSON of one listing page and its strong ETag. The bytes are shared and must not
+     * be modified.
+     */
+    public record RenderedPage(byte[] json, String eTag) {
+    }
+
+    /**
+     * Field a listing can be sorted by. Ties are broken by ID so pages never overlap.
+     */
+    public enum SortField {
+        ID(Comparator.comparing(RestaurantDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()))),
+        NAME(byText(RestaurantDTO::getName)),
+        LOCATION(byText(RestaurantDTO::getLocation));
+
+        private final Comparator<RestaurantDTO> comparator;
+
+        SortField(Comparator<RestaurantDTO> comparator) {
+            this.comparator = comparator;
+        }
+
+        private static Comparator<RestaurantDTO> byText(Function<RestaurantDTO, String> text) {
+            return Comparator.comparing(text, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(RestaurantDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+        }
+    }
+
+    /**
+     * A listing request: an optional case-insensitive location filter, a sort order and, when
+     * {@code page} is set, the page to return. Without a page the whole matching listing is
+     * returned as a plain array, as before paging existed.
+     */
+    public record Query(String location, SortField sortField, boolean descending, Integer page, Integer size) {
+
+        public static final int DEFAULT_PAGE_SIZE = 20;
+        public static final int MAX_PAGE_SIZE = 100;
+
+        /**
+         * Normalizes and checks the request parameters; all of them are optional.
+         *
+         * @param sort {@code id}, {@code name} or {@code location}, optionally followed by {@code ,asc} or {@code ,desc}
+         * @throws InvalidCatalogQueryException If the sort or the page parameters are invalid.
+         */
+        public static Query of(String location, String sort, Integer page, Integer size) {
+            String locationKey = location == null || location.isBlank() ? null : location.trim().toLowerCase(Locale.ROOT);
+
+            SortField sortField = SortField.ID;
+            boolean descending = false;
+            if (sort != null && !sort.isBlank()) {
+                String[] parts = sort.split(",", -1);
+                sortField = Arrays.stream(SortField.values())
+                        .filter(field -> field.name().equalsIgnoreCase(parts[0].trim()))
+                        .findFirst()
+                        .orElseThrow(() -> new InvalidCatalogQueryException(AppConstants.INVALID_SORT + sort));
+                if (parts.length > 2 || (parts.length == 2 && !parts[1].trim().equalsIgnoreCase("asc")
+                        && !parts[1].trim().equalsIgnoreCase("desc"))) {
+                    throw new InvalidCatalogQueryException(AppConstants.INVALID_SORT + sort);
+                }
+                descending = parts.length == 2 && parts[1].trim().equalsIgnoreCase("desc");
+            }
+
+            if (page == null && size == null) {
+                return new Query(locationKey, sortField, descending, null, null);
+            }
+            int pageNumber = page == null ? 0 : page;
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+            if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new InvalidCatalogQueryException(AppConstants.INVALID_PAGE + MAX_PAGE_SIZE);
+            }
+            return new Query(locationKey, sortField, descending, pageNumber, pageSize);
+        }
+
+        boolean isPaged() {
+            return page != null;
+        }
+    }
+
+    /**
+     * A nearby search around a point. With a radius, every restaurant inside it is ranked and
+     * paged. Without one, the nearest restaurants up to {@link #MAX_RADIUS_KM} are searched only as
+     * far as the requested page, so the totals then cover the pages up to that one.
+     */
+    public record NearbyQuery(double latitude, double longitude, Double radiusKm, int page, int size) {
+
+        public static final double MAX_RADIUS_KM = 50;
+        public static final int MAX_NEAREST = 200;
+
+        /**
+         * Checks the request parameters; the position is required, the rest optional.
+         *
+         * @throws InvalidCatalogQueryException If the position, radius or page parameters are invalid.
+         */
+        public static NearbyQuery of(Double latitude, Double longitude, Double radiusKm, Integer page, Integer size) {
+            if (latitude == null || longitude == null || !(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+                throw new InvalidCatalogQueryException(AppConstants.INVALID_POSITION);
+            }
+            if (radiusKm != null && !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+                throw new InvalidCatalogQueryException(AppConstants.INVALID_RADIUS + MAX_RADIUS_KM);
+            }
+            int pageNumber = page == null ? 0 : page;
+            int pageSize = size == null ? Query.DEFAULT_PAGE_SIZE : size;
+            if (pageNumber < 0 || pageSize < 1 || pageSize > Query.MAX_PAGE_SIZE) {
+                throw new InvalidCatalogQueryException(AppConstants.INVALID_PAGE + Query.MAX_PAGE_SIZE);
+            }
+            if (radiusKm == null && (long) (pageNumber + 1) * pageSize > MAX_NEAREST) {
+                throw new InvalidCatalogQueryException(AppConstants.TOO_MANY_NEAREST + MAX_NEAREST);
+            }
+            return new NearbyQuery(latitude, longitude, radiusKm, pageNumber, pageSize);
+        }
+    }
+
+    private static String eTagOf(List<RestaurantDTO> restaurants) {
+        MessageDigest digest = sha256();
+        for (RestaurantDTO restaurant : restaurants) {
+            String fields = restaurant.getId() + "\u0000" + restaurant.getName() + "\u0000"
+                    + restaurant.getLocation() + "\u0000" + restaurant.getEmail() + "\u0000" + restaurant.getLatitude()
+                    + "\u0000" + restaurant.getLongitude() + "\u0000" + restaurant.isAcceptingOrders() + "\u0001";
+            digest.update(fields.getBytes(StandardCharsets.UTF_8));
+        }
+        return tagOf(digest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String tagOf(MessageDigest digest) {
+        return HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), TAG_BYTES));
+    }
+}
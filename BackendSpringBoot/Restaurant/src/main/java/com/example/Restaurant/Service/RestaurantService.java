@@ -38,7 +38,32 @@ public interface RestaurantService {
      */
     RestaurantDTO getRestaurantById(Long id);
 
+    /**
+     * Updates the position and availability of a restaurant.
+     *
+     * @param id The ID of the restaurant.
+     * @param updateDTO The changes; null fields are left as they are.
+     * @return RestaurantDTO containing the updated details.
+     * @throws RestaurantNotFoundException If no restaurant is found with the given ID.
+     */
+    RestaurantDTO updateRestaurant(Long id, RestaurantUpdateDTO updateDTO);
+
 	Optional<UserAuthDetailsDTO> findUserAuthDetailsByIdentifier(String email);
 
 	List<RestaurantDTO> getAllRestaurants();
+
+	/**
+	 * Returns the cached restaurant listing together with its ETag.
+	 */
+	RestaurantCatalog.Snapshot getRestaurantCatalog();
+
+	/**
+	 * Returns the JSON of the filtered, sorted listing page selected by the query, with its ETag.
+	 */
+	RestaurantCatalog.RenderedPage getRestaurantPage(RestaurantCatalog.Query query);
+
+	/**
+	 * Returns the page of restaurants near a point, those taking orders first, nearest first.
+	 */
+	RestaurantPageDTO<NearbyRestaurantDTO> findNearbyRestaurants(RestaurantCatalog.NearbyQuery query);
 }
\ No newline at end of file
@@ -30,6 +30,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     
     private final RestaurantRepository restaurantRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RestaurantCatalog restaurantCatalog;
 
     /**
      * Registers a new restaurant in the system.
@@ -49,6 +50,7 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setEmail(dto.getEmail());
         restaurant.setPassword(passwordEncoder.encode(dto.getPassword()));
         restaurantRepository.save(restaurant);
+        restaurantCatalog.rebuild(this::loadAllRestaurants);
         return new AuthResponseDTO(AppConstants.REGISTRATION_SUCCESS);
     }
 
@@ -82,12 +84,33 @@ public class RestaurantServiceImpl implements RestaurantService {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new RestaurantNotFoundException(AppConstants.RESTAURANT_NOT_FOUND + id));
 
-        RestaurantDTO restaurantDTO = new RestaurantDTO();
-        restaurantDTO.setId(restaurant.getId());
-        restaurantDTO.setName(restaurant.getName());
-        restaurantDTO.setLocation(restaurant.getLocation());
-        restaurantDTO.setEmail(restaurant.getEmail());
-        return restaurantDTO;
+        return toDTO(restaurant);
+    }
+
+    /**
+     * Updates the position and availability of a restaurant and refreshes the catalog.
+     *
+     * @param id The ID of the restaurant.
+     * @param updateDTO The changes; null fields are left as they are.
+     * @return RestaurantDTO containing the updated details.
+     * @throws RestaurantNotFoundException If no restaurant is found with the given ID.
+     */
+    @Override
+    public RestaurantDTO updateRestaurant(Long id, RestaurantUpdateDTO updateDTO) {
+        Restaurant restaurant = restaurantRepository.findById(id)
+                .orElseThrow(() -> new RestaurantNotFoundException(AppConstants.RESTAURANT_NOT_FOUND + id));
+
+        if (updateDTO.getLatitude() != null) {
+            restaurant.setLatitude(updateDTO.getLatitude());
+            restaurant.setLongitude(updateDTO.getLongitude());
+        }
+        if (updateDTO.getAcceptingOrders() != null) {
+            restaurant.setAcceptingOrders(updateDTO.getAcceptingOrders());
+        }
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantCatalog.rebuild(this::loadAllRestaurants);
+        log.info("Restaurant with ID {} updated its listing", id);
+        return toDTO(saved);
     }
     
     public Optional<UserAuthDetailsDTO> findUserAuthDetailsByIdentifier(String identifier) {
@@ -119,19 +142,43 @@ public class RestaurantServiceImpl implements RestaurantService {
     
     @Override
     public List<RestaurantDTO> getAllRestaurants(){
-    	
+    	return getRestaurantCatalog().getRestaurants();
+    }
+
+    @Override
+    public RestaurantCatalog.Snapshot getRestaurantCatalog() {
+        return restaurantCatalog.get(this::loadAllRestaurants);
+    }
+
+    @Override
+    public RestaurantCatalog.RenderedPage getRestaurantPage(RestaurantCatalog.Query query) {
+        return getRestaurantCatalog().page(query);
+    }
+
+    @Override
+    public RestaurantPageDTO<NearbyRestaurantDTO> findNearbyRestaurants(RestaurantCatalog.NearbyQuery query) {
+        return getRestaurantCatalog().nearby(query);
+    }
+
+    private List<RestaurantDTO> loadAllRestaurants() {
     	List<Restaurant> allRestaurants = restaurantRepository.findAll();
+    	log.info("Loaded {} restaurants into the catalog", allRestaurants.size());
     	
 		return allRestaurants.stream()
-                .map(restaurant -> {
-                    RestaurantDTO dto = new RestaurantDTO();
-                    dto.setId(restaurant.getId());
-                    dto.setName(restaurant.getName());
-                    dto.setLocation(restaurant.getLocation());
-                    dto.setEmail(restaurant.getEmail());
-                    return dto;
-                })
+                .map(this::toDTO)
                 .toList();
     	
     }
+
+    private RestaurantDTO toDTO(Restaurant restaurant) {
+        RestaurantDTO dto = new RestaurantDTO();
+        dto.setId(restaurant.getId());
+        dto.setName(restaurant.getName());
+        dto.setLocation(restaurant.getLocation());
+        dto.setEmail(restaurant.getEmail());
+        dto.setLatitude(restaurant.getLatitude());
+        dto.setLongitude(restaurant.getLongitude());
+        dto.setAcceptingOrders(restaurant.isAcceptingOrders());
+        return dto;
+    }
 }
@@ -7,6 +7,11 @@ public class AppConstants {
    public static final String INVALID_CREDENTIALS = "Invalid email or password";
    public static final String EMAIL_ALREADY_EXISTS = "Email already exists!!";
    public static final String RESTAURANT_NOT_FOUND = "Restaurant not found with ID: "; 
+   public static final String INVALID_SORT = "Sort must be id, name or location, optionally followed by ,asc or ,desc: ";
+   public static final String INVALID_PAGE = "Page must be zero or more and size between 1 and ";
+   public static final String INVALID_POSITION = "Latitude must be between -90 and 90 and longitude between -180 and 180";
+   public static final String INVALID_RADIUS = "Radius in km must be greater than 0 and at most ";
+   public static final String TOO_MANY_NEAREST = "Nearest restaurants are available up to position ";
    
    private AppConstants() {
 	   throw new UnsupportedOperationException("Utilty class cannot be instantiated");
@@ -227,7 +227,7 @@ class RestaurantControllerTest {
     @Test
     void testGetRestaurantById_Success() throws Exception {
         Long restaurantId = 1L;
-        RestaurantDTO restaurantDTO = new RestaurantDTO(restaurantId, "Test Restaurant", "Test Location", "test@example.com");
+        RestaurantDTO restaurantDTO = new RestaurantDTO(restaurantId, "Test Restaurant", "Test Location", "test@example.com", null, null, true);
         when(restaurantService.getRestaurantById(restaurantId)).thenReturn(restaurantDTO);
 
         mockMvc.perform(get("/api/restaurants/{id}", restaurantId)
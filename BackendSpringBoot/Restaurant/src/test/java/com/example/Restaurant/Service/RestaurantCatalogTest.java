@@ -0,0 +1,210 @@
+package com.example.Restaurant.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.Restaurant.Dto.NearbyRestaurantDTO;
+import com.example.Restaurant.Dto.RestaurantDTO;
+import com.example.Restaurant.Dto.RestaurantPageDTO;
+import com.example.Restaurant.Exception.InvalidCatalogQueryException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RestaurantCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RestaurantDTO> restaurants = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private RestaurantCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        restaurants.add(new RestaurantDTO(1L, "Cafe A", "Hyd", "a@example.com", null, null, true));
+        catalog = new RestaurantCatalog(Duration.ofMinutes(5), Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), objectMapper, 2);
+    }
+
+    @Test
+    void servesSameSnapshotUntilInvalidated() {
+        RestaurantCatalog.Snapshot first = catalog.get(this::load);
+        RestaurantCatalog.Snapshot second = catalog.get(this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidateReloadsAndChangesETag() {
+        RestaurantCatalog.Snapshot before = catalog.get(this::load);
+        restaurants.add(new RestaurantDTO(2L, "Cafe B", "Pune", "b@example.com", null, null, true));
+
+        catalog.invalidate();
+        RestaurantCatalog.Snapshot after = catalog.get(this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(2, after.getRestaurants().size());
+        assertNotEquals(before.getETag(), after.getETag());
+    }
+
+    @Test
+    void eTagDependsOnlyOnContent() {
+        RestaurantCatalog other = new RestaurantCatalog(Duration.ofMinutes(5), Clock.systemUTC(), objectMapper, 2);
+        other.invalidate();
+
+        assertEquals(catalog.get(this::load).getETag(), other.get(this::load).getETag());
+    }
+
+    @Test
+    void snapshotOlderThanTtlIsReloaded() {
+        RestaurantCatalog expired = new RestaurantCatalog(Duration.ZERO, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), objectMapper, 2);
+
+        expired.get(this::load);
+        expired.get(this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void registrationRebuildsRightAway() {
+        catalog.get(this::load);
+        restaurants.add(new RestaurantDTO(2L, "Cafe B", "Pune", "b@example.com", null, null, true));
+
+        RestaurantCatalog.Snapshot rebuilt = catalog.rebuild(this::load);
+
+        assertEquals(2, loads.get());
+        assertSame(rebuilt, catalog.get(this::load));
+        assertEquals(2, rebuilt.getRestaurants().size());
+    }
+
+    @Test
+    void unpagedQueryReturnsWholeListingAsArray() throws Exception {
+        addMoreRestaurants();
+
+        RestaurantCatalog.RenderedPage page = catalog.get(this::load).page(RestaurantCatalog.Query.of(null, null, null, null));
+
+        List<RestaurantDTO> listed = objectMapper.readValue(page.json(), new TypeReference<List<RestaurantDTO>>() { });
+        assertEquals(restaurants, listed);
+    }
+
+    @Test
+    void pageIsFilteredByLocationAndSorted() throws Exception {
+        addMoreRestaurants();
+
+        RestaurantCatalog.RenderedPage page = catalog.get(this::load)
+                .page(RestaurantCatalog.Query.of(" hyd ", "name,desc", 0, 2));
+
+        RestaurantPageDTO<RestaurantDTO> listed = objectMapper.readValue(page.json(), new TypeReference<RestaurantPageDTO<RestaurantDTO>>() { });
+        assertEquals(List.of("Dosa Hut", "Cafe A"), listed.getContent().stream().map(RestaurantDTO::getName).toList());
+        assertEquals(3, listed.getTotalElements());
+        assertEquals(2, listed.getTotalPages());
+    }
+
+    @Test
+    void lastPageHoldsTheRemainder() throws Exception {
+        addMoreRestaurants();
+
+        RestaurantCatalog.RenderedPage page = catalog.get(this::load)
+                .page(RestaurantCatalog.Query.of("HYD", "name", 1, 2));
+
+        RestaurantPageDTO<RestaurantDTO> listed = objectMapper.readValue(page.json(), new TypeReference<RestaurantPageDTO<RestaurantDTO>>() { });
+        assertEquals(List.of("Dosa Hut"), listed.getContent().stream().map(RestaurantDTO::getName).toList());
+    }
+
+    @Test
+    void renderedPagesAreReusedUpToTheCap() {
+        RestaurantCatalog.Snapshot snapshot = catalog.get(this::load);
+
+        RestaurantCatalog.RenderedPage first = snapshot.page(RestaurantCatalog.Query.of(null, null, 0, 10));
+        snapshot.page(RestaurantCatalog.Query.of("pune", null, 0, 10));
+        snapshot.page(RestaurantCatalog.Query.of("goa", null, 0, 10));
+
+        assertSame(first, snapshot.page(RestaurantCatalog.Query.of(null, null, 0, 10)));
+        assertEquals(2, snapshot.cachedPages());
+    }
+
+    @Test
+    void pageETagFollowsContent() {
+        String before = catalog.get(this::load).page(RestaurantCatalog.Query.of(null, null, null, null)).eTag();
+        restaurants.add(new RestaurantDTO(2L, "Cafe B", "Pune", "b@example.com", null, null, true));
+
+        String after = catalog.rebuild(this::load).page(RestaurantCatalog.Query.of(null, null, null, null)).eTag();
+
+        assertNotEquals(before, after);
+        assertEquals(before, catalog.get(this::load).page(RestaurantCatalog.Query.of("hyd", null, null, null)).eTag());
+    }
+
+    @Test
+    void invalidQueriesAreRejected() {
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.Query.of(null, "rating", null, null));
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.Query.of(null, "name,up", null, null));
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.Query.of(null, null, -1, 10));
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.Query.of(null, null, 0, 1000));
+    }
+
+    @Test
+    void nearbyRanksOpenRestaurantsFirstThenByDistance() {
+        addPositionedRestaurants();
+
+        RestaurantPageDTO<NearbyRestaurantDTO> nearby = catalog.get(this::load)
+                .nearby(RestaurantCatalog.NearbyQuery.of(12.9716, 77.5946, 5.0, null, null));
+
+        assertEquals(List.of(12L, 11L, 13L), nearby.getContent().stream().map(NearbyRestaurantDTO::getId).toList());
+        assertEquals(3, nearby.getTotalElements());
+    }
+
+    @Test
+    void nearestModeFillsUpWithClosedRestaurants() {
+        addPositionedRestaurants();
+
+        RestaurantPageDTO<NearbyRestaurantDTO> first = catalog.get(this::load)
+                .nearby(RestaurantCatalog.NearbyQuery.of(12.9716, 77.5946, null, 0, 2));
+        RestaurantPageDTO<NearbyRestaurantDTO> second = catalog.get(this::load)
+                .nearby(RestaurantCatalog.NearbyQuery.of(12.9716, 77.5946, null, 1, 2));
+
+        assertEquals(List.of(12L, 11L), first.getContent().stream().map(NearbyRestaurantDTO::getId).toList());
+        assertEquals(List.of(14L, 13L), second.getContent().stream().map(NearbyRestaurantDTO::getId).toList());
+    }
+
+    @Test
+    void invalidNearbyQueriesAreRejected() {
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.NearbyQuery.of(null, 77.0, null, null, null));
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.NearbyQuery.of(91.0, 77.0, null, null, null));
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.NearbyQuery.of(12.0, 77.0, 500.0, null, null));
+        assertThrows(InvalidCatalogQueryException.class, () -> RestaurantCatalog.NearbyQuery.of(12.0, 77.0, null, 10, 100));
+    }
+
+    /**
+     * Around central Bengaluru: 11 open at about 1 km, 12 open at about 0.5 km, 13 closed at about
+     * 0.3 km, 14 open about 20 km away and 15 without a position.
+     */
+    private void addPositionedRestaurants() {
+        restaurants.add(new RestaurantDTO(11L, "Cafe Mile", "MG Road", "m@example.com", 12.9806, 77.5946, true));
+        restaurants.add(new RestaurantDTO(12L, "Cafe Near", "Richmond", "n@example.com", 12.9761, 77.5946, true));
+        restaurants.add(new RestaurantDTO(13L, "Cafe Shut", "Cubbon", "s@example.com", 12.9743, 77.5946, false));
+        restaurants.add(new RestaurantDTO(14L, "Cafe Far", "Yelahanka", "f@example.com", 13.1516, 77.5946, true));
+        restaurants.add(new RestaurantDTO(15L, "Cafe Nowhere", "Unknown", "x@example.com", null, null, true));
+    }
+
+    private void addMoreRestaurants() {
+        restaurants.add(new RestaurantDTO(2L, "Biryani House", "Pune", "b@example.com", null, null, true));
+        restaurants.add(new RestaurantDTO(3L, "Dosa Hut", "Hyderabad", "d@example.com", null, null, true));
+        restaurants.add(new RestaurantDTO(4L, "Annapurna", "Old Hyd", "e@example.com", null, null, true));
+    }
+
+    private List<RestaurantDTO> load() {
+        loads.incrementAndGet();
+        return List.copyOf(restaurants);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Restaurant.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RestaurantGeoIndexTest {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LON = 77.5946;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private RestaurantGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        latitudes = new double[5000];
+        longitudes = new double[5000];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = CENTER_LAT + (random.nextDouble() - 0.5) * 0.5;
+            longitudes[i] = CENTER_LON + (random.nextDouble() - 0.5) * 0.5;
+        }
+        latitudes[17] = Double.NaN;
+        index = RestaurantGeoIndex.build(latitudes, longitudes, RestaurantGeoIndex.DEFAULT_CELL_DEGREES);
+    }
+
+    @Test
+    void positionsWithoutCoordinatesAreLeftOut() {
+        assertEquals(latitudes.length - 1, index.size());
+    }
+
+    @Test
+    void withinMatchesBruteForce() {
+        List<Integer> found = index.within(CENTER_LAT, CENTER_LON, 3).stream()
+                .map(RestaurantGeoIndex.Hit::position)
+                .sorted()
+                .toList();
+
+        assertEquals(bruteForce(3), found);
+    }
+
+    @Test
+    void nearestMatchesBruteForceAndIsSorted() {
+        List<RestaurantGeoIndex.Hit> nearest = index.nearest(CENTER_LAT, CENTER_LON, 10, 50, position -> position % 2 == 0);
+
+        List<Integer> expected = IntStream.range(0, latitudes.length)
+                .filter(i -> i % 2 == 0 && !Double.isNaN(latitudes[i]))
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> distance(i)))
+                .limit(10)
+                .toList();
+        assertEquals(expected, nearest.stream().map(RestaurantGeoIndex.Hit::position).toList());
+        for (int i = 1; i < nearest.size(); i++) {
+            assertTrue(nearest.get(i - 1).distanceKm() <= nearest.get(i).distanceKm());
+        }
+    }
+
+    @Test
+    void nearestStopsAtMaxDistance() {
+        assertTrue(index.nearest(CENTER_LAT + 5, CENTER_LON, 10, 50, position -> true).isEmpty());
+    }
+
+    private List<Integer> bruteForce(double radiusKm) {
+        return IntStream.range(0, latitudes.length)
+                .filter(i -> !Double.isNaN(latitudes[i]) && distance(i) <= radiusKm)
+                .boxed()
+                .toList();
+    }
+
+    private double distance(int i) {
+        double dLat = Math.toRadians(latitudes[i] - CENTER_LAT);
+        double dLon = Math.toRadians(longitudes[i] - CENTER_LON);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(CENTER_LAT)) * Math.cos(Math.toRadians(latitudes[i])) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * 6371.0088 * Math.asin(Math.sqrt(a));
+    }
+}
@@ -30,6 +30,9 @@ class RestaurantServiceImplTest {
     @Mock
     private RestaurantRepository restaurantRepository;
 
+    @Mock
+    private RestaurantCatalog restaurantCatalog;
+
     // Registration - Success
     @Test
     void testRegister_Success() {
@@ -37,7 +40,7 @@ class RestaurantServiceImplTest {
         // Mock existsByEmail to return false for successful registration
         when(restaurantRepository.existsByEmail(dto.getEmail())).thenReturn(false);
         // Mock save to return a saved Restaurant entity
-        when(restaurantRepository.save(any(Restaurant.class))).thenReturn(new Restaurant(1L, "Cafe A", "Hyd", "a@example.com", "pass123"));
+        when(restaurantRepository.save(any(Restaurant.class))).thenReturn(new Restaurant(1L, "Cafe A", "Hyd", "a@example.com", "pass123", null, null, true));
 
         AuthResponseDTO response = restaurantService.register(dto);
 
@@ -68,7 +71,7 @@ class RestaurantServiceImplTest {
     @Test
     void testLogin_Success() {
         RestaurantLoginDTO dto = new RestaurantLoginDTO("a@example.com", "pass123");
-        Restaurant restaurant = new Restaurant(1L, "Cafe A", "Hyd", "a@example.com", "pass123");
+        Restaurant restaurant = new Restaurant(1L, "Cafe A", "Hyd", "a@example.com", "pass123", null, null, true);
         // Mock findByEmail to return the existing restaurant
         when(restaurantRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(restaurant));
 
@@ -84,7 +87,7 @@ class RestaurantServiceImplTest {
     @Test
     void testLogin_InvalidPassword() {
         RestaurantLoginDTO dto = new RestaurantLoginDTO("a@example.com", "wrongpass");
-        Restaurant restaurant = new Restaurant(1L, "Cafe A", "Hyd", "a@example.com", "correctpass"); // Stored password (different from DTO)
+        Restaurant restaurant = new Restaurant(1L, "Cafe A", "Hyd", "a@example.com", "correctpass", null, null, true); // Stored password (different from DTO)
         // Mock findByEmail to return the existing restaurant
         when(restaurantRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(restaurant));
 
@@ -118,7 +121,7 @@ class RestaurantServiceImplTest {
     void testGetRestaurantById_Success() {
         Long restaurantId = 1L;
         // Create a mock Restaurant entity to be returned by the repository
-        Restaurant mockRestaurant = new Restaurant(restaurantId, "Test Restaurant", "Test Location", "test@example.com", "secretpass");
+        Restaurant mockRestaurant = new Restaurant(restaurantId, "Test Restaurant", "Test Location", "test@example.com", "secretpass", null, null, true);
         when(restaurantRepository.findById(restaurantId)).thenReturn(Optional.of(mockRestaurant));
 
         // Call the service method
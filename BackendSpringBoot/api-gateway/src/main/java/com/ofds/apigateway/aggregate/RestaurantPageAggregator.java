@@ -0,0 +1,89 @@
+package com.ofds.apigateway.aggregate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads a restaurant and its menu from restaurant-service and menu-service at the same time and
+ * combines them. Each call has its own time budget; a call that fails or overruns it leaves its
+ * part out of the response instead of failing the whole page, so a slow menu-service still lets
+ * the page show the restaurant. Only a restaurant that does not exist fails the request (404).
+ */
+@Slf4j
+@Component
+public class RestaurantPageAggregator {
+
+    static final String RESTAURANT = "restaurant";
+    static final String MENU = "menu";
+
+    private final WebClient webClient;
+    private final Duration restaurantTimeout;
+    private final Duration menuTimeout;
+
+    public RestaurantPageAggregator(WebClient.Builder loadBalancedWebClientBuilder,
+            @Value("${aggregate.restaurant-page.restaurant-timeout:800ms}") Duration restaurantTimeout,
+            @Value("${aggregate.restaurant-page.menu-timeout:800ms}") Duration menuTimeout) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.restaurantTimeout = restaurantTimeout;
+        this.menuTimeout = menuTimeout;
+    }
+
+    public Mono<RestaurantPageResponse> fetch(Long restaurantId) {
+        Mono<JsonNode> restaurantCall = get("lb://restaurant-service/api/restaurants/{id}", restaurantId)
+                .onErrorMap(WebClientResponseException.NotFound.class,
+                        e -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found with ID: " + restaurantId));
+        // menu-service answers 404 for a restaurant without items; that is an empty menu, not a failure
+        Mono<JsonNode> menuCall = get("lb://menu-service/api/menu/restaurant/{id}", restaurantId)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(JsonNodeFactory.instance.arrayNode()));
+
+        // zip subscribes to both calls at once, so the page waits for the slower one only
+        return Mono.zip(part(RESTAURANT, restaurantId, restaurantCall, restaurantTimeout),
+                part(MENU, restaurantId, menuCall, menuTimeout)).map(parts -> {
+            List<String> unavailable = new ArrayList<>(2);
+            if (parts.getT1().isEmpty()) {
+                unavailable.add(RESTAURANT);
+            }
+            if (parts.getT2().isEmpty()) {
+                unavailable.add(MENU);
+            }
+            return new RestaurantPageResponse(parts.getT1().orElse(null), parts.getT2().orElse(null), unavailable);
+        });
+    }
+
+    private Mono<JsonNode> get(String uri, Long restaurantId) {
+        return webClient.get()
+                .uri(uri, restaurantId)
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    /**
+     * One part of the page; empty when its call fails or overruns its budget. A
+     * {@link ResponseStatusException} is passed on, since it answers the request rather than
+     * failing to.
+     */
+    private Mono<Optional<JsonNode>> part(String name, Long restaurantId, Mono<JsonNode> call, Duration timeout) {
+        return call.timeout(timeout)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+                    log.warn("Restaurant page {} left out its {} part: {}", restaurantId, name, e.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+}
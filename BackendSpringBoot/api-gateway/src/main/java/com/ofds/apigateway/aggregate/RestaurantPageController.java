@@ -0,0 +1,34 @@
+package com.ofds.apigateway.aggregate;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the restaurant page in one round trip instead of one call to restaurant-service and
+ * another to menu-service. Handled by the gateway itself, so the route filters do not apply;
+ * {@code SecurityConfig} requires the CUSTOMER role, as the /api/restaurants/{id} route does.
+ */
+@RestController
+@RequestMapping("/api/restaurant-pages")
+public class RestaurantPageController {
+
+    private final RestaurantPageAggregator aggregator;
+
+    public RestaurantPageController(RestaurantPageAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    @GetMapping("/{restaurantId}")
+    public Mono<ResponseEntity<RestaurantPageResponse>> getRestaurantPage(@PathVariable Long restaurantId) {
+        return aggregator.fetch(restaurantId).map(page -> ResponseEntity.ok()
+                // A page with a part missing must not be reused once the backend is back
+                .cacheControl(page.unavailable().isEmpty() ? CacheControl.noCache() : CacheControl.noStore())
+                .body(page));
+    }
+}
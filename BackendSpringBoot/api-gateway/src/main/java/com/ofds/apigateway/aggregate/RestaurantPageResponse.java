@@ -0,0 +1,13 @@
+package com.ofds.apigateway.aggregate;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Everything the restaurant page shows, in one response. Each part is passed through as the
+ * owning service returned it; a part whose service failed or ran out of time is null and named
+ * in {@code unavailable}.
+ */
+public record RestaurantPageResponse(JsonNode restaurant, JsonNode menu, List<String> unavailable) {
+}
@@ -36,6 +36,8 @@ public class CorsConfig {
 
         corsConfig.addAllowedHeader("*"); // Allow all headers
 
+        corsConfig.addExposedHeader("ETag"); // Lets the frontend revalidate menus and restaurant listings with If-None-Match
+
         corsConfig.setAllowCredentials(true); // Needed if sending Authorization headers, cookies, etc.
  
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
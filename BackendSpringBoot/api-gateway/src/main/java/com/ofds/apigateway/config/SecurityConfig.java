@@ -1,15 +1,21 @@
 package com.ofds.apigateway.config;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
 
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -38,6 +44,8 @@ public class SecurityConfig {
                 .pathMatchers(HttpMethod.GET,"/api/menu/**").permitAll()
                 .pathMatchers(HttpMethod.GET,"/api/orders/**").permitAll()
                 .pathMatchers("/internal/**").denyAll()
+                // Served by the gateway itself, so no route filter applies; same role as /api/restaurants/{id}
+                .pathMatchers(HttpMethod.GET,"/api/restaurant-pages/**").access(hasRoleClaim("CUSTOMER"))
                 .anyExchange().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
@@ -45,4 +53,28 @@ public class SecurityConfig {
             );
         return http.build();
     }
+
+	/**
+	 * Grants access when the JWT's {@code roles} claim holds the role, read the same way as
+	 * {@code CentralizedAuthFilter} reads it for routed requests.
+	 */
+	static ReactiveAuthorizationManager<AuthorizationContext> hasRoleClaim(String role) {
+		return (authentication, context) -> authentication
+				.filter(JwtAuthenticationToken.class::isInstance)
+				.cast(JwtAuthenticationToken.class)
+				.map(jwtAuth -> new AuthorizationDecision(hasRole(jwtAuth.getToken().getClaims().get("roles"), role)))
+				.defaultIfEmpty(new AuthorizationDecision(false));
+	}
+
+	private static boolean hasRole(Object rolesClaim, String role) {
+		List<?> roles;
+		if (rolesClaim instanceof String rolesString) {
+			roles = List.of(rolesString.split(","));
+		} else if (rolesClaim instanceof List<?> rolesList) {
+			roles = rolesList;
+		} else {
+			return false;
+		}
+		return roles.stream().map(Object::toString).anyMatch(granted -> granted.trim().equalsIgnoreCase(role));
+	}
 }
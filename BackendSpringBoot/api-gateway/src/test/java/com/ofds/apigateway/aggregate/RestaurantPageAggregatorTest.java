@@ -0,0 +1,91 @@
+package com.ofds.apigateway.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Mono;
+
+class RestaurantPageAggregatorTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(200);
+
+    @Test
+    void combinesRestaurantAndMenu() {
+        RestaurantPageResponse page = aggregator(ok("{\"id\":7,\"name\":\"Cafe A\"}"), ok("[{\"itemId\":1}]"))
+                .fetch(7L).block();
+
+        assertEquals("Cafe A", page.restaurant().get("name").asText());
+        assertEquals(1, page.menu().size());
+        assertTrue(page.unavailable().isEmpty());
+    }
+
+    @Test
+    void slowMenuIsLeftOutWithinItsBudget() {
+        long started = System.nanoTime();
+        RestaurantPageResponse page = aggregator(ok("{\"id\":7}"), ok("[]").delayElement(Duration.ofSeconds(5)))
+                .fetch(7L).block();
+
+        assertEquals(7, page.restaurant().get("id").asInt());
+        assertNull(page.menu());
+        assertEquals(List.of(RestaurantPageAggregator.MENU), page.unavailable());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+    }
+
+    @Test
+    void failingRestaurantServiceStillServesTheMenu() {
+        RestaurantPageResponse page = aggregator(status(HttpStatus.SERVICE_UNAVAILABLE), ok("[{\"itemId\":1}]"))
+                .fetch(7L).block();
+
+        assertNull(page.restaurant());
+        assertEquals(1, page.menu().size());
+        assertEquals(List.of(RestaurantPageAggregator.RESTAURANT), page.unavailable());
+    }
+
+    @Test
+    void restaurantWithoutItemsHasAnEmptyMenu() {
+        RestaurantPageResponse page = aggregator(ok("{\"id\":7}"), status(HttpStatus.NOT_FOUND)).fetch(7L).block();
+
+        assertEquals(7, page.restaurant().get("id").asInt());
+        assertTrue(page.menu().isArray());
+        assertEquals(0, page.menu().size());
+        assertTrue(page.unavailable().isEmpty());
+    }
+
+    @Test
+    void unknownRestaurantIsNotFound() {
+        RestaurantPageAggregator aggregator = aggregator(status(HttpStatus.NOT_FOUND), ok("[]"));
+
+        ResponseStatusException thrown = assertThrows(ResponseStatusException.class, () -> aggregator.fetch(7L).block());
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    }
+
+    private static RestaurantPageAggregator aggregator(Mono<ClientResponse> restaurant, Mono<ClientResponse> menu) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request ->
+                request.url().getHost().equals("restaurant-service") ? restaurant : menu);
+        return new RestaurantPageAggregator(builder, BUDGET, BUDGET);
+    }
+
+    private static Mono<ClientResponse> ok(String json) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+
+    private static Mono<ClientResponse> status(HttpStatus status) {
+        return Mono.just(ClientResponse.create(status).build());
+    }
+}
@@ -0,0 +1,44 @@
+package com.ofds.apigateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import reactor.core.publisher.Mono;
+
+class SecurityConfigTest {
+
+    @Test
+    void roleClaimGrantsAccessAsStringOrList() {
+        assertTrue(allowed(Mono.just(jwt("CUSTOMER"))));
+        assertTrue(allowed(Mono.just(jwt("ADMIN, customer"))));
+        assertTrue(allowed(Mono.just(jwt(List.of("RESTAURANT", "CUSTOMER")))));
+    }
+
+    @Test
+    void otherRolesAndMissingTokensAreDenied() {
+        assertFalse(allowed(Mono.just(jwt("RESTAURANT"))));
+        assertFalse(allowed(Mono.just(jwt(null))));
+        assertFalse(allowed(Mono.just(new TestingAuthenticationToken("user", null, "CUSTOMER"))));
+        assertFalse(allowed(Mono.empty()));
+    }
+
+    private static boolean allowed(Mono<Authentication> authentication) {
+        return SecurityConfig.hasRoleClaim("CUSTOMER").check(authentication, null).block().isGranted();
+    }
+
+    private static JwtAuthenticationToken jwt(Object roles) {
+        Jwt.Builder token = Jwt.withTokenValue("token").header("alg", "HS256").subject("alice@example.com");
+        if (roles != null) {
+            token.claim("roles", roles);
+        }
+        return new JwtAuthenticationToken(token.build());
+    }
+}
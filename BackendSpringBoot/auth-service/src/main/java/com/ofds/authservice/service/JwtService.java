@@ -2,28 +2,66 @@ package com.ofds.authservice.service;
 
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * Signs and verifies the JWTs handed out at login.
+ *
+ * The HMAC key and the parser are built once from {@code jwt.secret}; both are immutable and
+ * shared by all threads. The claims of a token that verified are kept in a bounded cache keyed by
+ * the SHA-256 of the token, so each token's signature is checked once rather than on every call.
+ * An entry expires together with its token, and a token without an expiry is not cached.
+ */
 @Service
 public class JwtService {
 
-	@Value("${jwt.secret}")
-	private String SECRET_KEY;
+	private final SecretKey signingKey;
+	private final JwtParser jwtParser;
+	private final long expirationTimeMs;
+	private final Clock clock;
+	private final Cache<String, Claims> verifiedClaims;
+
+	@Autowired
+	public JwtService(@Value("${jwt.secret}") String secretKey,
+			@Value("${jwt.expiration.ms}") long expirationTimeMs,
+			@Value("${jwt.claims-cache.max-entries:10000}") long maxCachedTokens) {
+		this(secretKey, expirationTimeMs, maxCachedTokens, Clock.systemUTC());
+	}
 
-	@Value("${jwt.expiration.ms}")
-	private long EXPIRATION_TIME_MS;
+	JwtService(String secretKey, long expirationTimeMs, long maxCachedTokens, Clock clock) {
+		this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+		this.jwtParser = Jwts.parser().verifyWith(signingKey).clock(() -> new Date(clock.millis())).build();
+		this.expirationTimeMs = expirationTimeMs;
+		this.clock = clock;
+		this.verifiedClaims = Caffeine.newBuilder()
+				.maximumSize(maxCachedTokens)
+				.expireAfter(Expiry.creating((String tokenHash, Claims claims) -> untilExpiry(claims)))
+				.executor(Runnable::run)
+				.build();
+	}
 
 	public String extractUsername(String token) {
 		return extractClaim(token, Claims::getSubject);
@@ -39,24 +77,43 @@ public class JwtService {
 	}
 
 	private Claims extractAllClaims(String token) {
-		return Jwts.parser().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+		String tokenHash = tokenHash(token);
+		Claims cached = verifiedClaims.getIfPresent(tokenHash);
+		// The cache evicts on its own schedule; never hand out claims past their expiry
+		if (cached != null && !untilExpiry(cached).isZero()) {
+			return cached;
+		}
+		Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+		if (claims.getExpiration() != null) {
+			verifiedClaims.put(tokenHash, claims);
+		}
+		return claims;
 	}
 
 	private Boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+		return extractExpiration(token).before(new Date(clock.millis()));
 	}
 
 	public String generateToken(String username, Map<String, Object> extraClaims) {
-		return Jwts.builder().setClaims(extraClaims).setSubject(username)
-				.setIssuedAt(new Date(System.currentTimeMillis()))
-				.setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_MS))
-				.signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+		long now = clock.millis();
+		return Jwts.builder().claims(extraClaims).subject(username)
+				.issuedAt(new Date(now))
+				.expiration(new Date(now + expirationTimeMs))
+				.signWith(signingKey, Jwts.SIG.HS256).compact();
 	}
 
+	private Duration untilExpiry(Claims claims) {
+		long remaining = claims.getExpiration().getTime() - clock.millis();
+		return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+	}
 
-	private Key getSigningKey() {
-		byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-		return Keys.hmacShaKeyFor(keyBytes);
+	private static String tokenHash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
 	}
 
 }
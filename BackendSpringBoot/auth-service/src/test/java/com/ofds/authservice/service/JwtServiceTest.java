@@ -0,0 +1,113 @@
+package com.ofds.authservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+class JwtServiceTest {
+
+	private static final String SECRET = "d+SUm+3MKbXEvbxSoDEiZVar+UvJlSVbjZSoLQPomzE=";
+	private static final String OTHER_SECRET = "3q2+7wAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=";
+	private static final long EXPIRATION_MS = 60_000;
+
+	private MutableClock clock;
+	private JwtService jwtService;
+
+	@BeforeEach
+	void setUp() {
+		clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+		jwtService = new JwtService(SECRET, EXPIRATION_MS, 100, clock);
+	}
+
+	@Test
+	void generatedTokenCarriesSubjectAndClaims() {
+		String token = jwtService.generateToken("alice@example.com", Map.of("roles", "CUSTOMER", "userId", 7));
+
+		assertEquals("alice@example.com", jwtService.extractUsername(token));
+		assertEquals("CUSTOMER", jwtService.extractClaim(token, claims -> claims.get("roles", String.class)));
+		assertEquals(Integer.valueOf(7), jwtService.extractClaim(token, claims -> claims.get("userId", Integer.class)));
+		assertEquals(clock.millis() / 1000 * 1000 + EXPIRATION_MS, jwtService.extractExpiration(token).getTime());
+	}
+
+	@Test
+	void repeatedVerificationReturnsSameClaims() {
+		String token = jwtService.generateToken("alice@example.com", Map.of("roles", "CUSTOMER"));
+
+		assertEquals("alice@example.com", jwtService.extractUsername(token));
+		assertEquals("alice@example.com", jwtService.extractUsername(token));
+		assertEquals("CUSTOMER", jwtService.extractClaim(token, claims -> claims.get("roles", String.class)));
+	}
+
+	@Test
+	void tokenSignedWithAnotherKeyIsRejected() {
+		String forged = new JwtService(OTHER_SECRET, EXPIRATION_MS, 100, clock)
+				.generateToken("alice@example.com", Map.of("roles", "ADMIN"));
+
+		assertThrows(SignatureException.class, () -> jwtService.extractUsername(forged));
+	}
+
+	@Test
+	void tamperedCopyOfCachedTokenIsRejected() {
+		String token = jwtService.generateToken("alice@example.com", Map.of("roles", "CUSTOMER"));
+		jwtService.extractUsername(token);
+		String[] parts = token.split("\\.");
+		String tampered = parts[0] + "." + parts[1] + "." + flipLastCharacter(parts[2]);
+
+		assertThrows(SignatureException.class, () -> jwtService.extractUsername(tampered));
+	}
+
+	@Test
+	void cachedTokenIsRejectedOnceExpired() {
+		String token = jwtService.generateToken("alice@example.com", Map.of("roles", "CUSTOMER"));
+		assertEquals("alice@example.com", jwtService.extractUsername(token));
+
+		clock.advanceMillis(EXPIRATION_MS + 1000);
+
+		assertThrows(ExpiredJwtException.class, () -> jwtService.extractUsername(token));
+	}
+
+	private static String flipLastCharacter(String signature) {
+		char last = signature.charAt(signature.length() - 2);
+		char replacement = last == 'A' ? 'B' : 'A';
+		return signature.substring(0, signature.length() - 2) + replacement + signature.charAt(signature.length() - 1);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advanceMillis(long millis) {
+			now = now.plusMillis(millis);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.fooddelivery.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fooddelivery.orderservicef.dto.CartDTO;
+import com.fooddelivery.orderservicef.dto.CartItemDTO;
+import com.fooddelivery.orderservicef.dto.MenuItemDTO;
+import com.fooddelivery.orderservicef.model.Cart;
+import com.fooddelivery.orderservicef.model.CartItem;
+import com.fooddelivery.orderservicef.repository.CartItemRepository;
+import com.fooddelivery.orderservicef.repository.CartRepository;
+import com.fooddelivery.orderservicef.service.CartServiceImpl;
+import com.fooddelivery.orderservicef.service.MenuItemLookup;
+
+/**
+ * {@code CartServiceImpl.addItemToCart} / {@code updateCartItem} on an item that is already in
+ * a large cart. Both scan the cart items for the menu item, so the target is the last item,
+ * the worst case. Repositories and the menu item lookup are stub-only mocks, which do not record
+ * invocations and so add no allocation of their own per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CartItemLookupBenchmark {
+
+    private static final Long USER_ID = 42L;
+    private static final Long RESTAURANT_ID = 7L;
+
+    @Param({"10", "100", "1000"})
+    private int cartSize;
+
+    private CartServiceImpl cartService;
+    private Long lastMenuItemId;
+    private CartItemDTO increment;
+
+    @Setup
+    public void setUp() {
+        Cart cart = new Cart();
+        cart.setId(1L);
+        cart.setUserId(USER_ID);
+        cart.setRestaurantId(RESTAURANT_ID);
+        cart.setItems(new ArrayList<>(cartSize));
+        for (long id = 1; id <= cartSize; id++) {
+            cart.addCartItem(CartItem.builder().id(id).menuItemId(id)
+                    .itemName("Dish " + id).quantity(1).price(99.0).build());
+        }
+        lastMenuItemId = (long) cartSize;
+
+        MenuItemDTO menuItem = new MenuItemDTO();
+        menuItem.setRestaurantId(RESTAURANT_ID);
+        menuItem.setItemName("Dish " + lastMenuItemId);
+        menuItem.setPrice(99.0);
+
+        CartRepository cartRepository = mock(CartRepository.class, withSettings().stubOnly());
+        CartItemRepository cartItemRepository = mock(CartItemRepository.class, withSettings().stubOnly());
+        MenuItemLookup menuItemLookup = mock(MenuItemLookup.class, withSettings().stubOnly());
+        when(cartRepository.findByUserId(USER_ID)).thenReturn(Optional.of(cart));
+        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(cartItemRepository.save(any(CartItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(menuItemLookup.getMenuItem(anyLong())).thenReturn(menuItem);
+
+        cartService = new CartServiceImpl(cartRepository, cartItemRepository, menuItemLookup);
+
+        increment = new CartItemDTO();
+        increment.setMenuItemId(lastMenuItemId);
+        increment.setQuantity(1);
+    }
+
+    @Benchmark
+    public CartDTO addExistingItem() {
+        return cartService.addItemToCart(USER_ID, increment);
+    }
+
+    @Benchmark
+    public CartDTO updateItemQuantity() {
+        return cartService.updateCartItem(USER_ID, lastMenuItemId, increment);
+    }
+}
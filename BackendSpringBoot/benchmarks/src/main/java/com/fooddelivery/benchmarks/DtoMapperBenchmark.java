@@ -0,0 +1,93 @@
+package com.fooddelivery.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.payment.dto.PaymentResponseDTO;
+import com.example.payment.mapper.PaymentMapper;
+import com.example.payment.mapper.PaymentMapperImpl;
+import com.example.payment.model.Payment;
+import com.example.payment.model.PaymentMethod;
+import com.example.payment.model.PaymentStatus;
+import com.ofds.menu.dto.MenuItemRequestDto;
+import com.ofds.menu.dto.MenuItemResponseDto;
+import com.ofds.menu.entity.MenuItem;
+import com.ofds.menu.mapper.MenuItemMapper;
+import com.ofds.menu.mapper.MenuItemMapperImpl;
+
+/**
+ * Generated MapStruct mappers of menu-service and payment-module against the reflective
+ * {@link ModelMapper} calls they replaced, one mapping per operation. Run with {@code -prof gc}
+ * to compare the bytes allocated per call as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DtoMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private MenuItemMapper menuItemMapper;
+    private PaymentMapper paymentMapper;
+
+    private MenuItem menuItem;
+    private MenuItemRequestDto menuItemRequest;
+    private Payment payment;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        menuItemMapper = new MenuItemMapperImpl();
+        paymentMapper = new PaymentMapperImpl();
+
+        menuItem = new MenuItem();
+        menuItem.setItemId(11L);
+        menuItem.setRestaurantId(7L);
+        menuItem.setItemName("Paneer Tikka");
+        menuItem.setDescription("Grilled cottage cheese with spices");
+        menuItem.setPrice(240.0);
+        menuItem.setIsVegetarian(true);
+        menuItemRequest = new MenuItemRequestDto("Paneer Tikka", "Grilled cottage cheese with spices", 240.0, true);
+
+        payment = Payment.builder().idPayment(3L).orderId(42L).paymentMethod(PaymentMethod.Card)
+                .paymentAmount(new BigDecimal("480.00")).paymentStatus(PaymentStatus.Success).createdBy("42").build();
+    }
+
+    @Benchmark
+    public MenuItemResponseDto menuItemToDtoModelMapper() {
+        return modelMapper.map(menuItem, MenuItemResponseDto.class);
+    }
+
+    @Benchmark
+    public MenuItemResponseDto menuItemToDtoGenerated() {
+        return menuItemMapper.convertToDo(menuItem);
+    }
+
+    @Benchmark
+    public MenuItem menuItemRequestToEntityModelMapper() {
+        return modelMapper.map(menuItemRequest, MenuItem.class);
+    }
+
+    @Benchmark
+    public MenuItem menuItemRequestToEntityGenerated() {
+        return menuItemMapper.convertToEntity(menuItemRequest);
+    }
+
+    @Benchmark
+    public PaymentResponseDTO paymentToDtoModelMapper() {
+        return modelMapper.map(payment, PaymentResponseDTO.class);
+    }
+
+    @Benchmark
+    public PaymentResponseDTO paymentToDtoGenerated() {
+        return paymentMapper.toResponse(payment);
+    }
+}
@@ -0,0 +1,93 @@
+package com.fooddelivery.benchmarks;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ofds.authservice.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Tokens signed and verified per second by the auth-service {@link JwtService}, against the
+ * previous implementation that decoded the secret and built the key and the parser on every call
+ * ({@code legacy}). Verification runs over a pool of distinct tokens: {@code verifyParser} is
+ * a cache miss on the shared parser, {@code verifyCached} a repeat of a token already verified.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "d+SUm+3MKbXEvbxSoDEiZVar+UvJlSVbjZSoLQPomzE=";
+    private static final long EXPIRATION_MS = 3_600_000;
+    private static final int TOKENS = 1024;
+
+    private final Map<String, Object> claims = Map.of("roles", "CUSTOMER", "userId", 42L);
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION_MS, 10_000);
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtService.generateToken("customer" + i + "@example.com", claims);
+            jwtService.extractUsername(tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public String signLegacy() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder().claims(claims).subject("customer@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_MS))
+                .signWith(legacySigningKey(), Jwts.SIG.HS256).compact();
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken("customer@example.com", claims);
+    }
+
+    @Benchmark
+    public String verifyLegacy() {
+        String token = tokens[next++ & (TOKENS - 1)];
+        Claims parsed = Jwts.parser().verifyWith(legacySigningKey()).build().parseSignedClaims(token).getPayload();
+        return parsed.getSubject();
+    }
+
+    @Benchmark
+    public String verifyParser() {
+        String token = tokens[next++ & (TOKENS - 1)];
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return jwtService.extractUsername(tokens[next++ & (TOKENS - 1)]);
+    }
+
+    private static SecretKey legacySigningKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,55 @@
+package com.fooddelivery.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.delivery.delivery_service.location.AgentLocationStore;
+
+/**
+ * Location ping ingestion of the delivery service: four request threads recording pings of
+ * random agents into the latest-position store. The score is pings per second for all threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class LocationIngestBenchmark {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LON = 77.5946;
+
+    @Param({"10000", "100000"})
+    private int agents;
+
+    private AgentLocationStore store;
+
+    @Setup
+    public void setUp() {
+        store = new AgentLocationStore(agents);
+        for (long agentId = 0; agentId < agents; agentId++) {
+            store.record(agentId, CENTER_LAT, CENTER_LON, 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Pings {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public boolean recordPing(Pings pings) {
+        long agentId = pings.random.nextInt(agents);
+        double offset = pings.random.nextDouble() * 0.01;
+        return store.record(agentId, CENTER_LAT + offset, CENTER_LON + offset, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,64 @@
+package com.fooddelivery.benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.delivery.delivery_service.dispatch.GeoGrid;
+
+/**
+ * Nearest-agent lookup of the delivery dispatcher on a fleet spread over a 50 x 50 km city,
+ * with every third agent busy. Queries hit random restaurant positions inside the city.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class NearestAgentBenchmark {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LON = 77.5946;
+    private static final double SPAN_DEGREES = 0.45;
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "100000"})
+    private int agents;
+
+    @Param({"5"})
+    private int k;
+
+    private GeoGrid grid;
+    private double[] queryLat;
+    private double[] queryLon;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        grid = new GeoGrid(0.01);
+        for (long agentId = 0; agentId < agents; agentId++) {
+            grid.update(agentId, CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEGREES,
+                    CENTER_LON + (random.nextDouble() - 0.5) * SPAN_DEGREES);
+        }
+        queryLat = new double[QUERIES];
+        queryLon = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryLat[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+            queryLon[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+        }
+    }
+
+    @Benchmark
+    public List<GeoGrid.Neighbour> nearestAvailable() {
+        int i = next++ & (QUERIES - 1);
+        return grid.nearest(queryLat[i], queryLon[i], k, 15, agentId -> agentId % 3 != 0);
+    }
+}
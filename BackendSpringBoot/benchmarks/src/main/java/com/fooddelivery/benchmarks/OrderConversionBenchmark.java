@@ -0,0 +1,77 @@
+package com.fooddelivery.benchmarks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderItem;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.service.CustomerProfileCache;
+import com.fooddelivery.orderservicef.service.CustomerProfileEnricher;
+import com.fooddelivery.orderservicef.service.CustomerServiceClientFallback;
+import com.fooddelivery.orderservicef.service.OrderServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code OrderServiceImpl.convertToDTO} for a single loaded order.
+ * The customer profile is served from a warm {@link CustomerProfileCache}; the fallback client
+ * stands in for customer-service and is never reached. Collaborators the conversion does not
+ * touch are left null.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderConversionBenchmark {
+
+    @Param({"3", "30"})
+    private int itemCount;
+
+    private OrderServiceImpl orderService;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        CustomerProfileCache profileCache = new CustomerProfileCache(Duration.ofHours(1), 1_000, new SimpleMeterRegistry());
+        profileCache.putAll(List.of(new CustomerProfileDTO(42L, "Asha", 9876543210L, "MG Road", "asha@example.com")),
+                profileCache.generations(List.of(42L)));
+        CustomerServiceClientFallback customerClient = new CustomerServiceClientFallback();
+        CustomerProfileEnricher enricher = new CustomerProfileEnricher(customerClient, customerClient, profileCache);
+
+        orderService = new OrderServiceImpl(null, null, null, enricher, null, null, null, null, null);
+
+        order = new Order();
+        order.setOrderId(1L);
+        order.setUserId(42L);
+        order.setRestaurantId(7L);
+        order.setStatus(OrderStatus.IN_COOKING);
+        order.setOrderTime(LocalDateTime.now());
+        order.setDeliveryAddress("MG Road");
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (long id = 1; id <= itemCount; id++) {
+            items.add(OrderItem.builder().id(id).order(order).menuItemId(id)
+                    .itemName("Dish " + id).quantity(2).price(120.0).build());
+        }
+        order.setItems(items);
+        order.setTotalAmount(240.0 * itemCount);
+    }
+
+    @Benchmark
+    public OrderDTO convertToDTO() {
+        return orderService.convertToDTO(order);
+    }
+}
@@ -0,0 +1,51 @@
+package com.fooddelivery.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fooddelivery.orderservicef.model.OrderStatus;
+
+/**
+ * Status checks run on every status update and every order board render.
+ * {@code getValidTransitions} walks all statuses through a stream, so it allocates per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderStatusBenchmark {
+
+    @Param({"PENDING", "IN_COOKING", "COMPLETED"})
+    private OrderStatus from;
+
+    private OrderStatus[] targets;
+
+    @Setup
+    public void setUp() {
+        targets = OrderStatus.values();
+    }
+
+    @Benchmark
+    public int canTransitionToEveryStatus() {
+        int allowed = 0;
+        for (OrderStatus target : targets) {
+            if (from.canTransitionTo(target)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    public List<OrderStatus> getValidTransitions() {
+        return from.getValidTransitions();
+    }
+}
@@ -0,0 +1,44 @@
+package com.fooddelivery.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fooddelivery.orderservicef.dto.OrderItemDTO;
+import com.fooddelivery.orderservicef.service.OrderServiceImpl;
+
+/**
+ * Order total as computed by {@code placeOrder} before the order row is written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int itemCount;
+
+    private List<OrderItemDTO> items;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(itemCount);
+        for (long id = 1; id <= itemCount; id++) {
+            items.add(new OrderItemDTO(id, "Dish " + id, (int) (id % 4) + 1, 49.5 + id));
+        }
+    }
+
+    @Benchmark
+    public double calculateTotalAmount() {
+        return OrderServiceImpl.calculateTotalAmount(items);
+    }
+}
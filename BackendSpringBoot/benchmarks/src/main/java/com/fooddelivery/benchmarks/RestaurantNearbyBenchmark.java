@@ -0,0 +1,72 @@
+package com.fooddelivery.benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.Restaurant.Service.RestaurantGeoIndex;
+
+/**
+ * Nearby restaurant search of the restaurant catalog on restaurants spread over a 50 x 50 km
+ * city. Radius queries and k-nearest queries hit random positions inside the city.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RestaurantNearbyBenchmark {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LON = 77.5946;
+    private static final double SPAN_DEGREES = 0.45;
+    private static final int QUERIES = 1024;
+
+    @Param({"200000"})
+    private int restaurants;
+
+    @Param({"0.5", "2"})
+    private double radiusKm;
+
+    private RestaurantGeoIndex index;
+    private double[] queryLat;
+    private double[] queryLon;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] latitudes = new double[restaurants];
+        double[] longitudes = new double[restaurants];
+        for (int i = 0; i < restaurants; i++) {
+            latitudes[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+            longitudes[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+        }
+        index = RestaurantGeoIndex.build(latitudes, longitudes, RestaurantGeoIndex.DEFAULT_CELL_DEGREES);
+        queryLat = new double[QUERIES];
+        queryLon = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryLat[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+            queryLon[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPAN_DEGREES;
+        }
+    }
+
+    @Benchmark
+    public List<RestaurantGeoIndex.Hit> withinRadius() {
+        int i = next++ & (QUERIES - 1);
+        return index.within(queryLat[i], queryLon[i], radiusKm);
+    }
+
+    @Benchmark
+    public List<RestaurantGeoIndex.Hit> nearest20() {
+        int i = next++ & (QUERIES - 1);
+        return index.nearest(queryLat[i], queryLon[i], 20, radiusKm, position -> true);
+    }
+}
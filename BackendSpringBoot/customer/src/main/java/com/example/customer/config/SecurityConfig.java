@@ -22,7 +22,8 @@ public class SecurityConfig {
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers(
-                		"/internal/users/**"
+                		"/internal/users/**",
+                		"/internal/customers/**"
                 		).permitAll()
                 .requestMatchers(
                 		"/api/customers/register").permitAll()
@@ -0,0 +1,34 @@
+package com.example.customer.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.customer.dto.CustomerProfileDTO;
+import com.example.customer.service.CustomerService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Service-to-service endpoints for customer data.
+ * Used by order-service to enrich order listings without one call per order.
+ */
+@RestController
+@RequestMapping("/internal/customers")
+@RequiredArgsConstructor
+@Slf4j
+public class InternalCustomerController {
+
+	private final CustomerService customerService;
+
+	@PostMapping("/batch")
+	public ResponseEntity<List<CustomerProfileDTO>> getCustomerProfiles(@RequestBody List<Long> ids) {
+		log.info("Received internal batch profile request for {} customers", ids.size());
+		return ResponseEntity.ok(customerService.getCustomerProfiles(ids));
+	}
+}
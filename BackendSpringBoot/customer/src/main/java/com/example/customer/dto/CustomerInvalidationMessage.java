@@ -0,0 +1,23 @@
+package com.example.customer.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) announcing that a customer profile has changed.
+ * Consumers holding a cached copy of the profile drop it on receipt.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerInvalidationMessage {
+
+    /** Unique identifier of the customer whose profile changed. */
+    private Long customerId;
+
+    /** Time at which the change was saved. */
+    private LocalDateTime changedAt;
+}
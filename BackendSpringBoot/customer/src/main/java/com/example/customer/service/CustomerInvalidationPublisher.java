@@ -0,0 +1,17 @@
+package com.example.customer.service;
+
+import com.example.customer.dto.CustomerInvalidationMessage;
+
+/**
+ * Publishes customer profile change notifications to services that cache profiles.
+ */
+public interface CustomerInvalidationPublisher {
+
+    /**
+     * Announces that a customer profile has changed.
+     * Implementations must not throw; a lost message only delays the update until the cache entry expires.
+     *
+     * @param message the change notification.
+     */
+    void publish(CustomerInvalidationMessage message);
+}
@@ -14,6 +14,8 @@
 //}
 package com.example.customer.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.example.customer.dto.AuthResponseDTO;
@@ -45,6 +47,15 @@ public interface CustomerService {
      */
     CustomerProfileDTO getCustomerProfile(Long id) throws CustomerNotFoundException;
 
+    /**
+     * Retrieves the profiles of several customers in a single lookup.
+     * Ids that do not match a customer are silently skipped.
+     *
+     * @param ids the unique identifiers of the customers.
+     * @return the profiles of the customers that were found.
+     */
+    List<CustomerProfileDTO> getCustomerProfiles(Collection<Long> ids);
+
     /**
      * Updates an existing customer profile.
      *
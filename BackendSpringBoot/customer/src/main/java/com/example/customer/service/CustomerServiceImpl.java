@@ -1,5 +1,8 @@
 package com.example.customer.service;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.core.log.LogAccessor;
@@ -9,6 +12,7 @@ import org.springframework.stereotype.Service;
 import com.example.customer.dto.AuthResponseDTO;
 import com.example.customer.dto.CustomerProfileDTO;
 import com.example.customer.dto.CustomerRegisterDTO;
+import com.example.customer.dto.CustomerInvalidationMessage;
 import com.example.customer.dto.CustomerUpdateDTO;
 import com.example.customer.dto.UserAuthDetailsDTO;
 import com.example.customer.entity.Customer;
@@ -33,6 +37,7 @@ public class CustomerServiceImpl implements CustomerService {
 	
     private final CustomerRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomerInvalidationPublisher invalidationPublisher;
     
     
     
@@ -74,6 +79,27 @@ public class CustomerServiceImpl implements CustomerService {
         Customer customer = repository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException(AppConstants.CUSTOMER_NOT_FOUND));
 
+        return toProfileDTO(customer);
+    }
+
+    /**
+     * Retrieves the profiles of several customers with a single {@code findAllById} query.
+     *
+     * @param ids the unique identifiers of the customers.
+     * @return the profiles of the customers that were found.
+     */
+    @Override
+    public List<CustomerProfileDTO> getCustomerProfiles(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.info("Fetching {} customer profiles in batch", ids.size());
+        return repository.findAllById(ids).stream()
+                .map(this::toProfileDTO)
+                .toList();
+    }
+
+    private CustomerProfileDTO toProfileDTO(Customer customer) {
         return new CustomerProfileDTO(
                 customer.getId(),
                 customer.getName(),
@@ -84,7 +110,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     /**
-     * Updates an existing customer profile.
+     * Updates an existing customer profile and notifies services caching the old profile.
      *
      * @param id  the unique identifier of the customer.
      * @param dto the updated customer details.
@@ -108,6 +134,7 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setEmail(dto.getEmail());
 
         Customer updatedCustomer = repository.save(customer);
+        invalidationPublisher.publish(new CustomerInvalidationMessage(updatedCustomer.getId(), LocalDateTime.now()));
 
         return new CustomerUpdateDTO(
               //  updatedCustomer.getId(),
@@ -0,0 +1,66 @@
+package com.example.customer.service;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.example.customer.dto.CustomerInvalidationMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers profile change notifications to order-service over HTTP.
+ * Every order-service instance keeps its own near-cache, so the message is posted to each
+ * instance registered in discovery rather than to one picked by the load balancer.
+ * An instance that is unreachable or not yet registered here keeps the old profile until its
+ * cache entry expires.
+ */
+@Component
+@Slf4j
+public class OrderServiceInvalidationPublisher implements CustomerInvalidationPublisher {
+
+    static final String ORDER_SERVICE = "order-service";
+    static final String INVALIDATIONS_PATH = "/internal/customers/invalidations";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+
+    public OrderServiceInvalidationPublisher(DiscoveryClient discoveryClient, RestClient.Builder restClientBuilder) {
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClientBuilder.build();
+    }
+
+    @Override
+    public void publish(CustomerInvalidationMessage message) {
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(ORDER_SERVICE);
+        } catch (Exception e) {
+            log.warn("Failed to look up {} instances for profile invalidation of customer ID: {}, Error: {}",
+                    ORDER_SERVICE, message.getCustomerId(), e.getMessage());
+            return;
+        }
+
+        int delivered = 0;
+        for (ServiceInstance instance : instances) {
+            try {
+                restClient.post()
+                        .uri(instance.getUri() + INVALIDATIONS_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(message)
+                        .retrieve()
+                        .toBodilessEntity();
+                delivered++;
+            } catch (Exception e) {
+                log.warn("Failed to publish profile invalidation for customer ID: {} to {}, Error: {}",
+                        message.getCustomerId(), instance.getUri(), e.getMessage());
+            }
+        }
+        log.debug("Published profile invalidation for customer ID: {} to {} of {} {} instances",
+                message.getCustomerId(), delivered, instances.size(), ORDER_SERVICE);
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.customer.dto.AuthResponseDTO;
+import com.example.customer.dto.CustomerInvalidationMessage;
 import com.example.customer.dto.CustomerProfileDTO;
 import com.example.customer.dto.CustomerRegisterDTO;
 import com.example.customer.dto.CustomerUpdateDTO;
@@ -19,6 +20,7 @@ import com.example.customer.exception.InvalidCredentialsException;
 import com.example.customer.repository.CustomerRepository;
 import com.example.customer.util.AppConstants;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +32,9 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository repository; 
 
+    @Mock
+    private CustomerInvalidationPublisher invalidationPublisher;
+
     @InjectMocks
     private CustomerServiceImpl customerService; 
 
@@ -137,6 +142,30 @@ class CustomerServiceTest {
     }
 
 
+    // Test Case: Batch lookup returns only the customers that exist, in one repository call.
+    @Test
+    void testGetCustomerProfiles_ReturnsFoundCustomers() {
+        List<Long> ids = List.of(customerId, anotherCustomerId);
+        when(repository.findAllById(ids)).thenReturn(List.of(existingCustomer));
+
+        List<CustomerProfileDTO> result = customerService.getCustomerProfiles(ids);
+
+        assertEquals(1, result.size());
+        assertEquals(existingCustomer.getId(), result.get(0).getId());
+        assertEquals(existingCustomer.getName(), result.get(0).getName());
+        verify(repository, times(1)).findAllById(ids);
+        verify(repository, never()).findById(anyLong());
+    }
+
+    // Test Case: Empty batch does not hit the repository.
+    @Test
+    void testGetCustomerProfiles_EmptyIds() {
+        List<CustomerProfileDTO> result = customerService.getCustomerProfiles(List.of());
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(repository);
+    }
+
     // Test Case 1: Successfully update an existing customer's profile.
     @Test
     void testUpdateCustomer_Success() throws CustomerNotFoundException {
@@ -217,6 +246,22 @@ class CustomerServiceTest {
         verify(repository, times(1)).findById(customerId);
         verify(repository, times(1)).findByEmail(updateDTO.getEmail());
         verify(repository, never()).save(any(Customer.class)); // Save should not be called
+        verify(invalidationPublisher, never()).publish(any(CustomerInvalidationMessage.class));
+    }
+
+    // Test Case: A successful update publishes an invalidation message for the customer.
+    @Test
+    void testUpdateCustomer_PublishesInvalidation() throws CustomerNotFoundException {
+        when(repository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
+        when(repository.findByEmail(updateDTO.getEmail())).thenReturn(Optional.empty());
+        when(repository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        customerService.updateCustomer(customerId, updateDTO);
+
+        ArgumentCaptor<CustomerInvalidationMessage> messageCaptor = ArgumentCaptor.forClass(CustomerInvalidationMessage.class);
+        verify(invalidationPublisher, times(1)).publish(messageCaptor.capture());
+        assertEquals(customerId, messageCaptor.getValue().getCustomerId());
+        assertNotNull(messageCaptor.getValue().getChangedAt());
     }
 
 
@@ -0,0 +1,81 @@
+package com.example.customer.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseActions;
+import org.springframework.web.client.RestClient;
+
+import com.example.customer.dto.CustomerInvalidationMessage;
+
+class OrderServiceInvalidationPublisherTest {
+
+    private DiscoveryClient discoveryClient;
+    private MockRestServiceServer server;
+    private OrderServiceInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        discoveryClient = mock(DiscoveryClient.class);
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        publisher = new OrderServiceInvalidationPublisher(discoveryClient, builder);
+    }
+
+    @Test
+    void publish_PostsToEveryOrderServiceInstance() {
+        when(discoveryClient.getInstances("order-service")).thenReturn(List.of(instance("a", 8081), instance("b", 8082)));
+        expectInvalidation("http://localhost:8081").andRespond(withStatus(HttpStatus.ACCEPTED));
+        expectInvalidation("http://localhost:8082").andRespond(withStatus(HttpStatus.ACCEPTED));
+
+        publisher.publish(new CustomerInvalidationMessage(1L, LocalDateTime.now()));
+
+        server.verify();
+    }
+
+    @Test
+    void publish_FailingInstanceDoesNotStopTheOthers() {
+        when(discoveryClient.getInstances("order-service")).thenReturn(List.of(instance("a", 8081), instance("b", 8082)));
+        expectInvalidation("http://localhost:8081").andRespond(withServerError());
+        expectInvalidation("http://localhost:8082").andRespond(withStatus(HttpStatus.ACCEPTED));
+
+        assertDoesNotThrow(() -> publisher.publish(new CustomerInvalidationMessage(1L, LocalDateTime.now())));
+
+        server.verify();
+    }
+
+    @Test
+    void publish_DiscoveryFailureIsSwallowed() {
+        when(discoveryClient.getInstances("order-service")).thenThrow(new IllegalStateException("registry unavailable"));
+
+        assertDoesNotThrow(() -> publisher.publish(new CustomerInvalidationMessage(1L, LocalDateTime.now())));
+
+        server.verify();
+    }
+
+    private ResponseActions expectInvalidation(String baseUrl) {
+        return server.expect(requestTo(baseUrl + "/internal/customers/invalidations"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"customerId\":1}"));
+    }
+
+    private static DefaultServiceInstance instance(String id, int port) {
+        return new DefaultServiceInstance(id, "order-service", "localhost", port, false);
+    }
+}
@@ -3,9 +3,10 @@ package com.fooddelivery.orderservicef;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-
+@EnableScheduling
 @EnableFeignClients(basePackages = "com.fooddelivery.orderservicef.service")
 public class OrderServiceApplication {
 
@@ -0,0 +1,33 @@
+package com.fooddelivery.orderservicef.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fooddelivery.orderservicef.dto.CustomerInvalidationMessage;
+import com.fooddelivery.orderservicef.service.CustomerProfileCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/internal/customers")
+@RequiredArgsConstructor
+public class InternalCustomerCacheController {
+
+    private final CustomerProfileCache customerProfileCache;
+
+    /** 
+     * Receives profile-change notifications from customer-service
+     * and drops the cached profile of that customer
+     * */
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> invalidateCustomerProfile(@RequestBody CustomerInvalidationMessage message) {
+        log.info("Customer profile invalidation received for customer {}", message.getCustomerId());
+        customerProfileCache.invalidate(message);
+        return ResponseEntity.accepted().build();
+    }
+}
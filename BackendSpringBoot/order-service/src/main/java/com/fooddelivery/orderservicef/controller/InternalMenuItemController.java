@@ -0,0 +1,37 @@
+package com.fooddelivery.orderservicef.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fooddelivery.orderservicef.dto.MenuItemPopularityDTO;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.repository.OrderItemRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/internal/menu-items")
+@RequiredArgsConstructor
+public class InternalMenuItemController {
+
+    private final OrderItemRepository orderItemRepository;
+
+    /** 
+     * Order counts per menu item for menu-service typeahead ranking
+     * declined and cancelled orders are not counted
+     * */
+    @GetMapping("/popularity")
+    public ResponseEntity<List<MenuItemPopularityDTO>> getMenuItemPopularity() {
+        List<MenuItemPopularityDTO> popularity =
+                orderItemRepository.countOrdersByMenuItem(EnumSet.of(OrderStatus.DECLINED, OrderStatus.CANCELLED));
+        log.info("Served order counts for {} menu items", popularity.size());
+        return ResponseEntity.ok(popularity);
+    }
+}
@@ -3,6 +3,7 @@ package com.fooddelivery.orderservicef.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -10,12 +11,15 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.dto.OrderHistoryFilterDTO;
+import com.fooddelivery.orderservicef.dto.OrderPageDTO;
 import com.fooddelivery.orderservicef.dto.OrderRequestDTO;
 import com.fooddelivery.orderservicef.dto.OrderStatusUpdateDTO;
 import com.fooddelivery.orderservicef.model.OrderStatus;
 import com.fooddelivery.orderservicef.service.OrderServiceImpl;
 import com.fooddelivery.orderservicef.exception.ResourceNotFoundException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -90,6 +94,51 @@ public class OrderController {
         log.info("Restaurant " +Long.valueOf(requestId)+"Orders reteirved successfully !");
         return ResponseEntity.ok(orderServiceImpl.getRestaurantOrders(Long.valueOf(requestId)));
     }
+
+    /** 
+     * Paginated order history of the customer, newest first
+     * optional filters: status, from (inclusive), to (exclusive)
+     * pass the returned nextCursor as cursor to get the next page
+     * */
+    @GetMapping("/user/history")
+    public ResponseEntity<OrderPageDTO> getUserOrderHistory(
+    		@RequestHeader("X-Internal-User-Id") String requestId,
+			@RequestHeader("X-Internal-User-Roles")String roles,
+			@RequestParam(required = false) OrderStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int limit) {
+    	
+    	if (!roles.contains("CUSTOMER")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+    	
+        OrderHistoryFilterDTO filter = new OrderHistoryFilterDTO(status, from, to, cursor, limit);
+        return ResponseEntity.ok(orderServiceImpl.getUserOrderHistory(Long.valueOf(requestId), filter));
+    }
+
+    /** 
+     * Paginated order history of the restaurant, newest first
+     * same filters and cursor as the customer history
+     * */
+    @GetMapping("/restaurant/history")
+    public ResponseEntity<OrderPageDTO> getRestaurantOrderHistory(
+    		@RequestHeader("X-Internal-User-Id") String requestId,
+			@RequestHeader("X-Internal-User-Roles")String roles,
+			@RequestParam(required = false) OrderStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int limit) {
+    	
+    	if (!roles.contains("RESTAURANT")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+    	
+        OrderHistoryFilterDTO filter = new OrderHistoryFilterDTO(status, from, to, cursor, limit);
+        return ResponseEntity.ok(orderServiceImpl.getRestaurantOrderHistory(Long.valueOf(requestId), filter));
+    }
     
     /** 
      * Updating the status of the order
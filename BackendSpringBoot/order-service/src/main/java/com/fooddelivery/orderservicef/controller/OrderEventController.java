@@ -0,0 +1,62 @@
+package com.fooddelivery.orderservicef.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fooddelivery.orderservicef.events.OrderEventStream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderEventController {
+
+    private final OrderEventStream orderEventStream;
+
+    /** 
+     * Live status updates of the customer's orders as Server-Sent Events
+     * send Last-Event-ID on reconnect to receive the events missed meanwhile
+     * */
+    @GetMapping(path = "/user/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUserOrderEvents(
+    		@RequestHeader("X-Internal-User-Id") String requestId,
+			@RequestHeader("X-Internal-User-Roles")String roles,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    	
+    	if (!roles.contains("CUSTOMER")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+    	
+        Long userId = Long.valueOf(requestId);
+        log.info("User {} subscribed to order events (Last-Event-ID={})", userId, lastEventId);
+        return ResponseEntity.ok(orderEventStream.open(event -> userId.equals(event.getUserId()), lastEventId));
+    }
+
+    /** 
+     * Live order board of the restaurant as Server-Sent Events
+     * new orders and every status change are pushed as they happen
+     * */
+    @GetMapping(path = "/restaurant/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRestaurantOrderEvents(
+    		@RequestHeader("X-Internal-User-Id") String requestId,
+			@RequestHeader("X-Internal-User-Roles")String roles,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    	
+    	if (!roles.contains("RESTAURANT")) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+    	
+        Long restaurantId = Long.valueOf(requestId);
+        log.info("Restaurant {} subscribed to order events (Last-Event-ID={})", restaurantId, lastEventId);
+        return ResponseEntity.ok(orderEventStream.open(event -> restaurantId.equals(event.getRestaurantId()), lastEventId));
+    }
+}
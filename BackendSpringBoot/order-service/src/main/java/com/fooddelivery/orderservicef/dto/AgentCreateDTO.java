@@ -1,21 +0,0 @@
-package com.fooddelivery.orderservicef.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@Data
-@Builder
-@Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-public class AgentCreateDTO {
-    private String agentName;
-    private String agentPhoneNumber;
-    private String agentStatus; // "AVAILABLE"
-}
-
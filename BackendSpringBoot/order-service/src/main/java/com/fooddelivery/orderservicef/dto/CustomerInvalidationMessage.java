@@ -0,0 +1,19 @@
+package com.fooddelivery.orderservicef.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sent by customer-service when a customer profile changes,
+ * so that cached copies of the profile can be dropped.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerInvalidationMessage {
+    private Long customerId;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.orderservicef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of orders a menu item has been part of,
+ * read by menu-service to rank its typeahead suggestions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemPopularityDTO {
+    private Long menuItemId;
+    private Long orderCount;
+}
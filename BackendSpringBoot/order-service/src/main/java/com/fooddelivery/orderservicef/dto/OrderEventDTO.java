@@ -0,0 +1,31 @@
+package com.fooddelivery.orderservicef.dto;
+
+import java.time.LocalDateTime;
+
+import com.fooddelivery.orderservicef.events.OrderEventType;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order lifecycle event pushed to order board subscribers.
+ * {@code eventId} increases monotonically from 1 on every start of the service; the SSE event id
+ * is {@link com.fooddelivery.orderservicef.events.OrderEventBus#streamId} of the event.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDTO {
+    private long eventId;
+    private OrderEventType type;
+    private Long orderId;
+    private Long userId;
+    private Long restaurantId;
+    private OrderStatus status;
+    private double totalAmount;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,26 @@
+package com.fooddelivery.orderservicef.dto;
+
+import java.time.LocalDateTime;
+
+import com.fooddelivery.orderservicef.model.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters and paging position for order history queries.
+ * {@code from} is inclusive, {@code to} is exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryFilterDTO {
+    private OrderStatus status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String cursor;
+    private int limit;
+}
@@ -0,0 +1,20 @@
+package com.fooddelivery.orderservicef.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat read projection of an order item together with its order id,
+ * used to load the items of a whole page of orders in one query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemRowDTO {
+    private Long orderId;
+    private Long menuItemId;
+    private String itemName;
+    private Integer quantity;
+    private double price;
+}
@@ -0,0 +1,162 @@
+package com.fooddelivery.orderservicef.events;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddelivery.orderservicef.dto.OrderEventDTO;
+import com.fooddelivery.orderservicef.model.Order;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process publish/subscribe for order lifecycle events.
+ *
+ * Events are numbered and kept in a bounded ring buffer so a reconnecting subscriber can
+ * resume from its Last-Event-ID. Numbering, buffering and fan-out happen under one lock,
+ * which means a new subscriber sees the replayed events followed by live ones without gaps
+ * or duplicates.
+ *
+ * Numbering starts again at 1 on every start, so the stream id of an event is
+ * {@code <epoch>-<eventId>} where the epoch identifies this start. A Last-Event-ID from
+ * another epoch cannot be resumed from and is answered with a resync.
+ */
+@Slf4j
+@Component
+public class OrderEventBus {
+
+    private final int replayBufferSize;
+    private final ArrayDeque<OrderEventDTO> replayBuffer;
+    private final List<OrderEventListener> listeners = new ArrayList<>();
+    private final Object lock = new Object();
+    private final String epoch;
+    private long lastEventId;
+
+    @Autowired
+    public OrderEventBus(@Value("${order.events.replay-buffer-size:1024}") int replayBufferSize) {
+        this(replayBufferSize, Long.toString(System.currentTimeMillis(), 36));
+    }
+
+    OrderEventBus(int replayBufferSize, String epoch) {
+        this.replayBufferSize = replayBufferSize;
+        this.replayBuffer = new ArrayDeque<>(replayBufferSize);
+        this.epoch = epoch;
+    }
+
+    /**
+     * The id the event is sent with and that a reconnecting client passes back as Last-Event-ID.
+     */
+    public String streamId(OrderEventDTO event) {
+        return epoch + "-" + event.getEventId();
+    }
+
+    /**
+     * Publishes the current state of the order. Inside a transaction the event is only sent
+     * after commit, so subscribers never see a change that was rolled back.
+     */
+    public void publish(Order order, OrderEventType type) {
+        OrderEventDTO event = OrderEventDTO.builder()
+                .type(type)
+                .orderId(order.getOrderId())
+                .userId(order.getUserId())
+                .restaurantId(order.getRestaurantId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .occurredAt(LocalDateTime.now())
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Registers a listener and replays buffered events newer than {@code lastStreamId}.
+     *
+     * @return false if events after {@code lastStreamId} have already left the buffer or were
+     *         published before a restart, in which case the subscriber has to reload its state
+     */
+    public boolean subscribe(OrderEventListener listener, String lastStreamId) {
+        synchronized (lock) {
+            boolean complete = true;
+            if (lastStreamId != null) {
+                long lastEventId = eventIdOf(lastStreamId);
+                if (lastEventId < 0) {
+                    // Numbered before a restart; there is no telling which of our events it missed
+                    listeners.add(listener);
+                    return false;
+                }
+                OrderEventDTO oldest = replayBuffer.peekFirst();
+                long firstAvailable = oldest == null ? this.lastEventId + 1 : oldest.getEventId();
+                complete = lastEventId >= firstAvailable - 1 && lastEventId <= this.lastEventId;
+                for (OrderEventDTO event : replayBuffer) {
+                    if (event.getEventId() > lastEventId && !listener.offer(event)) {
+                        return complete;
+                    }
+                }
+            }
+            listeners.add(listener);
+            return complete;
+        }
+    }
+
+    public void unsubscribe(OrderEventListener listener) {
+        synchronized (lock) {
+            listeners.remove(listener);
+        }
+    }
+
+    public int subscriberCount() {
+        synchronized (lock) {
+            return listeners.size();
+        }
+    }
+
+    /**
+     * @return the event id within this epoch, or -1 for an id from another epoch or not ours at all
+     */
+    private long eventIdOf(String streamId) {
+        int separator = streamId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(streamId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(streamId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    void dispatch(OrderEventDTO event) {
+        synchronized (lock) {
+            OrderEventDTO numbered = event.toBuilder().eventId(++lastEventId).build();
+            if (replayBuffer.size() == replayBufferSize) {
+                replayBuffer.pollFirst();
+            }
+            replayBuffer.addLast(numbered);
+
+            Iterator<OrderEventListener> it = listeners.iterator();
+            while (it.hasNext()) {
+                if (!it.next().offer(numbered)) {
+                    it.remove();
+                }
+            }
+        }
+        log.debug("Published {} for orderId={} status={}", event.getType(), event.getOrderId(), event.getStatus());
+    }
+}
@@ -0,0 +1,15 @@
+package com.fooddelivery.orderservicef.events;
+
+import com.fooddelivery.orderservicef.dto.OrderEventDTO;
+
+/**
+ * Receives events from the {@link OrderEventBus}. Called while the bus holds its lock,
+ * so implementations must only hand the event off and never block.
+ */
+public interface OrderEventListener {
+
+    /**
+     * @return false if the listener can no longer keep up; the bus then drops it
+     */
+    boolean offer(OrderEventDTO event);
+}
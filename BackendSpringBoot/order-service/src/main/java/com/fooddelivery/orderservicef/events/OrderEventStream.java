@@ -0,0 +1,182 @@
+package com.fooddelivery.orderservicef.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fooddelivery.orderservicef.dto.OrderEventDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bridges the {@link OrderEventBus} to Server-Sent Events connections.
+ *
+ * Each connection gets a bounded queue drained on a virtual thread, so a client on a slow
+ * network only delays itself. A client whose queue overflows is disconnected rather than
+ * buffered without limit; it reconnects with Last-Event-ID and catches up from the bus's
+ * replay buffer. A comment line is sent every {@code order.events.heartbeat} to keep proxies
+ * from closing idle connections.
+ *
+ * Meters: {@code order.events.subscribers} and {@code order.events.dropped}.
+ */
+@Slf4j
+@Component
+public class OrderEventStream {
+
+    static final String RESYNC_EVENT = "RESYNC";
+
+    private final OrderEventBus eventBus;
+    private final long emitterTimeoutMillis;
+    private final int clientQueueSize;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledFuture<?> heartbeat;
+    private final Counter droppedCounter;
+
+    public OrderEventStream(OrderEventBus eventBus,
+                            @Value("${order.events.emitter-timeout:30m}") Duration emitterTimeout,
+                            @Value("${order.events.client-queue-size:256}") int clientQueueSize,
+                            @Value("${order.events.heartbeat:15s}") Duration heartbeatInterval,
+                            TaskScheduler taskScheduler,
+                            MeterRegistry meterRegistry) {
+        this.eventBus = eventBus;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.clientQueueSize = clientQueueSize;
+        this.heartbeat = taskScheduler.scheduleAtFixedRate(this::sendHeartbeats,
+                Instant.now().plus(heartbeatInterval), heartbeatInterval);
+
+        Gauge.builder("order.events.subscribers", clients, Set::size)
+                .description("Open order event streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("order.events.dropped")
+                .description("Order event streams closed because the client could not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the events accepted by {@code filter}, starting after {@code lastEventId}
+     * when the client is reconnecting.
+     */
+    public SseEmitter open(Predicate<OrderEventDTO> filter, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Client client = new Client(emitter, filter);
+        emitter.onCompletion(() -> close(client));
+        emitter.onTimeout(() -> close(client));
+        emitter.onError(e -> close(client));
+        clients.add(client);
+
+        if (!eventBus.subscribe(client, lastEventId)) {
+            // Some events were missed for good; tell the client to reload instead of trusting the stream
+            client.sendControl(RESYNC_EVENT);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.cancel(false);
+        clients.forEach(client -> client.emitter.complete());
+        senders.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        for (Client client : clients) {
+            senders.execute(client::heartbeat);
+        }
+    }
+
+    private void close(Client client) {
+        if (clients.remove(client)) {
+            eventBus.unsubscribe(client);
+        }
+    }
+
+    private final class Client implements OrderEventListener {
+
+        private final SseEmitter emitter;
+        private final Predicate<OrderEventDTO> filter;
+        private final BlockingQueue<OrderEventDTO> queue = new ArrayBlockingQueue<>(clientQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+
+        private Client(SseEmitter emitter, Predicate<OrderEventDTO> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean offer(OrderEventDTO event) {
+            if (!filter.test(event)) {
+                return true;
+            }
+            if (!queue.offer(event)) {
+                if (overflowed.compareAndSet(false, true)) {
+                    droppedCounter.increment();
+                    log.warn("Order event stream fell {} events behind, disconnecting client", clientQueueSize);
+                    senders.execute(emitter::complete);
+                }
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            try {
+                OrderEventDTO event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(eventBus.streamId(event))
+                            .name(event.getType().name())
+                            .data(event));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Order event stream closed by client: {}", e.getMessage());
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued between the last poll and clearing the flag
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void sendControl(String name) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(name));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.fooddelivery.orderservicef.events;
+
+public enum OrderEventType {
+    PLACED,
+    STATUS_CHANGED
+}
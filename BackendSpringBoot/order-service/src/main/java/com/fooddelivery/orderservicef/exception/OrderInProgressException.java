@@ -0,0 +1,11 @@
+package com.fooddelivery.orderservicef.exception;
+
+/**
+ * An order with the request's Idempotency-Key exists but its payment has not settled yet; the
+ * client should retry later with the same key.
+ */
+public class OrderInProgressException extends RuntimeException {
+    public OrderInProgressException(String message) {
+        super(message);
+    }
+}
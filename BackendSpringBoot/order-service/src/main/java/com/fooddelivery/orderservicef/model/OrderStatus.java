@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public enum OrderStatus {
+	   PENDING_PAYMENT("Awaiting Payment"),
 	   PENDING("Pending"),
 	   ACCEPTED("Accepted"),
 	   DECLINED("Declined"),
@@ -26,6 +27,7 @@ public enum OrderStatus {
 	    */
 	   public boolean canTransitionTo(OrderStatus newStatus) {
 	       return switch (this) {
+	           case PENDING_PAYMENT -> newStatus == PENDING || newStatus == CANCELLED;
 	           case PENDING -> newStatus == ACCEPTED || newStatus == DECLINED;
 	           case ACCEPTED -> newStatus == IN_COOKING || newStatus == CANCELLED;
 	           case IN_COOKING -> newStatus == OUT_FOR_DELIVERY || newStatus == CANCELLED;
@@ -0,0 +1,7 @@
+package com.fooddelivery.orderservicef.model;
+
+public enum OutboxEventType {
+    ASSIGN_DELIVERY_AGENT,
+    MARK_DELIVERY_DELIVERED,
+    VOID_PAYMENT
+}
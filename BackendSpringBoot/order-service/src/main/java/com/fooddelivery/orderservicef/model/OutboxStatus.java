@@ -0,0 +1,7 @@
+package com.fooddelivery.orderservicef.model;
+
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,62 @@
+package com.fooddelivery.orderservicef.model;
+
+import java.time.LocalDateTime;
+
+import com.fooddelivery.orderservicef.dto.PaymentMethod;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of the payment step of an order placement, one row per order.
+ * A row left in PAYMENT_PENDING means the service stopped between charging and recording the outcome.
+ */
+@Entity
+@Table(name = "payment_saga", indexes = {
+        @Index(name = "idx_payment_saga_state_updated", columnList = "state, updatedAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentSaga {
+    @Id
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentSagaState state;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentMethod paymentMethod;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Column
+    private Long paymentId;
+
+    @Column(nullable = false)
+    private int recoveryAttempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
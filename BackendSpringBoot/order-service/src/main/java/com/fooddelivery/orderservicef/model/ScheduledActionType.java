@@ -0,0 +1,6 @@
+package com.fooddelivery.orderservicef.model;
+
+public enum ScheduledActionType {
+    /** Completes an order that has been OUT_FOR_DELIVERY long enough. */
+    AUTO_COMPLETE
+}
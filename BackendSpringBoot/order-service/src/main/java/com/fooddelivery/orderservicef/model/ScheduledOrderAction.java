@@ -0,0 +1,65 @@
+package com.fooddelivery.orderservicef.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A deadline attached to an order, e.g. auto-completing a delivery.
+ * Rows stay PENDING until the scheduler fires them, so pending deadlines survive a restart.
+ * An instance claims a row ({@code claimedBy}, {@code claimedUntil}) before firing it, so each
+ * deadline fires on one instance only.
+ */
+@Entity
+@Table(name = "scheduled_order_action", indexes = {
+        @Index(name = "idx_scheduled_action_status_due", columnList = "status, dueAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledOrderAction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduledActionType actionType;
+
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduledActionStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 36)
+    private String claimedBy;
+
+    @Column
+    private LocalDateTime claimedUntil;
+
+    @Column
+    private LocalDateTime firedAt;
+}
@@ -0,0 +1,68 @@
+package com.fooddelivery.orderservicef.outbox;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.OutboxStatus;
+import com.fooddelivery.orderservicef.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records side effects of order changes in the {@code order_outbox} table.
+ * Must be called inside the transaction that changes the order, so both commit or roll back together.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OutboxEventRepository repository;
+    private final OutboxRelay relay;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(Long orderId, OutboxEventType eventType, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = repository.save(OutboxEvent.builder()
+                .orderId(orderId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+        log.info("Outbox event {} recorded for orderId={}", eventType, orderId);
+
+        // Start relaying right after commit instead of waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wakeUp();
+            }
+        });
+        return event;
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.fooddelivery.orderservicef.outbox;
+
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+
+/**
+ * Delivers an outbox event to its target service. Throwing marks the attempt as failed
+ * and the relay retries later, so implementations must tolerate being called more than once.
+ */
+public interface OutboxEventHandler {
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,190 @@
+package com.fooddelivery.orderservicef.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+import com.fooddelivery.orderservicef.model.OutboxStatus;
+import com.fooddelivery.orderservicef.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers {@code order_outbox} rows to the other services, at least once.
+ *
+ * No transaction or row lock is held while another service is called. Every poll claims up to
+ * {@code batch-size} due rows with SELECT ... FOR UPDATE SKIP LOCKED and leases them by setting
+ * {@code locked_until} to now + {@code lease}, in a short transaction. Each event is then handed
+ * to the {@link OutboxEventHandler} outside of any transaction, and its outcome is recorded in a
+ * second short transaction. A relay that dies mid-delivery leaves the lease to expire, after
+ * which the row is due again. Failed deliveries are retried with exponential backoff until
+ * {@code max-attempts}, after which the row is left FAILED for inspection. Polls run every
+ * {@code poll-interval} and right after an event is committed.
+ *
+ * Meters: {@code order.outbox.events} tagged with {@code outcome}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final OutboxEventHandler handler;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration pollInterval;
+    private final Duration lease;
+
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       @Lazy OutboxEventHandler handler,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${order.outbox.batch-size:50}") int batchSize,
+                       @Value("${order.outbox.max-attempts:8}") int maxAttempts,
+                       @Value("${order.outbox.initial-backoff:2s}") Duration initialBackoff,
+                       @Value("${order.outbox.max-backoff:5m}") Duration maxBackoff,
+                       @Value("${order.outbox.poll-interval:1s}") Duration pollInterval,
+                       @Value("${order.outbox.lease:2m}") Duration lease,
+                       TaskScheduler taskScheduler,
+                       MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.handler = handler;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.taskScheduler = taskScheduler;
+
+        this.deliveredCounter = Counter.builder("order.outbox.events").tag("outcome", "delivered").register(meterRegistry);
+        this.retriedCounter = Counter.builder("order.outbox.events").tag("outcome", "retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("order.outbox.events").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("Order outbox relay started, {} events pending", repository.countByStatus(OutboxStatus.PENDING));
+        taskScheduler.scheduleWithFixedDelay(this::poll, Instant.now().plus(pollInterval), pollInterval);
+    }
+
+    /**
+     * Requests an immediate poll. Several requests made while one is queued collapse into one.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                wakeUpPending.set(false);
+                poll();
+            }, Instant.now());
+        }
+    }
+
+    void poll() {
+        List<OutboxEvent> batch;
+        do {
+            batch = transaction.execute(status -> claimBatch());
+            for (OutboxEvent event : batch) {
+                Exception failure = deliver(event);
+                transaction.executeWithoutResult(status -> recordOutcome(event.getId(), failure));
+            }
+            if (!batch.isEmpty()) {
+                log.debug("Relayed {} outbox events", batch.size());
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Leases the next due rows; the lease is committed before any of them is delivered.
+     */
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = repository.findDueForUpdate(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        LocalDateTime lockedUntil = now.plus(lease);
+        batch.forEach(event -> event.setLockedUntil(lockedUntil));
+        return batch;
+    }
+
+    /**
+     * @return why the delivery failed, or null when it succeeded
+     */
+    private Exception deliver(OutboxEvent event) {
+        try {
+            handler.handle(event);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private void recordOutcome(Long eventId, Exception failure) {
+        OutboxEvent event = repository.findById(eventId).orElse(null);
+        if (event == null || event.getStatus() != OutboxStatus.PENDING) {
+            // The lease ran out during a slow call and another relay has settled the event since
+            return;
+        }
+        event.setLockedUntil(null);
+        if (failure != null) {
+            retryOrGiveUp(event, failure);
+            return;
+        }
+        event.setStatus(OutboxStatus.DONE);
+        event.setProcessedAt(LocalDateTime.now());
+        event.setLastError(null);
+        deliveredCounter.increment();
+    }
+
+    private void retryOrGiveUp(OutboxEvent event, Exception cause) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(abbreviate(cause.getMessage()));
+        if (event.getAttempts() >= maxAttempts) {
+            log.error("Giving up on outbox event {} ({}) for orderId={} after {} attempts", event.getId(),
+                    event.getEventType(), event.getOrderId(), event.getAttempts(), cause);
+            event.setStatus(OutboxStatus.FAILED);
+            event.setProcessedAt(LocalDateTime.now());
+            failedCounter.increment();
+            return;
+        }
+        Duration backoff = backoff(event.getAttempts());
+        log.warn("Outbox event {} ({}) for orderId={} failed (attempt {}), retrying in {}: {}", event.getId(),
+                event.getEventType(), event.getOrderId(), event.getAttempts(), backoff, cause.getMessage());
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        retriedCounter.increment();
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
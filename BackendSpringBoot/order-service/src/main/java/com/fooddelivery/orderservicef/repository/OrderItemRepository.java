@@ -1,12 +1,25 @@
 package com.fooddelivery.orderservicef.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.fooddelivery.orderservicef.dto.MenuItemPopularityDTO;
 import com.fooddelivery.orderservicef.model.OrderItem;
+import com.fooddelivery.orderservicef.model.OrderStatus;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+
+	/**
+	 * Order count per menu item, ignoring orders in the given statuses.
+	 * One grouped scan of order_items instead of a count per item.
+	 */
+	@Query("SELECT new com.fooddelivery.orderservicef.dto.MenuItemPopularityDTO(i.menuItemId, COUNT(i))"
+			+ " FROM OrderItem i WHERE i.order.status NOT IN :excludedStatuses GROUP BY i.menuItemId")
+	List<MenuItemPopularityDTO> countOrdersByMenuItem(Collection<OrderStatus> excludedStatuses);
+}
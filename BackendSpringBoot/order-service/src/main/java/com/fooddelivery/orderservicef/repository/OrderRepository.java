@@ -1,14 +1,20 @@
 package com.fooddelivery.orderservicef.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fooddelivery.orderservicef.dto.OrderItemRowDTO;
 import com.fooddelivery.orderservicef.model.Order;
 import com.fooddelivery.orderservicef.model.OrderStatus;
 
@@ -20,10 +26,57 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
 	List<Order> findByRestaurantId(Long restaurantId);
 
+	/**
+	 * Keyset page of a user's orders, newest first.
+	 * Rows strictly after the (cursorTime, cursorId) position are returned; pass nulls for the first page.
+	 * Served by idx_orders_user_time (user_id, order_time, order_id).
+	 */
+	@Query("SELECT o FROM Order o WHERE o.userId = :userId"
+			+ " AND (:status IS NULL OR o.status = :status)"
+			+ " AND (:from IS NULL OR o.orderTime >= :from)"
+			+ " AND (:to IS NULL OR o.orderTime < :to)"
+			+ " AND (:cursorTime IS NULL OR o.orderTime < :cursorTime"
+			+ "      OR (o.orderTime = :cursorTime AND o.orderId < :cursorId))"
+			+ " ORDER BY o.orderTime DESC, o.orderId DESC")
+	List<Order> findUserOrderPage(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+			LocalDateTime cursorTime, Long cursorId, Pageable pageable);
+
+	/**
+	 * Keyset page of a restaurant's orders, newest first.
+	 * Served by idx_orders_restaurant_time (restaurant_id, order_time, order_id).
+	 */
+	@Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId"
+			+ " AND (:status IS NULL OR o.status = :status)"
+			+ " AND (:from IS NULL OR o.orderTime >= :from)"
+			+ " AND (:to IS NULL OR o.orderTime < :to)"
+			+ " AND (:cursorTime IS NULL OR o.orderTime < :cursorTime"
+			+ "      OR (o.orderTime = :cursorTime AND o.orderId < :cursorId))"
+			+ " ORDER BY o.orderTime DESC, o.orderId DESC")
+	List<Order> findRestaurantOrderPage(Long restaurantId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+			LocalDateTime cursorTime, Long cursorId, Pageable pageable);
+
+	/**
+	 * Items of several orders in a single round trip, as flat rows.
+	 * Used when listing orders so that walking each order's lazy items collection does not cost one SELECT per order.
+	 */
+	@Query("SELECT new com.fooddelivery.orderservicef.dto.OrderItemRowDTO("
+			+ "i.order.orderId, i.menuItemId, i.itemName, i.quantity, i.price)"
+			+ " FROM OrderItem i WHERE i.order.orderId IN :orderIds ORDER BY i.id")
+	List<OrderItemRowDTO> findItemRowsByOrderIds(Collection<Long> orderIds);
+
 	@Lock(LockModeType.PESSIMISTIC_WRITE)
 	@Query("SELECT o FROM Order o WHERE o.orderId = :orderId")
 	Optional<Order> findByIdWithLock(Long orderId);
 
+	/**
+	 * Records the delivery without writing back the rest of the order, which may have changed
+	 * while delivery-service was being called.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE Order o SET o.deliveryId = :deliveryId, o.deliveryAgentId = :deliveryAgentId WHERE o.orderId = :orderId")
+	int recordDelivery(Long orderId, Long deliveryId, Long deliveryAgentId);
+
 	boolean existsByIdempotencyKey(String idempotencyKey);
 
 	Optional<Order> findByidempotencyKey(String idempotencyKey);
@@ -0,0 +1,37 @@
+package com.fooddelivery.orderservicef.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.OutboxStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Locks the next due events that no relay is delivering. Lock timeout -2 is Hibernate's SKIP
+	 * LOCKED, so several relay instances each claim a different batch instead of queueing behind
+	 * each other.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now"
+			+ " AND (e.lockedUntil IS NULL OR e.lockedUntil <= :now) ORDER BY e.id")
+	List<OutboxEvent> findDueForUpdate(OutboxStatus status, LocalDateTime now, Pageable pageable);
+
+	long countByStatus(OutboxStatus status);
+
+	boolean existsByOrderIdAndEventTypeAndStatus(Long orderId, OutboxEventType eventType, OutboxStatus status);
+}
@@ -0,0 +1,18 @@
+package com.fooddelivery.orderservicef.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.fooddelivery.orderservicef.model.PaymentSaga;
+import com.fooddelivery.orderservicef.model.PaymentSagaState;
+
+@Repository
+public interface PaymentSagaRepository extends JpaRepository<PaymentSaga, Long> {
+
+	List<PaymentSaga> findByStateAndUpdatedAtBeforeOrderByUpdatedAt(PaymentSagaState state, LocalDateTime cutoff,
+			Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.orderservicef.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fooddelivery.orderservicef.model.ScheduledActionStatus;
+import com.fooddelivery.orderservicef.model.ScheduledOrderAction;
+
+@Repository
+public interface ScheduledOrderActionRepository extends JpaRepository<ScheduledOrderAction, Long> {
+
+	List<ScheduledOrderAction> findByStatus(ScheduledActionStatus status);
+
+	/**
+	 * Pending actions due before {@code dueBefore} that no instance holds a live claim on.
+	 */
+	@Query("SELECT a FROM ScheduledOrderAction a WHERE a.status = :status AND a.dueAt <= :dueBefore"
+			+ " AND (a.claimedUntil IS NULL OR a.claimedUntil <= :now)")
+	List<ScheduledOrderAction> findUnclaimedDueBefore(ScheduledActionStatus status, LocalDateTime dueBefore,
+			LocalDateTime now);
+
+	/**
+	 * Claims the pending actions among {@code ids} that are not claimed by anyone else. Being a
+	 * conditional update, it lets only one instance win each row; {@link #findIdsClaimedBy}
+	 * tells which ones it got.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE ScheduledOrderAction a SET a.claimedBy = :claimedBy, a.claimedUntil = :claimedUntil"
+			+ " WHERE a.id IN :ids AND a.status = :status AND (a.claimedUntil IS NULL OR a.claimedUntil <= :now)")
+	int claim(Collection<Long> ids, ScheduledActionStatus status, String claimedBy, LocalDateTime claimedUntil,
+			LocalDateTime now);
+
+	@Query("SELECT a.id FROM ScheduledOrderAction a WHERE a.id IN :ids AND a.claimedBy = :claimedBy")
+	List<Long> findIdsClaimedBy(Collection<Long> ids, String claimedBy);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE ScheduledOrderAction a SET a.status = :status, a.firedAt = :firedAt WHERE a.id IN :ids")
+	int markFired(Collection<Long> ids, ScheduledActionStatus status, LocalDateTime firedAt);
+}
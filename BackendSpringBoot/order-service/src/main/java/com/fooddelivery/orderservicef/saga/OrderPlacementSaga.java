@@ -0,0 +1,239 @@
+package com.fooddelivery.orderservicef.saga;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddelivery.orderservicef.dto.PaymentMethod;
+import com.fooddelivery.orderservicef.dto.PaymentRequestDTO;
+import com.fooddelivery.orderservicef.dto.PaymentResponseDTO;
+import com.fooddelivery.orderservicef.events.OrderEventBus;
+import com.fooddelivery.orderservicef.events.OrderEventType;
+import com.fooddelivery.orderservicef.exception.InvalidOperationException;
+import com.fooddelivery.orderservicef.exception.ResourceNotFoundException;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.PaymentSaga;
+import com.fooddelivery.orderservicef.model.PaymentSagaState;
+import com.fooddelivery.orderservicef.outbox.OrderOutbox;
+import com.fooddelivery.orderservicef.repository.OrderRepository;
+import com.fooddelivery.orderservicef.repository.PaymentSagaRepository;
+import com.fooddelivery.orderservicef.service.PaymentServiceClient;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Places an order without keeping a database transaction open across the payment call.
+ *
+ * 1. Short transaction: the order is stored as PENDING_PAYMENT together with its payment_saga row.
+ * 2. payment-service is called outside of any transaction.
+ * 3. Short transaction: the order becomes PENDING with its paymentId, or, if payment failed,
+ *    CANCELLED with a VOID_PAYMENT outbox event in case the charge went through after all. A
+ *    cancelled order gives up its Idempotency-Key, so the client can retry with the same key.
+ *
+ * If the service stops between 1 and 3 the saga stays PAYMENT_PENDING and the
+ * {@link PaymentSagaSweeper} finishes it from payment-service's records.
+ *
+ * Only this class moves an order out of PENDING_PAYMENT, and step 3 always settles the saga: a
+ * payment that arrives for an order the sweeper has meanwhile cancelled is recorded on the saga
+ * and voided once.
+ */
+@Slf4j
+@Component
+public class OrderPlacementSaga {
+
+    private final OrderRepository orderRepository;
+    private final PaymentSagaRepository sagaRepository;
+    private final PaymentServiceClient paymentServiceClient;
+    private final OrderOutbox orderOutbox;
+    private final OrderEventBus orderEventBus;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderPlacementSaga(OrderRepository orderRepository,
+                              PaymentSagaRepository sagaRepository,
+                              PaymentServiceClient paymentServiceClient,
+                              OrderOutbox orderOutbox,
+                              OrderEventBus orderEventBus,
+                              PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.sagaRepository = sagaRepository;
+        this.paymentServiceClient = paymentServiceClient;
+        this.orderOutbox = orderOutbox;
+        this.orderEventBus = orderEventBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs the saga for a new, unsaved order (with its items attached).
+     *
+     * @return the order, carrying its paymentId
+     * @throws InvalidOperationException if the payment failed, or the order was cancelled while it
+     *         was being paid; the order is then CANCELLED and any charge voided
+     */
+    public Order place(Order order, PaymentMethod paymentMethod) {
+        Order saved = transactionTemplate.execute(status -> begin(order, paymentMethod));
+
+        PaymentResponseDTO payment;
+        try {
+            payment = requestPayment(saved, paymentMethod);
+            log.info("Payment successful. Payment ID={}", payment.getPaymentId());
+        } catch (Exception ex) {
+            log.error("Payment failed for orderId={}", saved.getOrderId(), ex);
+            transactionTemplate.executeWithoutResult(status -> compensate(saved.getOrderId(), ex.getMessage()));
+            throw new InvalidOperationException("Payment processing failed");
+        }
+
+        Order completed = transactionTemplate.execute(status -> complete(saved.getOrderId(), payment.getPaymentId()));
+        if (completed.getStatus() == OrderStatus.CANCELLED) {
+            throw new InvalidOperationException("Order was cancelled while its payment was processing; the payment will be voided");
+        }
+        saved.setStatus(completed.getStatus());
+        saved.setPaymentId(completed.getPaymentId());
+        return saved;
+    }
+
+    /**
+     * Settles a saga left PAYMENT_PENDING: completes it if payment-service has a payment for the
+     * order, compensates it if it has none. Other errors leave it pending for the next sweep.
+     */
+    public void recover(PaymentSaga saga) {
+        Long orderId = saga.getOrderId();
+        try {
+            PaymentResponseDTO payment = paymentServiceClient.getPaymentByOrderId(orderId);
+            log.info("Recovering order {}: payment {} found, completing", orderId, payment.getPaymentId());
+            transactionTemplate.execute(status -> complete(orderId, payment.getPaymentId()));
+        } catch (FeignException.NotFound ex) {
+            log.info("Recovering order {}: no payment found, cancelling", orderId);
+            transactionTemplate.executeWithoutResult(status -> compensate(orderId, "No payment recorded"));
+        } catch (Exception ex) {
+            log.warn("Could not recover payment saga for order {}: {}", orderId, ex.getMessage());
+            transactionTemplate.executeWithoutResult(status -> sagaRepository.findById(orderId).ifPresent(s -> {
+                s.setRecoveryAttempts(s.getRecoveryAttempts() + 1);
+                s.setLastError(abbreviate(ex.getMessage()));
+                s.setUpdatedAt(LocalDateTime.now());
+            }));
+        }
+    }
+
+    private Order begin(Order order, PaymentMethod paymentMethod) {
+        LocalDateTime now = LocalDateTime.now();
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        Order saved = orderRepository.save(order);
+        sagaRepository.save(PaymentSaga.builder()
+                .orderId(saved.getOrderId())
+                .state(PaymentSagaState.PAYMENT_PENDING)
+                .paymentMethod(paymentMethod)
+                .amount(saved.getTotalAmount())
+                .recoveryAttempts(0)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        log.info("Order {} stored as PENDING_PAYMENT", saved.getOrderId());
+        return saved;
+    }
+
+    private PaymentResponseDTO requestPayment(Order order, PaymentMethod paymentMethod) {
+        PaymentRequestDTO paymentRequest = new PaymentRequestDTO();
+        paymentRequest.setOrderId(order.getOrderId());
+        paymentRequest.setPaymentAmount(order.getTotalAmount());
+        paymentRequest.setPaymentMethod(paymentMethod);
+        paymentRequest.setCreatedBy(order.getUserId().toString());
+
+        log.info("Processing payment with method: {}", paymentMethod);
+        try {
+            return paymentServiceClient.processPayment(paymentRequest);
+        } catch (FeignException.Conflict ex) {
+            // payment-service already holds a payment for this order, e.g. from a retried request
+            return paymentServiceClient.getPaymentByOrderId(order.getOrderId());
+        }
+    }
+
+    /**
+     * Records the payment on the order and settles the saga.
+     *
+     * @return the order as it stands afterwards: PENDING, or CANCELLED if it was cancelled before
+     *         the payment arrived
+     */
+    private Order complete(Long orderId, Long paymentId) {
+        Order order = orderRepository.findByIdWithLock(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        PaymentSaga saga = sagaRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment saga not found"));
+
+        if (order.getStatus() != OrderStatus.PENDING_PAYMENT) {
+            settleLatePayment(order, saga, paymentId);
+            return order;
+        }
+
+        order.setPaymentId(paymentId);
+        order.setStatus(OrderStatus.PENDING);
+        saga.setState(PaymentSagaState.COMPLETED);
+        saga.setPaymentId(paymentId);
+        saga.setUpdatedAt(LocalDateTime.now());
+        orderEventBus.publish(order, OrderEventType.PLACED);
+        log.info("Order placed with ID={} and paymentId={}", orderId, paymentId);
+        return order;
+    }
+
+    /**
+     * A payment for an order that has already left PENDING_PAYMENT. A cancelled order gets the
+     * charge voided; the void queued when it was cancelled may have run before the charge existed.
+     * The payment is recorded on the saga, so a repeated call voids nothing more.
+     */
+    private void settleLatePayment(Order order, PaymentSaga saga, Long paymentId) {
+        if (saga.getState() == PaymentSagaState.COMPLETED || saga.getPaymentId() != null) {
+            return;
+        }
+        saga.setPaymentId(paymentId);
+        saga.setUpdatedAt(LocalDateTime.now());
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            log.warn("Payment {} arrived for cancelled order {}, voiding it", paymentId, order.getOrderId());
+            order.setIdempotencyKey(null);
+            saga.setState(PaymentSagaState.COMPENSATED);
+            orderOutbox.enqueue(order.getOrderId(), OutboxEventType.VOID_PAYMENT, null);
+        } else {
+            // Moved on without the saga, which status updates no longer allow; the charge is its payment
+            log.warn("Payment {} arrived for order {} already {}, recording it", paymentId, order.getOrderId(), order.getStatus());
+            if (order.getPaymentId() == null) {
+                order.setPaymentId(paymentId);
+            }
+            saga.setState(PaymentSagaState.COMPLETED);
+        }
+    }
+
+    private void compensate(Long orderId, String reason) {
+        Order order = orderRepository.findByIdWithLock(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        PaymentSaga saga = sagaRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment saga not found"));
+        if (order.getStatus() != OrderStatus.PENDING_PAYMENT) {
+            if (saga.getState() == PaymentSagaState.PAYMENT_PENDING) {
+                // Settled outside the saga; close it so the sweeper stops picking it up
+                saga.setState(order.getStatus() == OrderStatus.CANCELLED ? PaymentSagaState.COMPENSATED : PaymentSagaState.COMPLETED);
+                saga.setLastError(abbreviate(reason));
+                saga.setUpdatedAt(LocalDateTime.now());
+            }
+            return;
+        }
+
+        order.setStatus(OrderStatus.CANCELLED);
+        order.setIdempotencyKey(null);
+        saga.setState(PaymentSagaState.COMPENSATED);
+        saga.setLastError(abbreviate(reason));
+        saga.setUpdatedAt(LocalDateTime.now());
+        // The call may have failed after payment-service charged; voiding is a no-op otherwise
+        orderOutbox.enqueue(orderId, OutboxEventType.VOID_PAYMENT, null);
+        log.info("Order {} cancelled after failed payment", orderId);
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
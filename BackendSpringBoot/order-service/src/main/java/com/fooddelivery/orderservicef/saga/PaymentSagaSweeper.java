@@ -0,0 +1,64 @@
+package com.fooddelivery.orderservicef.saga;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.orderservicef.model.PaymentSaga;
+import com.fooddelivery.orderservicef.model.PaymentSagaState;
+import com.fooddelivery.orderservicef.repository.PaymentSagaRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically settles payment sagas that have been PAYMENT_PENDING for longer than
+ * {@code order.saga.stuck-after}, i.e. placements interrupted by a crash or restart.
+ * The threshold has to stay well above the payment call timeout so in-flight placements are left alone.
+ */
+@Slf4j
+@Component
+public class PaymentSagaSweeper {
+
+    private final PaymentSagaRepository sagaRepository;
+    private final OrderPlacementSaga orderPlacementSaga;
+    private final Duration stuckAfter;
+    private final Duration sweepInterval;
+    private final int batchSize;
+    private final TaskScheduler taskScheduler;
+
+    public PaymentSagaSweeper(PaymentSagaRepository sagaRepository,
+                              OrderPlacementSaga orderPlacementSaga,
+                              @Value("${order.saga.stuck-after:2m}") Duration stuckAfter,
+                              @Value("${order.saga.sweep-interval:30s}") Duration sweepInterval,
+                              @Value("${order.saga.sweep-batch-size:50}") int batchSize,
+                              TaskScheduler taskScheduler) {
+        this.sagaRepository = sagaRepository;
+        this.orderPlacementSaga = orderPlacementSaga;
+        this.stuckAfter = stuckAfter;
+        this.sweepInterval = sweepInterval;
+        this.batchSize = batchSize;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::sweep, Instant.now().plus(sweepInterval), sweepInterval);
+    }
+
+    void sweep() {
+        List<PaymentSaga> stuck = sagaRepository.findByStateAndUpdatedAtBeforeOrderByUpdatedAt(
+                PaymentSagaState.PAYMENT_PENDING, LocalDateTime.now().minus(stuckAfter), PageRequest.of(0, batchSize));
+        if (!stuck.isEmpty()) {
+            log.info("Recovering {} stuck payment sagas", stuck.size());
+        }
+        stuck.forEach(orderPlacementSaga::recover);
+    }
+}
@@ -0,0 +1,12 @@
+package com.fooddelivery.orderservicef.scheduler;
+
+import com.fooddelivery.orderservicef.model.ScheduledOrderAction;
+
+/**
+ * Carries out a scheduled order action once its deadline has passed.
+ * Must be idempotent: after a crash an action may be fired a second time.
+ */
+public interface OrderDeadlineHandler {
+
+    void onDeadline(ScheduledOrderAction action);
+}
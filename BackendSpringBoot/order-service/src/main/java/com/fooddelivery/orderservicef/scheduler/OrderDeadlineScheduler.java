@@ -0,0 +1,264 @@
+package com.fooddelivery.orderservicef.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddelivery.orderservicef.model.ScheduledActionStatus;
+import com.fooddelivery.orderservicef.model.ScheduledActionType;
+import com.fooddelivery.orderservicef.model.ScheduledOrderAction;
+import com.fooddelivery.orderservicef.repository.ScheduledOrderActionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable scheduler for order deadlines.
+ *
+ * Every deadline is stored as a PENDING row in {@code scheduled_order_action} in the caller's
+ * transaction and, once that transaction commits, placed on an in-memory {@link TimerWheel}.
+ * A tick on the shared {@link TaskScheduler} advances the wheel and hands expired actions, in
+ * batches, to a small worker pool that calls the {@link OrderDeadlineHandler}.
+ *
+ * Several instances may hold the same row on their wheels, so a worker first claims its batch
+ * with one conditional update ({@code claimed_by}, {@code claimed_until} = now +
+ * {@code claim-timeout}) and fires only the rows it won. Fired rows are marked DONE with one
+ * update per batch, retried after {@code retry-delay} if that update fails; failed actions are
+ * retried with a delay until {@code max-attempts} is reached. On startup all PENDING rows are
+ * reloaded, and every {@code rescan-interval} overdue rows nobody holds a claim on are picked up
+ * again, so deadlines survive restarts, instances that died and lost updates.
+ *
+ * Meters: {@code order.scheduler.queue.depth}, {@code order.scheduler.firing.lag} and
+ * {@code order.scheduler.actions} tagged with {@code outcome}.
+ */
+@Slf4j
+@Component
+public class OrderDeadlineScheduler {
+
+    private final ScheduledOrderActionRepository repository;
+    private final OrderDeadlineHandler handler;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration claimTimeout;
+    private final Duration rescanInterval;
+    private final Duration tick;
+
+    private final TimerWheel<ScheduledOrderAction> wheel;
+    private final Object wheelLock = new Object();
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService workers;
+
+    private final Timer firingLag;
+    private final Counter firedCounter;
+    private final Counter failedCounter;
+
+    public OrderDeadlineScheduler(ScheduledOrderActionRepository repository,
+                                  @Lazy OrderDeadlineHandler handler,
+                                  @Value("${order.scheduler.tick:1s}") Duration tick,
+                                  @Value("${order.scheduler.wheel-size:512}") int wheelSize,
+                                  @Value("${order.scheduler.batch-size:100}") int batchSize,
+                                  @Value("${order.scheduler.worker-threads:2}") int workerThreads,
+                                  @Value("${order.scheduler.max-attempts:5}") int maxAttempts,
+                                  @Value("${order.scheduler.retry-delay:10s}") Duration retryDelay,
+                                  @Value("${order.scheduler.claim-timeout:1m}") Duration claimTimeout,
+                                  @Value("${order.scheduler.rescan-interval:1m}") Duration rescanInterval,
+                                  TaskScheduler taskScheduler,
+                                  MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.handler = handler;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.claimTimeout = claimTimeout;
+        this.rescanInterval = rescanInterval;
+        this.tick = tick;
+        this.wheel = new TimerWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.taskScheduler = taskScheduler;
+        CustomizableThreadFactory workerThreadFactory = new CustomizableThreadFactory("order-deadline-worker-");
+        workerThreadFactory.setDaemon(true);
+        this.workers = Executors.newFixedThreadPool(workerThreads, workerThreadFactory);
+
+        Gauge.builder("order.scheduler.queue.depth", this, OrderDeadlineScheduler::queueDepth)
+                .description("Order deadlines waiting on the timer wheel")
+                .register(meterRegistry);
+        this.firingLag = Timer.builder("order.scheduler.firing.lag")
+                .description("Delay between an order deadline and the moment it was fired")
+                .register(meterRegistry);
+        this.firedCounter = Counter.builder("order.scheduler.actions").tag("outcome", "fired").register(meterRegistry);
+        this.failedCounter = Counter.builder("order.scheduler.actions").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<ScheduledOrderAction> pending = repository.findByStatus(ScheduledActionStatus.PENDING);
+        pending.forEach(this::enqueue);
+        log.info("Order deadline scheduler started, {} pending actions reloaded", pending.size());
+        taskScheduler.scheduleAtFixedRate(this::tick, Instant.now().plus(tick), tick);
+        taskScheduler.scheduleWithFixedDelay(this::rescan, Instant.now().plus(rescanInterval), rescanInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+    }
+
+    /**
+     * Persists a deadline for the order. It is put on the wheel only after the surrounding
+     * transaction commits, so a rolled-back status change never fires.
+     */
+    public ScheduledOrderAction schedule(Long orderId, ScheduledActionType actionType, Duration delay) {
+        ScheduledOrderAction action = repository.save(ScheduledOrderAction.builder()
+                .orderId(orderId)
+                .actionType(actionType)
+                .dueAt(LocalDateTime.now().plus(delay))
+                .status(ScheduledActionStatus.PENDING)
+                .attempts(0)
+                .build());
+        log.info("Scheduled {} for orderId={} at {}", actionType, orderId, action.getDueAt());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(action);
+                }
+            });
+        } else {
+            enqueue(action);
+        }
+        return action;
+    }
+
+    public int queueDepth() {
+        synchronized (wheelLock) {
+            return wheel.size();
+        }
+    }
+
+    void tick() {
+        List<TimerWheel.Timeout<ScheduledOrderAction>> expired;
+        synchronized (wheelLock) {
+            expired = wheel.advance(System.currentTimeMillis());
+        }
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<TimerWheel.Timeout<ScheduledOrderAction>> batch =
+                    new ArrayList<>(expired.subList(from, Math.min(from + batchSize, expired.size())));
+            workers.execute(() -> fire(batch));
+        }
+    }
+
+    /**
+     * Puts overdue rows back on the wheel that were lost by this or another instance, e.g. because
+     * their instance stopped or could not mark them DONE. Rows still on a wheel are due less than
+     * one rescan interval ago or are claimed, so they are left alone.
+     */
+    void rescan() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduledOrderAction> overdue = repository.findUnclaimedDueBefore(ScheduledActionStatus.PENDING,
+                now.minus(rescanInterval), now);
+        if (!overdue.isEmpty()) {
+            log.info("Rescheduling {} overdue order actions", overdue.size());
+            overdue.forEach(this::enqueue);
+        }
+    }
+
+    void fire(List<TimerWheel.Timeout<ScheduledOrderAction>> batch) {
+        Set<Long> claimed = claim(batch);
+        List<Long> done = new ArrayList<>(batch.size());
+        for (TimerWheel.Timeout<ScheduledOrderAction> timeout : batch) {
+            ScheduledOrderAction action = timeout.item();
+            if (!claimed.remove(action.getId())) {
+                // Fired or being fired by another instance, or a duplicate within this batch
+                continue;
+            }
+            firingLag.record(Math.max(0, System.currentTimeMillis() - timeout.deadlineMillis()), TimeUnit.MILLISECONDS);
+            try {
+                handler.onDeadline(action);
+                done.add(action.getId());
+                firedCounter.increment();
+            } catch (Exception e) {
+                failedCounter.increment();
+                retryOrGiveUp(action, e);
+            }
+        }
+        if (!done.isEmpty()) {
+            markFired(done, 1);
+            log.debug("Fired {} scheduled order actions", done.size());
+        }
+    }
+
+    private Set<Long> claim(List<TimerWheel.Timeout<ScheduledOrderAction>> batch) {
+        List<Long> ids = batch.stream().map(timeout -> timeout.item().getId()).toList();
+        String claimedBy = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.claim(ids, ScheduledActionStatus.PENDING, claimedBy, now.plus(claimTimeout), now) == 0) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(repository.findIdsClaimedBy(ids, claimedBy));
+    }
+
+    /**
+     * The handler is idempotent, so when the update keeps failing the rows are left PENDING for
+     * the rescan to fire again once their claim has expired.
+     */
+    private void markFired(List<Long> ids, int attempt) {
+        try {
+            repository.markFired(ids, ScheduledActionStatus.DONE, LocalDateTime.now());
+        } catch (Exception e) {
+            if (attempt >= maxAttempts) {
+                log.error("Could not mark {} fired order actions as done after {} attempts", ids.size(), attempt, e);
+                return;
+            }
+            log.warn("Could not mark {} fired order actions as done (attempt {}), retrying in {}: {}", ids.size(),
+                    attempt, retryDelay, e.getMessage());
+            taskScheduler.schedule(() -> markFired(ids, attempt + 1), Instant.now().plus(retryDelay));
+        }
+    }
+
+    private void retryOrGiveUp(ScheduledOrderAction action, Exception cause) {
+        action.setAttempts(action.getAttempts() + 1);
+        if (action.getAttempts() >= maxAttempts) {
+            log.error("Giving up on {} for orderId={} after {} attempts", action.getActionType(),
+                    action.getOrderId(), action.getAttempts(), cause);
+            action.setStatus(ScheduledActionStatus.FAILED);
+            action.setFiredAt(LocalDateTime.now());
+            repository.save(action);
+            return;
+        }
+        log.warn("{} for orderId={} failed (attempt {}), retrying in {}: {}", action.getActionType(),
+                action.getOrderId(), action.getAttempts(), retryDelay, cause.getMessage());
+        action.setDueAt(LocalDateTime.now().plus(retryDelay));
+        enqueue(repository.save(action));
+    }
+
+    private void enqueue(ScheduledOrderAction action) {
+        long deadlineMillis = action.getDueAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (wheelLock) {
+            wheel.schedule(action, deadlineMillis);
+        }
+    }
+}
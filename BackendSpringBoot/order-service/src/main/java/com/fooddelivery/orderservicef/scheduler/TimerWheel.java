@@ -0,0 +1,100 @@
+package com.fooddelivery.orderservicef.scheduler;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: a ring of buckets, each covering one tick.
+ * A deadline lands in the bucket of its tick; deadlines further away than one full turn
+ * carry a round count that is decremented each time the cursor passes the bucket.
+ * Scheduling is O(1) and each tick only touches a single bucket, no matter how many
+ * deadlines are pending.
+ *
+ * Not thread-safe on its own; {@link OrderDeadlineScheduler} guards it with a lock.
+ */
+class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Adds a deadline. Deadlines already in the past fire on the next tick.
+     */
+    void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(0, (deadlineMillis - startMillis + tickMillis - 1) / tickMillis);
+        long tick = Math.max(deadlineTick, currentTick);
+        long rounds = (tick - currentTick) / buckets.length;
+        buckets[(int) (tick & mask)].add(new Timeout<>(item, deadlineMillis, rounds));
+        size++;
+    }
+
+    /**
+     * Moves the cursor up to {@code nowMillis} and returns every deadline that expired on the way.
+     */
+    List<Timeout<T>> advance(long nowMillis) {
+        List<Timeout<T>> expired = new ArrayList<>();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        while (currentTick <= targetTick) {
+            Iterator<Timeout<T>> it = buckets[(int) (currentTick & mask)].iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.rounds <= 0) {
+                    it.remove();
+                    size--;
+                    expired.add(timeout);
+                } else {
+                    timeout.rounds--;
+                }
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private long rounds;
+
+        private Timeout(T item, long deadlineMillis, long rounds) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.rounds = rounds;
+        }
+
+        T item() {
+            return item;
+        }
+
+        long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
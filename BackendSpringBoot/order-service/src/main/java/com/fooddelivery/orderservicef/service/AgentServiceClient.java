@@ -1,21 +1,29 @@
 package com.fooddelivery.orderservicef.service;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import com.fooddelivery.orderservicef.dto.AgentAssignmentDTO;
-import com.fooddelivery.orderservicef.dto.AgentCreateDTO;
 import com.fooddelivery.orderservicef.dto.AgentResponseDTO;
 import com.fooddelivery.orderservicef.dto.DeliveryStatusUpdateRequestDTO;
 
 @FeignClient(name = "DELIVERY-SERVICE")
 public interface AgentServiceClient {
+    /**
+     * Requests a delivery for the order. The response carries the delivery ID and, unless the
+     * delivery had to be queued (status PENDING), the assigned agent.
+     */
     @PostMapping("/api/delivery/assign")
     AgentResponseDTO assignDeliveryAgent
     (@RequestBody AgentAssignmentDTO assignmentDTO);
+
+    @GetMapping("/api/delivery/order/{orderId}")
+    AgentResponseDTO getDeliveryByOrderId(@PathVariable("orderId") Long orderId);
+
     /**
      * Updates the status of a specific delivery in the Delivery Service.
      *
@@ -29,9 +37,4 @@ public interface AgentServiceClient {
             @PathVariable("deliveryId") Long deliveryId,
             @RequestBody DeliveryStatusUpdateRequestDTO statusUpdateDTO
     );
-    
-    @PostMapping("/api/delivery/agentPost")
-	AgentResponseDTO createAgent(AgentCreateDTO newAgent);
-    
-    
 }
\ No newline at end of file
@@ -28,7 +28,7 @@ public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
-    private final MenuServiceClient menuServiceClient; // Assuming this is your Feign client for Menu service
+    private final MenuItemLookup menuItemLookup;
 
     /**
      * Retrieves a user's cart. If no cart exists, returns an empty CartDTO.
@@ -73,7 +73,7 @@ public class CartServiceImpl implements CartService {
         Long menuItemId = cartItemDTO.getMenuItemId();
 
         // 1. Fetch MenuItemDTO from Menu Service to get actual item details and restaurant ID
-        MenuItemDTO menuItemDTO = menuServiceClient.getMenuItemById(menuItemId);
+        MenuItemDTO menuItemDTO = menuItemLookup.getMenuItem(menuItemId);
         if (menuItemDTO == null) {
             throw new ResourceNotFoundException("Menu item with ID " + menuItemId + " not found in the restaurant's menu.");
         }
@@ -0,0 +1,123 @@
+package com.fooddelivery.orderservicef.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.orderservicef.dto.CustomerInvalidationMessage;
+import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded in-process cache of customer profiles keyed by userId.
+ * Entries expire after a fixed TTL and are evicted by Caffeine's W-TinyLFU policy once the
+ * size bound is reached. Hit/miss/eviction counts are published under the
+ * {@code cache.*} meters with {@code cache=customerProfiles}.
+ * Customer-service pushes a {@link CustomerInvalidationMessage} whenever a profile changes.
+ * Each invalidation bumps a per-customer generation; a profile fetched before the bump is
+ * not cached, so an invalidation that lands during a batch fetch is never lost.
+ */
+@Slf4j
+@Component
+public class CustomerProfileCache {
+
+    static final String CACHE_NAME = "customerProfiles";
+
+    private final Cache<Long, CustomerProfileDTO> cache;
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CustomerProfileCache(@Value("${customer.profile-cache.ttl:5m}") Duration ttl,
+                                @Value("${customer.profile-cache.max-size:10000}") long maxSize,
+                                MeterRegistry meterRegistry) {
+        this(ttl, maxSize, meterRegistry, ForkJoinPool.commonPool(), Ticker.systemTicker());
+    }
+
+    CustomerProfileCache(Duration ttl, long maxSize, MeterRegistry meterRegistry, Executor executor, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .executor(executor)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Customer profile cache initialised with ttl={} and maxSize={}", ttl, maxSize);
+    }
+
+    /**
+     * Returns the cached profiles for the given ids; ids that are not cached are simply absent.
+     */
+    public Map<Long, CustomerProfileDTO> getAllPresent(Collection<Long> userIds) {
+        return cache.getAllPresent(userIds);
+    }
+
+    /**
+     * Returns the current generation of each id. Take it before fetching the profiles and hand
+     * it to {@link #putAll(Collection, Map)} so profiles invalidated meanwhile are left out.
+     */
+    public Map<Long, Long> generations(Collection<Long> userIds) {
+        Map<Long, Long> current = new HashMap<>();
+        for (Long userId : userIds) {
+            current.put(userId, generation(userId));
+        }
+        return current;
+    }
+
+    /**
+     * Caches profiles returned by customer-service, skipping any whose customer was invalidated
+     * after {@code generations} was taken. Placeholder profiles must not be passed here,
+     * otherwise an outage would be served from cache until the entry expires.
+     */
+    public void putAll(Collection<CustomerProfileDTO> profiles, Map<Long, Long> generations) {
+        for (CustomerProfileDTO profile : profiles) {
+            if (profile == null || profile.getId() == null) {
+                continue;
+            }
+            Long fetchedAt = generations.get(profile.getId());
+            if (fetchedAt == null || fetchedAt != generation(profile.getId())) {
+                continue;
+            }
+            cache.put(profile.getId(), profile);
+            // An invalidation between the check and the put has already bumped the generation
+            if (fetchedAt != generation(profile.getId())) {
+                cache.asMap().remove(profile.getId(), profile);
+            }
+        }
+    }
+
+    public void invalidate(CustomerInvalidationMessage message) {
+        log.debug("Invalidating cached profile for customer ID: {}", message.getCustomerId());
+        generations.computeIfAbsent(message.getCustomerId(), id -> new AtomicLong()).incrementAndGet();
+        cache.invalidate(message.getCustomerId());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private long generation(Long userId) {
+        AtomicLong generation = generations.get(userId);
+        return generation == null ? 0L : generation.get();
+    }
+}
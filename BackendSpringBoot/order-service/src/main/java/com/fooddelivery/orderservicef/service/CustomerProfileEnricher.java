@@ -0,0 +1,84 @@
+package com.fooddelivery.orderservicef.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills in customer name and phone on a batch of orders.
+ * The distinct userIds of the batch are first looked up in the {@link CustomerProfileCache};
+ * the remaining ones are resolved with a single call to customer-service, and any id that
+ * could not be resolved gets the {@link CustomerServiceClientFallback} profile.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerProfileEnricher {
+
+    private final CustomerServiceClient customerServiceClient;
+    private final CustomerServiceClientFallback customerServiceClientFallback;
+    private final CustomerProfileCache customerProfileCache;
+
+    public void enrich(List<OrderDTO> orders) {
+        List<Long> userIds = orders.stream()
+                .map(OrderDTO::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, CustomerProfileDTO> profiles = resolveProfiles(userIds);
+        for (OrderDTO dto : orders) {
+            CustomerProfileDTO profile = profiles.get(dto.getUserId());
+            if (profile != null) {
+                dto.setCustomerName(profile.getName());
+                dto.setCustomerPhone(profile.getPhone() != null ? profile.getPhone().toString() : null);
+            }
+        }
+    }
+
+    private Map<Long, CustomerProfileDTO> resolveProfiles(List<Long> userIds) {
+        Map<Long, CustomerProfileDTO> profiles = new HashMap<>(customerProfileCache.getAllPresent(userIds));
+        List<Long> missing = userIds.stream()
+                .filter(id -> !profiles.containsKey(id))
+                .toList();
+        if (missing.isEmpty()) {
+            return profiles;
+        }
+
+        Map<Long, Long> generations = customerProfileCache.generations(missing);
+        try {
+            List<CustomerProfileDTO> found = customerServiceClient.getCustomerProfiles(missing);
+            if (found != null) {
+                for (CustomerProfileDTO profile : found) {
+                    if (profile != null && profile.getId() != null) {
+                        profiles.put(profile.getId(), profile);
+                    }
+                }
+                customerProfileCache.putAll(found, generations);
+            }
+            log.debug("Fetched {} of {} uncached customer profiles in batch", found != null ? found.size() : 0, missing.size());
+        } catch (Exception e) {
+            log.warn("Failed to fetch customer details for {} users, Error: {}", missing.size(), e.getMessage());
+        }
+
+        // Unknown or unreachable customers get the same placeholder as a single failed lookup.
+        // Placeholders are not cached, so the real profile shows up as soon as the service recovers.
+        for (Long userId : missing) {
+            profiles.computeIfAbsent(userId,
+                    id -> customerServiceClientFallback.getCustomerProfile(id.toString(), "CUSTOMER"));
+        }
+        return profiles;
+    }
+}
@@ -1,7 +1,11 @@
 package com.fooddelivery.orderservicef.service;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
 import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
@@ -14,4 +18,11 @@ public interface CustomerServiceClient {
         @RequestHeader("X-Internal-User-Id") String customerId,
         @RequestHeader("X-Internal-User-Roles") String roles
     );
-} 
\ No newline at end of file
+
+    /**
+     * Resolves several customer profiles in one call.
+     * Unknown ids are left out of the response.
+     */
+    @PostMapping("/internal/customers/batch")
+    List<CustomerProfileDTO> getCustomerProfiles(@RequestBody List<Long> customerIds);
+}
@@ -1,5 +1,7 @@
 package com.fooddelivery.orderservicef.service;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
@@ -24,4 +26,12 @@ public class CustomerServiceClientFallback implements CustomerServiceClient {
         
         return fallback;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public List<CustomerProfileDTO> getCustomerProfiles(List<Long> customerIds) {
+        log.warn("Customer service is unavailable, returning fallback data for {} customers", customerIds.size());
+        return customerIds.stream()
+                .map(id -> getCustomerProfile(id.toString(), "CUSTOMER"))
+                .toList();
+    }
+} 
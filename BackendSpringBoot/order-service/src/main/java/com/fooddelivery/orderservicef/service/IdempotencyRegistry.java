@@ -0,0 +1,142 @@
+package com.fooddelivery.orderservicef.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.exception.OrderInProgressException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes order placement idempotent per Idempotency-Key without a database round trip in the common case.
+ *
+ * Requests with a key that is currently being placed wait on the same future instead of racing
+ * the first one to the unique constraint. Keys that completed recently are remembered in a bounded,
+ * expiring map of key to orderId. Keys this instance has never seen fall through to the caller,
+ * which checks the database; the unique constraint on {@code idempotency_key} remains the last word
+ * across instances.
+ *
+ * Meters: {@code order.idempotency.duplicates} tagged with {@code source}
+ * (cache, in_flight, database, constraint).
+ */
+@Slf4j
+@Component
+public class IdempotencyRegistry {
+
+    public enum Source { CACHE, IN_FLIGHT, DATABASE, CONSTRAINT }
+
+    private final ConcurrentMap<String, CompletableFuture<OrderDTO>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Long> completed;
+    private final Duration waitTimeout;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public IdempotencyRegistry(@Value("${order.idempotency.ttl:24h}") Duration ttl,
+                               @Value("${order.idempotency.max-keys:100000}") long maxKeys,
+                               @Value("${order.idempotency.wait-timeout:35s}") Duration waitTimeout,
+                               MeterRegistry meterRegistry) {
+        this(ttl, maxKeys, waitTimeout, meterRegistry, Ticker.systemTicker());
+    }
+
+    IdempotencyRegistry(Duration ttl, long maxKeys, Duration waitTimeout, MeterRegistry meterRegistry, Ticker ticker) {
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxKeys)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+        this.waitTimeout = waitTimeout;
+        this.meterRegistry = meterRegistry;
+        for (Source source : Source.values()) {
+            duplicates(source);
+        }
+    }
+
+    /**
+     * Runs {@code placement} at most once per key at a time on this instance.
+     *
+     * @param loadExisting loads the order of a key that already completed
+     */
+    public OrderDTO placeOnce(String idempotencyKey, Supplier<OrderDTO> placement, Function<Long, OrderDTO> loadExisting) {
+        Long orderId = completed.getIfPresent(idempotencyKey);
+        if (orderId != null) {
+            recordDuplicate(Source.CACHE, idempotencyKey);
+            return loadExisting.apply(orderId);
+        }
+
+        CompletableFuture<OrderDTO> mine = new CompletableFuture<>();
+        CompletableFuture<OrderDTO> existing = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (existing != null) {
+            recordDuplicate(Source.IN_FLIGHT, idempotencyKey);
+            return await(existing);
+        }
+
+        try {
+            OrderDTO result = placement.get();
+            if (result != null && result.getOrderId() != null) {
+                completed.put(idempotencyKey, result.getOrderId());
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            // Waiters see the same failure. Nothing is remembered for the key, and a failed payment
+            // also frees it in the database, so a later retry places a new order
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    /**
+     * Called by the placement itself when it finds the key already taken in the database.
+     */
+    public void recordDuplicate(Source source, String idempotencyKey) {
+        log.warn("Duplicate order for idempotencyKey={} ({})", idempotencyKey, source);
+        duplicates(source).increment();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private OrderDTO await(CompletableFuture<OrderDTO> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new OrderInProgressException("An order with this Idempotency-Key is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate order request", ex);
+        }
+    }
+
+    private Counter duplicates(Source source) {
+        return Counter.builder("order.idempotency.duplicates")
+                .description("Order requests answered from an earlier request with the same Idempotency-Key")
+                .tag("source", source.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
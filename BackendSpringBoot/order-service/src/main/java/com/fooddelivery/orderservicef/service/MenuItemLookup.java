@@ -0,0 +1,108 @@
+package com.fooddelivery.orderservicef.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fooddelivery.orderservicef.dto.MenuItemDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches menu items from menu-service with conditional GETs.
+ * The last item and its ETag are kept in a bounded cache; every lookup still revalidates with
+ * menu-service, which answers 304 without a body while the item is unchanged. A price change
+ * therefore shows up on the very next add-to-cart.
+ *
+ * Meters: {@code cache.*} with {@code cache=menuItems} and {@code menu.item.revalidations}
+ * tagged with {@code result}.
+ */
+@Slf4j
+@Component
+public class MenuItemLookup {
+
+    static final String CACHE_NAME = "menuItems";
+
+    private final MenuServiceClient menuServiceClient;
+    private final Cache<Long, ValidatedItem> items;
+    private final Counter notModified;
+    private final Counter modified;
+
+    @Autowired
+    public MenuItemLookup(MenuServiceClient menuServiceClient,
+                          @Value("${menu.item-cache.max-size:10000}") long maxSize,
+                          MeterRegistry meterRegistry) {
+        this(menuServiceClient, maxSize, meterRegistry, ForkJoinPool.commonPool());
+    }
+
+    MenuItemLookup(MenuServiceClient menuServiceClient, long maxSize, MeterRegistry meterRegistry, Executor executor) {
+        this.menuServiceClient = menuServiceClient;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, items, CACHE_NAME);
+        this.notModified = Counter.builder("menu.item.revalidations").tag("result", "not_modified").register(meterRegistry);
+        this.modified = Counter.builder("menu.item.revalidations").tag("result", "modified").register(meterRegistry);
+    }
+
+    /**
+     * Returns the current menu item, or {@code null} when menu-service sends no body.
+     */
+    public MenuItemDTO getMenuItem(Long menuItemId) {
+        ValidatedItem cached = items.getIfPresent(menuItemId);
+        ResponseEntity<MenuItemDTO> response;
+        try {
+            response = menuServiceClient.getMenuItemById(menuItemId, cached == null ? null : cached.eTag());
+        } catch (FeignException e) {
+            if (cached != null && e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                notModified.increment();
+                return cached.item();
+            }
+            throw e;
+        }
+
+        MenuItemDTO item = response.getBody();
+        String eTag = response.getHeaders().getETag();
+        if (item != null && eTag != null) {
+            items.put(menuItemId, new ValidatedItem(eTag, item));
+        } else {
+            items.invalidate(menuItemId);
+        }
+        if (cached != null) {
+            modified.increment();
+            log.debug("Menu item {} changed, new ETag {}", menuItemId, eTag);
+        }
+        return item;
+    }
+
+    private static final class ValidatedItem {
+        private final String eTag;
+        private final MenuItemDTO item;
+
+        private ValidatedItem(String eTag, MenuItemDTO item) {
+            this.eTag = eTag;
+            this.item = item;
+        }
+
+        String eTag() {
+            return eTag;
+        }
+
+        MenuItemDTO item() {
+            return item;
+        }
+    }
+}
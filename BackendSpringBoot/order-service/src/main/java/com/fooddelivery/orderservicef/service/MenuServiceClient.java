@@ -1,8 +1,8 @@
 package com.fooddelivery.orderservicef.service;
 
-import java.util.UUID;
-
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -11,7 +11,13 @@ import com.fooddelivery.orderservicef.dto.MenuItemDTO;
 
 @FeignClient(name = "MENU-SERVICE")
 public interface MenuServiceClient {
+
+    /**
+     * Conditional GET: when {@code ifNoneMatch} still matches, menu-service answers 304 and
+     * Feign raises a {@link feign.FeignException} with that status. See {@link MenuItemLookup}.
+     */
     @GetMapping("/api/menu/{itemId}")
-    MenuItemDTO getMenuItemById(
-            @PathVariable Long itemId);
-}
\ No newline at end of file
+    ResponseEntity<MenuItemDTO> getMenuItemById(
+            @PathVariable Long itemId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+}
@@ -0,0 +1,64 @@
+package com.fooddelivery.orderservicef.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.fooddelivery.orderservicef.exception.InvalidOperationException;
+import com.fooddelivery.orderservicef.model.Order;
+
+/**
+ * Opaque keyset position in order history: the (orderTime, orderId) of the last order on a page.
+ * Encoded as URL-safe base64 so clients treat it as a token rather than building it themselves.
+ */
+final class OrderCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final LocalDateTime orderTime;
+    private final Long orderId;
+
+    OrderCursor(LocalDateTime orderTime, Long orderId) {
+        this.orderTime = orderTime;
+        this.orderId = orderId;
+    }
+
+    static OrderCursor after(Order order) {
+        return new OrderCursor(order.getOrderTime(), order.getOrderId());
+    }
+
+    /**
+     * Returns null for a blank cursor (first page).
+     * Throws InvalidOperationException when the token was not produced by {@link #encode()}.
+     */
+    static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidOperationException("Invalid order history cursor");
+            }
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidOperationException("Invalid order history cursor");
+        }
+    }
+
+    String encode() {
+        return ENCODER.encodeToString((orderTime + "|" + orderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime orderTime() {
+        return orderTime;
+    }
+
+    Long orderId() {
+        return orderId;
+    }
+}
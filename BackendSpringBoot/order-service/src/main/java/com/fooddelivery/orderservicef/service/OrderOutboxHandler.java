@@ -0,0 +1,119 @@
+package com.fooddelivery.orderservicef.service;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservicef.dto.AgentAssignmentDTO;
+import com.fooddelivery.orderservicef.dto.AgentResponseDTO;
+import com.fooddelivery.orderservicef.dto.DeliveryStatusUpdateRequestDTO;
+import com.fooddelivery.orderservicef.exception.ResourceNotFoundException;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.OutboxStatus;
+import com.fooddelivery.orderservicef.outbox.OutboxEventHandler;
+import com.fooddelivery.orderservicef.repository.OrderRepository;
+import com.fooddelivery.orderservicef.repository.OutboxEventRepository;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs the delivery-service calls recorded in the order outbox.
+ *
+ * An order may be completed before its agent assignment has been delivered. The assignment is
+ * then skipped so no agent is taken for it, and marking the delivery DELIVERED waits for an
+ * assignment still in the outbox, so an agent assigned meanwhile is released.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxHandler implements OutboxEventHandler {
+
+    private final AgentServiceClient agentServiceClient;
+    private final PaymentServiceClient paymentServiceClient;
+    private final OrderRepository orderRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        switch (event.getEventType()) {
+            case ASSIGN_DELIVERY_AGENT -> assignDeliveryAgent(event.getOrderId());
+            case MARK_DELIVERY_DELIVERED -> updateDeliveryStatus(event);
+            case VOID_PAYMENT -> voidPayment(event.getOrderId());
+        }
+    }
+
+    private void assignDeliveryAgent(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found for agent assignment"));
+        if (order.getDeliveryId() != null) {
+            log.info("Order {} already has delivery {}, skipping assignment", orderId, order.getDeliveryId());
+            return;
+        }
+        if (order.getStatus() != OrderStatus.OUT_FOR_DELIVERY) {
+            log.info("Order {} is {} before an agent was assigned, skipping assignment", orderId, order.getStatus());
+            return;
+        }
+
+        // Delivery-service picks an agent from its fleet, or queues the delivery until one is free
+        AgentResponseDTO delivery;
+        try {
+            delivery = agentServiceClient.assignDeliveryAgent(
+                    new AgentAssignmentDTO(orderId, order.getRestaurantId(), order.getDeliveryAddress()));
+        } catch (FeignException.Conflict e) {
+            // A previous attempt got through but its outcome was not recorded
+            delivery = agentServiceClient.getDeliveryByOrderId(orderId);
+        }
+
+        orderRepository.recordDelivery(orderId, delivery.getDeliveryId(), delivery.getAgentId());
+
+        log.info("Delivery {} created for order {}. Agent ID={}, status={}", delivery.getDeliveryId(), orderId,
+                delivery.getAgentId(), delivery.getStatus());
+    }
+
+    private void voidPayment(Long orderId) {
+        try {
+            paymentServiceClient.voidPayment(orderId);
+            log.info("Payment voided for cancelled order {}", orderId);
+        } catch (FeignException.NotFound e) {
+            log.info("No payment to void for cancelled order {}", orderId);
+        }
+    }
+
+    private void updateDeliveryStatus(OutboxEvent event) throws Exception {
+        Order order = orderRepository.findById(event.getOrderId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found for delivery status update"));
+        Long deliveryId = order.getDeliveryId() != null ? order.getDeliveryId() : findDeliveryId(order.getOrderId());
+        if (deliveryId == null) {
+            log.info("Order {} was completed before a delivery was created, no delivery status to update",
+                    order.getOrderId());
+            return;
+        }
+        DeliveryStatusUpdateRequestDTO statusUpdate =
+                objectMapper.readValue(event.getPayload(), DeliveryStatusUpdateRequestDTO.class);
+
+        agentServiceClient.updateDeliveryStatus(deliveryId, statusUpdate);
+        log.info("Delivery status updated to {} in delivery-service for deliveryId={}",
+                statusUpdate.getStatus(), deliveryId);
+    }
+
+    /**
+     * The delivery of an order whose id was never recorded, or null if delivery-service has none.
+     * Throws, so the event is retried, while the assignment is still waiting in the outbox.
+     */
+    private Long findDeliveryId(Long orderId) {
+        if (outboxEventRepository.existsByOrderIdAndEventTypeAndStatus(orderId, OutboxEventType.ASSIGN_DELIVERY_AGENT,
+                OutboxStatus.PENDING)) {
+            throw new IllegalStateException("Delivery agent for order " + orderId + " is still being assigned");
+        }
+        try {
+            return agentServiceClient.getDeliveryByOrderId(orderId).getDeliveryId();
+        } catch (FeignException.NotFound e) {
+            return null;
+        }
+    }
+}
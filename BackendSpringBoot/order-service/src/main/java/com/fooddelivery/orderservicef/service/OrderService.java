@@ -3,6 +3,8 @@ package com.fooddelivery.orderservicef.service;
 import java.util.List;
 
 import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.dto.OrderHistoryFilterDTO;
+import com.fooddelivery.orderservicef.dto.OrderPageDTO;
 import com.fooddelivery.orderservicef.dto.OrderRequestDTO;
 import com.fooddelivery.orderservicef.dto.OrderStatusUpdateDTO;
 import com.fooddelivery.orderservicef.model.OrderStatus;
@@ -17,6 +19,10 @@ public interface OrderService {
 
     List<OrderDTO> getRestaurantOrders(Long restaurantId);
 
+    OrderPageDTO getUserOrderHistory(Long userId, OrderHistoryFilterDTO filter);
+
+    OrderPageDTO getRestaurantOrderHistory(Long restaurantId, OrderHistoryFilterDTO filter);
+
     OrderDTO getOrderDetails(Long orderId);
 
     boolean orderExists(String idempotencyKey);
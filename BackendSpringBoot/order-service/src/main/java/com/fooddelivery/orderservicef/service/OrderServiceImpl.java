@@ -1,44 +1,51 @@
 package com.fooddelivery.orderservicef.service;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fooddelivery.orderservicef.dto.AgentAssignmentDTO;
-import com.fooddelivery.orderservicef.dto.AgentCreateDTO;
-import com.fooddelivery.orderservicef.dto.AgentResponseDTO;
 // New import
 import com.fooddelivery.orderservicef.dto.CartDTO;
-import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
 import com.fooddelivery.orderservicef.dto.DeliveryStatus;
 import com.fooddelivery.orderservicef.dto.DeliveryStatusUpdateRequestDTO;
 import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.dto.OrderHistoryFilterDTO;
+import com.fooddelivery.orderservicef.dto.OrderPageDTO;
 import com.fooddelivery.orderservicef.dto.OrderItemDTO;
+import com.fooddelivery.orderservicef.dto.OrderItemRowDTO;
 import com.fooddelivery.orderservicef.dto.OrderRequestDTO;
 import com.fooddelivery.orderservicef.dto.OrderStatusUpdateDTO;
 import com.fooddelivery.orderservicef.dto.PaymentMethod;
-import com.fooddelivery.orderservicef.dto.PaymentRequestDTO;
-import com.fooddelivery.orderservicef.dto.PaymentResponseDTO;
+import com.fooddelivery.orderservicef.events.OrderEventBus;
+import com.fooddelivery.orderservicef.events.OrderEventType;
 import com.fooddelivery.orderservicef.exception.InvalidOperationException;
+import com.fooddelivery.orderservicef.exception.OrderInProgressException;
 import com.fooddelivery.orderservicef.exception.ResourceNotFoundException;
 import com.fooddelivery.orderservicef.model.Order;
 import com.fooddelivery.orderservicef.model.OrderItem;
 import com.fooddelivery.orderservicef.model.OrderStatus;
-import com.fooddelivery.orderservicef.service.AgentServiceClient;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.ScheduledActionType;
+import com.fooddelivery.orderservicef.model.ScheduledOrderAction;
+import com.fooddelivery.orderservicef.outbox.OrderOutbox;
+import com.fooddelivery.orderservicef.saga.OrderPlacementSaga;
+import com.fooddelivery.orderservicef.scheduler.OrderDeadlineHandler;
+import com.fooddelivery.orderservicef.scheduler.OrderDeadlineScheduler;
 import com.fooddelivery.orderservicef.service.CartServiceImpl;
-import com.fooddelivery.orderservicef.service.PaymentServiceClient;
 import com.fooddelivery.orderservicef.service.RestaurantServiceClient;
-import com.fooddelivery.orderservicef.repository.OrderItemRepository;
 import com.fooddelivery.orderservicef.repository.OrderRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -46,49 +53,62 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
-public class OrderServiceImpl implements OrderService {
+public class OrderServiceImpl implements OrderService, OrderDeadlineHandler {
+
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 	
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
     private final CartServiceImpl cartServiceImpl;
-    private final PaymentServiceClient paymentServiceClient;
     private final RestaurantServiceClient restaurantServiceClient;
-    private final AgentServiceClient agentServiceClient; // Changed type
-    private final CustomerServiceClient customerServiceClient;
+    private final CustomerProfileEnricher customerProfileEnricher;
+    private final OrderDeadlineScheduler orderDeadlineScheduler;
+    private final OrderEventBus orderEventBus;
+    private final OrderOutbox orderOutbox;
+    private final OrderPlacementSaga orderPlacementSaga;
+    private final IdempotencyRegistry idempotencyRegistry;
     
     
    
     public OrderServiceImpl(OrderRepository orderRepository,
-                            OrderItemRepository orderItemRepository,
                             CartServiceImpl cartServiceImpl,
-                            PaymentServiceClient paymentServiceClient,
                             RestaurantServiceClient restaurantServiceClient,
-                            AgentServiceClient agentServiceClient, // Changed parameter type
-                            CustomerServiceClient customerServiceClient) {
+                            CustomerProfileEnricher customerProfileEnricher,
+                            OrderDeadlineScheduler orderDeadlineScheduler,
+                            OrderEventBus orderEventBus,
+                            OrderOutbox orderOutbox,
+                            OrderPlacementSaga orderPlacementSaga,
+                            IdempotencyRegistry idempotencyRegistry) {
         this.orderRepository = orderRepository;
-        this.orderItemRepository = orderItemRepository;
         this.cartServiceImpl = cartServiceImpl;
-        this.paymentServiceClient = paymentServiceClient;
         this.restaurantServiceClient = restaurantServiceClient;
-        this.agentServiceClient = agentServiceClient; // Changed assignment
-        this.customerServiceClient = customerServiceClient;
+        this.customerProfileEnricher = customerProfileEnricher;
+        this.orderDeadlineScheduler = orderDeadlineScheduler;
+        this.orderEventBus = orderEventBus;
+        this.orderOutbox = orderOutbox;
+        this.orderPlacementSaga = orderPlacementSaga;
+        this.idempotencyRegistry = idempotencyRegistry;
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE, timeout = 30)
+    /**
+     * Not transactional on purpose: the order and its payment are handled by the
+     * {@link OrderPlacementSaga} in two short transactions with the payment call in between.
+     */
     public OrderDTO placeOrder(OrderRequestDTO request, String idempotencyKey) {
     log.info("Received place order request: userId={}, restaurantId={}, idempotencyKey={}",
             request.getUserId(), request.getRestaurantId(), idempotencyKey);
 
+    // Concurrent retries with the same key share one placement instead of racing to the unique constraint
+    return idempotencyRegistry.placeOnce(idempotencyKey, () -> doPlaceOrder(request, idempotencyKey), this::loadOrder);
+}
+
+private OrderDTO doPlaceOrder(OrderRequestDTO request, String idempotencyKey) {
     try {
-        // Idempotency check
-        if (orderRepository.existsByIdempotencyKey(idempotencyKey)) {
-            log.warn("Duplicate order for idempotencyKey={}", idempotencyKey);
-            return orderRepository.findByidempotencyKey(idempotencyKey)
-                    .map(this::convertToDTO)
-                    .orElseThrow(() -> {
-                        log.error("Idempotency key exists but order not found. Key={}", idempotencyKey);
-                        return new IllegalStateException("Inconsistent idempotency state");
-                    });
+        // Idempotency check for keys placed before this instance started or by another instance
+        Optional<Order> existing = orderRepository.findByidempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            idempotencyRegistry.recordDuplicate(IdempotencyRegistry.Source.DATABASE, idempotencyKey);
+            return settledOrder(existing.get());
         }
 
         Long userId = request.getUserId();
@@ -105,53 +125,34 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOperationException("Cannot place order with empty items");
         }
 
-        double totalAmount = items.stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                .sum();
+        double totalAmount = calculateTotalAmount(items);
         log.info("Total order amount: {}", totalAmount);
 
-        // ✅ Step 1: Create and save the order first
         Order order = createOrder(request, idempotencyKey, totalAmount);
-        List<OrderItem> orderItems = convertRequestItemsToOrderItems(items, order);
-        order.setItems(orderItems);
+        order.setItems(convertRequestItemsToOrderItems(items, order));
 
-        Order savedOrder = orderRepository.save(order);
-        orderItemRepository.saveAll(orderItems);
-
-        // ✅ Step 2: Process payment with valid orderId
-        PaymentResponseDTO paymentResponse;
+        // ✅ Use payment method from request, default to Card if not specified
+        String paymentMethodStr = request.getPaymentMethod() != null ? request.getPaymentMethod() : "Card";
+        PaymentMethod paymentMethod;
         try {
-            PaymentRequestDTO paymentRequest = new PaymentRequestDTO();
-            paymentRequest.setOrderId(savedOrder.getOrderId()); // ✅ FIXED
-            paymentRequest.setPaymentAmount(totalAmount);
-            // ✅ Use payment method from request, default to Card if not specified
-            String paymentMethodStr = request.getPaymentMethod() != null ? request.getPaymentMethod() : "Card";
-            PaymentMethod paymentMethod;
-            try {
-                paymentMethod = PaymentMethod.valueOf(paymentMethodStr);
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid payment method '{}', defaulting to Card", paymentMethodStr);
-                paymentMethod = PaymentMethod.Card;
-            }
-            paymentRequest.setPaymentMethod(paymentMethod);
-            paymentRequest.setCreatedBy(userId.toString());
-
-            log.info("Processing payment with method: {}", paymentMethod);
-            paymentResponse = paymentServiceClient.processPayment(paymentRequest);
-            log.info("Payment successful. Payment ID={}", paymentResponse.getPaymentId());
-        } catch (Exception ex) {
-            log.error("Payment failed for orderId={}", savedOrder.getOrderId(), ex);
-            throw new InvalidOperationException("Payment processing failed");
+            paymentMethod = PaymentMethod.valueOf(paymentMethodStr);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid payment method '{}', defaulting to Card", paymentMethodStr);
+            paymentMethod = PaymentMethod.Card;
         }
 
-        // ✅ Step 3: Update order with payment ID
-        savedOrder.setPaymentId(paymentResponse.getPaymentId());
-        orderRepository.save(savedOrder); // Optional: persist paymentId
-
-        log.info("Order placed with ID={} and paymentId={}", savedOrder.getOrderId(), savedOrder.getPaymentId());
-        return convertToDTO(savedOrder);
+        Order placedOrder;
+        try {
+            placedOrder = orderPlacementSaga.place(order, paymentMethod);
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance inserted the same key between our lookup and insert
+            Order winner = orderRepository.findByidempotencyKey(idempotencyKey).orElseThrow(() -> ex);
+            idempotencyRegistry.recordDuplicate(IdempotencyRegistry.Source.CONSTRAINT, idempotencyKey);
+            return settledOrder(winner);
+        }
+        return convertToDTO(placedOrder);
 
-    } catch (InvalidOperationException | ResourceNotFoundException ex) {
+    } catch (InvalidOperationException | ResourceNotFoundException | OrderInProgressException ex) {
         log.error("Business validation failed during order placement", ex);
         throw ex;
     } catch (Exception ex) {
@@ -161,6 +162,23 @@ public class OrderServiceImpl implements OrderService {
 }
 
 
+/**
+ * The order an earlier request with the same key placed. One still waiting for its payment is not
+ * an answer yet; a failed payment releases the key, so such orders are never found here.
+ */
+private OrderDTO settledOrder(Order order) {
+    if (order.getStatus() == OrderStatus.PENDING_PAYMENT) {
+        throw new OrderInProgressException("Order " + order.getOrderId() + " is still waiting for its payment");
+    }
+    return convertToDTOs(List.of(order)).get(0);
+}
+
+private OrderDTO loadOrder(Long orderId) {
+    return orderRepository.findById(orderId)
+            .map(order -> convertToDTOs(List.of(order)).get(0))
+            .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+}
+
 private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items, Order order) {
     return items.stream()
         .map(dto -> {
@@ -194,6 +212,12 @@ private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items
                 throw new InvalidOperationException("Restaurant is not authorized to update this order");
             }
 
+            if (order.getStatus() == OrderStatus.PENDING_PAYMENT) {
+                // Only the payment saga moves an order on once payment-service has charged it
+                log.warn("Status update rejected for orderId={} still awaiting payment", order.getOrderId());
+                throw new InvalidOperationException("Order is still awaiting payment");
+            }
+
             if (!order.getStatus().canTransitionTo(statusUpdateDTO.getStatus())) {
                 log.warn("Invalid status transition from {} to {}",
                         order.getStatus(), statusUpdateDTO.getStatus());
@@ -207,6 +231,7 @@ private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items
             handleStatusUpdatesAfterTransition(order);
 
             Order updatedOrder = orderRepository.save(order);
+            orderEventBus.publish(updatedOrder, OrderEventType.STATUS_CHANGED);
 
             log.info("Order status updated successfully for orderId={} to status={}",
                     updatedOrder.getOrderId(), updatedOrder.getStatus());
@@ -225,17 +250,59 @@ private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items
     @Transactional(readOnly = true)
     public List<OrderDTO> getUserOrders(Long userId) {
         log.info("user orders retrieved !");
-        return orderRepository.findByUserId(userId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(orderRepository.findByUserId(userId));
     }
 
     @Transactional(readOnly = true)
     public List<OrderDTO> getRestaurantOrders(Long restaurantId) {
         log.info("restaurant orders retrieved !");
-        return orderRepository.findByRestaurantId(restaurantId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(orderRepository.findByRestaurantId(restaurantId));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageDTO getUserOrderHistory(Long userId, OrderHistoryFilterDTO filter) {
+        OrderCursor cursor = OrderCursor.decode(filter.getCursor());
+        int limit = pageLimit(filter);
+        validateRange(filter);
+        List<Order> rows = orderRepository.findUserOrderPage(userId, filter.getStatus(), filter.getFrom(), filter.getTo(),
+                cursor == null ? null : cursor.orderTime(), cursor == null ? null : cursor.orderId(),
+                PageRequest.of(0, limit + 1));
+        log.info("user order history page retrieved for userId={} ({} rows)", userId, Math.min(rows.size(), limit));
+        return toPage(rows, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageDTO getRestaurantOrderHistory(Long restaurantId, OrderHistoryFilterDTO filter) {
+        OrderCursor cursor = OrderCursor.decode(filter.getCursor());
+        int limit = pageLimit(filter);
+        validateRange(filter);
+        List<Order> rows = orderRepository.findRestaurantOrderPage(restaurantId, filter.getStatus(), filter.getFrom(),
+                filter.getTo(), cursor == null ? null : cursor.orderTime(), cursor == null ? null : cursor.orderId(),
+                PageRequest.of(0, limit + 1));
+        log.info("restaurant order history page retrieved for restaurantId={} ({} rows)", restaurantId,
+                Math.min(rows.size(), limit));
+        return toPage(rows, limit);
+    }
+
+    private int pageLimit(OrderHistoryFilterDTO filter) {
+        if (filter.getLimit() <= 0) {
+            return DEFAULT_HISTORY_PAGE_SIZE;
+        }
+        return Math.min(filter.getLimit(), MAX_HISTORY_PAGE_SIZE);
+    }
+
+    private void validateRange(OrderHistoryFilterDTO filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new InvalidOperationException("'from' must be before 'to'");
+        }
+    }
+
+    /** One extra row is fetched to know whether another page exists without a count query. */
+    private OrderPageDTO toPage(List<Order> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<Order> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? OrderCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new OrderPageDTO(convertToDTOs(page), nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
@@ -298,8 +365,8 @@ private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items
         log.info("=== DELETE ORDER OPERATION COMPLETED ===");
     }
 
-    private double calculateTotalAmount(CartDTO cartDTO) {
-        return cartDTO.getItems().stream()
+    public static double calculateTotalAmount(List<OrderItemDTO> items) {
+        return items.stream()
                 .mapToDouble(item -> item.getPrice() * item.getQuantity())
                 .sum();
     }
@@ -330,46 +397,33 @@ private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items
                 .collect(Collectors.toList());
     }
 
-    private PaymentResponseDTO processPayment(Order order) {
-            PaymentRequestDTO paymentRequest = new PaymentRequestDTO();
-            paymentRequest.setOrderId(order.getOrderId());
-            paymentRequest.setPaymentAmount(order.getTotalAmount());
-            // ✅ Use Cash as default for this method since it's used for order updates
-            paymentRequest.setPaymentMethod(PaymentMethod.Cash);
-            paymentRequest.setCreatedBy(order.getUserId().toString());
-            return paymentServiceClient.processPayment(paymentRequest);
-        }
-
     private void handleStatusUpdatesAfterTransition(Order order) {
         if (order.getStatus() == OrderStatus.OUT_FOR_DELIVERY) {
-            assignDeliveryAgent(order);
-            CompletableFuture.runAsync(() -> {
-                try {
-                    Thread.sleep(Duration.ofSeconds(30 + new Random().nextInt(16)).toMillis());
-                    completeOrderAsync(order.getOrderId());
-                } catch (InterruptedException ignored) {
-                    Thread.currentThread().interrupt(); // Restore interrupt status
-                    log.warn("Order auto-completion interrupted for orderId={}", order.getOrderId());
-                }
-            });
+            // The agent is assigned by the outbox relay once this transaction has committed
+            orderOutbox.enqueue(order.getOrderId(), OutboxEventType.ASSIGN_DELIVERY_AGENT, null);
+            // Auto-complete the delivery after 30-45 seconds; the deadline is persisted so it survives restarts
+            orderDeadlineScheduler.schedule(order.getOrderId(), ScheduledActionType.AUTO_COMPLETE,
+                    Duration.ofSeconds(30 + ThreadLocalRandom.current().nextInt(16)));
         } else if (order.getStatus() == OrderStatus.COMPLETED) {
             order.setDeliveryTime(LocalDateTime.now());
-            // New: Update delivery status in delivery-service when order is completed
-            if (order.getDeliveryId() != null) {
-                try {
-                    DeliveryStatusUpdateRequestDTO statusUpdate = DeliveryStatusUpdateRequestDTO.builder()
-                            .status(DeliveryStatus.DELIVERED) // Matches DeliveryStatus.DELIVERED enum name
-                            .estimatedDeliveryTime(LocalDateTime.now()) // Set actual delivery time
-                            .build();
-                    agentServiceClient.updateDeliveryStatus(order.getDeliveryId(), statusUpdate);
-                    log.info("Delivery status updated to DELIVERED in delivery-service for deliveryId={}", order.getDeliveryId());
-                } catch (Exception e) {
-                    log.error("Failed to update delivery status in delivery-service for orderId={}: {}", order.getOrderId(), e.getMessage());
-                    // Consider retry mechanism or alerting if this is critical
-                }
-            } else {
-                log.warn("Order {} completed but no deliveryId found. Cannot update delivery-service status.", order.getOrderId());
-            }
+            // Update delivery status in delivery-service; recorded in the outbox and retried until it succeeds.
+            // The delivery may still be being assigned, so its id is looked up when the event is handled.
+            DeliveryStatusUpdateRequestDTO statusUpdate = DeliveryStatusUpdateRequestDTO.builder()
+                    .status(DeliveryStatus.DELIVERED) // Matches DeliveryStatus.DELIVERED enum name
+                    .estimatedDeliveryTime(order.getDeliveryTime()) // Set actual delivery time
+                    .build();
+            orderOutbox.enqueue(order.getOrderId(), OutboxEventType.MARK_DELIVERY_DELIVERED, statusUpdate);
+        }
+    }
+
+    /**
+     * Called by the {@link OrderDeadlineScheduler} once a scheduled order action is due.
+     */
+    @Override
+    @Transactional
+    public void onDeadline(ScheduledOrderAction action) {
+        if (action.getActionType() == ScheduledActionType.AUTO_COMPLETE) {
+            completeOrderAsync(action.getOrderId());
         }
     }
 
@@ -382,35 +436,50 @@ private List<OrderItem> convertRequestItemsToOrderItems(List<OrderItemDTO> items
             o.setStatus(OrderStatus.COMPLETED);
             o.setDeliveryTime(LocalDateTime.now());
             orderRepository.save(o);
+            orderEventBus.publish(o, OrderEventType.STATUS_CHANGED);
             log.info("Order auto-completed via async flow, orderId={}", orderId);
             // After auto-completion, call handleStatusUpdatesAfterTransition to propagate status
             handleStatusUpdatesAfterTransition(o);
         }
     }
 
-private void assignDeliveryAgent(Order order) {
-    // Step 1: Create a new agent with status ASSIGNED
-    AgentCreateDTO newAgent = new AgentCreateDTO();
-    newAgent.setAgentName("AutoAgent_" + UUID.randomUUID());
-    newAgent.setAgentPhoneNumber("9999999999"); // You can randomize this if needed
-    newAgent.setAgentStatus("ASSIGNED");
-
-    AgentResponseDTO createdAgent = agentServiceClient.createAgent(newAgent);
-
-    // Step 2: Assign agent to order
-    order.setDeliveryAgentId(createdAgent.getAgentId());
-
-    // Step 3: Save the order
-    orderRepository.save(order);
-
-    log.info("New agent assigned to order. Agent ID={}", createdAgent.getAgentId());
-}
-
 
        
     public OrderDTO convertToDTO(Order order) {
-        log.info("Converting Order to DTO: {}", order.getOrderId());
         if (order == null) return null;
+        log.info("Converting Order to DTO: {}", order.getOrderId());
+
+        List<OrderItemDTO> items = order.getItems() == null
+                ? Collections.emptyList()
+                : order.getItems().stream().map(this::convertToDTO).collect(Collectors.toList());
+        OrderDTO dto = mapToDTO(order, items);
+        customerProfileEnricher.enrich(List.of(dto));
+        return dto;
+    }
+
+    /**
+     * Converts a page of orders. The items of all orders are read with one id-IN query
+     * (the lazy items collections are never touched) and the customer details with one
+     * batched customer-service call, so the cost does not grow with the page size.
+     */
+    public List<OrderDTO> convertToDTOs(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> orderIds = orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+        Map<Long, List<OrderItemDTO>> itemsByOrder = orderRepository.findItemRowsByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemRowDTO::getOrderId,
+                        Collectors.mapping(row -> new OrderItemDTO(row.getMenuItemId(), row.getItemName(),
+                                row.getQuantity(), row.getPrice()), Collectors.toList())));
+
+        List<OrderDTO> dtos = orders.stream()
+                .map(order -> mapToDTO(order, itemsByOrder.getOrDefault(order.getOrderId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+        customerProfileEnricher.enrich(dtos);
+        return dtos;
+    }
+
+    private OrderDTO mapToDTO(Order order, List<OrderItemDTO> items) {
 
         OrderDTO dto = new OrderDTO();
         dto.setOrderId(order.getOrderId());
@@ -425,42 +494,7 @@ private void assignDeliveryAgent(Order order) {
         dto.setIdempotencyKey(order.getIdempotencyKey());
         dto.setDeliveryAgentId(order.getDeliveryAgentId());
         dto.setDeliveryId(order.getDeliveryId()); // Map the new deliveryId field
-
-        // Fetch and set customer information
-        if (order.getUserId() != null) {
-            try {
-                CustomerProfileDTO customerProfile = customerServiceClient.getCustomerProfile(
-                    order.getUserId().toString(), "CUSTOMER");
-                if (customerProfile != null) {
-                    dto.setCustomerName(customerProfile.getName());
-                    dto.setCustomerPhone(customerProfile.getPhone() != null ? customerProfile.getPhone().toString() : null);
-                    log.debug("Successfully fetched customer details for user ID: {}, Name: {}", 
-                             order.getUserId(), customerProfile.getName());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to fetch customer details for user ID: {}, Error: {}", 
-                        order.getUserId(), e.getMessage());
-                // Set fallback values if customer service is unavailable
-                dto.setCustomerName("Customer #" + order.getUserId());
-                dto.setCustomerPhone(null);
-            }
-        }
-
-        if (order.getItems() != null) {
-            List<OrderItemDTO> items = order.getItems().stream()
-                .map(item -> {
-                    OrderItemDTO itemDTO = new OrderItemDTO();
-                    itemDTO.setMenuItemId(item.getMenuItemId());
-                    itemDTO.setItemName(item.getItemName());
-                    itemDTO.setQuantity(item.getQuantity());
-                    itemDTO.setPrice(item.getPrice());
-                    return itemDTO;
-                })
-                .collect(Collectors.toList());
-            dto.setItems(items);
-        } else {
-            dto.setItems(Collections.emptyList());
-        }
+        dto.setItems(items);
         return dto;
     }
       
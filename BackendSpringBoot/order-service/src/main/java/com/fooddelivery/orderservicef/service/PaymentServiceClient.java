@@ -3,6 +3,9 @@ package com.fooddelivery.orderservicef.service;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -21,4 +24,10 @@ public interface PaymentServiceClient {
     PaymentResponseDTO processPayment(
         @RequestBody PaymentRequestDTO request
     );
+
+    @GetMapping("/api/payments/order/{orderId}")
+    PaymentResponseDTO getPaymentByOrderId(@PathVariable("orderId") Long orderId);
+
+    @DeleteMapping("/api/payments/order/{orderId}")
+    String voidPayment(@PathVariable("orderId") Long orderId);
 }
\ No newline at end of file
@@ -6,8 +6,18 @@ CREATE INDEX idx_orders_restaurant_id ON orders(restaurant_id);
 
 CREATE INDEX idx_orders_status ON orders(status);
 
+CREATE INDEX idx_orders_user_time ON orders(user_id, order_time, order_id);
+
+CREATE INDEX idx_orders_restaurant_time ON orders(restaurant_id, order_time, order_id);
+
 CREATE INDEX idx_carts_user_id ON carts(user_id);
 
+CREATE INDEX idx_scheduled_action_status_due ON scheduled_order_action(status, due_at);
+
+CREATE INDEX idx_order_outbox_status_next ON order_outbox(status, next_attempt_at);
+
+CREATE INDEX idx_payment_saga_state_updated ON payment_saga(state, updated_at);
+
 -- Add NOT NULL constraints (if missing)
 
 ALTER TABLE carts ALTER COLUMN restaurant_id SET NOT NULL;
@@ -10,7 +10,7 @@ CREATE TABLE orders (
 
     status VARCHAR(20) NOT NULL CHECK (status IN (
 
-        'PENDING', 'ACCEPTED', 'DECLINED',
+        'PENDING_PAYMENT', 'PENDING', 'ACCEPTED', 'DECLINED',
 
         'IN_COOKING', 'OUT_FOR_DELIVERY',
 
@@ -89,3 +89,81 @@ CREATE TABLE cart_items (
     FOREIGN KEY (cart_id) REFERENCES carts(id) ON DELETE CASCADE
 
 );
+
+-- Durable order deadlines (e.g. auto-completing a delivery)
+
+CREATE TABLE scheduled_order_action (
+
+    id BIGINT PRIMARY KEY,
+
+    order_id BIGINT NOT NULL,
+
+    action_type VARCHAR(30) NOT NULL,
+
+    due_at TIMESTAMP NOT NULL,
+
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'DONE', 'FAILED')),
+
+    attempts INTEGER NOT NULL DEFAULT 0,
+
+    claimed_by VARCHAR(36),
+
+    claimed_until TIMESTAMP,
+
+    fired_at TIMESTAMP
+
+);
+
+-- Transactional outbox: side effects of order changes still to be delivered to other services
+
+CREATE TABLE order_outbox (
+
+    id BIGINT PRIMARY KEY,
+
+    order_id BIGINT NOT NULL,
+
+    event_type VARCHAR(40) NOT NULL,
+
+    payload TEXT,
+
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'DONE', 'FAILED')),
+
+    attempts INTEGER NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP NOT NULL,
+
+    next_attempt_at TIMESTAMP NOT NULL,
+
+    locked_until TIMESTAMP,
+
+    processed_at TIMESTAMP,
+
+    last_error VARCHAR(500)
+
+);
+
+-- Payment step of order placement (saga state), one row per order
+
+CREATE TABLE payment_saga (
+
+    order_id BIGINT PRIMARY KEY,
+
+    state VARCHAR(20) NOT NULL CHECK (state IN ('PAYMENT_PENDING', 'COMPLETED', 'COMPENSATED')),
+
+    payment_method VARCHAR(20) NOT NULL,
+
+    amount DECIMAL(10, 2) NOT NULL,
+
+    payment_id BIGINT,
+
+    recovery_attempts INTEGER NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP NOT NULL,
+
+    updated_at TIMESTAMP NOT NULL,
+
+    last_error VARCHAR(500),
+
+    FOREIGN KEY (order_id) REFERENCES orders(order_id) ON DELETE CASCADE
+
+);
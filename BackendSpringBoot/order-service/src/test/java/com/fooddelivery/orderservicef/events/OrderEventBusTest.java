@@ -0,0 +1,142 @@
+package com.fooddelivery.orderservicef.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.orderservicef.dto.OrderEventDTO;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+
+class OrderEventBusTest {
+
+    private static final String EPOCH = "boot1";
+
+    @Test
+    void liveEventsAreNumberedInOrder() {
+        OrderEventBus bus = new OrderEventBus(16, EPOCH);
+        RecordingListener listener = new RecordingListener(Integer.MAX_VALUE);
+        bus.subscribe(listener, null);
+
+        bus.publish(order(1L, OrderStatus.PENDING), OrderEventType.PLACED);
+        bus.publish(order(1L, OrderStatus.ACCEPTED), OrderEventType.STATUS_CHANGED);
+
+        assertEquals(List.of(1L, 2L), listener.eventIds());
+        assertEquals(OrderStatus.ACCEPTED, listener.events.get(1).getStatus());
+    }
+
+    @Test
+    void resumeReplaysOnlyEventsAfterLastEventId() {
+        OrderEventBus bus = new OrderEventBus(16, EPOCH);
+        for (long id = 1; id <= 5; id++) {
+            bus.publish(order(id, OrderStatus.PENDING), OrderEventType.PLACED);
+        }
+        RecordingListener listener = new RecordingListener(Integer.MAX_VALUE);
+
+        assertTrue(bus.subscribe(listener, EPOCH + "-3"));
+        bus.publish(order(6L, OrderStatus.PENDING), OrderEventType.PLACED);
+
+        assertEquals(List.of(4L, 5L, 6L), listener.eventIds());
+    }
+
+    @Test
+    void resumeReportsGapOnceEventsLeftTheRingBuffer() {
+        OrderEventBus bus = new OrderEventBus(4, EPOCH);
+        for (long id = 1; id <= 10; id++) {
+            bus.publish(order(id, OrderStatus.PENDING), OrderEventType.PLACED);
+        }
+        RecordingListener listener = new RecordingListener(Integer.MAX_VALUE);
+
+        assertFalse(bus.subscribe(listener, EPOCH + "-2"));
+        assertEquals(List.of(7L, 8L, 9L, 10L), listener.eventIds());
+    }
+
+    @Test
+    void resumeWithIdFromBeforeRestartReportsGap() {
+        OrderEventBus bus = new OrderEventBus(4, EPOCH);
+        bus.publish(order(1L, OrderStatus.PENDING), OrderEventType.PLACED);
+
+        assertFalse(bus.subscribe(new RecordingListener(Integer.MAX_VALUE), EPOCH + "-500"));
+    }
+
+    @Test
+    void resumeWithIdOfAnEarlierStartReportsGapAndReplaysNothing() {
+        OrderEventBus beforeRestart = new OrderEventBus(16, EPOCH);
+        RecordingListener client = new RecordingListener(Integer.MAX_VALUE);
+        beforeRestart.subscribe(client, null);
+        for (long id = 1; id <= 3; id++) {
+            beforeRestart.publish(order(id, OrderStatus.PENDING), OrderEventType.PLACED);
+        }
+        String lastStreamId = beforeRestart.streamId(client.events.get(2));
+
+        // The restarted service has numbered more events than the client saw, so a plain counter would look valid
+        OrderEventBus afterRestart = new OrderEventBus(16, "boot2");
+        for (long id = 1; id <= 5; id++) {
+            afterRestart.publish(order(id, OrderStatus.PENDING), OrderEventType.PLACED);
+        }
+        RecordingListener resumed = new RecordingListener(Integer.MAX_VALUE);
+
+        assertFalse(afterRestart.subscribe(resumed, lastStreamId));
+        assertEquals(List.of(), resumed.eventIds());
+        afterRestart.publish(order(6L, OrderStatus.PENDING), OrderEventType.PLACED);
+        assertEquals(List.of(6L), resumed.eventIds());
+        assertEquals("boot2-6", afterRestart.streamId(resumed.events.get(0)));
+    }
+
+    @Test
+    void resumeWithMalformedIdReportsGap() {
+        OrderEventBus bus = new OrderEventBus(4, EPOCH);
+        bus.publish(order(1L, OrderStatus.PENDING), OrderEventType.PLACED);
+
+        assertFalse(bus.subscribe(new RecordingListener(Integer.MAX_VALUE), "1"));
+        assertFalse(bus.subscribe(new RecordingListener(Integer.MAX_VALUE), EPOCH + "-x"));
+    }
+
+    @Test
+    void listenerThatCannotKeepUpIsDropped() {
+        OrderEventBus bus = new OrderEventBus(16, EPOCH);
+        RecordingListener slow = new RecordingListener(2);
+        RecordingListener fast = new RecordingListener(Integer.MAX_VALUE);
+        bus.subscribe(slow, null);
+        bus.subscribe(fast, null);
+
+        for (long id = 1; id <= 5; id++) {
+            bus.publish(order(id, OrderStatus.PENDING), OrderEventType.PLACED);
+        }
+
+        assertEquals(2, slow.events.size());
+        assertEquals(5, fast.events.size());
+        assertEquals(1, bus.subscriberCount());
+    }
+
+    private static Order order(Long orderId, OrderStatus status) {
+        return Order.builder().orderId(orderId).userId(10L).restaurantId(20L).status(status).totalAmount(250).build();
+    }
+
+    private static class RecordingListener implements OrderEventListener {
+        private final int capacity;
+        private final List<OrderEventDTO> events = new ArrayList<>();
+
+        RecordingListener(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(OrderEventDTO event) {
+            if (events.size() >= capacity) {
+                return false;
+            }
+            events.add(event);
+            return true;
+        }
+
+        List<Long> eventIds() {
+            return events.stream().map(OrderEventDTO::getEventId).toList();
+        }
+    }
+}
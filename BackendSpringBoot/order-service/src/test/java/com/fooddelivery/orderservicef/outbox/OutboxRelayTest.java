@@ -0,0 +1,176 @@
+package com.fooddelivery.orderservicef.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.OutboxStatus;
+import com.fooddelivery.orderservicef.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the relay against H2 without a surrounding test transaction,
+ * so each batch commits the way it does in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = OutboxEvent.class)
+    @EnableJpaRepositories(basePackageClasses = OutboxEventRepository.class)
+    static class JpaSliceConfig {
+    }
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void deliversDueEventsInBatchesAndMarksThemDone() {
+        List<Long> delivered = new ArrayList<>();
+        OutboxRelay relay = relay(event -> delivered.add(event.getOrderId()), 2, 5);
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            repository.save(pending(orderId));
+        }
+
+        relay.poll();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), delivered);
+        assertEquals(5, repository.countByStatus(OutboxStatus.DONE));
+        assertEquals(5.0, meterRegistry.get("order.outbox.events").tag("outcome", "delivered").counter().count());
+    }
+
+    @Test
+    void failedDeliveryIsRetriedLaterThenGivenUp() {
+        List<Long> attempts = new ArrayList<>();
+        OutboxRelay relay = relay(event -> {
+            attempts.add(event.getOrderId());
+            throw new IllegalStateException("delivery-service unavailable");
+        }, 10, 2);
+        Long id = repository.save(pending(7L)).getId();
+
+        relay.poll();
+        OutboxEvent afterFirst = repository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, afterFirst.getStatus());
+        assertEquals(1, afterFirst.getAttempts());
+        assertEquals("delivery-service unavailable", afterFirst.getLastError());
+        assertTrue(afterFirst.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        relay.poll();
+        assertEquals(1, attempts.size(), "event is not retried before its backoff has elapsed");
+
+        afterFirst.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        repository.save(afterFirst);
+        relay.poll();
+
+        OutboxEvent afterSecond = repository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.FAILED, afterSecond.getStatus());
+        assertNotNull(afterSecond.getProcessedAt());
+        assertEquals(2, attempts.size());
+    }
+
+    @Test
+    void handlerRunsOutsideAnyTransactionOnALeasedRow() {
+        List<Long> seenByOtherRelay = new ArrayList<>();
+        OutboxRelay otherRelay = relay(event -> seenByOtherRelay.add(event.getOrderId()), 10, 5);
+        List<Boolean> transactionActive = new ArrayList<>();
+        OutboxRelay relay = relay(event -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            OutboxEvent stored = repository.findById(event.getId()).orElseThrow();
+            assertNotNull(stored.getLockedUntil(), "the lease is committed before the call");
+            // A second instance polling meanwhile must not pick up the event being delivered
+            otherRelay.poll();
+        }, 10, 5);
+        Long id = repository.save(pending(8L)).getId();
+
+        relay.poll();
+
+        assertEquals(List.of(false), transactionActive);
+        assertTrue(seenByOtherRelay.isEmpty());
+        OutboxEvent delivered = repository.findById(id).orElseThrow();
+        assertEquals(OutboxStatus.DONE, delivered.getStatus());
+        assertNull(delivered.getLockedUntil());
+    }
+
+    @Test
+    void expiredLeaseMakesEventDueAgain() {
+        List<Long> delivered = new ArrayList<>();
+        OutboxRelay relay = relay(event -> delivered.add(event.getOrderId()), 10, 5);
+        OutboxEvent abandoned = pending(9L);
+        abandoned.setLockedUntil(LocalDateTime.now().plusMinutes(1));
+        Long id = repository.save(abandoned).getId();
+
+        relay.poll();
+        assertTrue(delivered.isEmpty(), "a leased event is left to the relay holding the lease");
+
+        abandoned = repository.findById(id).orElseThrow();
+        abandoned.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        repository.save(abandoned);
+        relay.poll();
+
+        assertEquals(List.of(9L), delivered);
+        assertEquals(OutboxStatus.DONE, repository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        OutboxRelay relay = relay(event -> { }, 10, 10);
+
+        assertEquals(Duration.ofSeconds(2), relay.backoff(1));
+        assertEquals(Duration.ofSeconds(8), relay.backoff(3));
+        assertEquals(Duration.ofMinutes(1), relay.backoff(9));
+    }
+
+    private OutboxRelay relay(OutboxEventHandler handler, int batchSize, int maxAttempts) {
+        return new OutboxRelay(repository, handler, transactionManager, batchSize, maxAttempts,
+                Duration.ofSeconds(2), Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofMinutes(2), mock(TaskScheduler.class), meterRegistry);
+    }
+
+    private static OutboxEvent pending(Long orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .orderId(orderId)
+                .eventType(OutboxEventType.ASSIGN_DELIVERY_AGENT)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(now.minusSeconds(1))
+                .nextAttemptAt(now.minusSeconds(1))
+                .build();
+    }
+}
@@ -0,0 +1,375 @@
+package com.fooddelivery.orderservicef.saga;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.dto.OrderItemDTO;
+import com.fooddelivery.orderservicef.dto.OrderRequestDTO;
+import com.fooddelivery.orderservicef.dto.OrderStatusUpdateDTO;
+import com.fooddelivery.orderservicef.dto.PaymentMethod;
+import com.fooddelivery.orderservicef.dto.PaymentRequestDTO;
+import com.fooddelivery.orderservicef.dto.PaymentResponseDTO;
+import com.fooddelivery.orderservicef.events.OrderEventBus;
+import com.fooddelivery.orderservicef.exception.InvalidOperationException;
+import com.fooddelivery.orderservicef.exception.OrderInProgressException;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderItem;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.PaymentSaga;
+import com.fooddelivery.orderservicef.model.PaymentSagaState;
+import com.fooddelivery.orderservicef.outbox.OrderOutbox;
+import com.fooddelivery.orderservicef.repository.OrderRepository;
+import com.fooddelivery.orderservicef.repository.PaymentSagaRepository;
+import com.fooddelivery.orderservicef.scheduler.OrderDeadlineScheduler;
+import com.fooddelivery.orderservicef.service.CustomerProfileEnricher;
+import com.fooddelivery.orderservicef.service.IdempotencyRegistry;
+import com.fooddelivery.orderservicef.service.OrderServiceImpl;
+import com.fooddelivery.orderservicef.service.PaymentServiceClient;
+
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the saga against H2 without a surrounding test transaction, so each step commits on its own.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderPlacementSagaTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class JpaSliceConfig {
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentSagaRepository sagaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StubPaymentService paymentService;
+    private OrderOutbox orderOutbox;
+    private OrderPlacementSaga saga;
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new StubPaymentService();
+        orderOutbox = mock(OrderOutbox.class);
+        saga = new OrderPlacementSaga(orderRepository, sagaRepository, paymentService, orderOutbox,
+                mock(OrderEventBus.class), transactionManager);
+        IdempotencyRegistry idempotencyRegistry = new IdempotencyRegistry(Duration.ofHours(1), 1000,
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+        orderService = new OrderServiceImpl(orderRepository, null, null, mock(CustomerProfileEnricher.class),
+                mock(OrderDeadlineScheduler.class), mock(OrderEventBus.class), orderOutbox, saga, idempotencyRegistry);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sagaRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void successfulPaymentCompletesOrder() {
+        Order placed = saga.place(newOrder("key-1"), PaymentMethod.Card);
+
+        Order stored = orderRepository.findById(placed.getOrderId()).orElseThrow();
+        assertEquals(OrderStatus.PENDING, stored.getStatus());
+        assertEquals(placed.getPaymentId(), stored.getPaymentId());
+        assertEquals(PaymentSagaState.COMPLETED, sagaRepository.findById(placed.getOrderId()).orElseThrow().getState());
+    }
+
+    @Test
+    void failedPaymentCancelsOrderAndVoidsAnyCharge() {
+        paymentService.failing = true;
+
+        assertThrows(InvalidOperationException.class, () -> saga.place(newOrder("key-2"), PaymentMethod.Card));
+
+        Order stored = orderRepository.findAll().get(0);
+        assertEquals(OrderStatus.CANCELLED, stored.getStatus());
+        assertNull(stored.getIdempotencyKey());
+        assertEquals(PaymentSagaState.COMPENSATED, sagaRepository.findById(stored.getOrderId()).orElseThrow().getState());
+        verify(orderOutbox).enqueue(stored.getOrderId(), OutboxEventType.VOID_PAYMENT, null);
+    }
+
+    @Test
+    void recoveryCompletesSagaWhenPaymentServiceHasThePayment() {
+        PaymentSaga stuck = stuckSaga("key-3");
+        paymentService.payments.put(stuck.getOrderId(), 99L);
+
+        saga.recover(stuck);
+
+        assertEquals(OrderStatus.PENDING, orderRepository.findById(stuck.getOrderId()).orElseThrow().getStatus());
+        assertEquals(99L, sagaRepository.findById(stuck.getOrderId()).orElseThrow().getPaymentId());
+        verify(orderOutbox, never()).enqueue(stuck.getOrderId(), OutboxEventType.VOID_PAYMENT, null);
+    }
+
+    @Test
+    void recoveryCancelsOrderWhenNoPaymentExists() {
+        PaymentSaga stuck = stuckSaga("key-4");
+
+        saga.recover(stuck);
+
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(stuck.getOrderId()).orElseThrow().getStatus());
+        assertTrue(orderRepository.findByidempotencyKey("key-4").isEmpty());
+        verify(orderOutbox).enqueue(eq(stuck.getOrderId()), eq(OutboxEventType.VOID_PAYMENT), isNull());
+    }
+
+    @Test
+    void retryWithSameKeyAfterFailedPaymentPlacesNewOrder() {
+        paymentService.failing = true;
+        assertThrows(InvalidOperationException.class, () -> orderService.placeOrder(orderRequest(), "key-5"));
+
+        paymentService.failing = false;
+        OrderDTO retried = orderService.placeOrder(orderRequest(), "key-5");
+
+        assertEquals(OrderStatus.PENDING, retried.getStatus());
+        Order cancelled = orderRepository.findAll().stream()
+                .filter(order -> order.getStatus() == OrderStatus.CANCELLED)
+                .findFirst().orElseThrow();
+        assertNotEquals(cancelled.getOrderId(), retried.getOrderId());
+        assertEquals(retried.getOrderId(), orderRepository.findByidempotencyKey("key-5").orElseThrow().getOrderId());
+    }
+
+    @Test
+    void retryWhilePaymentIsPendingIsNotAnsweredAsSuccess() {
+        PaymentSaga stuck = stuckSaga("key-6");
+
+        assertThrows(OrderInProgressException.class, () -> orderService.placeOrder(orderRequest(), "key-6"));
+
+        assertEquals(1, orderRepository.count());
+        assertEquals(OrderStatus.PENDING_PAYMENT, orderRepository.findById(stuck.getOrderId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void restaurantCannotMoveOrderOutOfPendingPayment() {
+        PaymentSaga stuck = stuckSaga("key-7");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        for (OrderStatus target : List.of(OrderStatus.PENDING, OrderStatus.CANCELLED)) {
+            assertThrows(InvalidOperationException.class, () -> transaction.executeWithoutResult(status ->
+                    orderService.updateOrderStatus(new OrderStatusUpdateDTO(stuck.getOrderId(), target, 2L))));
+        }
+
+        assertEquals(OrderStatus.PENDING_PAYMENT, orderRepository.findById(stuck.getOrderId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void paymentArrivingAfterSweeperCancelledOrderIsVoided() {
+        // The sweeper gives up on the order while payment-service is still charging it
+        paymentService.duringPayment = orderId -> saga.recover(sagaRepository.findById(orderId).orElseThrow());
+
+        InvalidOperationException thrown = assertThrows(InvalidOperationException.class,
+                () -> saga.place(newOrder("key-8"), PaymentMethod.Card));
+
+        assertTrue(thrown.getMessage().contains("cancelled"));
+        Order stored = orderRepository.findAll().get(0);
+        assertEquals(OrderStatus.CANCELLED, stored.getStatus());
+        PaymentSaga settled = sagaRepository.findById(stored.getOrderId()).orElseThrow();
+        assertEquals(PaymentSagaState.COMPENSATED, settled.getState());
+        assertEquals(paymentService.payments.get(stored.getOrderId()), settled.getPaymentId());
+        // One void from the cancellation, one for the charge that landed after it
+        verify(orderOutbox, times(2)).enqueue(stored.getOrderId(), OutboxEventType.VOID_PAYMENT, null);
+    }
+
+    @Test
+    void cancelledOrderWithPendingSagaIsSettledAndVoidedOnce() {
+        PaymentSaga stuck = stuckSaga("key-9");
+        cancelOutsideSaga(stuck.getOrderId());
+        paymentService.payments.put(stuck.getOrderId(), 77L);
+
+        saga.recover(stuck);
+        saga.recover(stuck);
+
+        PaymentSaga settled = sagaRepository.findById(stuck.getOrderId()).orElseThrow();
+        assertEquals(PaymentSagaState.COMPENSATED, settled.getState());
+        assertEquals(77L, settled.getPaymentId());
+        verify(orderOutbox, times(1)).enqueue(stuck.getOrderId(), OutboxEventType.VOID_PAYMENT, null);
+    }
+
+    @Test
+    void orderMovedOnDuringPaymentKeepsThePayment() {
+        paymentService.duringPayment = orderId -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            order.setStatus(OrderStatus.PENDING);
+            orderRepository.save(order);
+        };
+
+        Order placed = saga.place(newOrder("key-10"), PaymentMethod.Card);
+
+        Order stored = orderRepository.findById(placed.getOrderId()).orElseThrow();
+        assertEquals(OrderStatus.PENDING, placed.getStatus());
+        assertEquals(paymentService.payments.get(stored.getOrderId()), stored.getPaymentId());
+        assertEquals(stored.getPaymentId(), placed.getPaymentId());
+        assertEquals(PaymentSagaState.COMPLETED, sagaRepository.findById(stored.getOrderId()).orElseThrow().getState());
+        verify(orderOutbox, never()).enqueue(stored.getOrderId(), OutboxEventType.VOID_PAYMENT, null);
+    }
+
+    /**
+     * Concurrent placements overlap their payment calls because no database lock or connection is
+     * held meanwhile. Every payment call waits until all of them are in flight, which could never
+     * happen if each placement kept its order locked, or one of the ten pooled connections busy,
+     * across the call (the old SERIALIZABLE transaction).
+     */
+    @Test
+    void concurrentPlacementsDoNotSerializeOnPaymentLatency() throws Exception {
+        int orders = 16;
+        paymentService.inFlight = new CountDownLatch(orders);
+        ExecutorService clients = Executors.newFixedThreadPool(orders);
+        List<Future<Order>> results = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            String key = "load-" + i;
+            results.add(clients.submit(() -> saga.place(newOrder(key), PaymentMethod.Card)));
+        }
+        for (Future<Order> result : results) {
+            assertEquals(OrderStatus.PENDING, result.get(30, TimeUnit.SECONDS).getStatus());
+        }
+        clients.shutdown();
+    }
+
+    private PaymentSaga stuckSaga(String idempotencyKey) {
+        Order order = newOrder(idempotencyKey);
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        Order saved = orderRepository.save(order);
+        LocalDateTime longAgo = LocalDateTime.now().minusMinutes(10);
+        return sagaRepository.save(PaymentSaga.builder()
+                .orderId(saved.getOrderId())
+                .state(PaymentSagaState.PAYMENT_PENDING)
+                .paymentMethod(PaymentMethod.Card)
+                .amount(saved.getTotalAmount())
+                .createdAt(longAgo)
+                .updatedAt(longAgo)
+                .build());
+    }
+
+    private void cancelOutsideSaga(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        order.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(order);
+    }
+
+    private static OrderRequestDTO orderRequest() {
+        return new OrderRequestDTO(1L, 2L, "Street 1", List.of(new OrderItemDTO(5L, "Dosa", 2, 150)), "Card");
+    }
+
+    private static Order newOrder(String idempotencyKey) {
+        Order order = Order.builder()
+                .userId(1L)
+                .restaurantId(2L)
+                .status(OrderStatus.PENDING)
+                .totalAmount(300)
+                .orderTime(LocalDateTime.now())
+                .deliveryAddress("Street 1")
+                .idempotencyKey(idempotencyKey)
+                .build();
+        order.setItems(new ArrayList<>(List.of(OrderItem.builder().order(order).menuItemId(5L).itemName("Dosa")
+                .quantity(2).price(150).build())));
+        return order;
+    }
+
+    private static class StubPaymentService implements PaymentServiceClient {
+        private final AtomicLong ids = new AtomicLong(1000);
+        private final Map<Long, Long> payments = new ConcurrentHashMap<>();
+        private volatile boolean failing;
+        private volatile CountDownLatch inFlight;
+        private volatile Consumer<Long> duringPayment;
+
+        @Override
+        public PaymentResponseDTO processPayment(PaymentRequestDTO request) {
+            CountDownLatch latch = inFlight;
+            if (latch != null) {
+                latch.countDown();
+                awaitOthers(latch);
+            }
+            if (failing) {
+                throw new IllegalStateException("payment-module unavailable");
+            }
+            if (duringPayment != null) {
+                duringPayment.accept(request.getOrderId());
+            }
+            long paymentId = ids.incrementAndGet();
+            payments.put(request.getOrderId(), paymentId);
+            return response(request.getOrderId(), paymentId);
+        }
+
+        @Override
+        public PaymentResponseDTO getPaymentByOrderId(Long orderId) {
+            Long paymentId = payments.get(orderId);
+            if (paymentId == null) {
+                Request request = Request.create(Request.HttpMethod.GET, "/api/payments/order/" + orderId,
+                        Map.of(), null, StandardCharsets.UTF_8, null);
+                throw new FeignException.NotFound("Payment not found", request, null, null);
+            }
+            return response(orderId, paymentId);
+        }
+
+        @Override
+        public String voidPayment(Long orderId) {
+            payments.remove(orderId);
+            return "deleted";
+        }
+
+        private static void awaitOthers(CountDownLatch latch) {
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException(latch.getCount() + " payment calls never started");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static PaymentResponseDTO response(Long orderId, Long paymentId) {
+            return new PaymentResponseDTO(paymentId, orderId, 300.0, PaymentMethod.Card, null, "Success");
+        }
+    }
+}
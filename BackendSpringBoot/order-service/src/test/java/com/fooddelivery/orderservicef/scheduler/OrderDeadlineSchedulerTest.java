@@ -0,0 +1,156 @@
+package com.fooddelivery.orderservicef.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fooddelivery.orderservicef.model.ScheduledActionStatus;
+import com.fooddelivery.orderservicef.model.ScheduledActionType;
+import com.fooddelivery.orderservicef.model.ScheduledOrderAction;
+import com.fooddelivery.orderservicef.repository.ScheduledOrderActionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs several schedulers against one H2 database without a surrounding test
+ * transaction, the way instances of the service share the production database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderDeadlineSchedulerTest {
+
+    @Configuration
+    @EntityScan(basePackageClasses = ScheduledOrderAction.class)
+    @EnableJpaRepositories(basePackageClasses = ScheduledOrderActionRepository.class)
+    static class JpaSliceConfig {
+    }
+
+    @Autowired
+    private ScheduledOrderActionRepository repository;
+
+    private final List<OrderDeadlineScheduler> schedulers = new ArrayList<>();
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+    @BeforeEach
+    void startTaskScheduler() {
+        taskScheduler.initialize();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        schedulers.forEach(OrderDeadlineScheduler::stop);
+        taskScheduler.shutdown();
+        repository.deleteAll();
+    }
+
+    @Test
+    void deadlineHeldByTwoInstancesFiresOnce() {
+        List<Long> firedByOther = new ArrayList<>();
+        OrderDeadlineScheduler other = scheduler(repository, action -> firedByOther.add(action.getOrderId()));
+        List<Long> fired = new ArrayList<>();
+        List<ScheduledOrderAction> actions = List.of(repository.save(due(1L)), repository.save(due(2L)));
+        OrderDeadlineScheduler scheduler = scheduler(repository, action -> {
+            fired.add(action.getOrderId());
+            // The other instance's wheel expires the same rows while this one is still firing
+            other.fire(expired(actions));
+        });
+
+        scheduler.fire(expired(actions));
+        other.fire(expired(actions));
+
+        assertEquals(List.of(1L, 2L), fired);
+        assertEquals(List.of(), firedByOther);
+        for (ScheduledOrderAction action : repository.findAll()) {
+            assertEquals(ScheduledActionStatus.DONE, action.getStatus());
+            assertNotNull(action.getFiredAt());
+        }
+    }
+
+    @Test
+    void failedMarkFiredIsRetried() {
+        ScheduledOrderActionRepository failingRepository = mock(ScheduledOrderActionRepository.class);
+        when(failingRepository.claim(anyCollection(), any(), anyString(), any(), any())).thenReturn(1);
+        when(failingRepository.findIdsClaimedBy(anyCollection(), anyString())).thenReturn(List.of(5L));
+        when(failingRepository.markFired(eq(List.of(5L)), eq(ScheduledActionStatus.DONE), any()))
+                .thenThrow(new QueryTimeoutException("database unavailable"))
+                .thenReturn(1);
+        ScheduledOrderAction action = due(1L);
+        action.setId(5L);
+        List<Long> fired = new ArrayList<>();
+
+        scheduler(failingRepository, a -> fired.add(a.getOrderId())).fire(expired(List.of(action)));
+
+        verify(failingRepository, timeout(2000).times(2))
+                .markFired(eq(List.of(5L)), eq(ScheduledActionStatus.DONE), any());
+        assertEquals(List.of(1L), fired);
+    }
+
+    @Test
+    void rescanPicksUpOverdueRowsNobodyHasClaimed() {
+        repository.save(due(1L));
+        ScheduledOrderAction claimed = due(2L);
+        claimed.setClaimedBy("other-instance");
+        claimed.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        repository.save(claimed);
+        ScheduledOrderAction recent = due(3L);
+        recent.setDueAt(LocalDateTime.now().minusSeconds(1));
+        repository.save(recent);
+        OrderDeadlineScheduler scheduler = scheduler(repository, action -> { });
+
+        scheduler.rescan();
+
+        assertEquals(1, scheduler.queueDepth());
+    }
+
+    private OrderDeadlineScheduler scheduler(ScheduledOrderActionRepository repository, OrderDeadlineHandler handler) {
+        OrderDeadlineScheduler scheduler = new OrderDeadlineScheduler(repository, handler, Duration.ofMillis(100),
+                64, 100, 1, 5, Duration.ofMillis(10), Duration.ofMinutes(1), Duration.ofMinutes(1),
+                taskScheduler, new SimpleMeterRegistry());
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private static List<TimerWheel.Timeout<ScheduledOrderAction>> expired(List<ScheduledOrderAction> actions) {
+        TimerWheel<ScheduledOrderAction> wheel = new TimerWheel<>(1, 8, 0);
+        actions.forEach(action -> wheel.schedule(action, 0));
+        return wheel.advance(1);
+    }
+
+    private static ScheduledOrderAction due(Long orderId) {
+        return ScheduledOrderAction.builder()
+                .orderId(orderId)
+                .actionType(ScheduledActionType.AUTO_COMPLETE)
+                .dueAt(LocalDateTime.now().minusMinutes(5))
+                .status(ScheduledActionStatus.PENDING)
+                .attempts(0)
+                .build();
+    }
+}
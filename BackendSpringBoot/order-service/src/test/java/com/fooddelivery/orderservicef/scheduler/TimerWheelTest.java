@@ -0,0 +1,68 @@
+package com.fooddelivery.orderservicef.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void firesOnlyOnceDeadlineHasPassed() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, START);
+        wheel.schedule("order-1", START + 3_000);
+
+        assertTrue(wheel.advance(START + 2_999).isEmpty());
+        List<TimerWheel.Timeout<String>> expired = wheel.advance(START + 3_000);
+
+        assertEquals(1, expired.size());
+        assertEquals("order-1", expired.get(0).item());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForTheirRound() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, START);
+        wheel.schedule("near", START + 2_000);
+        wheel.schedule("far", START + 18_000); // same bucket as "near", two turns later
+
+        assertEquals(List.of("near"), items(wheel.advance(START + 2_000)));
+        assertTrue(wheel.advance(START + 10_000).isEmpty());
+        assertEquals(List.of("far"), items(wheel.advance(START + 18_000)));
+    }
+
+    @Test
+    void overdueDeadlinesFireOnNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, START);
+        wheel.advance(START + 5_000);
+
+        wheel.schedule("reloaded", START - 60_000);
+
+        assertEquals(List.of("reloaded"), items(wheel.advance(START + 6_000)));
+    }
+
+    @Test
+    void catchesUpAfterLongPause() {
+        TimerWheel<Integer> wheel = new TimerWheel<>(1000, 8, START);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, START + i * 1_000L);
+        }
+
+        assertEquals(100, wheel.advance(START + 100_000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsWheelSizeThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<String>(1000, 10, START));
+    }
+
+    private static <T> List<T> items(List<TimerWheel.Timeout<T>> timeouts) {
+        return timeouts.stream().map(TimerWheel.Timeout::item).toList();
+    }
+}
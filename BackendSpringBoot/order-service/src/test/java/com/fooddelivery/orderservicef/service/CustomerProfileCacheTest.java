@@ -0,0 +1,172 @@
+package com.fooddelivery.orderservicef.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.orderservicef.dto.CustomerInvalidationMessage;
+import com.fooddelivery.orderservicef.dto.CustomerProfileDTO;
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerProfileCacheTest {
+
+    private FakeTicker ticker;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CustomerProfileCache(Duration.ofMinutes(5), 100, meterRegistry, Runnable::run, ticker);
+    }
+
+    @Test
+    void getAllPresent_ReturnsOnlyCachedProfilesAndRecordsHitsAndMisses() {
+        put(cache, profile(1L, "Asha"), profile(2L, "Ravi"));
+
+        Map<Long, CustomerProfileDTO> result = cache.getAllPresent(List.of(1L, 2L, 3L));
+
+        assertEquals(2, result.size());
+        assertEquals("Asha", result.get(1L).getName());
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", CustomerProfileCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        put(cache, profile(1L, "Asha"));
+
+        ticker.advance(Duration.ofMinutes(6));
+
+        assertTrue(cache.getAllPresent(List.of(1L)).isEmpty());
+    }
+
+    @Test
+    void invalidationMessageDeliveredThroughBrokerDropsProfile() {
+        InMemoryBroker broker = new InMemoryBroker();
+        broker.subscribe(cache::invalidate);
+        put(cache, profile(1L, "Asha"), profile(2L, "Ravi"));
+
+        broker.publish(new CustomerInvalidationMessage(1L, LocalDateTime.now()));
+
+        Map<Long, CustomerProfileDTO> result = cache.getAllPresent(List.of(1L, 2L));
+        assertFalse(result.containsKey(1L));
+        assertTrue(result.containsKey(2L));
+    }
+
+    @Test
+    void profileInvalidatedDuringFetchIsNotCached() {
+        Map<Long, Long> generations = cache.generations(List.of(1L, 2L));
+
+        cache.invalidate(new CustomerInvalidationMessage(1L, LocalDateTime.now()));
+        cache.putAll(List.of(profile(1L, "Asha"), profile(2L, "Ravi")), generations);
+
+        Map<Long, CustomerProfileDTO> result = cache.getAllPresent(List.of(1L, 2L));
+        assertFalse(result.containsKey(1L));
+        assertTrue(result.containsKey(2L));
+    }
+
+    @Test
+    void enricherDoesNotCacheAProfileInvalidatedDuringItsBatchFetch() {
+        CustomerServiceClient client = mock(CustomerServiceClient.class);
+        when(client.getCustomerProfiles(anyList())).thenAnswer(call -> {
+            // Customer 1 edits their profile while the batch request is in flight
+            cache.invalidate(new CustomerInvalidationMessage(1L, LocalDateTime.now()));
+            return List.of(profile(1L, "Asha"), profile(2L, "Ravi"));
+        });
+        CustomerProfileEnricher enricher = new CustomerProfileEnricher(client, new CustomerServiceClientFallback(), cache);
+        List<OrderDTO> orders = List.of(order(1L), order(2L));
+
+        enricher.enrich(orders);
+
+        assertEquals("Asha", orders.get(0).getCustomerName());
+        assertEquals("Ravi", orders.get(1).getCustomerName());
+        Map<Long, CustomerProfileDTO> result = cache.getAllPresent(List.of(1L, 2L));
+        assertFalse(result.containsKey(1L));
+        assertTrue(result.containsKey(2L));
+    }
+
+    @Test
+    void invalidationAfterTheFetchIsCachedAgainOnTheNextFetch() {
+        cache.invalidate(new CustomerInvalidationMessage(1L, LocalDateTime.now()));
+
+        put(cache, profile(1L, "Asha"));
+
+        assertTrue(cache.getAllPresent(List.of(1L)).containsKey(1L));
+    }
+
+    @Test
+    void sizeIsBounded() {
+        CustomerProfileCache small = new CustomerProfileCache(Duration.ofMinutes(5), 10, meterRegistry, Runnable::run, ticker);
+        List<CustomerProfileDTO> profiles = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            profiles.add(profile(id, "Customer " + id));
+        }
+
+        put(small, profiles.toArray(CustomerProfileDTO[]::new));
+
+        assertTrue(small.size() <= 10);
+    }
+
+    private static void put(CustomerProfileCache target, CustomerProfileDTO... profiles) {
+        List<Long> ids = Arrays.stream(profiles).map(CustomerProfileDTO::getId).toList();
+        target.putAll(List.of(profiles), target.generations(ids));
+    }
+
+    private static OrderDTO order(Long userId) {
+        OrderDTO order = new OrderDTO();
+        order.setUserId(userId);
+        return order;
+    }
+
+    private static CustomerProfileDTO profile(Long id, String name) {
+        return new CustomerProfileDTO(id, name, 9876543210L, "Street " + id, name.toLowerCase() + "@example.com");
+    }
+
+    /** Stand-in for the message broker: delivers each published message to every subscriber synchronously. */
+    private static class InMemoryBroker {
+        private final List<Consumer<CustomerInvalidationMessage>> subscribers = new ArrayList<>();
+
+        void subscribe(Consumer<CustomerInvalidationMessage> subscriber) {
+            subscribers.add(subscriber);
+        }
+
+        void publish(CustomerInvalidationMessage message) {
+            subscribers.forEach(subscriber -> subscriber.accept(message));
+        }
+    }
+
+    private static class FakeTicker implements Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(Duration duration) {
+            nanos += TimeUnit.NANOSECONDS.convert(duration);
+        }
+    }
+}
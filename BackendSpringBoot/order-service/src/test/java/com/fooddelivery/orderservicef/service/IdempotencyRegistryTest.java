@@ -0,0 +1,129 @@
+package com.fooddelivery.orderservicef.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.exception.InvalidOperationException;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new IdempotencyRegistry(Duration.ofHours(1), 1000, Duration.ofSeconds(5), meterRegistry,
+                Ticker.systemTicker());
+    }
+
+    @Test
+    void concurrentDuplicatesShareOnePlacement() throws Exception {
+        AtomicInteger placements = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+
+        List<Future<OrderDTO>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(clients.submit(() -> registry.placeOnce("key-1", () -> {
+                placements.incrementAndGet();
+                await(release);
+                return order(42L);
+            }, this::failLoad)));
+        }
+        waitUntilWaiting(7);
+        release.countDown();
+
+        for (Future<OrderDTO> result : results) {
+            assertEquals(42L, result.get(5, TimeUnit.SECONDS).getOrderId());
+        }
+        clients.shutdown();
+        assertEquals(1, placements.get());
+        assertEquals(7.0, duplicates("in_flight"));
+        assertEquals(0, registry.inFlightCount());
+    }
+
+    @Test
+    void completedKeyIsAnsweredFromCacheWithoutPlacingAgain() {
+        registry.placeOnce("key-2", () -> order(7L), this::failLoad);
+
+        OrderDTO again = registry.placeOnce("key-2", () -> { throw new AssertionError("placed twice"); }, orderId -> order(orderId));
+
+        assertEquals(7L, again.getOrderId());
+        assertEquals(1.0, duplicates("cache"));
+    }
+
+    @Test
+    void failureReachesWaitersAndReleasesTheKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InvalidOperationException failure = new InvalidOperationException("Payment processing failed");
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+
+        Future<OrderDTO> first = clients.submit(() -> registry.placeOnce("key-3", () -> {
+            await(release);
+            throw failure;
+        }, this::failLoad));
+        waitUntilInFlight();
+        Future<OrderDTO> duplicate = clients.submit(() -> registry.placeOnce("key-3", () -> order(1L), this::failLoad));
+        waitUntilWaiting(1);
+        release.countDown();
+
+        assertSame(failure, assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(Exception.class, () -> duplicate.get(5, TimeUnit.SECONDS)).getCause());
+        clients.shutdown();
+
+        assertEquals(9L, registry.placeOnce("key-3", () -> order(9L), this::failLoad).getOrderId());
+    }
+
+    private double duplicates(String source) {
+        return meterRegistry.get("order.idempotency.duplicates").tag("source", source).counter().count();
+    }
+
+    private void waitUntilWaiting(int waiters) throws InterruptedException {
+        for (int i = 0; i < 500 && duplicates("in_flight") < waiters; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void waitUntilInFlight() throws InterruptedException {
+        for (int i = 0; i < 500 && registry.inFlightCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private OrderDTO failLoad(Long orderId) {
+        throw new AssertionError("order " + orderId + " should not be loaded");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderDTO order(Long orderId) {
+        OrderDTO dto = new OrderDTO();
+        dto.setOrderId(orderId);
+        return dto;
+    }
+}
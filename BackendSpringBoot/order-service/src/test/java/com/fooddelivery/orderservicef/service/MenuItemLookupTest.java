@@ -0,0 +1,92 @@
+package com.fooddelivery.orderservicef.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import com.fooddelivery.orderservicef.dto.MenuItemDTO;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MenuItemLookupTest {
+
+    private MenuServiceClient menuServiceClient;
+    private SimpleMeterRegistry meterRegistry;
+    private MenuItemLookup lookup;
+
+    @BeforeEach
+    void setUp() {
+        menuServiceClient = mock(MenuServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        lookup = new MenuItemLookup(menuServiceClient, 100, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    void firstLookupSendsNoValidator() {
+        MenuItemDTO item = item(120.0);
+        when(menuServiceClient.getMenuItemById(eq(5L), isNull())).thenReturn(withETag(item, "\"v1\""));
+
+        assertSame(item, lookup.getMenuItem(5L));
+    }
+
+    @Test
+    void notModifiedAnswerReturnsCachedItem() {
+        MenuItemDTO item = item(120.0);
+        when(menuServiceClient.getMenuItemById(eq(5L), isNull())).thenReturn(withETag(item, "\"v1\""));
+        when(menuServiceClient.getMenuItemById(5L, "\"v1\"")).thenThrow(notModified());
+
+        lookup.getMenuItem(5L);
+        MenuItemDTO revalidated = lookup.getMenuItem(5L);
+
+        assertSame(item, revalidated);
+        verify(menuServiceClient).getMenuItemById(5L, "\"v1\"");
+        assertEquals(1.0, meterRegistry.get("menu.item.revalidations").tag("result", "not_modified").counter().count());
+    }
+
+    @Test
+    void changedItemReplacesCachedCopy() {
+        when(menuServiceClient.getMenuItemById(eq(5L), isNull())).thenReturn(withETag(item(120.0), "\"v1\""));
+        when(menuServiceClient.getMenuItemById(5L, "\"v1\"")).thenReturn(withETag(item(150.0), "\"v2\""));
+
+        lookup.getMenuItem(5L);
+
+        assertEquals(150.0, lookup.getMenuItem(5L).getPrice());
+    }
+
+    @Test
+    void notModifiedWithoutCachedCopyIsRethrown() {
+        when(menuServiceClient.getMenuItemById(eq(5L), isNull())).thenThrow(notModified());
+
+        assertThrows(FeignException.class, () -> lookup.getMenuItem(5L));
+    }
+
+    private static MenuItemDTO item(Double price) {
+        return new MenuItemDTO(7L, "Paneer Tikka", "Grilled cottage cheese", price, true, true);
+    }
+
+    private static ResponseEntity<MenuItemDTO> withETag(MenuItemDTO item, String eTag) {
+        return ResponseEntity.ok().eTag(eTag).body(item);
+    }
+
+    private static FeignException notModified() {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/menu/5", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        Response response = Response.builder().status(304).reason("Not Modified").request(request).headers(Map.of()).build();
+        return FeignException.errorStatus("MenuServiceClient#getMenuItemById(Long,String)", response);
+    }
+}
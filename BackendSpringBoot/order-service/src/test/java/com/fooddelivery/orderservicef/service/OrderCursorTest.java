@@ -0,0 +1,36 @@
+package com.fooddelivery.orderservicef.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.fooddelivery.orderservicef.exception.InvalidOperationException;
+
+class OrderCursorTest {
+
+    @Test
+    void encodeThenDecodeKeepsPosition() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+        OrderCursor decoded = OrderCursor.decode(new OrderCursor(time, 42L).encode());
+
+        assertEquals(time, decoded.orderTime());
+        assertEquals(42L, decoded.orderId());
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(OrderCursor.decode(null));
+        assertNull(OrderCursor.decode(" "));
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThrows(InvalidOperationException.class, () -> OrderCursor.decode("not-a-cursor"));
+        assertThrows(InvalidOperationException.class, () -> OrderCursor.decode("%%%"));
+    }
+}
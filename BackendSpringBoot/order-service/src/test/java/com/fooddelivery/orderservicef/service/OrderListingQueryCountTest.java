@@ -0,0 +1,143 @@
+package com.fooddelivery.orderservicef.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.fooddelivery.orderservicef.dto.OrderDTO;
+import com.fooddelivery.orderservicef.dto.OrderHistoryFilterDTO;
+import com.fooddelivery.orderservicef.dto.OrderPageDTO;
+import com.fooddelivery.orderservicef.events.OrderEventBus;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderItem;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.outbox.OrderOutbox;
+import com.fooddelivery.orderservicef.repository.OrderItemRepository;
+import com.fooddelivery.orderservicef.repository.OrderRepository;
+import com.fooddelivery.orderservicef.saga.OrderPlacementSaga;
+import com.fooddelivery.orderservicef.scheduler.OrderDeadlineScheduler;
+
+/**
+ * Guards against N+1 item loading: listing orders must cost the same number of SQL
+ * statements whatever the number of orders returned.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class OrderListingQueryCountTest {
+
+    private static final Long RESTAURANT_ID = 7L;
+    private static final Long USER_ID = 11L;
+
+    @Configuration
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class JpaSliceConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    private OrderServiceImpl orderService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, null, null,
+                mock(CustomerProfileEnricher.class), mock(OrderDeadlineScheduler.class), mock(OrderEventBus.class),
+                mock(OrderOutbox.class), mock(OrderPlacementSaga.class), mock(IdempotencyRegistry.class));
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void restaurantOrdersAreLoadedWithTwoStatements(int orderCount) {
+        persistOrders(orderCount, 3);
+
+        List<OrderDTO> orders = orderService.getRestaurantOrders(RESTAURANT_ID);
+
+        assertEquals(orderCount, orders.size());
+        orders.forEach(order -> assertEquals(3, order.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    void historyPageIsLoadedWithTwoStatements(int limit) {
+        persistOrders(120, 2);
+
+        OrderPageDTO page = orderService.getUserOrderHistory(USER_ID,
+                OrderHistoryFilterDTO.builder().status(OrderStatus.PENDING).limit(limit).build());
+
+        assertEquals(limit, page.getOrders().size());
+        page.getOrders().forEach(order -> assertEquals(2, order.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void historyCursorWalksEveryOrderExactlyOnce() {
+        persistOrders(23, 1);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageDTO page = orderService.getRestaurantOrderHistory(RESTAURANT_ID,
+                    OrderHistoryFilterDTO.builder().cursor(cursor).limit(10).build());
+            page.getOrders().forEach(order -> seen.add(order.getOrderId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(23, seen.size());
+        assertEquals(23, seen.stream().distinct().count());
+    }
+
+    /** Persists orders sharing one timestamp per pair, so the orderId tie-breaker is exercised. */
+    private void persistOrders(int orderCount, int itemsPerOrder) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < orderCount; i++) {
+            Order order = Order.builder()
+                    .userId(USER_ID)
+                    .restaurantId(RESTAURANT_ID)
+                    .status(OrderStatus.PENDING)
+                    .totalAmount(100)
+                    .orderTime(base.plusMinutes(i / 2))
+                    .deliveryAddress("Street " + i)
+                    .build();
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(OrderItem.builder().order(order).menuItemId((long) j).itemName("Dish " + j)
+                        .quantity(1).price(50).build());
+            }
+            order.setItems(items);
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
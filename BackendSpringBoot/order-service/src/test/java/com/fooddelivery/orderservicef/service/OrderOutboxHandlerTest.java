@@ -0,0 +1,176 @@
+package com.fooddelivery.orderservicef.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservicef.dto.AgentAssignmentDTO;
+import com.fooddelivery.orderservicef.dto.AgentResponseDTO;
+import com.fooddelivery.orderservicef.dto.DeliveryStatus;
+import com.fooddelivery.orderservicef.dto.DeliveryStatusUpdateRequestDTO;
+import com.fooddelivery.orderservicef.model.Order;
+import com.fooddelivery.orderservicef.model.OrderStatus;
+import com.fooddelivery.orderservicef.model.OutboxEvent;
+import com.fooddelivery.orderservicef.model.OutboxEventType;
+import com.fooddelivery.orderservicef.model.OutboxStatus;
+import com.fooddelivery.orderservicef.repository.OrderRepository;
+import com.fooddelivery.orderservicef.repository.OutboxEventRepository;
+
+import feign.FeignException;
+import feign.Request;
+
+class OrderOutboxHandlerTest {
+
+    private AgentServiceClient agentServiceClient;
+    private OrderRepository orderRepository;
+    private OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderOutboxHandler handler;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        agentServiceClient = mock(AgentServiceClient.class);
+        orderRepository = mock(OrderRepository.class);
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        handler = new OrderOutboxHandler(agentServiceClient, mock(PaymentServiceClient.class), orderRepository,
+                outboxEventRepository, objectMapper);
+        order = new Order();
+        order.setOrderId(42L);
+        order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
+        order.setRestaurantId(7L);
+        order.setDeliveryAddress("12 MG Road");
+        when(orderRepository.findById(42L)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    void assignDeliveryAgent_RecordsDeliveryAndAgentFromDeliveryService() throws Exception {
+        when(agentServiceClient.assignDeliveryAgent(any(AgentAssignmentDTO.class))).thenReturn(delivery(900L, 5L, "IN_PROGRESS"));
+
+        handler.handle(assignEvent());
+
+        verify(orderRepository).recordDelivery(42L, 900L, 5L);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void assignDeliveryAgent_RecordsQueuedDeliveryWithoutAgent() throws Exception {
+        when(agentServiceClient.assignDeliveryAgent(any(AgentAssignmentDTO.class))).thenReturn(delivery(900L, null, "PENDING"));
+
+        handler.handle(assignEvent());
+
+        verify(orderRepository).recordDelivery(42L, 900L, null);
+    }
+
+    @Test
+    void assignDeliveryAgent_PicksUpDeliveryCreatedByAnEarlierAttempt() throws Exception {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/delivery/assign", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(agentServiceClient.assignDeliveryAgent(any(AgentAssignmentDTO.class)))
+                .thenThrow(new FeignException.Conflict("Delivery already exists for this order.", request, null, null));
+        when(agentServiceClient.getDeliveryByOrderId(42L)).thenReturn(delivery(900L, 5L, "IN_PROGRESS"));
+
+        handler.handle(assignEvent());
+
+        verify(orderRepository).recordDelivery(42L, 900L, 5L);
+    }
+
+    @Test
+    void assignDeliveryAgent_SkipsOrderThatAlreadyHasADelivery() throws Exception {
+        order.setDeliveryId(900L);
+
+        handler.handle(assignEvent());
+
+        verifyNoInteractions(agentServiceClient);
+        verify(orderRepository, never()).recordDelivery(anyLong(), any(), any());
+    }
+
+    @Test
+    void assignDeliveryAgent_SkipsOrderCompletedBeforeTheAgentWasAssigned() throws Exception {
+        order.setStatus(OrderStatus.COMPLETED);
+
+        handler.handle(assignEvent());
+
+        verifyNoInteractions(agentServiceClient);
+        verify(orderRepository, never()).recordDelivery(anyLong(), any(), any());
+    }
+
+    @Test
+    void markDelivered_UsesRecordedDelivery() throws Exception {
+        order.setDeliveryId(900L);
+
+        handler.handle(markDeliveredEvent());
+
+        verify(agentServiceClient).updateDeliveryStatus(eq(900L), any(DeliveryStatusUpdateRequestDTO.class));
+        verify(agentServiceClient, never()).getDeliveryByOrderId(any());
+    }
+
+    @Test
+    void markDelivered_IsRetriedWhileTheAssignmentIsStillInTheOutbox() throws Exception {
+        when(outboxEventRepository.existsByOrderIdAndEventTypeAndStatus(42L, OutboxEventType.ASSIGN_DELIVERY_AGENT,
+                OutboxStatus.PENDING)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> handler.handle(markDeliveredEvent()));
+        verifyNoInteractions(agentServiceClient);
+    }
+
+    @Test
+    void markDelivered_ReleasesAgentOfADeliveryWhoseIdWasNotRecorded() throws Exception {
+        when(agentServiceClient.getDeliveryByOrderId(42L)).thenReturn(delivery(900L, 5L, "IN_PROGRESS"));
+
+        handler.handle(markDeliveredEvent());
+
+        verify(agentServiceClient).updateDeliveryStatus(eq(900L), any(DeliveryStatusUpdateRequestDTO.class));
+    }
+
+    @Test
+    void markDelivered_DoesNothingWhenNoDeliveryWasCreated() throws Exception {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/delivery/order/42", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(agentServiceClient.getDeliveryByOrderId(42L))
+                .thenThrow(new FeignException.NotFound("Delivery not found", request, null, null));
+
+        handler.handle(markDeliveredEvent());
+
+        verify(agentServiceClient, never()).updateDeliveryStatus(any(), any());
+    }
+
+    private static OutboxEvent assignEvent() {
+        OutboxEvent event = new OutboxEvent();
+        event.setOrderId(42L);
+        event.setEventType(OutboxEventType.ASSIGN_DELIVERY_AGENT);
+        return event;
+    }
+
+    private OutboxEvent markDeliveredEvent() throws Exception {
+        OutboxEvent event = new OutboxEvent();
+        event.setOrderId(42L);
+        event.setEventType(OutboxEventType.MARK_DELIVERY_DELIVERED);
+        event.setPayload(objectMapper.writeValueAsString(
+                DeliveryStatusUpdateRequestDTO.builder().status(DeliveryStatus.DELIVERED).build()));
+        return event;
+    }
+
+    private static AgentResponseDTO delivery(Long deliveryId, Long agentId, String status) {
+        AgentResponseDTO delivery = new AgentResponseDTO();
+        delivery.setDeliveryId(deliveryId);
+        delivery.setOrderId(42L);
+        delivery.setAgentId(agentId);
+        delivery.setStatus(status);
+        return delivery;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.payment.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import com.example.payment.dto.PaymentResponseDTO;
+import com.example.payment.model.Payment;
+
+/**
+ * Builds {@link PaymentResponseDTO} from {@link Payment} with code generated at compile time.
+ * A response field with no source fails the build instead of being silently left empty.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PaymentMapper {
+
+    @Mapping(target = "paymentId", source = "idPayment")
+    PaymentResponseDTO toResponse(Payment payment);
+}
@@ -5,11 +5,11 @@ import com.example.payment.dto.PaymentResponseDTO;
 import com.example.payment.exception.DuplicateTransactionException;
 import com.example.payment.exception.ResourceNotFoundException;
 import com.example.payment.exception.InvalidInputFormatException;
+import com.example.payment.mapper.PaymentMapper;
 import com.example.payment.model.Payment;
 import com.example.payment.model.PaymentStatus;
 import com.example.payment.repository.PaymentRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -20,11 +20,11 @@ import java.util.Optional;
 public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentRepository paymentRepository;
-    private final ModelMapper modelMapper;
+    private final PaymentMapper paymentMapper;
 
-    public PaymentServiceImpl(PaymentRepository paymentRepository, ModelMapper modelMapper) {
+    public PaymentServiceImpl(PaymentRepository paymentRepository, PaymentMapper paymentMapper) {
         this.paymentRepository = paymentRepository;
-        this.modelMapper = modelMapper;
+        this.paymentMapper = paymentMapper;
         log.info("PaymentServiceImpl initialized.");
     }
 
@@ -64,7 +64,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment savedPayment = paymentRepository.save(payment);
         log.info("Payment initiated and saved with ID: {} for Order ID: {} with status: {}", 
                 savedPayment.getOrderId(), savedPayment.getOrderId(), savedPayment.getPaymentStatus());
-        return modelMapper.map(savedPayment, PaymentResponseDTO.class);
+        return paymentMapper.toResponse(savedPayment);
     }
 
     @Override
@@ -101,7 +101,7 @@ public class PaymentServiceImpl implements PaymentService {
                 });
 
         log.info("Payment details found for order ID: {}. Transaction ID: {}", orderId, payment.getOrderId());
-        return modelMapper.map(payment, PaymentResponseDTO.class);
+        return paymentMapper.toResponse(payment);
     }
 
     @Override
@@ -0,0 +1,52 @@
+package com.example.payment.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.payment.dto.PaymentResponseDTO;
+import com.example.payment.model.Payment;
+import com.example.payment.model.PaymentMethod;
+import com.example.payment.model.PaymentStatus;
+
+class PaymentMapperTest {
+
+    private final PaymentMapper mapper = new PaymentMapperImpl();
+
+    @Test
+    void responseCarriesThePaymentIdAndStatusName() {
+        Payment payment = Payment.builder()
+                .idPayment(11L)
+                .orderId(42L)
+                .paymentMethod(PaymentMethod.Card)
+                .paymentAmount(new BigDecimal("349.50"))
+                .paymentStatus(PaymentStatus.Success)
+                .build();
+
+        PaymentResponseDTO response = mapper.toResponse(payment);
+
+        assertEquals(11L, response.getPaymentId());
+        assertEquals(42L, response.getOrderId());
+        assertEquals(PaymentMethod.Card, response.getPaymentMethod());
+        assertEquals(new BigDecimal("349.50"), response.getPaymentAmount());
+        assertEquals("Success", response.getPaymentStatus());
+    }
+
+    @Test
+    void everyStatusIsSentByName() {
+        for (PaymentStatus status : PaymentStatus.values()) {
+            Payment payment = Payment.builder().idPayment(1L).paymentStatus(status).build();
+
+            assertEquals(status, PaymentStatus.valueOf(mapper.toResponse(payment).getPaymentStatus()));
+        }
+    }
+
+    @Test
+    void missingStatusStaysEmpty() {
+        assertNull(mapper.toResponse(Payment.builder().idPayment(1L).build()).getPaymentStatus());
+        assertNull(mapper.toResponse(null));
+    }
+}
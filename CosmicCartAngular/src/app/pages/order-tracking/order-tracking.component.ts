@@ -5,7 +5,7 @@ import { OrderService } from '../../services/order.service';
 import { AuthService } from '../../services/auth.service';
 import { Order } from '../../services/restaurant.service';
 import { Subscription, interval } from 'rxjs';
-import { switchMap, takeWhile } from 'rxjs/operators';
+import { filter, switchMap, takeWhile } from 'rxjs/operators';
 
 @Component({
   selector: 'app-order-tracking',
@@ -439,6 +439,22 @@ export class OrderTrackingComponent implements OnInit, OnDestroy {
   }
 
   private startAutoRefresh() {
+    // Status changes are pushed by the server; fall back to polling if the stream is unavailable
+    this.refreshSubscription = this.orderService.streamOrderEvents()
+      .pipe(
+        filter(event => event.type === 'RESYNC' || String(event.orderId) === String(this.orderId)),
+        switchMap(() => this.orderService.fetchOrderById(Number(this.orderId)))
+      )
+      .subscribe({
+        next: (order) => this.applyOrderUpdate(order),
+        error: (error) => {
+          console.warn('⚠️ Live order updates unavailable, falling back to polling:', error);
+          this.startPolling();
+        }
+      });
+  }
+
+  private startPolling() {
     // Auto-refresh every 30 seconds for non-completed orders
     this.refreshSubscription = interval(30000)
       .pipe(
@@ -446,22 +462,25 @@ export class OrderTrackingComponent implements OnInit, OnDestroy {
         switchMap(() => this.orderService.fetchOrderById(Number(this.orderId)))
       )
       .subscribe({
-        next: (order) => {
-          const newStatus = this.mapStatusToNumber(order.status);
-          if (newStatus !== this.currentStatus) {
-            console.log('🔄 Order status updated:', order.status);
-            this.order = order;
-            this.currentStatus = newStatus;
-          }
-        },
+        next: (order) => this.applyOrderUpdate(order),
         error: (error) => {
           console.warn('⚠️ Auto-refresh failed:', error);
       }
       });
   }
 
+  private applyOrderUpdate(order: Order) {
+    const newStatus = this.mapStatusToNumber(order.status);
+    if (newStatus !== this.currentStatus) {
+      console.log('🔄 Order status updated:', order.status);
+      this.order = order;
+      this.currentStatus = newStatus;
+    }
+  }
+
   private mapStatusToNumber(status: string): number {
     switch (status.toUpperCase()) {
+      case 'PENDING_PAYMENT':
       case 'PENDING':
       case 'ACCEPTED':
         return 1; // Order Confirmed
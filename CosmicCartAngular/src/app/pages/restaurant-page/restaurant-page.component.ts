@@ -1,7 +1,7 @@
 import { Component, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { ActivatedRoute } from '@angular/router';
-import { RestaurantService, MenuItem } from '../../services/restaurant.service';
+import { RestaurantService, MenuItem, RestaurantPage } from '../../services/restaurant.service';
 import { CartService, Restaurant } from '../../services/cart.service';
 import { HeaderComponent } from '../../components/header.component';
 import { ToastrService } from 'ngx-toastr';
@@ -742,49 +742,53 @@ export class RestaurantPageComponent implements OnInit {
   ngOnInit(): void {
     this.route.params.subscribe(params => {
       const restaurantId = +params['id'];
-      this.loadRestaurant(restaurantId);
-      this.loadMenu(restaurantId);
+      this.loadPage(restaurantId);
     });
   }
 
-  private loadRestaurant(restaurantId: number): void {
-    this.restaurantService.fetchRestaurantById(restaurantId).subscribe({
-      next: (restaurant: Restaurant) => {
-        this.restaurant = restaurant;
-        this.cosmicNotificationService.info(
-          '🏪 Welcome to the Cosmic Kitchen!',
-          `${restaurant.name} is ready to serve your stellar cravings!`
-        );
-      },
-      error: (error: any) => {
-        console.error('Error loading restaurant:', error);
-        this.cosmicNotificationService.error(
-          '❌ Restaurant Portal Offline',
-          'Unable to connect to this cosmic kitchen. Please try another restaurant.'
-        );
-      }
-    });
-  }
-
-  private loadMenu(restaurantId: number): void {
+  private loadPage(restaurantId: number): void {
     this.loading = true;
-    this.restaurantService.fetchMenuItems(restaurantId).subscribe({
-      next: (menuItems: MenuItem[]) => {
-        this.menuItems = menuItems;
+    this.restaurantService.fetchRestaurantPage(restaurantId).subscribe({
+      next: (page: RestaurantPage) => {
         this.loading = false;
-        // Removed menu loaded notification to prevent cart icon overlap
-        },
+        if (page.restaurant) {
+          this.restaurant = page.restaurant;
+          this.cosmicNotificationService.info(
+            '🏪 Welcome to the Cosmic Kitchen!',
+            `${page.restaurant.name} is ready to serve your stellar cravings!`
+          );
+        } else {
+          this.notifyRestaurantError();
+        }
+        if (page.menuItems) {
+          this.menuItems = page.menuItems;
+          // Removed menu loaded notification to prevent cart icon overlap
+        } else {
+          this.notifyMenuError();
+        }
+      },
       error: (error: any) => {
-        console.error('Error loading menu:', error);
+        console.error('Error loading restaurant page:', error);
         this.loading = false;
-        this.cosmicNotificationService.error(
-          '❌ Menu Transmission Failed',
-          'Unable to load the cosmic menu. The kitchen might be in another dimension.'
-        );
+        this.notifyRestaurantError();
       }
     });
   }
 
+  private notifyRestaurantError(): void {
+    this.cosmicNotificationService.error(
+      '❌ Restaurant Portal Offline',
+      'Unable to connect to this cosmic kitchen. Please try another restaurant.'
+    );
+  }
+
+  private notifyMenuError(): void {
+    this.cosmicNotificationService.error(
+      '❌ Menu Transmission Failed',
+      'Unable to load the cosmic menu. The kitchen might be in another dimension.'
+    );
+  }
+
   getMenuItemGradient(index: number): string {
     return this.menuItemDesigns[index % this.menuItemDesigns.length].gradient;
   }
@@ -29,6 +29,17 @@ export interface OrderRequest {
   paymentMethod: 'Card' | 'Cash' | 'Online'; // ✅ Added payment method
 }
 
+export interface OrderEvent {
+  eventId: number;
+  type: 'PLACED' | 'STATUS_CHANGED' | 'RESYNC';
+  orderId?: number;
+  userId?: number;
+  restaurantId?: number;
+  status?: string;
+  totalAmount?: number;
+  occurredAt?: string;
+}
+
 
 @Injectable({
   providedIn: 'root'
@@ -318,6 +329,73 @@ export class OrderService {
     this.currentOrderSubject.next(null);
   }
 
+  /**
+   * Live order events of the logged-in customer (Server-Sent Events).
+   * Uses fetch instead of EventSource so the Authorization header can be sent.
+   * Reconnects with Last-Event-ID after a drop; a RESYNC event means some events
+   * were missed and the order should be reloaded.
+   */
+  streamOrderEvents(): Observable<OrderEvent> {
+    return new Observable<OrderEvent>(observer => {
+      const abort = new AbortController();
+      let lastEventId: string | null = null;
+      let failures = 0;
+
+      const connect = async () => {
+        while (!abort.signal.aborted) {
+          try {
+            const headers: Record<string, string> = { Accept: 'text/event-stream' };
+            const authHeaders = this.getHeaders();
+            authHeaders.keys().forEach(key => headers[key] = authHeaders.get(key) || '');
+            if (lastEventId) {
+              headers['Last-Event-ID'] = lastEventId;
+            }
+            const response = await fetch(`${this.apiUrl}/orders/user/events`, { headers, signal: abort.signal });
+            if (!response.ok || !response.body) {
+              throw new Error(`Order event stream failed with status ${response.status}`);
+            }
+            failures = 0;
+            const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+            let buffer = '';
+            while (true) {
+              const { value, done } = await reader.read();
+              if (done) break;
+              buffer += value;
+              let boundary: number;
+              while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                const block = buffer.slice(0, boundary);
+                buffer = buffer.slice(boundary + 2);
+                let data = '';
+                let name = '';
+                for (const line of block.split('\n')) {
+                  if (line.startsWith('id:')) lastEventId = line.slice(3).trim();
+                  else if (line.startsWith('event:')) name = line.slice(6).trim();
+                  else if (line.startsWith('data:')) data += line.slice(5).trim();
+                }
+                if (name === 'RESYNC') {
+                  observer.next({ eventId: 0, type: 'RESYNC' });
+                } else if (data) {
+                  observer.next(JSON.parse(data) as OrderEvent);
+                }
+              }
+            }
+          } catch (error) {
+            if (abort.signal.aborted) return;
+            if (++failures >= 3) {
+              observer.error(error);
+              return;
+            }
+          }
+          // Stream ended or failed: back off briefly, then resume from the last event seen
+          await new Promise(resolve => setTimeout(resolve, 2000 * Math.max(failures, 1)));
+        }
+      };
+
+      connect();
+      return () => abort.abort();
+    });
+  }
+
   getOrdersByStatus(status: string): Order[] {
     return this.customerOrdersSubject.value.filter(order => order.status === status);
   }
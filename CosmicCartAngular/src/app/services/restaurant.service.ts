@@ -18,6 +18,12 @@ export interface MenuItem {
   restaurantId?: number;
 }
 
+export interface RestaurantPage {
+  restaurant: Restaurant | null;
+  menuItems: MenuItem[] | null;
+  unavailable: string[]; // parts the gateway could not load: 'restaurant' and/or 'menu'
+}
+
 export interface OrderItem {
   menuItemId: number;
   itemName: string;
@@ -94,16 +100,7 @@ export class RestaurantService {
     this.loadingSubject.next(true);
     return this.http.get<any[]>(`${this.apiUrl}/menu/restaurant/${restaurantId}`).pipe(
       map(data => {
-        const transformed = data.map((item: any) => ({
-          id: item.itemId,
-          name: item.itemName,
-          description: item.description,
-          price: item.price,
-          isVeg: item.isVegetarian ? 'yes' : 'no',
-          category: item.category || 'General',
-          available: true,
-          restaurantId: restaurantId
-        }));
+        const transformed = data.map((item: any) => this.toMenuItem(item, restaurantId));
         console.log('🍽️ Transformed menu items:', transformed); // ✅ Add this
         return transformed;
       }),
@@ -117,6 +114,44 @@ export class RestaurantService {
   }
   
 
+  // Restaurant and menu in one request; the gateway fetches both in parallel and leaves out a part it could not load
+  fetchRestaurantPage(restaurantId: number): Observable<RestaurantPage> {
+    this.loadingSubject.next(true);
+    return this.http.get<any>(`${this.apiUrl}/restaurant-pages/${restaurantId}`).pipe(
+      map(page => ({
+        restaurant: page.restaurant,
+        menuItems: page.menu ? page.menu.map((item: any) => this.toMenuItem(item, restaurantId)) : null,
+        unavailable: page.unavailable || []
+      })),
+      tap(page => {
+        if (page.restaurant) {
+          this.currentRestaurantSubject.next(page.restaurant);
+        }
+        if (page.menuItems) {
+          this.menuItemsSubject.next(page.menuItems);
+        }
+      }),
+      catchError(error => {
+        console.error('Error fetching restaurant page:', error);
+        return throwError(() => error);
+      }),
+      finalize(() => this.loadingSubject.next(false))
+    );
+  }
+
+  private toMenuItem(item: any, restaurantId: number): MenuItem {
+    return {
+      id: item.itemId,
+      name: item.itemName,
+      description: item.description,
+      price: item.price,
+      isVeg: item.isVegetarian ? 'yes' : 'no',
+      category: item.category || 'General',
+      available: true,
+      restaurantId: restaurantId
+    };
+  }
+
   addMenuItem(restaurantId: number, menuItem: any): Observable<any> {
     const payload = {
       itemName: menuItem.name,